@@ -20,6 +20,7 @@ plugins {
     id("application")
     alias(libs.plugins.shadow)
     id(libs.plugins.swagger.get().pluginId)
+    alias(libs.plugins.jmh)
 }
 
 group = "org.eclipse.tractusx.mxd.dataservice"
@@ -34,17 +35,55 @@ dependencies {
     implementation(libs.edc.http)
     implementation(libs.edc.http.lib)
     implementation(libs.edc.boot)
+    implementation(libs.edc.spi.transaction)
+    implementation(libs.edc.spi.transaction.datasource)
+    // provided by the web server, used for response trailers which JAX-RS has no API for
+    compileOnly(libs.jakarta.servlet.api)
 
     runtimeOnly(libs.edc.core.connector)
     runtimeOnly(libs.edc.api.observability)
     runtimeOnly(libs.edc.sql.transactionlocal)
+    runtimeOnly(libs.edc.sql.pool)
+    runtimeOnly(libs.postgres)
+    runtimeOnly(libs.jersey.media.sse)
 
     testImplementation(testFixtures(libs.edc.core.jersey))
     testImplementation(libs.restAssured)
     testImplementation(libs.assertj)
     testImplementation(libs.edc.junit)
+    testImplementation(libs.h2)
+    testCompileOnly(libs.jakarta.servlet.api)
 
 }
+// the benchmarks in src/jmh run with "./gradlew :data-service-api:jmh", "-PjmhIncludes=<regex>" selects a subset,
+// "-PjmhThreads=<n>" sets the number of threads and "-PjmhProfilers=<name,...>" adds profilers such as "gc"
+jmh {
+    jmhVersion.set(libs.versions.jmh)
+    project.findProperty("jmhIncludes")?.let { includes.set(listOf(it.toString())) }
+    project.findProperty("jmhThreads")?.let { threads.set(it.toString().toInt()) }
+    project.findProperty("jmhProfilers")?.let { profilers.set(it.toString().split(",")) }
+    resultFormat.set("JSON")
+    resultsFile.set(layout.buildDirectory.file("results/jmh/results.json"))
+}
+
+// runs the controller benchmarks once per thread count, each run writes its own JSON result file
+val contentionThreads = listOf(1, 4, 16, 64)
+val jmhContention = tasks.register("jmhContention") {
+    group = "benchmark"
+    description = "Runs the DataServiceApiController benchmarks with ${contentionThreads.joinToString()} threads"
+}
+contentionThreads.forEach { threads ->
+    val results = layout.buildDirectory.file("results/jmh/contention-$threads.json")
+    val run = tasks.register<JavaExec>("jmhContention$threads") {
+        group = "benchmark"
+        classpath(tasks.named("jmhJar"))
+        mainClass.set("org.openjdk.jmh.Main")
+        args("DataServiceApiControllerBenchmark", "-t", threads, "-rf", "json", "-rff", results.get().asFile)
+        outputs.file(results)
+    }
+    jmhContention.configure { dependsOn(run) }
+}
+
 tasks.withType<com.github.jengelman.gradle.plugins.shadow.tasks.ShadowJar> {
     mergeServiceFiles()
     archiveFileName.set("${project.name}.jar")
@@ -0,0 +1,91 @@
+/*
+ *  Copyright (c) 2024 Bayerische Motoren Werke Aktiengesellschaft (BMW AG)
+ *
+ *  This program and the accompanying materials are made available under the
+ *  terms of the Apache License, Version 2.0 which is available at
+ *  https://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  SPDX-License-Identifier: Apache-2.0
+ *
+ *  Contributors:
+ *       Bayerische Motoren Werke Aktiengesellschaft (BMW AG) - initial API and implementation
+ *
+ */
+
+package org.eclipse.tractusx.mxd.dataservice.aggregation;
+
+import org.eclipse.tractusx.mxd.dataservice.model.AggregationResult;
+import org.eclipse.tractusx.mxd.dataservice.model.DataRecord;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.IntStream;
+
+/**
+ * Aggregations over records with a string, a long, a double and a boolean attribute, evaluated on as many threads as
+ * the parallelism parameter.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = { "-XX:+UseG1GC", "-Xmx2g" })
+public class AttributeColumnsBenchmark {
+
+    @Param({ "1000000" })
+    public int records;
+
+    @Param({ "1" })
+    public int parallelism;
+
+    private ForkJoinPool pool;
+    private AttributeColumns columns;
+
+    @Setup
+    public void setUp() {
+        pool = new ForkJoinPool(parallelism);
+        columns = new AttributeColumns(pool, 100_000);
+        columns.index(IntStream.range(0, records).mapToObj(index -> new DataRecord("id" + index, "name", "description",
+                Map.of("plant", "P" + (index % 20), "line", (long) (index % 5), "weight", index * 0.5, "ok", index % 3 == 0))));
+    }
+
+    @TearDown
+    public void tearDown() {
+        pool.shutdownNow();
+    }
+
+    @Benchmark
+    public AggregationResult count() {
+        return columns.aggregate(List.of(), List.of(), List.of(), 100);
+    }
+
+    @Benchmark
+    public AggregationResult minMax() {
+        return columns.aggregate(List.of(), List.of("weight"), List.of("weight"), 100);
+    }
+
+    @Benchmark
+    public AggregationResult groupByString() {
+        return columns.aggregate(List.of("plant"), List.of("weight"), List.of("weight"), 100);
+    }
+
+    @Benchmark
+    public AggregationResult groupByStringAndLong() {
+        return columns.aggregate(List.of("plant", "line"), List.of("weight"), List.of("weight"), 100);
+    }
+}
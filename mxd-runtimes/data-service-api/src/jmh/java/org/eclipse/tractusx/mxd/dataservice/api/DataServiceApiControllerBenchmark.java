@@ -0,0 +1,254 @@
+/*
+ *  Copyright (c) 2024 Bayerische Motoren Werke Aktiengesellschaft (BMW AG)
+ *
+ *  This program and the accompanying materials are made available under the
+ *  terms of the Apache License, Version 2.0 which is available at
+ *  https://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  SPDX-License-Identifier: Apache-2.0
+ *
+ *  Contributors:
+ *       Bayerische Motoren Werke Aktiengesellschaft (BMW AG) - initial API and implementation
+ *
+ */
+
+package org.eclipse.tractusx.mxd.dataservice.api;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.ws.rs.container.AsyncResponse;
+import jakarta.ws.rs.container.TimeoutHandler;
+import jakarta.ws.rs.core.EntityTag;
+import jakarta.ws.rs.core.Request;
+import jakarta.ws.rs.core.Response;
+import jakarta.ws.rs.core.Variant;
+import org.eclipse.tractusx.mxd.dataservice.cache.SerializedDataRecordCache;
+import org.eclipse.tractusx.mxd.dataservice.generator.DatasetGenerator;
+import org.eclipse.tractusx.mxd.dataservice.generator.IdScheme;
+import org.eclipse.tractusx.mxd.dataservice.generator.PayloadSize;
+import org.eclipse.tractusx.mxd.dataservice.model.DataRecord;
+import org.eclipse.tractusx.mxd.dataservice.store.InMemoryDataRecordStore;
+import org.eclipse.tractusx.mxd.dataservice.store.ObservableDataRecordStore;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.Collection;
+import java.util.Date;
+import java.util.List;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+
+/**
+ * CRUD operations of the {@link DataServiceApiController} on the in-memory store, called directly instead of through
+ * HTTP, so that the results show the cost of the controller, the store and serialization alone. The store is wrapped
+ * and observed by the response cache as in the runtime. Run with different thread counts to see the effect of
+ * contention, e.g. with the {@code jmhContention} Gradle task.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class DataServiceApiControllerBenchmark {
+
+    private static final Request REQUEST = new UnconditionalRequest();
+    private static final int PAGE_SIZE = 100;
+
+    @Param({ "10000" })
+    public int records;
+
+    private DatasetGenerator generator;
+    private DataServiceApiController controller;
+
+    @Setup
+    public void setUp() {
+        var objectMapper = new ObjectMapper();
+        var store = new InMemoryDataRecordStore();
+        generator = new DatasetGenerator(records, 0, IdScheme.PADDED, PayloadSize.fixed(100), Runtime.getRuntime().availableProcessors());
+        generator.populate(store);
+        var cache = new SerializedDataRecordCache(objectMapper, records, 16 * 1024 * 1024);
+        var observableStore = new ObservableDataRecordStore(store);
+        observableStore.registerListener(cache);
+        controller = new DataServiceApiController(observableStore, objectMapper, cache, new RequestDispatcher(null));
+    }
+
+    @Benchmark
+    public Object findById(ThreadState thread) {
+        var id = generator.record(thread.nextIndex(records)).id();
+        return call(response -> controller.findById(id, null, REQUEST, response));
+    }
+
+    @Benchmark
+    public Object update(ThreadState thread) {
+        var dataRecord = generator.record(thread.nextIndex(records));
+        var updated = new DataRecord(dataRecord.id(), dataRecord.name(), "updated by " + thread.name);
+        return call(response -> controller.update(updated, null, null, REQUEST, response));
+    }
+
+    @Benchmark
+    public Object createAndDelete(ThreadState thread) {
+        var id = thread.name + "-" + thread.sequence++;
+        call(response -> controller.create(new DataRecord(id, "name", "description"), null, response));
+        return call(response -> controller.delete(id, response));
+    }
+
+    @Benchmark
+    public Object getPage(ThreadState thread) {
+        var cursor = generator.record(thread.nextIndex(records - PAGE_SIZE)).id();
+        return call(response -> controller.getAll(PAGE_SIZE, cursor, false, null, REQUEST, response));
+    }
+
+    @Benchmark
+    public Object getPageIdAndName(ThreadState thread) {
+        var cursor = generator.record(thread.nextIndex(records - PAGE_SIZE)).id();
+        return call(response -> controller.getAll(PAGE_SIZE, cursor, false, "id,name", REQUEST, response));
+    }
+
+    private static Object call(Consumer<AsyncResponse> request) {
+        var response = new CapturingAsyncResponse();
+        request.accept(response);
+        if (response.result instanceof Throwable throwable) {
+            throw new IllegalStateException("Request failed", throwable);
+        }
+        return response.result;
+    }
+
+    @State(Scope.Thread)
+    public static class ThreadState {
+        private static final AtomicInteger THREADS = new AtomicInteger();
+
+        private final int index = THREADS.incrementAndGet();
+        private final SplittableRandom random = new SplittableRandom(index);
+        private final String name = "benchmark-thread-" + index;
+        private long sequence;
+
+        int nextIndex(int bound) {
+            return random.nextInt(bound);
+        }
+    }
+
+    /**
+     * Takes the place of the container, the dispatcher resumes it synchronously as it runs handlers inline.
+     */
+    private static class CapturingAsyncResponse implements AsyncResponse {
+        private Object result;
+
+        @Override
+        public boolean resume(Object response) {
+            result = response;
+            return true;
+        }
+
+        @Override
+        public boolean resume(Throwable response) {
+            result = response;
+            return true;
+        }
+
+        @Override
+        public boolean cancel() {
+            return false;
+        }
+
+        @Override
+        public boolean cancel(int retryAfter) {
+            return false;
+        }
+
+        @Override
+        public boolean cancel(Date retryAfter) {
+            return false;
+        }
+
+        @Override
+        public boolean isSuspended() {
+            return result == null;
+        }
+
+        @Override
+        public boolean isCancelled() {
+            return false;
+        }
+
+        @Override
+        public boolean isDone() {
+            return result != null;
+        }
+
+        @Override
+        public boolean setTimeout(long time, TimeUnit unit) {
+            return true;
+        }
+
+        @Override
+        public void setTimeoutHandler(TimeoutHandler handler) {
+        }
+
+        @Override
+        public Collection<Class<?>> register(Class<?> callback) {
+            return List.of();
+        }
+
+        @Override
+        public Map<Class<?>, Collection<Class<?>>> register(Class<?> callback, Class<?>... callbacks) {
+            return Map.of();
+        }
+
+        @Override
+        public Collection<Class<?>> register(Object callback) {
+            return List.of();
+        }
+
+        @Override
+        public Map<Class<?>, Collection<Class<?>>> register(Object callback, Object... callbacks) {
+            return Map.of();
+        }
+    }
+
+    /**
+     * A request without conditional headers, all preconditions are met.
+     */
+    private static class UnconditionalRequest implements Request {
+        @Override
+        public String getMethod() {
+            return "GET";
+        }
+
+        @Override
+        public Variant selectVariant(List<Variant> variants) {
+            return null;
+        }
+
+        @Override
+        public Response.ResponseBuilder evaluatePreconditions(EntityTag eTag) {
+            return null;
+        }
+
+        @Override
+        public Response.ResponseBuilder evaluatePreconditions(Date lastModified) {
+            return null;
+        }
+
+        @Override
+        public Response.ResponseBuilder evaluatePreconditions(Date lastModified, EntityTag eTag) {
+            return null;
+        }
+
+        @Override
+        public Response.ResponseBuilder evaluatePreconditions() {
+            return null;
+        }
+    }
+}
@@ -0,0 +1,102 @@
+/*
+ *  Copyright (c) 2024 Bayerische Motoren Werke Aktiengesellschaft (BMW AG)
+ *
+ *  This program and the accompanying materials are made available under the
+ *  terms of the Apache License, Version 2.0 which is available at
+ *  https://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  SPDX-License-Identifier: Apache-2.0
+ *
+ *  Contributors:
+ *       Bayerische Motoren Werke Aktiengesellschaft (BMW AG) - initial API and implementation
+ *
+ */
+
+package org.eclipse.tractusx.mxd.dataservice.cache;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import org.eclipse.tractusx.mxd.dataservice.generator.DatasetGenerator;
+import org.eclipse.tractusx.mxd.dataservice.generator.IdScheme;
+import org.eclipse.tractusx.mxd.dataservice.generator.PayloadSize;
+import org.eclipse.tractusx.mxd.dataservice.model.DataRecord;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.LongStream;
+
+/**
+ * Jackson serialization of single {@link DataRecord}s and collections of them, compared with the
+ * {@link SerializedDataRecordCache} the controller serves them from.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class DataRecordSerializationBenchmark {
+
+    @Param({ "100", "4096" })
+    public int payloadSize;
+
+    @Param({ "100", "1000" })
+    public int collectionSize;
+
+    private ObjectMapper objectMapper;
+    private ObjectReader reader;
+    private SerializedDataRecordCache cache;
+    private DataRecord dataRecord;
+    private byte[] json;
+    private List<DataRecord> collection;
+
+    @Setup
+    public void setUp() throws IOException {
+        objectMapper = new ObjectMapper();
+        reader = objectMapper.readerFor(DataRecord.class);
+        cache = new SerializedDataRecordCache(objectMapper, collectionSize, 0);
+        var generator = new DatasetGenerator(collectionSize, 0, IdScheme.UUID, PayloadSize.fixed(payloadSize), 1);
+        collection = LongStream.range(0, collectionSize).mapToObj(generator::record).toList();
+        dataRecord = collection.get(0);
+        json = objectMapper.writeValueAsBytes(dataRecord);
+        // fills the cache
+        cache.array(collection.stream());
+    }
+
+    @Benchmark
+    public byte[] serializeRecord() throws IOException {
+        return objectMapper.writeValueAsBytes(dataRecord);
+    }
+
+    @Benchmark
+    public DataRecord deserializeRecord() throws IOException {
+        return reader.readValue(json);
+    }
+
+    @Benchmark
+    public byte[] serializeCollection() throws IOException {
+        return objectMapper.writeValueAsBytes(collection);
+    }
+
+    @Benchmark
+    public byte[] cachedRecord() {
+        return cache.record(dataRecord);
+    }
+
+    @Benchmark
+    public byte[] cachedCollection() {
+        return cache.array(collection.stream());
+    }
+}
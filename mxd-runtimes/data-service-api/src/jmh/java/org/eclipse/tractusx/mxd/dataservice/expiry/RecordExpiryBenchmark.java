@@ -0,0 +1,98 @@
+/*
+ *  Copyright (c) 2024 Bayerische Motoren Werke Aktiengesellschaft (BMW AG)
+ *
+ *  This program and the accompanying materials are made available under the
+ *  terms of the Apache License, Version 2.0 which is available at
+ *  https://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  SPDX-License-Identifier: Apache-2.0
+ *
+ *  Contributors:
+ *       Bayerische Motoren Werke Aktiengesellschaft (BMW AG) - initial API and implementation
+ *
+ */
+
+package org.eclipse.tractusx.mxd.dataservice.expiry;
+
+import org.eclipse.tractusx.mxd.dataservice.model.DataRecord;
+import org.eclipse.tractusx.mxd.dataservice.store.InMemoryDataRecordStore;
+import org.eclipse.tractusx.mxd.dataservice.store.ObservableDataRecordStore;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.lang.management.ManagementFactory;
+import java.time.Duration;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * A soak run that keeps creating records, with and without a maximum number of records. After each run the number of
+ * records left in the store and the heap they take are printed, once the evictions have caught up.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 1)
+@Measurement(iterations = 3)
+@Fork(value = 1, jvmArgsAppend = { "-XX:+UseG1GC", "-Xmx3g" })
+public class RecordExpiryBenchmark {
+
+    @Param({ "3000000" })
+    public int creates;
+
+    /**
+     * 0 runs without expiry.
+     */
+    @Param({ "500000", "0" })
+    public long maxRecords;
+
+    private InMemoryDataRecordStore memoryStore;
+    private ObservableDataRecordStore store;
+    private ScheduledExecutorService evictor;
+
+    @Setup(Level.Iteration)
+    public void setUp() {
+        memoryStore = new InMemoryDataRecordStore();
+        store = new ObservableDataRecordStore(memoryStore);
+        if (maxRecords > 0) {
+            evictor = Executors.newSingleThreadScheduledExecutor();
+            store.registerListener(new RecordExpiry(store, null, maxRecords, Duration.ofSeconds(1), System::nanoTime, evictor));
+        }
+    }
+
+    @TearDown(Level.Iteration)
+    public void tearDown() throws InterruptedException {
+        var deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(30);
+        while (maxRecords > 0 && memoryStore.count() > maxRecords && System.nanoTime() < deadline) {
+            Thread.sleep(10);
+        }
+        System.gc();
+        var heap = ManagementFactory.getMemoryMXBean().getHeapMemoryUsage().getUsed();
+        System.out.printf("%n%d creates left %d records in the store, %d MB heap after a full collection%n", creates, memoryStore.count(), heap >> 20);
+        if (evictor != null) {
+            evictor.shutdownNow();
+        }
+        // keeps the records of this run from counting against the next
+        memoryStore = null;
+        store = null;
+    }
+
+    @Benchmark
+    public void create() {
+        for (var i = 0; i < creates; i++) {
+            store.create(new DataRecord("record-" + i, "name", "description"));
+        }
+    }
+}
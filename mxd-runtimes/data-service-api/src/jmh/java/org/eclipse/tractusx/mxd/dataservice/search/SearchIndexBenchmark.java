@@ -0,0 +1,84 @@
+/*
+ *  Copyright (c) 2024 Bayerische Motoren Werke Aktiengesellschaft (BMW AG)
+ *
+ *  This program and the accompanying materials are made available under the
+ *  terms of the Apache License, Version 2.0 which is available at
+ *  https://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  SPDX-License-Identifier: Apache-2.0
+ *
+ *  Contributors:
+ *       Bayerische Motoren Werke Aktiengesellschaft (BMW AG) - initial API and implementation
+ *
+ */
+
+package org.eclipse.tractusx.mxd.dataservice.search;
+
+import org.eclipse.tractusx.mxd.dataservice.generator.DatasetGenerator;
+import org.eclipse.tractusx.mxd.dataservice.generator.IdScheme;
+import org.eclipse.tractusx.mxd.dataservice.generator.PayloadSize;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.lang.management.ManagementFactory;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.LongStream;
+
+/**
+ * Top-10 searches over the generated records, from a term every record contains to one that only a single record
+ * contains. With a payload size of 0 the records have their default descriptions, which all score the same for the
+ * common terms, a larger payload adds random words, which makes them score differently. The time it took to build the
+ * index and the heap it takes are printed once it is built.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = { "-XX:+UseG1GC", "-Xmx3g" })
+public class SearchIndexBenchmark {
+
+    @Param({ "2000000" })
+    public int records;
+
+    @Param({ "0", "128" })
+    public int payload;
+
+    @Param({ "record", "private data service", "12345", "record 777777", "ab", "record ab" })
+    public String query;
+
+    private SearchIndex index;
+
+    @Setup
+    public void setUp() {
+        var generator = new DatasetGenerator(records, 0, IdScheme.SEQUENTIAL, PayloadSize.fixed(payload), 1);
+        var heapBefore = heapAfterCollection();
+        var start = System.nanoTime();
+        index = new SearchIndex();
+        index.index(LongStream.range(0, records).mapToObj(generator::record));
+        var took = Duration.ofNanos(System.nanoTime() - start);
+        System.out.printf("%nIndexed %d records (%d terms) in %.1f s, the index takes %d MB of heap%n",
+                index.size(), index.terms(), took.toMillis() / 1000.0, (heapAfterCollection() - heapBefore) >> 20);
+    }
+
+    @Benchmark
+    public List<SearchHit> search() {
+        return index.search(query, 10);
+    }
+
+    private static long heapAfterCollection() {
+        System.gc();
+        return ManagementFactory.getMemoryMXBean().getHeapMemoryUsage().getUsed();
+    }
+}
@@ -0,0 +1,86 @@
+/*
+ *  Copyright (c) 2024 Bayerische Motoren Werke Aktiengesellschaft (BMW AG)
+ *
+ *  This program and the accompanying materials are made available under the
+ *  terms of the Apache License, Version 2.0 which is available at
+ *  https://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  SPDX-License-Identifier: Apache-2.0
+ *
+ *  Contributors:
+ *       Bayerische Motoren Werke Aktiengesellschaft (BMW AG) - initial API and implementation
+ *
+ */
+
+package org.eclipse.tractusx.mxd.dataservice.store;
+
+import org.eclipse.edc.spi.query.Criterion;
+import org.eclipse.edc.spi.query.QuerySpec;
+import org.eclipse.tractusx.mxd.dataservice.generator.DatasetGenerator;
+import org.eclipse.tractusx.mxd.dataservice.generator.IdScheme;
+import org.eclipse.tractusx.mxd.dataservice.generator.PayloadSize;
+import org.eclipse.tractusx.mxd.dataservice.store.offheap.OffHeapDataRecordStore;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.IntStream;
+
+/**
+ * The store query behind POST /v1/data/lookup: every other record of the store is looked up by an "id in (...)"
+ * criterion, in ID order.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class DataRecordLookupBenchmark {
+
+    @Param({ "memory", "offheap" })
+    public String type;
+
+    @Param({ "20000" })
+    public int records;
+
+    @Param({ "10000" })
+    public int ids;
+
+    private DataRecordStore store;
+    private QuerySpec query;
+
+    @Setup
+    public void setUp() {
+        store = switch (type) {
+            case "memory" -> new InMemoryDataRecordStore();
+            case "offheap" -> new OffHeapDataRecordStore(64 * 1024 * 1024);
+            default -> throw new IllegalArgumentException("Unknown store type " + type);
+        };
+        var generator = new DatasetGenerator(records, 0, IdScheme.SEQUENTIAL, PayloadSize.fixed(100), 1);
+        generator.populate(store);
+        List<Object> lookedUp = IntStream.range(0, ids)
+                .mapToObj(index -> (Object) generator.record((long) index * records / ids).id())
+                .toList();
+        query = QuerySpec.Builder.newInstance()
+                .filter(new Criterion("id", "in", lookedUp))
+                .sortField("id")
+                .limit(ids)
+                .build();
+    }
+
+    @Benchmark
+    public long lookup() {
+        return store.findAll(query).count();
+    }
+}
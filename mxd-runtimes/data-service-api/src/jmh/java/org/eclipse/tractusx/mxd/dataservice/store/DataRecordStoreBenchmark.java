@@ -0,0 +1,146 @@
+/*
+ *  Copyright (c) 2024 Bayerische Motoren Werke Aktiengesellschaft (BMW AG)
+ *
+ *  This program and the accompanying materials are made available under the
+ *  terms of the Apache License, Version 2.0 which is available at
+ *  https://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  SPDX-License-Identifier: Apache-2.0
+ *
+ *  Contributors:
+ *       Bayerische Motoren Werke Aktiengesellschaft (BMW AG) - initial API and implementation
+ *
+ */
+
+package org.eclipse.tractusx.mxd.dataservice.store;
+
+import org.eclipse.edc.spi.monitor.Monitor;
+import org.eclipse.edc.spi.query.Criterion;
+import org.eclipse.edc.spi.query.QuerySpec;
+import org.eclipse.tractusx.mxd.dataservice.generator.DatasetGenerator;
+import org.eclipse.tractusx.mxd.dataservice.generator.IdScheme;
+import org.eclipse.tractusx.mxd.dataservice.generator.PayloadSize;
+import org.eclipse.tractusx.mxd.dataservice.model.DataRecord;
+import org.eclipse.tractusx.mxd.dataservice.store.log.LogDataRecordStore;
+import org.eclipse.tractusx.mxd.dataservice.store.offheap.OffHeapDataRecordStore;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Comparator;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Stream;
+
+/**
+ * The operations of the {@link DataRecordStore} implementations that keep their records in the process, on the same
+ * synthetic data set.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-XX:MaxDirectMemorySize=4g")
+public class DataRecordStoreBenchmark {
+
+    private static final int PAGE_SIZE = 100;
+
+    @Param({ "memory", "offheap", "log" })
+    public String type;
+
+    @Param({ "100000" })
+    public int records;
+
+    private DatasetGenerator generator;
+    private DataRecordStore store;
+    private Path directory;
+
+    @Setup
+    public void setUp() throws IOException {
+        store = switch (type) {
+            case "memory" -> new InMemoryDataRecordStore();
+            case "offheap" -> new OffHeapDataRecordStore(64 * 1024 * 1024);
+            case "log" -> {
+                directory = Files.createTempDirectory("data-record-log");
+                yield new LogDataRecordStore(directory, 64 * 1024 * 1024, false, new Monitor() {
+                });
+            }
+            default -> throw new IllegalArgumentException("Unknown store type " + type);
+        };
+        generator = new DatasetGenerator(records, 0, IdScheme.PADDED, PayloadSize.fixed(100), Runtime.getRuntime().availableProcessors());
+        generator.populate(store);
+    }
+
+    @TearDown
+    public void tearDown() throws IOException {
+        if (store instanceof AutoCloseable closeable) {
+            try {
+                closeable.close();
+            } catch (Exception e) {
+                throw new IOException(e);
+            }
+        }
+        if (directory != null) {
+            try (Stream<Path> files = Files.walk(directory)) {
+                files.sorted(Comparator.reverseOrder()).forEach(file -> file.toFile().delete());
+            }
+        }
+    }
+
+    @Benchmark
+    public Object findById(ThreadState thread) {
+        return store.findById(generator.record(thread.nextIndex(records)).id());
+    }
+
+    @Benchmark
+    public Object update(ThreadState thread) {
+        var dataRecord = generator.record(thread.nextIndex(records));
+        return store.update(new DataRecord(dataRecord.id(), dataRecord.name(), "updated by " + thread.name));
+    }
+
+    @Benchmark
+    public Object createAndDelete(ThreadState thread) {
+        var id = thread.name + "-" + thread.sequence++;
+        store.create(new DataRecord(id, "name", "description"));
+        return store.deleteById(id);
+    }
+
+    @Benchmark
+    public Object findPage(ThreadState thread) {
+        var cursor = generator.record(thread.nextIndex(records - PAGE_SIZE)).id();
+        var query = QuerySpec.Builder.newInstance()
+                .sortField("id")
+                .filter(new Criterion("id", ">", cursor))
+                .limit(PAGE_SIZE)
+                .build();
+        return store.findAll(query).toList();
+    }
+
+    @State(Scope.Thread)
+    public static class ThreadState {
+        private static final AtomicInteger THREADS = new AtomicInteger();
+
+        private final int index = THREADS.incrementAndGet();
+        private final SplittableRandom random = new SplittableRandom(index);
+        private final String name = "benchmark-thread-" + index;
+        private long sequence;
+
+        int nextIndex(int bound) {
+            return random.nextInt(bound);
+        }
+    }
+}
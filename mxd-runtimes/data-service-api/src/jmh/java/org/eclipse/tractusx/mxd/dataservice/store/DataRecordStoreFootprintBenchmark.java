@@ -0,0 +1,94 @@
+/*
+ *  Copyright (c) 2024 Bayerische Motoren Werke Aktiengesellschaft (BMW AG)
+ *
+ *  This program and the accompanying materials are made available under the
+ *  terms of the Apache License, Version 2.0 which is available at
+ *  https://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  SPDX-License-Identifier: Apache-2.0
+ *
+ *  Contributors:
+ *       Bayerische Motoren Werke Aktiengesellschaft (BMW AG) - initial API and implementation
+ *
+ */
+
+package org.eclipse.tractusx.mxd.dataservice.store;
+
+import org.eclipse.tractusx.mxd.dataservice.generator.DatasetGenerator;
+import org.eclipse.tractusx.mxd.dataservice.generator.IdScheme;
+import org.eclipse.tractusx.mxd.dataservice.generator.PayloadSize;
+import org.eclipse.tractusx.mxd.dataservice.store.offheap.OffHeapDataRecordStore;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.lang.management.BufferPoolMXBean;
+import java.lang.management.ManagementFactory;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * What keeping the records on or off the heap costs the garbage collector: the time of a full collection with the
+ * store populated, and the reads by ID, whose allocations "-prof gc" reports. The heap and direct memory the records
+ * take are printed once the store is populated, and every collection is logged. G1 is set explicitly, as the JVM
+ * picks the serial collector on machines with a single processor.
+ */
+@State(Scope.Benchmark)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Fork(value = 1, jvmArgsAppend = { "-XX:+UseG1GC", "-Xmx3g", "-XX:MaxDirectMemorySize=4g", "-Xlog:gc" })
+public class DataRecordStoreFootprintBenchmark {
+
+    @Param({ "memory", "offheap" })
+    public String type;
+
+    @Param({ "2000000" })
+    public int records;
+
+    private DatasetGenerator generator;
+    private DataRecordStore store;
+    private SplittableRandom random;
+
+    @Setup
+    public void setUp() {
+        store = switch (type) {
+            case "memory" -> new InMemoryDataRecordStore();
+            case "offheap" -> new OffHeapDataRecordStore(64 * 1024 * 1024);
+            default -> throw new IllegalArgumentException("Unknown store type " + type);
+        };
+        generator = new DatasetGenerator(records, 1, IdScheme.UUID, PayloadSize.fixed(100), Runtime.getRuntime().availableProcessors());
+        generator.populate(store);
+        random = new SplittableRandom(2);
+
+        System.gc();
+        var heap = ManagementFactory.getMemoryMXBean().getHeapMemoryUsage().getUsed();
+        var direct = ManagementFactory.getPlatformMXBeans(BufferPoolMXBean.class).stream()
+                .filter(pool -> pool.getName().equals("direct"))
+                .mapToLong(BufferPoolMXBean::getMemoryUsed)
+                .sum();
+        System.out.printf("%n%d records in the %s store: %d MB heap after a full collection, %d MB direct memory%n", store.count(), type, heap >> 20, direct >> 20);
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.SingleShotTime)
+    @Warmup(iterations = 1)
+    @Measurement(iterations = 5)
+    public void fullCollection() {
+        System.gc();
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.Throughput)
+    @Warmup(iterations = 2, time = 2)
+    @Measurement(iterations = 3, time = 2)
+    public Object findById() {
+        return store.findById(generator.record(random.nextInt(records)).id());
+    }
+}
@@ -0,0 +1,116 @@
+/*
+ *  Copyright (c) 2024 Bayerische Motoren Werke Aktiengesellschaft (BMW AG)
+ *
+ *  This program and the accompanying materials are made available under the
+ *  terms of the Apache License, Version 2.0 which is available at
+ *  https://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  SPDX-License-Identifier: Apache-2.0
+ *
+ *  Contributors:
+ *       Bayerische Motoren Werke Aktiengesellschaft (BMW AG) - initial API and implementation
+ *
+ */
+
+package org.eclipse.tractusx.mxd.dataservice;
+
+import org.eclipse.edc.runtime.metamodel.annotation.Extension;
+import org.eclipse.edc.runtime.metamodel.annotation.Inject;
+import org.eclipse.edc.runtime.metamodel.annotation.Setting;
+import org.eclipse.edc.spi.EdcException;
+import org.eclipse.edc.spi.system.ServiceExtension;
+import org.eclipse.edc.spi.system.ServiceExtensionContext;
+import org.eclipse.edc.web.spi.WebService;
+import org.eclipse.tractusx.mxd.dataservice.admission.AimdLimit;
+import org.eclipse.tractusx.mxd.dataservice.admission.ConcurrencyLimiter;
+import org.eclipse.tractusx.mxd.dataservice.admission.GradientLimit;
+import org.eclipse.tractusx.mxd.dataservice.admission.LimitAlgorithm;
+import org.eclipse.tractusx.mxd.dataservice.api.AdmissionControlFeature;
+import org.eclipse.tractusx.mxd.dataservice.api.DataServiceApiController;
+import org.eclipse.tractusx.mxd.dataservice.metrics.DataServiceMetrics;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.Set;
+
+import static org.eclipse.tractusx.mxd.dataservice.DataServiceExtension.DATA_API_CONTEXT_NAME;
+
+/**
+ * Limits the number of requests in progress on the DataRecord endpoints, separately for reads and writes.
+ */
+@Extension(AdmissionControlExtension.NAME)
+public class AdmissionControlExtension implements ServiceExtension {
+
+    public static final String NAME = "MXD Admission Control";
+
+    public static final String ADMISSION_ALGORITHM_GRADIENT = "gradient";
+    public static final String ADMISSION_ALGORITHM_AIMD = "aimd";
+
+    @Setting(value = "Whether the number of requests in progress on the DataRecord endpoints is limited, requests beyond the limit are rejected right away instead of queueing", defaultValue = "false", type = "boolean")
+    public static final String ADMISSION_ENABLED = "mxd.dataservice.admission.enabled";
+    @Setting(value = "How the admission limits adapt to the observed latency: '" + ADMISSION_ALGORITHM_GRADIENT + "' shrinks them when latency rises above its long-term average, '" +
+            ADMISSION_ALGORITHM_AIMD + "' when requests take longer than the latency threshold", defaultValue = ADMISSION_ALGORITHM_GRADIENT)
+    public static final String ADMISSION_ALGORITHM = "mxd.dataservice.admission.algorithm";
+    @Setting(value = "Initial limit of reads in progress", defaultValue = "64", type = "int")
+    public static final String ADMISSION_READS_LIMIT = "mxd.dataservice.admission.reads.limit";
+    @Setting(value = "Maximum limit of reads in progress", defaultValue = "1024", type = "int")
+    public static final String ADMISSION_READS_LIMIT_MAX = "mxd.dataservice.admission.reads.limit.max";
+    @Setting(value = "Initial limit of writes in progress", defaultValue = "16", type = "int")
+    public static final String ADMISSION_WRITES_LIMIT = "mxd.dataservice.admission.writes.limit";
+    @Setting(value = "Maximum limit of writes in progress", defaultValue = "256", type = "int")
+    public static final String ADMISSION_WRITES_LIMIT_MAX = "mxd.dataservice.admission.writes.limit.max";
+    @Setting(value = "Minimum limit of reads and of writes in progress", defaultValue = "4", type = "int")
+    public static final String ADMISSION_LIMIT_MIN = "mxd.dataservice.admission.limit.min";
+    @Setting(value = "Latency in milliseconds above which the '" + ADMISSION_ALGORITHM_AIMD + "' algorithm lowers the limit", defaultValue = "100", type = "long")
+    public static final String ADMISSION_AIMD_LATENCY_THRESHOLD = "mxd.dataservice.admission.aimd.latency.threshold";
+    @Setting(value = "Factor by which the '" + ADMISSION_ALGORITHM_GRADIENT + "' algorithm tolerates latency above its long-term average before it lowers the limit", defaultValue = "1.5", type = "double")
+    public static final String ADMISSION_GRADIENT_TOLERANCE = "mxd.dataservice.admission.gradient.tolerance";
+    @Setting(value = "Status of rejected requests, 503 (Service Unavailable) or 429 (Too Many Requests)", defaultValue = "503", type = "int")
+    public static final String ADMISSION_REJECTION_STATUS = "mxd.dataservice.admission.rejection.status";
+    @Setting(value = "Seconds a rejected client is asked to wait before retrying, sent as Retry-After", defaultValue = "1", type = "long")
+    public static final String ADMISSION_RETRY_AFTER = "mxd.dataservice.admission.retry.after";
+
+    @Inject
+    private WebService webService;
+    @Inject
+    private DataServiceMetrics metrics;
+
+    @Override
+    public String name() {
+        return NAME;
+    }
+
+    @Override
+    public void initialize(ServiceExtensionContext context) {
+        if (!context.getSetting(ADMISSION_ENABLED, false)) {
+            return;
+        }
+        var reads = new ConcurrencyLimiter(limitAlgorithm(context, context.getSetting(ADMISSION_READS_LIMIT, 64), context.getSetting(ADMISSION_READS_LIMIT_MAX, 1024)));
+        var writes = new ConcurrencyLimiter(limitAlgorithm(context, context.getSetting(ADMISSION_WRITES_LIMIT, 16), context.getSetting(ADMISSION_WRITES_LIMIT_MAX, 256)));
+        var rejectionStatus = context.getSetting(ADMISSION_REJECTION_STATUS, 503);
+        if (rejectionStatus != 429 && rejectionStatus != 503) {
+            throw new EdcException("Rejection status must be 429 or 503, got %d in setting %s".formatted(rejectionStatus, ADMISSION_REJECTION_STATUS));
+        }
+        webService.registerResource(DATA_API_CONTEXT_NAME, new AdmissionControlFeature(reads, writes, Set.of(DataServiceApiController.class),
+                rejectionStatus, context.getSetting(ADMISSION_RETRY_AFTER, 1L)));
+        metrics.counter("admission_rejected_total", "Requests rejected because their budget was exhausted, by budget.", "budget",
+                Map.of("read", reads::rejected, "write", writes::rejected));
+        metrics.gauge("admission_limit", "Current limit of requests in progress, by budget.", "budget", Map.of("read", reads::limit, "write", writes::limit));
+        metrics.gauge("admission_in_flight", "Admitted requests in progress, by budget.", "budget", Map.of("read", reads::inFlight, "write", writes::inFlight));
+    }
+
+    private LimitAlgorithm limitAlgorithm(ServiceExtensionContext context, int initialLimit, int maxLimit) {
+        var algorithm = context.getSetting(ADMISSION_ALGORITHM, ADMISSION_ALGORITHM_GRADIENT);
+        var minLimit = context.getSetting(ADMISSION_LIMIT_MIN, 4);
+        try {
+            return switch (algorithm) {
+                case ADMISSION_ALGORITHM_GRADIENT -> new GradientLimit(initialLimit, minLimit, maxLimit, Double.parseDouble(context.getSetting(ADMISSION_GRADIENT_TOLERANCE, "1.5")));
+                case ADMISSION_ALGORITHM_AIMD -> new AimdLimit(initialLimit, minLimit, maxLimit,
+                        Duration.ofMillis(context.getSetting(ADMISSION_AIMD_LATENCY_THRESHOLD, 100L)).toNanos(), 0.9);
+                default -> throw new IllegalArgumentException("Unknown algorithm '%s' in setting %s".formatted(algorithm, ADMISSION_ALGORITHM));
+            };
+        } catch (IllegalArgumentException e) {
+            throw new EdcException("Invalid admission control settings: " + e.getMessage(), e);
+        }
+    }
+}
@@ -0,0 +1,94 @@
+/*
+ *  Copyright (c) 2024 Bayerische Motoren Werke Aktiengesellschaft (BMW AG)
+ *
+ *  This program and the accompanying materials are made available under the
+ *  terms of the Apache License, Version 2.0 which is available at
+ *  https://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  SPDX-License-Identifier: Apache-2.0
+ *
+ *  Contributors:
+ *       Bayerische Motoren Werke Aktiengesellschaft (BMW AG) - initial API and implementation
+ *
+ */
+
+package org.eclipse.tractusx.mxd.dataservice;
+
+import org.eclipse.edc.runtime.metamodel.annotation.Extension;
+import org.eclipse.edc.runtime.metamodel.annotation.Inject;
+import org.eclipse.edc.runtime.metamodel.annotation.Setting;
+import org.eclipse.edc.spi.EdcException;
+import org.eclipse.edc.spi.system.ServiceExtension;
+import org.eclipse.edc.spi.system.ServiceExtensionContext;
+import org.eclipse.edc.web.spi.WebService;
+import org.eclipse.tractusx.mxd.dataservice.aggregation.AttributeColumns;
+import org.eclipse.tractusx.mxd.dataservice.api.AggregationApiController;
+import org.eclipse.tractusx.mxd.dataservice.api.DataApiDispatchers;
+import org.eclipse.tractusx.mxd.dataservice.metrics.DataServiceMetrics;
+import org.eclipse.tractusx.mxd.dataservice.store.ObservableDataRecordStore;
+
+import java.util.concurrent.ForkJoinPool;
+
+import static org.eclipse.tractusx.mxd.dataservice.DataServiceExtension.DATA_API_CONTEXT_NAME;
+
+/**
+ * Copies the attributes of the DataRecords into columns that are aggregated over. Like the search index, the columns
+ * hold the records of this instance only, so a cluster has no aggregations.
+ */
+@Extension(AggregationExtension.NAME)
+public class AggregationExtension implements ServiceExtension {
+
+    public static final String NAME = "MXD Data Record Aggregation";
+
+    @Setting(value = "Whether the attributes of the DataRecords are copied into columns that can be aggregated over at <web.http.path>/v1/data/aggregate", defaultValue = "false", type = "boolean")
+    public static final String AGGREGATION_ENABLED = "mxd.dataservice.aggregation.enabled";
+    @Setting(value = "Number of threads an aggregation is evaluated on, defaults to the number of processors", type = "int")
+    public static final String AGGREGATION_PARALLELISM = "mxd.dataservice.aggregation.parallelism";
+    @Setting(value = "Number of groups above which an aggregation is rejected, which bounds the memory an aggregation takes", defaultValue = "100000", type = "int")
+    public static final String AGGREGATION_MAX_GROUPS = "mxd.dataservice.aggregation.max.groups";
+
+    @Inject
+    private WebService webService;
+    @Inject
+    private ObservableDataRecordStore store;
+    @Inject
+    private DataApiDispatchers dispatchers;
+    @Inject
+    private DataServiceMetrics metrics;
+
+    private ForkJoinPool aggregationPool;
+
+    @Override
+    public String name() {
+        return NAME;
+    }
+
+    @Override
+    public void initialize(ServiceExtensionContext context) {
+        if (!context.getSetting(AGGREGATION_ENABLED, false)) {
+            return;
+        }
+        if (DataServiceExtension.clustered(context)) {
+            context.getMonitor().warning("Aggregations are not supported for a cluster of data services and stay disabled despite setting %s".formatted(AGGREGATION_ENABLED));
+            return;
+        }
+        AttributeColumns columns;
+        try {
+            aggregationPool = new ForkJoinPool(context.getSetting(AGGREGATION_PARALLELISM, Runtime.getRuntime().availableProcessors()));
+            columns = new AttributeColumns(aggregationPool, context.getSetting(AGGREGATION_MAX_GROUPS, 100_000));
+        } catch (IllegalArgumentException e) {
+            throw new EdcException("Invalid aggregation settings: " + e.getMessage(), e);
+        }
+        store.registerListener(columns);
+        webService.registerResource(DATA_API_CONTEXT_NAME, new AggregationApiController(columns, store, dispatchers.records()));
+        metrics.gauge("aggregation_rows", "Number of DataRecords with attributes in the aggregation columns.", columns::size);
+        metrics.gauge("aggregation_columns", "Number of distinct attributes in the aggregation columns.", columns::columns);
+    }
+
+    @Override
+    public void shutdown() {
+        if (aggregationPool != null) {
+            aggregationPool.shutdownNow();
+        }
+    }
+}
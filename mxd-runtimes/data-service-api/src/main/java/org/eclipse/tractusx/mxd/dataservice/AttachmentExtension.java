@@ -0,0 +1,62 @@
+/*
+ *  Copyright (c) 2024 Bayerische Motoren Werke Aktiengesellschaft (BMW AG)
+ *
+ *  This program and the accompanying materials are made available under the
+ *  terms of the Apache License, Version 2.0 which is available at
+ *  https://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  SPDX-License-Identifier: Apache-2.0
+ *
+ *  Contributors:
+ *       Bayerische Motoren Werke Aktiengesellschaft (BMW AG) - initial API and implementation
+ *
+ */
+
+package org.eclipse.tractusx.mxd.dataservice;
+
+import org.eclipse.edc.runtime.metamodel.annotation.Extension;
+import org.eclipse.edc.runtime.metamodel.annotation.Inject;
+import org.eclipse.edc.runtime.metamodel.annotation.Setting;
+import org.eclipse.edc.spi.system.ServiceExtension;
+import org.eclipse.edc.spi.system.ServiceExtensionContext;
+import org.eclipse.edc.web.spi.WebService;
+import org.eclipse.tractusx.mxd.dataservice.api.AttachmentApiController;
+import org.eclipse.tractusx.mxd.dataservice.api.DataApiDispatchers;
+import org.eclipse.tractusx.mxd.dataservice.attachment.AttachmentStore;
+import org.eclipse.tractusx.mxd.dataservice.store.ObservableDataRecordStore;
+
+import java.nio.file.Path;
+
+import static org.eclipse.tractusx.mxd.dataservice.DataServiceExtension.DATA_API_CONTEXT_NAME;
+
+@Extension(AttachmentExtension.NAME)
+public class AttachmentExtension implements ServiceExtension {
+
+    public static final String NAME = "MXD Data Record Attachments";
+
+    @Setting(value = "Directory the binary attachments of DataRecords are stored in", defaultValue = "attachments")
+    public static final String ATTACHMENTS_DIRECTORY = "mxd.dataservice.attachments.directory";
+    @Setting(value = "Maximum size in bytes of a binary attachment", defaultValue = "10737418240", type = "long")
+    public static final String ATTACHMENTS_MAX_SIZE = "mxd.dataservice.attachments.max.size";
+
+    @Inject
+    private WebService webService;
+    @Inject
+    private ObservableDataRecordStore store;
+    @Inject
+    private DataApiDispatchers dispatchers;
+
+    @Override
+    public String name() {
+        return NAME;
+    }
+
+    @Override
+    public void initialize(ServiceExtensionContext context) {
+        var maxSize = context.getSetting(ATTACHMENTS_MAX_SIZE, 10L * 1024 * 1024 * 1024);
+        var attachments = new AttachmentStore(Path.of(context.getSetting(ATTACHMENTS_DIRECTORY, "attachments")), maxSize, context.getMonitor());
+        // deletes the attachment of a deleted record
+        store.registerListener(attachments);
+        webService.registerResource(DATA_API_CONTEXT_NAME, new AttachmentApiController(store, attachments, maxSize, dispatchers.streams()));
+    }
+}
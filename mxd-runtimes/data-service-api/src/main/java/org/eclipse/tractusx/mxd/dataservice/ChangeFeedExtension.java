@@ -0,0 +1,96 @@
+/*
+ *  Copyright (c) 2024 Bayerische Motoren Werke Aktiengesellschaft (BMW AG)
+ *
+ *  This program and the accompanying materials are made available under the
+ *  terms of the Apache License, Version 2.0 which is available at
+ *  https://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  SPDX-License-Identifier: Apache-2.0
+ *
+ *  Contributors:
+ *       Bayerische Motoren Werke Aktiengesellschaft (BMW AG) - initial API and implementation
+ *
+ */
+
+package org.eclipse.tractusx.mxd.dataservice;
+
+import org.eclipse.edc.runtime.metamodel.annotation.Extension;
+import org.eclipse.edc.runtime.metamodel.annotation.Inject;
+import org.eclipse.edc.runtime.metamodel.annotation.Setting;
+import org.eclipse.edc.spi.system.ServiceExtension;
+import org.eclipse.edc.spi.system.ServiceExtensionContext;
+import org.eclipse.edc.spi.types.TypeManager;
+import org.eclipse.edc.web.spi.WebService;
+import org.eclipse.tractusx.mxd.dataservice.api.DataChangesApiController;
+import org.eclipse.tractusx.mxd.dataservice.changes.DataRecordChangeFeed;
+import org.eclipse.tractusx.mxd.dataservice.store.ObservableDataRecordStore;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+import static org.eclipse.tractusx.mxd.dataservice.DataServiceExtension.DATA_API_CONTEXT_NAME;
+
+@Extension(ChangeFeedExtension.NAME)
+public class ChangeFeedExtension implements ServiceExtension {
+
+    public static final String NAME = "MXD Data Record Change Feed";
+
+    @Setting(value = "Number of recent changes the change feed keeps for subscribers that resume with a Last-Event-ID", defaultValue = "10000", type = "int")
+    public static final String CHANGES_HISTORY_SIZE = "mxd.dataservice.changes.history.size";
+    @Setting(value = "Number of changes buffered per change feed subscriber, a subscriber that falls further behind is disconnected", defaultValue = "1000", type = "int")
+    public static final String CHANGES_BUFFER_SIZE = "mxd.dataservice.changes.buffer.size";
+    @Setting(value = "Seconds between heartbeats to idle change feed subscribers. A subscriber whose connection failed or that has not " +
+            "taken a change for a whole interval is disconnected. 0 disables the heartbeat", defaultValue = "15", type = "long")
+    public static final String CHANGES_HEARTBEAT_INTERVAL = "mxd.dataservice.changes.heartbeat.interval";
+
+    @Inject
+    private WebService webService;
+    @Inject
+    private TypeManager typeManager;
+    @Inject
+    private ObservableDataRecordStore store;
+
+    private ExecutorService changeFeedExecutor;
+    private ScheduledExecutorService changeFeedHeartbeat;
+
+    @Override
+    public String name() {
+        return NAME;
+    }
+
+    @Override
+    public void initialize(ServiceExtensionContext context) {
+        changeFeedExecutor = Executors.newCachedThreadPool(runnable -> {
+            var thread = new Thread(runnable, "data-change-feed");
+            thread.setDaemon(true);
+            return thread;
+        });
+        var changeFeed = new DataRecordChangeFeed(typeManager.getMapper(),
+                context.getSetting(CHANGES_HISTORY_SIZE, 10_000),
+                context.getSetting(CHANGES_BUFFER_SIZE, 1000),
+                changeFeedExecutor);
+        var heartbeatInterval = context.getSetting(CHANGES_HEARTBEAT_INTERVAL, 15L);
+        if (heartbeatInterval > 0) {
+            changeFeedHeartbeat = Executors.newSingleThreadScheduledExecutor(runnable -> {
+                var thread = new Thread(runnable, "data-change-feed-heartbeat");
+                thread.setDaemon(true);
+                return thread;
+            });
+            changeFeedHeartbeat.scheduleWithFixedDelay(changeFeed::heartbeat, heartbeatInterval, heartbeatInterval, TimeUnit.SECONDS);
+        }
+        store.registerListener(changeFeed);
+        webService.registerResource(DATA_API_CONTEXT_NAME, new DataChangesApiController(changeFeed));
+    }
+
+    @Override
+    public void shutdown() {
+        if (changeFeedExecutor != null) {
+            changeFeedExecutor.shutdownNow();
+        }
+        if (changeFeedHeartbeat != null) {
+            changeFeedHeartbeat.shutdownNow();
+        }
+    }
+}
@@ -0,0 +1,145 @@
+/*
+ *  Copyright (c) 2024 Bayerische Motoren Werke Aktiengesellschaft (BMW AG)
+ *
+ *  This program and the accompanying materials are made available under the
+ *  terms of the Apache License, Version 2.0 which is available at
+ *  https://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  SPDX-License-Identifier: Apache-2.0
+ *
+ *  Contributors:
+ *       Bayerische Motoren Werke Aktiengesellschaft (BMW AG) - initial API and implementation
+ *
+ */
+
+package org.eclipse.tractusx.mxd.dataservice;
+
+import org.eclipse.edc.runtime.metamodel.annotation.Extension;
+import org.eclipse.edc.runtime.metamodel.annotation.Inject;
+import org.eclipse.edc.runtime.metamodel.annotation.Provides;
+import org.eclipse.edc.runtime.metamodel.annotation.Setting;
+import org.eclipse.edc.spi.EdcException;
+import org.eclipse.edc.spi.system.ServiceExtension;
+import org.eclipse.edc.spi.system.ServiceExtensionContext;
+import org.eclipse.edc.spi.types.TypeManager;
+import org.eclipse.edc.web.spi.WebService;
+import org.eclipse.tractusx.mxd.dataservice.api.DataApiDispatchers;
+import org.eclipse.tractusx.mxd.dataservice.api.DataServiceApiController;
+import org.eclipse.tractusx.mxd.dataservice.cache.SerializedDataRecordCache;
+import org.eclipse.tractusx.mxd.dataservice.expiry.RecordExpiry;
+import org.eclipse.tractusx.mxd.dataservice.metrics.DataServiceMetrics;
+import org.eclipse.tractusx.mxd.dataservice.store.ObservableDataRecordStore;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+import static org.eclipse.tractusx.mxd.dataservice.DataServiceExtension.DATA_API_CONTEXT_NAME;
+
+/**
+ * Serves the DataRecord endpoints, whose reads are answered from the {@link SerializedDataRecordCache} it provides.
+ * It also runs the expiry of DataRecords, as their time-to-live is set by the writes of these endpoints.
+ */
+@Extension(DataRecordApiExtension.NAME)
+@Provides(SerializedDataRecordCache.class)
+public class DataRecordApiExtension implements ServiceExtension {
+
+    public static final String NAME = "MXD Data Record API";
+
+    @Setting(value = "Number of DataRecords whose JSON encoding is cached for reads, 0 disables the cache", defaultValue = "100000", type = "int")
+    public static final String CACHE_RECORDS_MAX = "mxd.dataservice.cache.records.max";
+    @Setting(value = "Size in bytes up to which the JSON encoding of all DataRecords is cached for reads, 0 disables it", defaultValue = "16777216", type = "int")
+    public static final String CACHE_COLLECTION_MAX_BYTES = "mxd.dataservice.cache.collection.max.bytes";
+    @Setting(value = "Whether DataRecords are deleted once their time-to-live has passed or once there are more than the maximum, which bounds the memory of long-running tests", defaultValue = "false", type = "boolean")
+    public static final String EXPIRY_ENABLED = "mxd.dataservice.expiry.enabled";
+    @Setting(value = "Seconds after its last write at which a DataRecord is deleted unless it was written with a ttl of its own, 0 to keep such DataRecords", defaultValue = "0", type = "long")
+    public static final String EXPIRY_TTL = "mxd.dataservice.expiry.ttl";
+    @Setting(value = "Number of DataRecords above which the least recently used are deleted, 0 for no limit", defaultValue = "0", type = "long")
+    public static final String EXPIRY_MAX_RECORDS = "mxd.dataservice.expiry.max.records";
+    @Setting(value = "Interval in milliseconds at which expired DataRecords are deleted, DataRecords expire up to one interval late", defaultValue = "1000", type = "long")
+    public static final String EXPIRY_TICK = "mxd.dataservice.expiry.tick";
+
+    @Inject
+    private WebService webService;
+    @Inject
+    private TypeManager typeManager;
+    @Inject
+    private ObservableDataRecordStore store;
+    @Inject
+    private DataApiDispatchers dispatchers;
+    @Inject
+    private DataServiceMetrics metrics;
+
+    private ScheduledExecutorService expiryExecutor;
+
+    @Override
+    public String name() {
+        return NAME;
+    }
+
+    @Override
+    public void initialize(ServiceExtensionContext context) {
+        var cache = new SerializedDataRecordCache(typeManager.getMapper(),
+                context.getSetting(CACHE_RECORDS_MAX, 100_000),
+                context.getSetting(CACHE_COLLECTION_MAX_BYTES, 16 * 1024 * 1024));
+        store.registerListener(cache);
+        context.registerService(SerializedDataRecordCache.class, cache);
+        var expiry = expiryEnabled(context) ? recordExpiry(context) : null;
+        webService.registerResource(DATA_API_CONTEXT_NAME, new DataServiceApiController(store, typeManager.getMapper(), cache, dispatchers.records(), expiry));
+    }
+
+    @Override
+    public void shutdown() {
+        if (expiryExecutor != null) {
+            expiryExecutor.shutdownNow();
+        }
+    }
+
+    private static boolean expiryEnabled(ServiceExtensionContext context) {
+        if (!context.getSetting(EXPIRY_ENABLED, false)) {
+            return false;
+        }
+        // an instance of a cluster only sees the writes made through it, not those the others make to its shard
+        if (DataServiceExtension.clustered(context)) {
+            context.getMonitor().warning("Expiry is not supported for a cluster of data services and stays disabled despite setting %s".formatted(EXPIRY_ENABLED));
+            return false;
+        }
+        return true;
+    }
+
+    /**
+     * Expired records are deleted on a single background thread, which also runs the evictions.
+     */
+    private RecordExpiry recordExpiry(ServiceExtensionContext context) {
+        var ttl = context.getSetting(EXPIRY_TTL, 0L);
+        var tick = Duration.ofMillis(context.getSetting(EXPIRY_TICK, 1000L));
+        var maxRecords = context.getSetting(EXPIRY_MAX_RECORDS, 0L);
+        expiryExecutor = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            var thread = new Thread(runnable, "data-record-expiry");
+            thread.setDaemon(true);
+            return thread;
+        });
+        RecordExpiry expiry;
+        try {
+            expiry = new RecordExpiry(store, ttl > 0 ? Duration.ofSeconds(ttl) : null, maxRecords, tick, System::nanoTime, expiryExecutor);
+        } catch (IllegalArgumentException e) {
+            throw new EdcException("Invalid expiry settings: " + e.getMessage(), e);
+        }
+        var monitor = context.getMonitor();
+        expiryExecutor.scheduleWithFixedDelay(() -> {
+            try {
+                expiry.expire();
+            } catch (Exception e) {
+                monitor.severe("Deleting expired data records failed", e);
+            }
+        }, tick.toMillis(), tick.toMillis(), TimeUnit.MILLISECONDS);
+        monitor.info("Data record expiry is enabled, default time-to-live: %s, maximum number of records: %s".formatted(
+                ttl > 0 ? ttl + " s" : "none", maxRecords > 0 ? maxRecords : "none"));
+        store.registerListener(expiry);
+        metrics.counter("records_removed_total", "DataRecords deleted by the data service itself, by reason.", "reason",
+                Map.of("expired", expiry::expired, "evicted", expiry::evicted));
+        return expiry;
+    }
+}
@@ -0,0 +1,160 @@
+/*
+ *  Copyright (c) 2024 Bayerische Motoren Werke Aktiengesellschaft (BMW AG)
+ *
+ *  This program and the accompanying materials are made available under the
+ *  terms of the Apache License, Version 2.0 which is available at
+ *  https://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  SPDX-License-Identifier: Apache-2.0
+ *
+ *  Contributors:
+ *       Bayerische Motoren Werke Aktiengesellschaft (BMW AG) - initial API and implementation
+ *
+ */
+
+package org.eclipse.tractusx.mxd.dataservice;
+
+import org.eclipse.edc.runtime.metamodel.annotation.Extension;
+import org.eclipse.edc.runtime.metamodel.annotation.Inject;
+import org.eclipse.edc.runtime.metamodel.annotation.Provider;
+import org.eclipse.edc.runtime.metamodel.annotation.Setting;
+import org.eclipse.edc.spi.EdcException;
+import org.eclipse.edc.spi.monitor.Monitor;
+import org.eclipse.edc.spi.system.ServiceExtension;
+import org.eclipse.edc.spi.system.ServiceExtensionContext;
+import org.eclipse.edc.transaction.datasource.spi.DataSourceRegistry;
+import org.eclipse.edc.transaction.spi.TransactionContext;
+import org.eclipse.edc.web.spi.WebService;
+import org.eclipse.tractusx.mxd.dataservice.api.SnapshotApiController;
+import org.eclipse.tractusx.mxd.dataservice.store.DataRecordStore;
+import org.eclipse.tractusx.mxd.dataservice.store.InMemoryDataRecordStore;
+import org.eclipse.tractusx.mxd.dataservice.store.log.LogDataRecordStore;
+import org.eclipse.tractusx.mxd.dataservice.store.offheap.OffHeapDataRecordStore;
+import org.eclipse.tractusx.mxd.dataservice.store.snapshot.DataRecordSnapshot;
+import org.eclipse.tractusx.mxd.dataservice.store.sql.SqlDataRecordStore;
+import org.jetbrains.annotations.Nullable;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.time.Duration;
+
+@Extension(DataRecordStoreExtension.NAME)
+public class DataRecordStoreExtension implements ServiceExtension {
+
+    public static final String NAME = "MXD Data Record Store";
+
+    public static final String STORE_TYPE_MEMORY = "memory";
+    public static final String STORE_TYPE_LOG = "log";
+    public static final String STORE_TYPE_SQL = "sql";
+    public static final String STORE_TYPE_OFFHEAP = "offheap";
+    public static final String DEFAULT_DATASOURCE_NAME = "dataservice";
+
+    @Setting(value = "Where the data service keeps its records: '" + STORE_TYPE_MEMORY + "', '" + STORE_TYPE_LOG + "' (durable append-only log), '" + STORE_TYPE_SQL + "' (PostgreSQL) or '" + STORE_TYPE_OFFHEAP + "' (in direct memory, outside the heap)", defaultValue = STORE_TYPE_MEMORY)
+    public static final String STORE_TYPE = "mxd.dataservice.store.type";
+    @Setting(value = "Directory of the log store's segment files", defaultValue = "data")
+    public static final String LOG_DIRECTORY = "mxd.dataservice.store.log.directory";
+    @Setting(value = "Capacity of a log store segment file in bytes", defaultValue = "67108864", type = "int")
+    public static final String LOG_SEGMENT_SIZE = "mxd.dataservice.store.log.segment.size";
+    @Setting(value = "Whether the log store flushes every write to disk before acknowledging it", defaultValue = "false", type = "boolean")
+    public static final String LOG_SYNC = "mxd.dataservice.store.log.sync";
+    @Setting(value = "Interval in seconds at which the log store checks whether its segments need compaction", defaultValue = "60", type = "long")
+    public static final String LOG_COMPACTION_INTERVAL = "mxd.dataservice.store.log.compaction.interval";
+    @Setting(value = "Size in bytes of the blocks of direct memory the off-heap store allocates, all of them count against -XX:MaxDirectMemorySize", defaultValue = "67108864", type = "int")
+    public static final String OFFHEAP_SLAB_SIZE = "mxd.dataservice.store.offheap.slab.size";
+    @Setting(value = "File the memory store is saved to on shutdown and on request, and restored from at startup. Without it, the memory store starts empty")
+    public static final String SNAPSHOT_FILE = "mxd.dataservice.store.memory.snapshot.file";
+    @Setting(value = "Whether snapshots of the memory store are written compressed, which makes them several times smaller but slower to write", defaultValue = "false", type = "boolean")
+    public static final String SNAPSHOT_COMPRESS = "mxd.dataservice.store.memory.snapshot.compress";
+    @Setting(value = "Whether the memory store is saved to its snapshot file on shutdown", defaultValue = "true", type = "boolean")
+    public static final String SNAPSHOT_ON_SHUTDOWN = "mxd.dataservice.store.memory.snapshot.on.shutdown";
+    @Setting(value = "Whether POST <web.http.path>/snapshot saves the memory store to its snapshot file on request. The endpoint is not authenticated, " +
+            "only enable it where the default context is not reachable by clients", defaultValue = "false", type = "boolean")
+    public static final String SNAPSHOT_API_ENABLED = "mxd.dataservice.store.memory.snapshot.api.enabled";
+    @Setting(value = "Name of the datasource the SQL store uses. The datasource and its connection pool are configured under 'edc.datasource.<name>'", defaultValue = DEFAULT_DATASOURCE_NAME)
+    public static final String SQL_DATASOURCE = "mxd.dataservice.store.sql.datasource";
+
+    @Inject
+    private DataSourceRegistry dataSourceRegistry;
+    @Inject
+    private TransactionContext transactionContext;
+    @Inject
+    private WebService webService;
+
+    private LogDataRecordStore logStore;
+    private InMemoryDataRecordStore memoryStore;
+    private DataRecordSnapshot shutdownSnapshot;
+    private Monitor monitor;
+
+    @Override
+    public String name() {
+        return NAME;
+    }
+
+    @Provider
+    public DataRecordStore dataRecordStore(ServiceExtensionContext context) {
+        var type = context.getSetting(STORE_TYPE, STORE_TYPE_MEMORY);
+        return switch (type) {
+            case STORE_TYPE_MEMORY -> {
+                monitor = context.getMonitor();
+                var snapshot = snapshot(context);
+                memoryStore = snapshot != null && snapshot.exists() ? restore(snapshot) : new InMemoryDataRecordStore();
+                if (context.getSetting(SNAPSHOT_ON_SHUTDOWN, true)) {
+                    shutdownSnapshot = snapshot;
+                }
+                if (snapshot != null && context.getSetting(SNAPSHOT_API_ENABLED, false)) {
+                    webService.registerResource(new SnapshotApiController(memoryStore, snapshot));
+                }
+                yield memoryStore;
+            }
+            case STORE_TYPE_LOG -> {
+                logStore = new LogDataRecordStore(Path.of(context.getSetting(LOG_DIRECTORY, "data")),
+                        context.getSetting(LOG_SEGMENT_SIZE, 64 * 1024 * 1024),
+                        context.getSetting(LOG_SYNC, false),
+                        context.getMonitor());
+                logStore.startCompaction(Duration.ofSeconds(context.getSetting(LOG_COMPACTION_INTERVAL, 60L)));
+                yield logStore;
+            }
+            case STORE_TYPE_SQL -> {
+                var sqlStore = new SqlDataRecordStore(dataSourceRegistry, context.getSetting(SQL_DATASOURCE, DEFAULT_DATASOURCE_NAME), transactionContext);
+                sqlStore.createSchema();
+                yield sqlStore;
+            }
+            case STORE_TYPE_OFFHEAP -> new OffHeapDataRecordStore(context.getSetting(OFFHEAP_SLAB_SIZE, 64 * 1024 * 1024));
+            default -> throw new EdcException("Unknown data record store type '%s' in setting %s".formatted(type, STORE_TYPE));
+        };
+    }
+
+    @Override
+    public void shutdown() {
+        if (logStore != null) {
+            logStore.close();
+        }
+        if (shutdownSnapshot != null) {
+            try {
+                var info = shutdownSnapshot.write(memoryStore);
+                monitor.info("Saved %d data records to snapshot %s in %d ms".formatted(info.records(), info.file(), info.durationMillis()));
+            } catch (IOException e) {
+                monitor.severe("Failed to save the data records to snapshot " + shutdownSnapshot.file(), e);
+            }
+        }
+    }
+
+    /**
+     * Returns the configured snapshot of the memory store, or null if there is none.
+     */
+    public static @Nullable DataRecordSnapshot snapshot(ServiceExtensionContext context) {
+        var file = context.getSetting(SNAPSHOT_FILE, null);
+        return file == null ? null : new DataRecordSnapshot(Path.of(file), context.getSetting(SNAPSHOT_COMPRESS, false));
+    }
+
+    private InMemoryDataRecordStore restore(DataRecordSnapshot snapshot) {
+        var start = System.nanoTime();
+        try {
+            var restored = snapshot.read();
+            monitor.info("Restored %d data records from snapshot %s in %d ms".formatted(restored.count(), snapshot.file(), Duration.ofNanos(System.nanoTime() - start).toMillis()));
+            return restored;
+        } catch (IOException e) {
+            throw new EdcException("Failed to restore the data records from snapshot " + snapshot.file(), e);
+        }
+    }
+}
@@ -16,21 +16,51 @@ package org.eclipse.tractusx.mxd.dataservice;
 
 import org.eclipse.edc.runtime.metamodel.annotation.Extension;
 import org.eclipse.edc.runtime.metamodel.annotation.Inject;
+import org.eclipse.edc.runtime.metamodel.annotation.Provides;
+import org.eclipse.edc.runtime.metamodel.annotation.Setting;
 import org.eclipse.edc.runtime.metamodel.annotation.SettingContext;
+import org.eclipse.edc.spi.EdcException;
+import org.eclipse.edc.spi.monitor.Monitor;
 import org.eclipse.edc.spi.system.ServiceExtension;
 import org.eclipse.edc.spi.system.ServiceExtensionContext;
+import org.eclipse.edc.spi.types.TypeManager;
 import org.eclipse.edc.web.spi.WebServer;
 import org.eclipse.edc.web.spi.WebService;
 import org.eclipse.edc.web.spi.configuration.WebServiceConfigurer;
 import org.eclipse.edc.web.spi.configuration.WebServiceSettings;
-import org.eclipse.tractusx.mxd.dataservice.api.DataServiceApiController;
-import org.eclipse.tractusx.mxd.dataservice.model.DataRecord;
+import org.eclipse.tractusx.mxd.dataservice.api.DataApiDispatchers;
+import org.eclipse.tractusx.mxd.dataservice.api.RequestDispatcher;
+import org.eclipse.tractusx.mxd.dataservice.api.ShardApiController;
+import org.eclipse.tractusx.mxd.dataservice.cluster.HashRing;
+import org.eclipse.tractusx.mxd.dataservice.cluster.RemoteDataRecordStore;
+import org.eclipse.tractusx.mxd.dataservice.cluster.ShardedDataRecordStore;
+import org.eclipse.tractusx.mxd.dataservice.generator.DatasetGenerator;
+import org.eclipse.tractusx.mxd.dataservice.store.DataRecordStore;
+import org.eclipse.tractusx.mxd.dataservice.store.LazyInitializingDataRecordStore;
+import org.eclipse.tractusx.mxd.dataservice.store.ObservableDataRecordStore;
+import org.jetbrains.annotations.Nullable;
 
-import java.util.Map;
-import java.util.concurrent.ConcurrentHashMap;
-import java.util.stream.IntStream;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
 
+/**
+ * Sets up the data API and the store behind it, which the extensions of the individual features build on: it provides
+ * the {@link ObservableDataRecordStore} they read from, write to and listen to, and the {@link DataApiDispatchers} their
+ * controllers run requests with. The store is populated with synthetic records once all of them have registered their
+ * listeners, which then take in the records through {@link org.eclipse.tractusx.mxd.dataservice.store.DataRecordListener#initialized}.
+ */
 @Extension(DataServiceExtension.NAME)
+@Provides({ ObservableDataRecordStore.class, DataApiDispatchers.class })
 public class DataServiceExtension implements ServiceExtension {
 
     public static final String NAME = "MXD Demo Backend Services";
@@ -47,12 +77,54 @@ public class DataServiceExtension implements ServiceExtension {
             .useDefaultContext(false)
             .name("Data Service API")
             .build();
+    public static final String EXECUTION_POOL = "pool";
+    public static final String EXECUTION_VIRTUAL = "virtual";
+    public static final String EXECUTION_DEDICATED = "dedicated";
+    @Setting(value = "How requests to the data API are executed: '" + EXECUTION_POOL + "' runs them on the web server's thread pool, '" +
+            EXECUTION_VIRTUAL + "' on a virtual thread per request, which requires Java 21 or newer, '" + EXECUTION_DEDICATED +
+            "' on a pool of its own, which frees the web server's threads while a slow store is accessed", defaultValue = EXECUTION_POOL)
+    public static final String DATA_API_EXECUTION = DATA_API_CONFIG_KEY + ".execution";
+    @Setting(value = "Number of threads of the '" + EXECUTION_DEDICATED + "' execution mode", defaultValue = "32", type = "int")
+    public static final String DATA_API_EXECUTION_THREADS = DATA_API_CONFIG_KEY + ".execution.threads";
+    @Setting(value = "Number of requests the '" + EXECUTION_DEDICATED + "' execution mode queues while all its threads are busy, further requests are rejected with 503",
+            defaultValue = "10000", type = "int")
+    public static final String DATA_API_EXECUTION_QUEUE = DATA_API_CONFIG_KEY + ".execution.queue";
+    @Setting(value = "Milliseconds a read from the DataRecord endpoints may take until its response starts, slower reads are answered with 503 and their handler is interrupted. " +
+            "A write is answered with 503 only if it has not started within this time, it is then not applied. A write that has started is answered once it completes. 0 for no limit",
+            defaultValue = "0", type = "long")
+    public static final String DATA_API_TIMEOUT = DATA_API_CONFIG_KEY + ".timeout";
+    @Setting(value = "Whether the synthetic records are generated on the first access to the data service instead of at startup, which keeps large data sets from delaying readiness", defaultValue = "false", type = "boolean")
+    public static final String GENERATOR_LAZY = "mxd.dataservice.generator.lazy";
+    @Setting(value = "Comma-separated base URLs of the data APIs of all instances of a cluster, including this one, each of which holds the DataRecords whose ID hashes to it. " +
+            "Empty for a single instance holding all DataRecords")
+    public static final String CLUSTER_PEERS = "mxd.dataservice.cluster.peers";
+    @Setting(value = "Base URL of this instance's data API, exactly as it appears in " + CLUSTER_PEERS)
+    public static final String CLUSTER_SELF = "mxd.dataservice.cluster.self";
+    @Setting(value = "Number of points each instance is placed at on the hash ring, more points spread the DataRecords more evenly", defaultValue = "128", type = "int")
+    public static final String CLUSTER_VIRTUAL_NODES = "mxd.dataservice.cluster.virtual.nodes";
+    @Setting(value = "Timeout in milliseconds of requests to the other instances of the cluster", defaultValue = "10000", type = "long")
+    public static final String CLUSTER_TIMEOUT = "mxd.dataservice.cluster.timeout";
     @Inject
     private WebService webService;
     @Inject
     private WebServiceConfigurer configurer;
     @Inject
     private WebServer webServer;
+    @Inject
+    private TypeManager typeManager;
+    @Inject
+    private DataRecordStore store;
+    @Inject
+    private DatasetGenerator generator;
+
+    private Monitor monitor;
+    private @Nullable HashRing ring;
+    private @Nullable String self;
+    private boolean lazy;
+    private LazyInitializingDataRecordStore localStore;
+    private ObservableDataRecordStore observableStore;
+    private ExecutorService requestExecutor;
+    private ExecutorService clusterExecutor;
 
     @Override
     public String name() {
@@ -63,15 +135,150 @@ public class DataServiceExtension implements ServiceExtension {
     public void initialize(ServiceExtensionContext context) {
         var config = context.getConfig(DATA_API_CONFIG_KEY);
         configurer.configure(config, webServer, SETTINGS);
-        var database = new ConcurrentHashMap<String, DataRecord>();
-        populate(database);
-        webService.registerResource(DATA_API_CONTEXT_NAME, new DataServiceApiController(database));
+        monitor = context.getMonitor();
+        ring = hashRing(context);
+        self = ring == null ? null : context.getSetting(CLUSTER_SELF, null);
+        lazy = context.getSetting(GENERATOR_LAZY, false);
+
+        // also populated eagerly through the lazy store, so that requests arriving at startup wait for the records
+        localStore = new LazyInitializingDataRecordStore(store, this::populate);
+        observableStore = new ObservableDataRecordStore(ring == null ? localStore : shardedStore(context, ring, self, localStore));
+        context.registerService(ObservableDataRecordStore.class, observableStore);
+
+        var execution = context.getSetting(DATA_API_EXECUTION, EXECUTION_POOL);
+        var threads = context.getSetting(DATA_API_EXECUTION_THREADS, 32);
+        requestExecutor = switch (execution) {
+            case EXECUTION_POOL -> null;
+            case EXECUTION_VIRTUAL -> newVirtualThreadPerTaskExecutor();
+            case EXECUTION_DEDICATED -> dedicatedExecutor(threads, context.getSetting(DATA_API_EXECUTION_QUEUE, 10_000));
+            default -> throw new EdcException("Unknown execution mode '%s' in setting %s".formatted(execution, DATA_API_EXECUTION));
+        };
+        monitor.info("Data API requests are executed on %s".formatted(switch (execution) {
+            case EXECUTION_VIRTUAL -> "virtual threads";
+            case EXECUTION_DEDICATED -> "a dedicated pool of %d threads".formatted(threads);
+            default -> "the web server's thread pool";
+        }));
+        var dispatcher = new RequestDispatcher(requestExecutor);
+        var timeout = context.getSetting(DATA_API_TIMEOUT, 0L);
+        var dispatchers = new DataApiDispatchers(timeout > 0 ? new RequestDispatcher(requestExecutor, Duration.ofMillis(timeout)) : dispatcher, dispatcher);
+        context.registerService(DataApiDispatchers.class, dispatchers);
+
+        if (ring != null) {
+            webService.registerResource(DATA_API_CONTEXT_NAME, new ShardApiController(localStore, typeManager.getMapper(), dispatchers.records()));
+        }
+    }
+
+    /**
+     * Runs after every extension has registered its listeners, which have to take in the records of the store.
+     */
+    @Override
+    public void start() {
+        if (!lazy) {
+            localStore.count();
+        }
+    }
+
+    @Override
+    public void shutdown() {
+        if (requestExecutor != null) {
+            requestExecutor.shutdown();
+        }
+        if (clusterExecutor != null) {
+            clusterExecutor.shutdownNow();
+        }
+    }
+
+    /**
+     * Whether the DataRecords are sharded over a cluster of data services. Features that keep a view of the records of
+     * this instance only, like search, or that have to see every write of a record, like expiry, are not available in
+     * a cluster.
+     */
+    public static boolean clustered(ServiceExtensionContext context) {
+        return !peers(context).isEmpty();
+    }
+
+    private void populate(DataRecordStore dataStore) {
+        // a durable store may already hold the records of a previous run
+        if (dataStore.count() == 0) {
+            var start = System.nanoTime();
+            // each instance of a cluster generates the same data set, but keeps only its own records
+            var created = ring == null ? generator.populate(dataStore) : generator.populate(dataStore, id -> ring.owner(id).equals(self));
+            monitor.info("Generated %d data records in %d ms".formatted(created, Duration.ofNanos(System.nanoTime() - start).toMillis()));
+        }
+        for (var listener : observableStore.getListeners()) {
+            var start = System.nanoTime();
+            listener.initialized(dataStore);
+            monitor.debug("Initialized %s in %d ms".formatted(listener.getClass().getSimpleName(), Duration.ofNanos(System.nanoTime() - start).toMillis()));
+        }
+    }
+
+    private static List<String> peers(ServiceExtensionContext context) {
+        return Arrays.stream(context.getSetting(CLUSTER_PEERS, "").split(","))
+                .map(String::trim)
+                .filter(peer -> !peer.isEmpty())
+                .toList();
+    }
+
+    private @Nullable HashRing hashRing(ServiceExtensionContext context) {
+        var peers = peers(context);
+        if (peers.isEmpty()) {
+            return null;
+        }
+        var self = context.getSetting(CLUSTER_SELF, null);
+        if (self == null || !peers.contains(self)) {
+            throw new EdcException("Setting %s must be one of the peers in %s, got '%s'".formatted(CLUSTER_SELF, CLUSTER_PEERS, self));
+        }
+        try {
+            return new HashRing(peers, context.getSetting(CLUSTER_VIRTUAL_NODES, 128));
+        } catch (IllegalArgumentException e) {
+            throw new EdcException("Invalid cluster settings: " + e.getMessage(), e);
+        }
+    }
+
+    /**
+     * Combines the local store with the shards of the other instances, which are accessed through their shard API.
+     */
+    private DataRecordStore shardedStore(ServiceExtensionContext context, HashRing ring, String self, DataRecordStore localStore) {
+        var timeout = Duration.ofMillis(context.getSetting(CLUSTER_TIMEOUT, 10_000L));
+        var client = HttpClient.newBuilder().connectTimeout(timeout).build();
+        var shards = new HashMap<String, DataRecordStore>();
+        for (var peer : ring.nodes()) {
+            shards.put(peer, peer.equals(self) ? localStore : new RemoteDataRecordStore(URI.create(peer), client, typeManager.getMapper(), timeout));
+        }
+        clusterExecutor = Executors.newCachedThreadPool(runnable -> {
+            var thread = new Thread(runnable, "data-shard-fan-out");
+            thread.setDaemon(true);
+            return thread;
+        });
+        monitor.info("Data records are sharded over %d instances: %s".formatted(ring.nodes().size(), ring.nodes()));
+        return new ShardedDataRecordStore(ring, shards, clusterExecutor);
+    }
+
+    /**
+     * A fixed number of threads with a bounded queue, so that a store that cannot keep up turns into rejected requests
+     * instead of an ever growing backlog.
+     */
+    private ExecutorService dedicatedExecutor(int threads, int queueSize) {
+        if (threads < 1 || queueSize < 1) {
+            throw new EdcException("Settings %s and %s must be at least 1, got %d and %d".formatted(DATA_API_EXECUTION_THREADS, DATA_API_EXECUTION_QUEUE, threads, queueSize));
+        }
+        var counter = new AtomicInteger();
+        return new ThreadPoolExecutor(threads, threads, 0, TimeUnit.MILLISECONDS, new ArrayBlockingQueue<>(queueSize), runnable -> {
+            var thread = new Thread(runnable, "data-api-" + counter.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
     }
 
-    private void populate(Map<String, DataRecord> database) {
-        IntStream.range(0, 10)
-                .mapToObj(i -> new DataRecord("id" + i, "Record Nr. " + i, "This is a record (nr. " + i+") coming from the provider's private HTTP data service"))
-                .forEach(dr -> database.put(dr.id(), dr));
+    /**
+     * Looked up reflectively, as the runtime is built for Java 17 but may run on a newer JVM.
+     */
+    private ExecutorService newVirtualThreadPerTaskExecutor() {
+        try {
+            return (ExecutorService) Executors.class.getMethod("newVirtualThreadPerTaskExecutor").invoke(null);
+        } catch (ReflectiveOperationException e) {
+            throw new EdcException("Execution mode '%s' requires Java 21 or newer, running on %s".formatted(EXECUTION_VIRTUAL, Runtime.version()), e);
+        }
     }
 
 }
@@ -0,0 +1,82 @@
+/*
+ *  Copyright (c) 2024 Bayerische Motoren Werke Aktiengesellschaft (BMW AG)
+ *
+ *  This program and the accompanying materials are made available under the
+ *  terms of the Apache License, Version 2.0 which is available at
+ *  https://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  SPDX-License-Identifier: Apache-2.0
+ *
+ *  Contributors:
+ *       Bayerische Motoren Werke Aktiengesellschaft (BMW AG) - initial API and implementation
+ *
+ */
+
+package org.eclipse.tractusx.mxd.dataservice;
+
+import org.eclipse.edc.runtime.metamodel.annotation.Extension;
+import org.eclipse.edc.runtime.metamodel.annotation.Provider;
+import org.eclipse.edc.runtime.metamodel.annotation.Setting;
+import org.eclipse.edc.spi.EdcException;
+import org.eclipse.edc.spi.system.ServiceExtension;
+import org.eclipse.edc.spi.system.ServiceExtensionContext;
+import org.eclipse.tractusx.mxd.dataservice.generator.DatasetGenerator;
+import org.eclipse.tractusx.mxd.dataservice.generator.IdScheme;
+import org.eclipse.tractusx.mxd.dataservice.generator.PayloadSize;
+
+@Extension(DatasetGeneratorExtension.NAME)
+public class DatasetGeneratorExtension implements ServiceExtension {
+
+    public static final String NAME = "MXD Dataset Generator";
+
+    public static final String GENERATOR_DISTRIBUTION_FIXED = "fixed";
+    public static final String GENERATOR_DISTRIBUTION_UNIFORM = "uniform";
+    public static final String GENERATOR_DISTRIBUTION_NORMAL = "normal";
+
+    @Setting(value = "Number of synthetic records the data service is populated with if its store is empty", defaultValue = "10", type = "long")
+    public static final String GENERATOR_COUNT = "mxd.dataservice.generator.count";
+    @Setting(value = "Seed of the synthetic records, the same seed and settings always generate the same records", defaultValue = "0", type = "long")
+    public static final String GENERATOR_SEED = "mxd.dataservice.generator.seed";
+    @Setting(value = "ID scheme of the synthetic records: 'sequential' (id0, id1, ...), 'padded' (zero-padded sequential IDs) or 'uuid'", defaultValue = "sequential")
+    public static final String GENERATOR_ID_SCHEME = "mxd.dataservice.generator.id.scheme";
+    @Setting(value = "Distribution of the description size of the synthetic records: 'fixed', 'uniform' (between min and max) or 'normal' (cut off at min and max)", defaultValue = GENERATOR_DISTRIBUTION_FIXED)
+    public static final String GENERATOR_PAYLOAD_DISTRIBUTION = "mxd.dataservice.generator.payload.distribution";
+    @Setting(value = "Description size in bytes of the synthetic records for the 'fixed' distribution and mean of the 'normal' distribution, 0 keeps the short default description", defaultValue = "0", type = "int")
+    public static final String GENERATOR_PAYLOAD_SIZE = "mxd.dataservice.generator.payload.size";
+    @Setting(value = "Minimum description size in bytes of the 'uniform' and 'normal' distributions", defaultValue = "0", type = "int")
+    public static final String GENERATOR_PAYLOAD_SIZE_MIN = "mxd.dataservice.generator.payload.size.min";
+    @Setting(value = "Maximum description size in bytes of the 'uniform' and 'normal' distributions", defaultValue = "1024", type = "int")
+    public static final String GENERATOR_PAYLOAD_SIZE_MAX = "mxd.dataservice.generator.payload.size.max";
+    @Setting(value = "Standard deviation in bytes of the 'normal' description size distribution", defaultValue = "64", type = "int")
+    public static final String GENERATOR_PAYLOAD_SIZE_STDDEV = "mxd.dataservice.generator.payload.size.stddev";
+    @Setting(value = "Number of threads that generate the synthetic records, defaults to the number of available processors", type = "int")
+    public static final String GENERATOR_PARALLELISM = "mxd.dataservice.generator.parallelism";
+
+    @Override
+    public String name() {
+        return NAME;
+    }
+
+    @Provider
+    public DatasetGenerator datasetGenerator(ServiceExtensionContext context) {
+        var size = context.getSetting(GENERATOR_PAYLOAD_SIZE, 0);
+        var min = context.getSetting(GENERATOR_PAYLOAD_SIZE_MIN, 0);
+        var max = context.getSetting(GENERATOR_PAYLOAD_SIZE_MAX, 1024);
+        var distribution = context.getSetting(GENERATOR_PAYLOAD_DISTRIBUTION, GENERATOR_DISTRIBUTION_FIXED);
+        try {
+            var payloadSize = switch (distribution) {
+                case GENERATOR_DISTRIBUTION_FIXED -> PayloadSize.fixed(size);
+                case GENERATOR_DISTRIBUTION_UNIFORM -> PayloadSize.uniform(min, max);
+                case GENERATOR_DISTRIBUTION_NORMAL -> PayloadSize.normal(size, context.getSetting(GENERATOR_PAYLOAD_SIZE_STDDEV, 64), min, max);
+                default -> throw new IllegalArgumentException("Unknown payload distribution '%s' in setting %s".formatted(distribution, GENERATOR_PAYLOAD_DISTRIBUTION));
+            };
+            return new DatasetGenerator(context.getSetting(GENERATOR_COUNT, 10L),
+                    context.getSetting(GENERATOR_SEED, 0L),
+                    IdScheme.parse(context.getSetting(GENERATOR_ID_SCHEME, "sequential")),
+                    payloadSize,
+                    context.getSetting(GENERATOR_PARALLELISM, Runtime.getRuntime().availableProcessors()));
+        } catch (IllegalArgumentException e) {
+            throw new EdcException("Invalid data set generator settings: " + e.getMessage(), e);
+        }
+    }
+}
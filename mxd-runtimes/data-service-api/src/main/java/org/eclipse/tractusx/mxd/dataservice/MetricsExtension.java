@@ -0,0 +1,111 @@
+/*
+ *  Copyright (c) 2024 Bayerische Motoren Werke Aktiengesellschaft (BMW AG)
+ *
+ *  This program and the accompanying materials are made available under the
+ *  terms of the Apache License, Version 2.0 which is available at
+ *  https://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  SPDX-License-Identifier: Apache-2.0
+ *
+ *  Contributors:
+ *       Bayerische Motoren Werke Aktiengesellschaft (BMW AG) - initial API and implementation
+ *
+ */
+
+package org.eclipse.tractusx.mxd.dataservice;
+
+import org.eclipse.edc.runtime.metamodel.annotation.Extension;
+import org.eclipse.edc.runtime.metamodel.annotation.Inject;
+import org.eclipse.edc.runtime.metamodel.annotation.Provides;
+import org.eclipse.edc.runtime.metamodel.annotation.Setting;
+import org.eclipse.edc.spi.system.ServiceExtension;
+import org.eclipse.edc.spi.system.ServiceExtensionContext;
+import org.eclipse.edc.web.spi.WebService;
+import org.eclipse.tractusx.mxd.dataservice.api.AggregationApi;
+import org.eclipse.tractusx.mxd.dataservice.api.AggregationApiController;
+import org.eclipse.tractusx.mxd.dataservice.api.AttachmentApi;
+import org.eclipse.tractusx.mxd.dataservice.api.AttachmentApiController;
+import org.eclipse.tractusx.mxd.dataservice.api.DataServiceApi;
+import org.eclipse.tractusx.mxd.dataservice.api.DataServiceApiController;
+import org.eclipse.tractusx.mxd.dataservice.api.MetricsApiController;
+import org.eclipse.tractusx.mxd.dataservice.api.MetricsFeature;
+import org.eclipse.tractusx.mxd.dataservice.api.PayloadApi;
+import org.eclipse.tractusx.mxd.dataservice.api.PayloadApiController;
+import org.eclipse.tractusx.mxd.dataservice.api.SearchApi;
+import org.eclipse.tractusx.mxd.dataservice.api.SearchApiController;
+import org.eclipse.tractusx.mxd.dataservice.api.SinkApi;
+import org.eclipse.tractusx.mxd.dataservice.api.SinkApiController;
+import org.eclipse.tractusx.mxd.dataservice.metrics.DataServiceMetrics;
+import org.eclipse.tractusx.mxd.dataservice.store.DataRecordStore;
+import org.eclipse.tractusx.mxd.dataservice.store.offheap.OffHeapDataRecordStore;
+
+import java.lang.management.BufferPoolMXBean;
+import java.lang.management.ManagementFactory;
+import java.lang.reflect.Method;
+import java.util.Arrays;
+import java.util.Set;
+import java.util.stream.Stream;
+
+import static org.eclipse.tractusx.mxd.dataservice.DataServiceExtension.DATA_API_CONTEXT_NAME;
+
+/**
+ * Records the requests to the data API and the memory of the data service. The extensions of the other features add
+ * their own metrics to the {@link DataServiceMetrics}, which are only recorded and served if metrics are enabled.
+ */
+@Extension(MetricsExtension.NAME)
+@Provides(DataServiceMetrics.class)
+public class MetricsExtension implements ServiceExtension {
+
+    public static final String NAME = "MXD Data Service Metrics";
+
+    @Setting(value = "Whether request and memory metrics of the data service are recorded and served in the Prometheus format at <web.http.data.path>/metrics", defaultValue = "true", type = "boolean")
+    public static final String METRICS_ENABLED = "mxd.dataservice.metrics.enabled";
+
+    @Inject
+    private WebService webService;
+    @Inject
+    private DataRecordStore store;
+
+    @Override
+    public String name() {
+        return NAME;
+    }
+
+    @Override
+    public void initialize(ServiceExtensionContext context) {
+        var metrics = dataServiceMetrics();
+        context.registerService(DataServiceMetrics.class, metrics);
+        if (!context.getSetting(METRICS_ENABLED, true)) {
+            return;
+        }
+        webService.registerResource(DATA_API_CONTEXT_NAME, new MetricsFeature(metrics, Set.of(DataServiceApiController.class, AttachmentApiController.class, PayloadApiController.class, SinkApiController.class,
+                SearchApiController.class, AggregationApiController.class)));
+        webService.registerResource(DATA_API_CONTEXT_NAME, new MetricsApiController(metrics));
+    }
+
+    /**
+     * The record count is taken from the underlying store, so that scraping does not trigger a lazy initialization.
+     */
+    private DataServiceMetrics dataServiceMetrics() {
+        var endpoints = Stream.of(DataServiceApi.class, AttachmentApi.class, PayloadApi.class, SinkApi.class, SearchApi.class, AggregationApi.class)
+                .flatMap(api -> Arrays.stream(api.getMethods()))
+                .map(Method::getName)
+                .distinct()
+                .sorted()
+                .toList();
+        var metrics = new DataServiceMetrics(endpoints);
+        metrics.gauge("records", "Number of DataRecords in the store.", store::count);
+        metrics.gauge("memory_heap_used_bytes", "Heap memory in use, including garbage that has not been collected yet.",
+                () -> Runtime.getRuntime().totalMemory() - Runtime.getRuntime().freeMemory());
+        for (var pool : ManagementFactory.getPlatformMXBeans(BufferPoolMXBean.class)) {
+            if (pool.getName().equals("direct") || pool.getName().equals("mapped")) {
+                metrics.gauge("memory_%s_used_bytes".formatted(pool.getName()), "Memory in use by %s byte buffers.".formatted(pool.getName()), pool::getMemoryUsed);
+            }
+        }
+        if (store instanceof OffHeapDataRecordStore offHeapStore) {
+            metrics.gauge("offheap_store_used_bytes", "Bytes of the off-heap store's slabs taken by records, including garbage that has not been compacted yet.", offHeapStore::offHeapUsed);
+            metrics.gauge("offheap_store_capacity_bytes", "Bytes allocated for the off-heap store's slabs.", offHeapStore::offHeapCapacity);
+        }
+        return metrics;
+    }
+}
@@ -0,0 +1,69 @@
+/*
+ *  Copyright (c) 2024 Bayerische Motoren Werke Aktiengesellschaft (BMW AG)
+ *
+ *  This program and the accompanying materials are made available under the
+ *  terms of the Apache License, Version 2.0 which is available at
+ *  https://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  SPDX-License-Identifier: Apache-2.0
+ *
+ *  Contributors:
+ *       Bayerische Motoren Werke Aktiengesellschaft (BMW AG) - initial API and implementation
+ *
+ */
+
+package org.eclipse.tractusx.mxd.dataservice;
+
+import org.eclipse.edc.runtime.metamodel.annotation.Extension;
+import org.eclipse.edc.runtime.metamodel.annotation.Inject;
+import org.eclipse.edc.runtime.metamodel.annotation.Setting;
+import org.eclipse.edc.spi.system.ServiceExtension;
+import org.eclipse.edc.spi.system.ServiceExtensionContext;
+import org.eclipse.edc.web.spi.WebService;
+import org.eclipse.tractusx.mxd.dataservice.api.DataApiDispatchers;
+import org.eclipse.tractusx.mxd.dataservice.api.PayloadApiController;
+import org.eclipse.tractusx.mxd.dataservice.api.SinkApiController;
+import org.eclipse.tractusx.mxd.dataservice.payload.BufferPool;
+import org.eclipse.tractusx.mxd.dataservice.sink.TransferSink;
+
+import java.nio.file.Path;
+
+import static org.eclipse.tractusx.mxd.dataservice.DataServiceExtension.DATA_API_CONTEXT_NAME;
+
+/**
+ * Serves synthetic payloads and the sink that takes in transferred ones, which share a pool of buffers.
+ */
+@Extension(PayloadExtension.NAME)
+public class PayloadExtension implements ServiceExtension {
+
+    public static final String NAME = "MXD Payload and Transfer Sink";
+
+    @Setting(value = "Size in bytes of the buffers synthetic payloads are generated into and the transfer sink reads into, one is in use per payload being sent or received", defaultValue = "262144", type = "int")
+    public static final String PAYLOAD_BUFFER_SIZE = "mxd.dataservice.payload.buffer.size";
+    @Setting(value = "Number of synthetic payload and transfer sink buffers kept for reuse", defaultValue = "64", type = "int")
+    public static final String PAYLOAD_BUFFERS_POOLED = "mxd.dataservice.payload.buffers.pooled";
+    @Setting(value = "Directory the transfer sink writes request bodies to if they are persisted", defaultValue = "sink")
+    public static final String SINK_DIRECTORY = "mxd.dataservice.sink.directory";
+    @Setting(value = "Whether the transfer sink writes request bodies to disk unless a request says otherwise, instead of discarding them", defaultValue = "false", type = "boolean")
+    public static final String SINK_PERSIST = "mxd.dataservice.sink.persist";
+    @Setting(value = "Number of transfers the sink keeps statistics for, the oldest are forgotten first", defaultValue = "10000", type = "int")
+    public static final String SINK_MAX_TRANSFERS = "mxd.dataservice.sink.max.transfers";
+
+    @Inject
+    private WebService webService;
+    @Inject
+    private DataApiDispatchers dispatchers;
+
+    @Override
+    public String name() {
+        return NAME;
+    }
+
+    @Override
+    public void initialize(ServiceExtensionContext context) {
+        var buffers = new BufferPool(context.getSetting(PAYLOAD_BUFFER_SIZE, 256 * 1024), context.getSetting(PAYLOAD_BUFFERS_POOLED, 64));
+        webService.registerResource(DATA_API_CONTEXT_NAME, new PayloadApiController(buffers, dispatchers.streams()));
+        var sink = new TransferSink(Path.of(context.getSetting(SINK_DIRECTORY, "sink")), buffers, context.getSetting(SINK_MAX_TRANSFERS, 10_000));
+        webService.registerResource(DATA_API_CONTEXT_NAME, new SinkApiController(sink, context.getSetting(SINK_PERSIST, false), dispatchers.streams()));
+    }
+}
@@ -0,0 +1,79 @@
+/*
+ *  Copyright (c) 2024 Bayerische Motoren Werke Aktiengesellschaft (BMW AG)
+ *
+ *  This program and the accompanying materials are made available under the
+ *  terms of the Apache License, Version 2.0 which is available at
+ *  https://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  SPDX-License-Identifier: Apache-2.0
+ *
+ *  Contributors:
+ *       Bayerische Motoren Werke Aktiengesellschaft (BMW AG) - initial API and implementation
+ *
+ */
+
+package org.eclipse.tractusx.mxd.dataservice;
+
+import org.eclipse.edc.runtime.metamodel.annotation.Extension;
+import org.eclipse.edc.runtime.metamodel.annotation.Inject;
+import org.eclipse.edc.runtime.metamodel.annotation.Setting;
+import org.eclipse.edc.spi.system.ServiceExtension;
+import org.eclipse.edc.spi.system.ServiceExtensionContext;
+import org.eclipse.edc.spi.types.TypeManager;
+import org.eclipse.edc.web.spi.WebService;
+import org.eclipse.tractusx.mxd.dataservice.api.DataApiDispatchers;
+import org.eclipse.tractusx.mxd.dataservice.api.SearchApiController;
+import org.eclipse.tractusx.mxd.dataservice.cache.SerializedDataRecordCache;
+import org.eclipse.tractusx.mxd.dataservice.metrics.DataServiceMetrics;
+import org.eclipse.tractusx.mxd.dataservice.search.SearchIndex;
+import org.eclipse.tractusx.mxd.dataservice.store.ObservableDataRecordStore;
+
+import static org.eclipse.tractusx.mxd.dataservice.DataServiceExtension.DATA_API_CONTEXT_NAME;
+
+/**
+ * Indexes the names and descriptions of the DataRecords for full-text search. The index covers the records of this
+ * instance only, so a cluster has no search.
+ */
+@Extension(SearchExtension.NAME)
+public class SearchExtension implements ServiceExtension {
+
+    public static final String NAME = "MXD Data Record Search";
+
+    @Setting(value = "Whether the names and descriptions of the DataRecords are indexed for full-text search at <web.http.path>/v1/data/search. " +
+            "The index is held in memory and takes roughly as much heap as the DataRecords' text", defaultValue = "false", type = "boolean")
+    public static final String SEARCH_ENABLED = "mxd.dataservice.search.enabled";
+
+    @Inject
+    private WebService webService;
+    @Inject
+    private TypeManager typeManager;
+    @Inject
+    private ObservableDataRecordStore store;
+    @Inject
+    private SerializedDataRecordCache cache;
+    @Inject
+    private DataApiDispatchers dispatchers;
+    @Inject
+    private DataServiceMetrics metrics;
+
+    @Override
+    public String name() {
+        return NAME;
+    }
+
+    @Override
+    public void initialize(ServiceExtensionContext context) {
+        if (!context.getSetting(SEARCH_ENABLED, false)) {
+            return;
+        }
+        if (DataServiceExtension.clustered(context)) {
+            context.getMonitor().warning("Search is not supported for a cluster of data services and stays disabled despite setting %s".formatted(SEARCH_ENABLED));
+            return;
+        }
+        var index = new SearchIndex();
+        store.registerListener(index);
+        webService.registerResource(DATA_API_CONTEXT_NAME, new SearchApiController(index, store, typeManager.getMapper(), cache, dispatchers.records()));
+        metrics.gauge("search_index_records", "Number of DataRecords in the search index.", index::size);
+        metrics.gauge("search_index_terms", "Number of distinct terms in the search index.", index::terms);
+    }
+}
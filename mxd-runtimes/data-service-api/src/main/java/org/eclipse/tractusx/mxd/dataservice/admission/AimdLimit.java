@@ -0,0 +1,61 @@
+/*
+ *  Copyright (c) 2024 Bayerische Motoren Werke Aktiengesellschaft (BMW AG)
+ *
+ *  This program and the accompanying materials are made available under the
+ *  terms of the Apache License, Version 2.0 which is available at
+ *  https://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  SPDX-License-Identifier: Apache-2.0
+ *
+ *  Contributors:
+ *       Bayerische Motoren Werke Aktiengesellschaft (BMW AG) - initial API and implementation
+ *
+ */
+
+package org.eclipse.tractusx.mxd.dataservice.admission;
+
+/**
+ * Additive increase, multiplicative decrease: the limit grows by one for every request that completes within the
+ * latency threshold while at least half of the limit is in use, and shrinks by the backoff ratio for every request that
+ * takes longer.
+ */
+public class AimdLimit implements LimitAlgorithm {
+
+    private final int initialLimit;
+    private final int minLimit;
+    private final int maxLimit;
+    private final long latencyThresholdNanos;
+    private final double backoffRatio;
+    private int limit;
+
+    public AimdLimit(int initialLimit, int minLimit, int maxLimit, long latencyThresholdNanos, double backoffRatio) {
+        if (minLimit < 1 || minLimit > maxLimit || initialLimit < minLimit || initialLimit > maxLimit) {
+            throw new IllegalArgumentException("Limits must satisfy 1 <= min <= initial <= max, got %d, %d and %d".formatted(minLimit, initialLimit, maxLimit));
+        }
+        if (backoffRatio <= 0 || backoffRatio >= 1) {
+            throw new IllegalArgumentException("Backoff ratio must be between 0 and 1, got " + backoffRatio);
+        }
+        this.initialLimit = initialLimit;
+        this.minLimit = minLimit;
+        this.maxLimit = maxLimit;
+        this.latencyThresholdNanos = latencyThresholdNanos;
+        this.backoffRatio = backoffRatio;
+        this.limit = initialLimit;
+    }
+
+    @Override
+    public int initialLimit() {
+        return initialLimit;
+    }
+
+    @Override
+    public int update(long latencyNanos, int inFlight) {
+        if (latencyNanos > latencyThresholdNanos) {
+            limit = Math.max(minLimit, (int) (limit * backoffRatio));
+        } else if (2 * inFlight >= limit) {
+            // growing while most of the limit is unused would let it drift far above what was ever tested
+            limit = Math.min(maxLimit, limit + 1);
+        }
+        return limit;
+    }
+}
@@ -0,0 +1,78 @@
+/*
+ *  Copyright (c) 2024 Bayerische Motoren Werke Aktiengesellschaft (BMW AG)
+ *
+ *  This program and the accompanying materials are made available under the
+ *  terms of the Apache License, Version 2.0 which is available at
+ *  https://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  SPDX-License-Identifier: Apache-2.0
+ *
+ *  Contributors:
+ *       Bayerische Motoren Werke Aktiengesellschaft (BMW AG) - initial API and implementation
+ *
+ */
+
+package org.eclipse.tractusx.mxd.dataservice.admission;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Admits requests while fewer than the current limit are in progress and rejects the rest right away, instead of
+ * letting them queue up in the web server. The limit follows the latencies of the admitted requests through a
+ * {@link LimitAlgorithm}.
+ */
+public class ConcurrencyLimiter {
+
+    private final LimitAlgorithm algorithm;
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private final LongAdder rejected = new LongAdder();
+    private volatile int limit;
+
+    public ConcurrencyLimiter(LimitAlgorithm algorithm) {
+        this.algorithm = algorithm;
+        this.limit = algorithm.initialLimit();
+    }
+
+    /**
+     * Admits a request if the limit allows it. Every admitted request must be {@linkplain #release released} once it
+     * completed.
+     */
+    public boolean tryAcquire() {
+        while (true) {
+            var current = inFlight.get();
+            if (current >= limit) {
+                rejected.increment();
+                return false;
+            }
+            if (inFlight.compareAndSet(current, current + 1)) {
+                return true;
+            }
+        }
+    }
+
+    /**
+     * Marks an admitted request as completed and adjusts the limit to its latency.
+     */
+    public void release(long latencyNanos) {
+        var current = inFlight.getAndDecrement();
+        synchronized (algorithm) {
+            limit = algorithm.update(latencyNanos, current);
+        }
+    }
+
+    public int limit() {
+        return limit;
+    }
+
+    public int inFlight() {
+        return inFlight.get();
+    }
+
+    /**
+     * The number of requests rejected since startup.
+     */
+    public long rejected() {
+        return rejected.sum();
+    }
+}
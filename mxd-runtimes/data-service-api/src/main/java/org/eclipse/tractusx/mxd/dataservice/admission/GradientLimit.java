@@ -0,0 +1,89 @@
+/*
+ *  Copyright (c) 2024 Bayerische Motoren Werke Aktiengesellschaft (BMW AG)
+ *
+ *  This program and the accompanying materials are made available under the
+ *  terms of the Apache License, Version 2.0 which is available at
+ *  https://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  SPDX-License-Identifier: Apache-2.0
+ *
+ *  Contributors:
+ *       Bayerische Motoren Werke Aktiengesellschaft (BMW AG) - initial API and implementation
+ *
+ */
+
+package org.eclipse.tractusx.mxd.dataservice.admission;
+
+/**
+ * Adjusts the limit by the ratio of the latency without load to the current latency, so that it needs no latency target.
+ * While latency stays near its minimum the gradient is 1 and the limit grows by a queue allowance of about its square
+ * root. Once requests start to queue, latency rises, the gradient drops towards {@link #MIN_GRADIENT} and the limit
+ * shrinks until the queue drains.
+ * <p>
+ * The current latency is an exponential moving average over about {@value #SHORT_WINDOW} requests. The latency without
+ * load is the minimum over the last {@value #MIN_WINDOW} requests, which lets it rise again if the service as a whole
+ * got slower, for example because records got larger.
+ */
+public class GradientLimit implements LimitAlgorithm {
+
+    static final double MIN_GRADIENT = 0.5;
+
+    private static final int SHORT_WINDOW = 10;
+    private static final int MIN_WINDOW = 1000;
+    private static final double SMOOTHING = 0.2;
+
+    private final int initialLimit;
+    private final int minLimit;
+    private final int maxLimit;
+    private final double tolerance;
+    private double limit;
+    private double latency;
+    private long minLatency = Long.MAX_VALUE;
+    private long windowMinLatency = Long.MAX_VALUE;
+    private int windowSamples;
+
+    /**
+     * @param tolerance how much the latency may exceed the latency without load before the limit shrinks, 1.5 tolerates
+     *                  50% more
+     */
+    public GradientLimit(int initialLimit, int minLimit, int maxLimit, double tolerance) {
+        if (minLimit < 1 || minLimit > maxLimit || initialLimit < minLimit || initialLimit > maxLimit) {
+            throw new IllegalArgumentException("Limits must satisfy 1 <= min <= initial <= max, got %d, %d and %d".formatted(minLimit, initialLimit, maxLimit));
+        }
+        if (tolerance < 1) {
+            throw new IllegalArgumentException("Tolerance must be at least 1, got " + tolerance);
+        }
+        this.initialLimit = initialLimit;
+        this.minLimit = minLimit;
+        this.maxLimit = maxLimit;
+        this.tolerance = tolerance;
+        this.limit = initialLimit;
+    }
+
+    @Override
+    public int initialLimit() {
+        return initialLimit;
+    }
+
+    @Override
+    public int update(long latencyNanos, int inFlight) {
+        var sample = Math.max(1, latencyNanos);
+        latency = latency == 0 ? sample : latency + (sample - latency) * 2 / (SHORT_WINDOW + 1);
+        minLatency = Math.min(minLatency, sample);
+        windowMinLatency = Math.min(windowMinLatency, sample);
+        if (++windowSamples == MIN_WINDOW) {
+            minLatency = windowMinLatency;
+            windowMinLatency = Long.MAX_VALUE;
+            windowSamples = 0;
+        }
+
+        // a limit that is mostly unused says nothing about how much more the service could take
+        if (2 * inFlight < limit) {
+            return (int) limit;
+        }
+        var gradient = Math.max(MIN_GRADIENT, Math.min(1.0, tolerance * minLatency / latency));
+        var target = limit * gradient + Math.sqrt(limit);
+        limit = Math.max(minLimit, Math.min(maxLimit, limit * (1 - SMOOTHING) + target * SMOOTHING));
+        return (int) limit;
+    }
+}
@@ -0,0 +1,35 @@
+/*
+ *  Copyright (c) 2024 Bayerische Motoren Werke Aktiengesellschaft (BMW AG)
+ *
+ *  This program and the accompanying materials are made available under the
+ *  terms of the Apache License, Version 2.0 which is available at
+ *  https://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  SPDX-License-Identifier: Apache-2.0
+ *
+ *  Contributors:
+ *       Bayerische Motoren Werke Aktiengesellschaft (BMW AG) - initial API and implementation
+ *
+ */
+
+package org.eclipse.tractusx.mxd.dataservice.admission;
+
+/**
+ * Derives the concurrency limit of a {@link ConcurrencyLimiter} from the latencies of the requests it admitted.
+ * Implementations are stateful, the limiter calls them for one request at a time.
+ */
+public interface LimitAlgorithm {
+
+    /**
+     * The limit before any request completed.
+     */
+    int initialLimit();
+
+    /**
+     * Takes the latency of a completed request into account and returns the new limit.
+     *
+     * @param latencyNanos the time the request took
+     * @param inFlight     the number of requests that were in progress when it completed, including itself
+     */
+    int update(long latencyNanos, int inFlight);
+}
@@ -0,0 +1,334 @@
+/*
+ *  Copyright (c) 2024 Bayerische Motoren Werke Aktiengesellschaft (BMW AG)
+ *
+ *  This program and the accompanying materials are made available under the
+ *  terms of the Apache License, Version 2.0 which is available at
+ *  https://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  SPDX-License-Identifier: Apache-2.0
+ *
+ *  Contributors:
+ *       Bayerische Motoren Werke Aktiengesellschaft (BMW AG) - initial API and implementation
+ *
+ */
+
+package org.eclipse.tractusx.mxd.dataservice.aggregation;
+
+import org.eclipse.edc.spi.query.QuerySpec;
+import org.eclipse.edc.web.spi.exception.InvalidRequestException;
+import org.eclipse.tractusx.mxd.dataservice.model.AggregationResult;
+import org.eclipse.tractusx.mxd.dataservice.model.DataRecord;
+import org.eclipse.tractusx.mxd.dataservice.store.DataRecordListener;
+import org.eclipse.tractusx.mxd.dataservice.store.DataRecordStore;
+
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.stream.Stream;
+
+/**
+ * A column-oriented copy of the attributes of the {@link DataRecord}s, kept up to date as a listener of the store, over
+ * which records are counted and the smallest and largest values of attributes are found, in total or per group of
+ * records with equal values of some attributes.
+ * <p>
+ * Every record with attributes takes a row, and each attribute a {@link Column} that holds its values by row. Rows are
+ * kept dense: a deleted record's row is filled with the last one. Records without attributes take no row, they are
+ * only counted, and fall into the group of records that lack all grouping attributes.
+ * <p>
+ * Writes are applied one at a time under an exclusive lock, aggregations run under a shared one. An aggregation splits
+ * the rows into ranges which are evaluated in parallel on a fork-join pool, each into groups of its own, and merges
+ * the groups of neighbouring ranges as the ranges are joined.
+ */
+public class AttributeColumns implements DataRecordListener {
+
+    private static final int MIN_CAPACITY = 1024;
+    private static final int MIN_ROWS_PER_TASK = 4096;
+    // how often a range checks whether another one has already run into the group limit
+    private static final int OVERFLOW_CHECK_INTERVAL = 1024;
+
+    private final ForkJoinPool pool;
+    private final int maxGroups;
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private final Map<String, Integer> rows = new HashMap<>();
+    private final Map<String, Column> columns = new HashMap<>();
+    private String[] ids = new String[MIN_CAPACITY];
+    private int size;
+    private long records;
+
+    /**
+     * @param pool      the pool aggregations are evaluated on
+     * @param maxGroups the number of groups above which an aggregation is rejected
+     */
+    public AttributeColumns(ForkJoinPool pool, int maxGroups) {
+        if (maxGroups < 1) {
+            throw new IllegalArgumentException("Maximum number of groups must be at least 1: " + maxGroups);
+        }
+        this.pool = pool;
+        this.maxGroups = maxGroups;
+    }
+
+    /**
+     * Adds records that were stored before the columns were registered as a listener.
+     *
+     * @return the number of records added
+     */
+    public long index(Stream<DataRecord> dataRecords) {
+        try (dataRecords) {
+            return dataRecords.mapToLong(dataRecord -> {
+                created(dataRecord, 0);
+                return 1;
+            }).sum();
+        }
+    }
+
+    @Override
+    public void initialized(DataRecordStore store) {
+        index(store.findAll(QuerySpec.max()));
+    }
+
+    @Override
+    public void created(DataRecord dataRecord, long version) {
+        lock.writeLock().lock();
+        try {
+            records++;
+            put(dataRecord);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @Override
+    public void updated(DataRecord dataRecord, long version) {
+        lock.writeLock().lock();
+        try {
+            put(dataRecord);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @Override
+    public void deleted(DataRecord dataRecord) {
+        lock.writeLock().lock();
+        try {
+            records--;
+            var row = rows.remove(dataRecord.id());
+            if (row != null) {
+                remove(row);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Counts the records per group of records with equal values of the grouping attributes, and finds the smallest and
+     * largest values of the measured attributes in every group. Without grouping attributes, all records form one group.
+     *
+     * @param groupBy the grouping attributes
+     * @param min     the attributes whose smallest values are returned
+     * @param max     the attributes whose largest values are returned
+     * @param limit   the number of groups to return, those with the most records
+     * @throws InvalidRequestException if there are more groups than allowed
+     */
+    public AggregationResult aggregate(List<String> groupBy, List<String> min, List<String> max, int limit) {
+        var measured = Stream.concat(min.stream(), max.stream()).distinct().toList();
+        lock.readLock().lock();
+        try {
+            var keyColumns = groupBy.stream().map(columns::get).toArray(Column[]::new);
+            var measureColumns = measured.stream().map(columns::get).toArray(Column[]::new);
+            var evaluation = new Evaluation(keyColumns, measureColumns, Math.max(MIN_ROWS_PER_TASK, size / (4 * pool.getParallelism())));
+            var groups = size == 0 ? evaluation.groups() : pool.invoke(evaluation.new RangeTask(0, size));
+            if (records > size && !groups.overflow()) {
+                groups.addAbsent(records - size);
+            }
+            if (groups.overflow()) {
+                throw new InvalidRequestException("Grouping by %s makes more than %d groups".formatted(groupBy, maxGroups));
+            }
+            var largest = groups.groups().stream()
+                    .sorted(Comparator.comparingLong(accumulator -> -accumulator.count()))
+                    .limit(limit)
+                    .map(accumulator -> group(accumulator, groupBy, keyColumns, min, max, measured, measureColumns))
+                    .toList();
+            return new AggregationResult(Math.max(records, size), groups.groups().size(), largest);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Number of records with attributes.
+     */
+    public long size() {
+        lock.readLock().lock();
+        try {
+            return size;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Number of distinct attributes of the records.
+     */
+    public long columns() {
+        lock.readLock().lock();
+        try {
+            return columns.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private void put(DataRecord dataRecord) {
+        var attributes = dataRecord.attributes();
+        var row = rows.get(dataRecord.id());
+        if (attributes == null || attributes.isEmpty()) {
+            if (row != null) {
+                rows.remove(dataRecord.id());
+                remove(row);
+            }
+            return;
+        }
+        if (row == null) {
+            row = size++;
+            if (row == ids.length) {
+                ids = Arrays.copyOf(ids, ids.length * 2);
+            }
+            ids[row] = dataRecord.id();
+            rows.put(dataRecord.id(), row);
+        } else {
+            for (var column : columns.values()) {
+                column.clear(row);
+            }
+        }
+        for (var attribute : attributes.entrySet()) {
+            columns.computeIfAbsent(attribute.getKey(), name -> new Column()).set(row, attribute.getValue());
+        }
+        columns.values().removeIf(column -> column.present() == 0);
+    }
+
+    private void remove(int row) {
+        var last = --size;
+        for (var column : columns.values()) {
+            if (row == last) {
+                column.clear(row);
+            } else {
+                column.move(last, row);
+            }
+        }
+        if (row != last) {
+            ids[row] = ids[last];
+            rows.put(ids[row], row);
+        }
+        ids[last] = null;
+        columns.values().removeIf(column -> column.present() == 0);
+    }
+
+    private static AggregationResult.Group group(Groups.Accumulator accumulator, List<String> groupBy, Column[] keyColumns,
+                                                 List<String> min, List<String> max, List<String> measured, Column[] measureColumns) {
+        var values = new LinkedHashMap<String, Object>();
+        for (var i = 0; i < groupBy.size(); i++) {
+            values.put(groupBy.get(i), Groups.value((byte) accumulator.key()[2 * i], accumulator.key()[2 * i + 1], keyColumns[i]));
+        }
+        var minimums = new LinkedHashMap<String, Object>();
+        for (var name : min) {
+            var measure = measured.indexOf(name);
+            minimums.put(name, Groups.value(accumulator.minType(measure), accumulator.minValue(measure), measureColumns[measure]));
+        }
+        var maximums = new LinkedHashMap<String, Object>();
+        for (var name : max) {
+            var measure = measured.indexOf(name);
+            maximums.put(name, Groups.value(accumulator.maxType(measure), accumulator.maxValue(measure), measureColumns[measure]));
+        }
+        return new AggregationResult.Group(values, accumulator.count(), minimums, maximums);
+    }
+
+    /**
+     * The columns an aggregation reads and how many rows a range may have before it is split.
+     */
+    private final class Evaluation {
+        private final Column[] keyColumns;
+        private final Column[] measureColumns;
+        private final int rowsPerTask;
+        private volatile boolean overflow;
+
+        Evaluation(Column[] keyColumns, Column[] measureColumns, int rowsPerTask) {
+            this.keyColumns = keyColumns;
+            this.measureColumns = measureColumns;
+            this.rowsPerTask = rowsPerTask;
+        }
+
+        Groups groups() {
+            return new Groups(keyColumns.length, measureColumns, maxGroups);
+        }
+
+        /**
+         * Assigns the rows of the range to their groups first, and then goes through the measured columns one by one.
+         */
+        Groups evaluate(int from, int to) {
+            var groups = groups();
+            var rowGroups = new int[to - from];
+            if (keyColumns.length == 0) {
+                // all rows fall into the first and only group
+                groups.addAbsent(to - from);
+            } else if (!assign(groups, from, to, rowGroups)) {
+                return groups;
+            }
+            for (var measure = 0; measure < groups.measures(); measure++) {
+                groups.measure(measure, from, to, rowGroups);
+            }
+            return groups;
+        }
+
+        /**
+         * Stores the index of the group of each row, returns false if there are too many groups.
+         */
+        private boolean assign(Groups groups, int from, int to, int[] rowGroups) {
+            var key = groups.probe();
+            for (var row = from; row < to; row++) {
+                for (var i = 0; i < keyColumns.length; i++) {
+                    var column = keyColumns[i];
+                    var type = column == null ? Column.ABSENT : column.type(row);
+                    key[2 * i] = type;
+                    key[2 * i + 1] = type == Column.ABSENT ? 0 : column.value(row);
+                }
+                var group = groups.add();
+                if (group < 0 || (row - from) % OVERFLOW_CHECK_INTERVAL == 0 && overflow) {
+                    overflow = true;
+                    return false;
+                }
+                rowGroups[row - from] = group;
+            }
+            return true;
+        }
+
+        private final class RangeTask extends RecursiveTask<Groups> {
+            private final int from;
+            private final int to;
+
+            RangeTask(int from, int to) {
+                this.from = from;
+                this.to = to;
+            }
+
+            @Override
+            protected Groups compute() {
+                if (to - from <= rowsPerTask) {
+                    return evaluate(from, to);
+                }
+                var middle = (from + to) >>> 1;
+                var left = new RangeTask(from, middle).fork();
+                var right = new RangeTask(middle, to).compute();
+                return left.join().merge(right);
+            }
+        }
+    }
+}
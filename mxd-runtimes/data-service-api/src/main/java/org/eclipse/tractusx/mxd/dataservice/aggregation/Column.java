@@ -0,0 +1,147 @@
+/*
+ *  Copyright (c) 2024 Bayerische Motoren Werke Aktiengesellschaft (BMW AG)
+ *
+ *  This program and the accompanying materials are made available under the
+ *  terms of the Apache License, Version 2.0 which is available at
+ *  https://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  SPDX-License-Identifier: Apache-2.0
+ *
+ *  Contributors:
+ *       Bayerische Motoren Werke Aktiengesellschaft (BMW AG) - initial API and implementation
+ *
+ */
+
+package org.eclipse.tractusx.mxd.dataservice.aggregation;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * The values of one attribute, by row: a type and 64 bits per row, which are a long, the bits of a double, 0 or 1 for
+ * a boolean, or the number of a string in the dictionary of the column. Rows past the end of the arrays have no value.
+ * <p>
+ * Strings are numbered in the order they first appear. Strings no row refers to anymore are only dropped once they
+ * make up most of the dictionary, which is then rebuilt.
+ */
+final class Column {
+
+    static final byte ABSENT = 0;
+    static final byte BOOLEAN = 1;
+    static final byte LONG = 2;
+    static final byte DOUBLE = 3;
+    static final byte STRING = 4;
+
+    private static final int MIN_CAPACITY = 64;
+    private static final int MIN_DICTIONARY_SIZE = 1024;
+
+    private byte[] types = new byte[0];
+    private long[] values = new long[0];
+    private Map<String, Integer> codes = new HashMap<>();
+    private List<String> strings = new ArrayList<>();
+    private int present;
+    private int presentStrings;
+
+    byte type(int row) {
+        return row < types.length ? types[row] : ABSENT;
+    }
+
+    long value(int row) {
+        return values[row];
+    }
+
+    String string(long code) {
+        return strings.get((int) code);
+    }
+
+    /**
+     * The number of rows that have a value.
+     */
+    int present() {
+        return present;
+    }
+
+    void set(int row, Object value) {
+        if (row >= types.length) {
+            var capacity = Math.max(MIN_CAPACITY, Math.max(row + 1, types.length + (types.length >> 1)));
+            types = Arrays.copyOf(types, capacity);
+            values = Arrays.copyOf(values, capacity);
+        }
+        clear(row);
+        present++;
+        if (value instanceof String string) {
+            presentStrings++;
+            types[row] = STRING;
+            values[row] = code(string);
+        } else if (value instanceof Long number) {
+            types[row] = LONG;
+            values[row] = number;
+        } else if (value instanceof Double number) {
+            types[row] = DOUBLE;
+            values[row] = Double.doubleToLongBits(number);
+        } else {
+            types[row] = BOOLEAN;
+            values[row] = (Boolean) value ? 1 : 0;
+        }
+    }
+
+    void clear(int row) {
+        var type = type(row);
+        if (type != ABSENT) {
+            types[row] = ABSENT;
+            present--;
+            if (type == STRING) {
+                presentStrings--;
+            }
+        }
+    }
+
+    /**
+     * Moves the value of a row to a lower one, replacing the value that row had.
+     */
+    void move(int from, int to) {
+        clear(to);
+        var type = type(from);
+        if (type != ABSENT) {
+            types[to] = type;
+            values[to] = values[from];
+            types[from] = ABSENT;
+        }
+    }
+
+    private int code(String string) {
+        var code = codes.get(string);
+        if (code != null) {
+            return code;
+        }
+        if (strings.size() >= MIN_DICTIONARY_SIZE && strings.size() >= 2 * presentStrings) {
+            rebuildDictionary();
+        }
+        code = strings.size();
+        codes.put(string, code);
+        strings.add(string);
+        return code;
+    }
+
+    private void rebuildDictionary() {
+        var newCodes = new HashMap<String, Integer>();
+        var newStrings = new ArrayList<String>();
+        for (var row = 0; row < types.length; row++) {
+            if (types[row] == STRING) {
+                var string = strings.get((int) values[row]);
+                var code = newCodes.get(string);
+                if (code == null) {
+                    code = newStrings.size();
+                    newCodes.put(string, code);
+                    newStrings.add(string);
+                }
+                values[row] = code;
+            }
+        }
+        codes = newCodes;
+        strings = newStrings;
+    }
+}
@@ -0,0 +1,313 @@
+/*
+ *  Copyright (c) 2024 Bayerische Motoren Werke Aktiengesellschaft (BMW AG)
+ *
+ *  This program and the accompanying materials are made available under the
+ *  terms of the Apache License, Version 2.0 which is available at
+ *  https://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  SPDX-License-Identifier: Apache-2.0
+ *
+ *  Contributors:
+ *       Bayerische Motoren Werke Aktiengesellschaft (BMW AG) - initial API and implementation
+ *
+ */
+
+package org.eclipse.tractusx.mxd.dataservice.aggregation;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.eclipse.tractusx.mxd.dataservice.aggregation.Column.ABSENT;
+import static org.eclipse.tractusx.mxd.dataservice.aggregation.Column.BOOLEAN;
+import static org.eclipse.tractusx.mxd.dataservice.aggregation.Column.DOUBLE;
+import static org.eclipse.tractusx.mxd.dataservice.aggregation.Column.LONG;
+import static org.eclipse.tractusx.mxd.dataservice.aggregation.Column.STRING;
+
+/**
+ * The groups of a range of rows, each with the number of its rows and the smallest and largest value of every measured
+ * column. Groups are kept in the order their first row came in, and stop being added once there are more than allowed.
+ * <p>
+ * A group is keyed by the type and value of each grouping column, and found through an open-addressing hash table with
+ * linear probing over the indexes of the groups. Values are ordered by type first, booleans before numbers before
+ * strings, and then by value, with longs and doubles compared as numbers.
+ */
+final class Groups {
+
+    private static final int EMPTY = -1;
+
+    private final Column[] measures;
+    private final int maxGroups;
+    private final List<Accumulator> groups = new ArrayList<>();
+    private final long[] probe;
+    private int[] table = filled(16);
+    // rows of a range often fall into the group of the row before, and without grouping columns they always do
+    private Accumulator last;
+    private boolean overflow;
+
+    Groups(int keyColumns, Column[] measures, int maxGroups) {
+        this.measures = measures;
+        this.maxGroups = maxGroups;
+        this.probe = new long[2 * keyColumns];
+    }
+
+    /**
+     * The key of the next row, to be filled in as a type and a value per grouping column before calling {@link #add()}.
+     */
+    long[] probe() {
+        return probe;
+    }
+
+    /**
+     * Counts a row in the group of the key in {@link #probe()} and returns the index of the group, or -1 if that would
+     * make too many groups.
+     */
+    int add() {
+        var accumulator = last;
+        if (accumulator == null || !equals(probe, accumulator.key)) {
+            accumulator = group(probe, null);
+            if (accumulator == null) {
+                return EMPTY;
+            }
+            last = accumulator;
+        }
+        accumulator.count++;
+        return accumulator.index;
+    }
+
+    /**
+     * Counts rows in the group of absent values, which is the only group if there are no grouping columns, without
+     * offering any values to the measures.
+     */
+    boolean addAbsent(long count) {
+        Arrays.fill(probe, 0);
+        var accumulator = group(probe, null);
+        if (accumulator == null) {
+            return false;
+        }
+        accumulator.count += count;
+        return true;
+    }
+
+    /**
+     * Offers the values of a measured column in a range of rows to the groups of the rows, which are given by row
+     * relative to the start of the range.
+     */
+    void measure(int measure, int from, int to, int[] rowGroups) {
+        var column = measures[measure];
+        if (column == null) {
+            return;
+        }
+        var accumulators = groups.toArray(new Accumulator[0]);
+        for (var row = from; row < to; row++) {
+            var type = column.type(row);
+            if (type != ABSENT) {
+                accumulators[rowGroups[row - from]].offer(measure, type, column.value(row), column);
+            }
+        }
+    }
+
+    int measures() {
+        return measures.length;
+    }
+
+    /**
+     * Merges the groups of the following rows into these.
+     */
+    Groups merge(Groups other) {
+        overflow |= other.overflow;
+        for (var accumulator : other.groups) {
+            if (overflow) {
+                break;
+            }
+            var existing = group(accumulator.key, accumulator);
+            if (existing != null && existing != accumulator) {
+                existing.merge(accumulator, measures);
+            }
+        }
+        return this;
+    }
+
+    boolean overflow() {
+        return overflow;
+    }
+
+    /**
+     * The groups in the order their first row came in.
+     */
+    List<Accumulator> groups() {
+        return groups;
+    }
+
+    /**
+     * Returns the group of the key, which is created if there is none yet, or taken over if one is given.
+     */
+    private Accumulator group(long[] key, Accumulator candidate) {
+        var hash = hash(key);
+        var mask = table.length - 1;
+        var slot = hash & mask;
+        for (int index; (index = table[slot]) != EMPTY; slot = (slot + 1) & mask) {
+            var accumulator = groups.get(index);
+            if (accumulator.hash == hash && equals(accumulator.key, key)) {
+                return accumulator;
+            }
+        }
+        if (groups.size() == maxGroups) {
+            overflow = true;
+            return null;
+        }
+        var accumulator = candidate != null ? candidate : new Accumulator(key.clone(), hash, measures.length);
+        accumulator.index = groups.size();
+        table[slot] = groups.size();
+        groups.add(accumulator);
+        if (groups.size() * 2 > table.length) {
+            resize();
+        }
+        return accumulator;
+    }
+
+    private void resize() {
+        table = filled(table.length * 2);
+        var mask = table.length - 1;
+        for (var index = 0; index < groups.size(); index++) {
+            var slot = groups.get(index).hash & mask;
+            while (table[slot] != EMPTY) {
+                slot = (slot + 1) & mask;
+            }
+            table[slot] = index;
+        }
+    }
+
+    private static int hash(long[] key) {
+        var hash = 0L;
+        for (var part : key) {
+            hash = (hash ^ part) * 0x9E3779B97F4A7C15L;
+        }
+        return (int) (hash ^ hash >>> 32);
+    }
+
+    /**
+     * Compares keys of the same length, which are too short for {@link Arrays#equals(long[], long[])} to pay off.
+     */
+    private static boolean equals(long[] key, long[] other) {
+        for (var i = 0; i < key.length; i++) {
+            if (key[i] != other[i]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static int[] filled(int capacity) {
+        var array = new int[capacity];
+        Arrays.fill(array, EMPTY);
+        return array;
+    }
+
+    static Object value(byte type, long value, Column column) {
+        return switch (type) {
+            case BOOLEAN -> value != 0;
+            case LONG -> value;
+            case DOUBLE -> Double.longBitsToDouble(value);
+            case STRING -> column.string(value);
+            default -> null;
+        };
+    }
+
+    private static int compare(byte type, long value, byte otherType, long otherValue, Column column) {
+        if (type == otherType) {
+            return switch (type) {
+                case LONG, BOOLEAN -> Long.compare(value, otherValue);
+                case DOUBLE -> Double.compare(Double.longBitsToDouble(value), Double.longBitsToDouble(otherValue));
+                default -> value == otherValue ? 0 : column.string(value).compareTo(column.string(otherValue));
+            };
+        }
+        var rank = rank(type);
+        var otherRank = rank(otherType);
+        if (rank != otherRank) {
+            return Integer.compare(rank, otherRank);
+        }
+        return Double.compare(number(type, value), number(otherType, otherValue));
+    }
+
+    private static int rank(byte type) {
+        return type == DOUBLE ? LONG : type;
+    }
+
+    private static double number(byte type, long value) {
+        return type == LONG ? value : Double.longBitsToDouble(value);
+    }
+
+    /**
+     * A group: the types and values of its grouping columns in pairs, the number of its rows and, per measured column,
+     * the type and value of the smallest and the largest value.
+     */
+    static final class Accumulator {
+        private final long[] key;
+        private final int hash;
+        private int index;
+        private long count;
+        private final byte[] minTypes;
+        private final long[] minValues;
+        private final byte[] maxTypes;
+        private final long[] maxValues;
+
+        Accumulator(long[] key, int hash, int measures) {
+            this.key = key;
+            this.hash = hash;
+            minTypes = new byte[measures];
+            minValues = new long[measures];
+            maxTypes = new byte[measures];
+            maxValues = new long[measures];
+        }
+
+        long[] key() {
+            return key;
+        }
+
+        long count() {
+            return count;
+        }
+
+        byte minType(int measure) {
+            return minTypes[measure];
+        }
+
+        long minValue(int measure) {
+            return minValues[measure];
+        }
+
+        byte maxType(int measure) {
+            return maxTypes[measure];
+        }
+
+        long maxValue(int measure) {
+            return maxValues[measure];
+        }
+
+        void offer(int measure, byte type, long value, Column column) {
+            if (minTypes[measure] == ABSENT) {
+                minTypes[measure] = type;
+                minValues[measure] = value;
+                maxTypes[measure] = type;
+                maxValues[measure] = value;
+            } else if (compare(type, value, minTypes[measure], minValues[measure], column) < 0) {
+                minTypes[measure] = type;
+                minValues[measure] = value;
+            } else if (compare(type, value, maxTypes[measure], maxValues[measure], column) > 0) {
+                maxTypes[measure] = type;
+                maxValues[measure] = value;
+            }
+        }
+
+        void merge(Accumulator other, Column[] measures) {
+            count += other.count;
+            for (var i = 0; i < measures.length; i++) {
+                if (other.minTypes[i] != ABSENT) {
+                    offer(i, other.minTypes[i], other.minValues[i], measures[i]);
+                    offer(i, other.maxTypes[i], other.maxValues[i], measures[i]);
+                }
+            }
+        }
+    }
+}
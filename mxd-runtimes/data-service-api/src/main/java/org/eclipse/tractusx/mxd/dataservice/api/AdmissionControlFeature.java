@@ -0,0 +1,100 @@
+/*
+ *  Copyright (c) 2024 Bayerische Motoren Werke Aktiengesellschaft (BMW AG)
+ *
+ *  This program and the accompanying materials are made available under the
+ *  terms of the Apache License, Version 2.0 which is available at
+ *  https://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  SPDX-License-Identifier: Apache-2.0
+ *
+ *  Contributors:
+ *       Bayerische Motoren Werke Aktiengesellschaft (BMW AG) - initial API and implementation
+ *
+ */
+
+package org.eclipse.tractusx.mxd.dataservice.api;
+
+import jakarta.ws.rs.GET;
+import jakarta.ws.rs.HEAD;
+import jakarta.ws.rs.Priorities;
+import jakarta.ws.rs.container.ContainerRequestContext;
+import jakarta.ws.rs.container.ContainerRequestFilter;
+import jakarta.ws.rs.container.ContainerResponseContext;
+import jakarta.ws.rs.container.ContainerResponseFilter;
+import jakarta.ws.rs.container.DynamicFeature;
+import jakarta.ws.rs.container.ResourceInfo;
+import jakarta.ws.rs.core.FeatureContext;
+import jakarta.ws.rs.core.HttpHeaders;
+import jakarta.ws.rs.core.Response;
+import org.eclipse.tractusx.mxd.dataservice.admission.ConcurrencyLimiter;
+
+import java.util.Set;
+
+/**
+ * Limits the number of requests in progress on the resource methods of the given resource classes, with separate
+ * budgets for reads ({@code GET}, {@code HEAD} and methods marked {@link ReadOnly}) and writes. A request beyond the budget is answered right away with
+ * the rejection status and a {@code Retry-After} header.
+ * <p>
+ * The filters run after those of the {@link MetricsFeature}, so rejected requests are recorded with their status as
+ * well. A request counts against the budget until its response status is known, the time it takes to stream the
+ * response body is not included.
+ */
+public class AdmissionControlFeature implements DynamicFeature {
+
+    private static final String START_PROPERTY = AdmissionControlFeature.class.getName() + ".start";
+
+    private final ConcurrencyLimiter reads;
+    private final ConcurrencyLimiter writes;
+    private final Set<Class<?>> resourceClasses;
+    private final int rejectionStatus;
+    private final String retryAfterSeconds;
+
+    /**
+     * @param rejectionStatus   the status of rejected requests, usually 429 or 503
+     * @param retryAfterSeconds the delay rejected clients are asked to wait before retrying
+     */
+    public AdmissionControlFeature(ConcurrencyLimiter reads, ConcurrencyLimiter writes, Set<Class<?>> resourceClasses, int rejectionStatus, long retryAfterSeconds) {
+        this.reads = reads;
+        this.writes = writes;
+        this.resourceClasses = resourceClasses;
+        this.rejectionStatus = rejectionStatus;
+        this.retryAfterSeconds = Long.toString(retryAfterSeconds);
+    }
+
+    @Override
+    public void configure(ResourceInfo resourceInfo, FeatureContext context) {
+        if (!resourceClasses.contains(resourceInfo.getResourceClass())) {
+            return;
+        }
+        var method = resourceInfo.getResourceMethod();
+        var read = method.isAnnotationPresent(GET.class) || method.isAnnotationPresent(HEAD.class) || method.isAnnotationPresent(ReadOnly.class);
+        context.register(new AdmissionFilter(read ? reads : writes), Priorities.USER + 1);
+    }
+
+    private final class AdmissionFilter implements ContainerRequestFilter, ContainerResponseFilter {
+
+        private final ConcurrencyLimiter limiter;
+
+        private AdmissionFilter(ConcurrencyLimiter limiter) {
+            this.limiter = limiter;
+        }
+
+        @Override
+        public void filter(ContainerRequestContext requestContext) {
+            if (limiter.tryAcquire()) {
+                requestContext.setProperty(START_PROPERTY, System.nanoTime());
+            } else {
+                requestContext.abortWith(Response.status(rejectionStatus).header(HttpHeaders.RETRY_AFTER, retryAfterSeconds).build());
+            }
+        }
+
+        @Override
+        public void filter(ContainerRequestContext requestContext, ContainerResponseContext responseContext) {
+            // also called for the requests this filter rejected, which were never admitted
+            if (requestContext.getProperty(START_PROPERTY) instanceof Long start) {
+                requestContext.removeProperty(START_PROPERTY);
+                limiter.release(System.nanoTime() - start);
+            }
+        }
+    }
+}
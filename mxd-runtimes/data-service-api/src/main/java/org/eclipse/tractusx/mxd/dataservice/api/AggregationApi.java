@@ -0,0 +1,49 @@
+/*
+ *  Copyright (c) 2024 Bayerische Motoren Werke Aktiengesellschaft (BMW AG)
+ *
+ *  This program and the accompanying materials are made available under the
+ *  terms of the Apache License, Version 2.0 which is available at
+ *  https://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  SPDX-License-Identifier: Apache-2.0
+ *
+ *  Contributors:
+ *       Bayerische Motoren Werke Aktiengesellschaft (BMW AG) - initial API and implementation
+ *
+ */
+
+package org.eclipse.tractusx.mxd.dataservice.api;
+
+import io.swagger.v3.oas.annotations.OpenAPIDefinition;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.media.ArraySchema;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.media.Schema;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.ws.rs.container.AsyncResponse;
+import org.eclipse.edc.web.spi.ApiErrorDetail;
+import org.eclipse.tractusx.mxd.dataservice.model.AggregationResult;
+
+@OpenAPIDefinition
+@Tag(name = "Demo Backend Service for the MXD")
+public interface AggregationApi {
+
+    @Operation(description = "Counts the DataRecords and finds the smallest and largest values of their attributes, in total or per group of DataRecords " +
+            "with equal values of the grouping attributes. Groups are returned largest first. Booleans order before numbers, numbers before strings.",
+            parameters = {
+                    @Parameter(name = "groupBy", description = "Comma-separated attributes to group the DataRecords by, at most 4. " +
+                            "DataRecords without an attribute are grouped under a null value. All DataRecords form a single group if omitted."),
+                    @Parameter(name = "min", description = "Comma-separated attributes whose smallest value is returned for every group."),
+                    @Parameter(name = "max", description = "Comma-separated attributes whose largest value is returned for every group."),
+                    @Parameter(name = "limit", description = "Maximum number of groups to return, at most 10000. Defaults to 100.")
+            },
+            responses = {
+                    @ApiResponse(responseCode = "200", description = "The number of DataRecords and the largest groups.",
+                            content = @Content(schema = @Schema(implementation = AggregationResult.class))),
+                    @ApiResponse(responseCode = "400", description = "Invalid Request, or too many groups",
+                            content = @Content(array = @ArraySchema(schema = @Schema(implementation = ApiErrorDetail.class))))
+            })
+    void aggregate(String groupBy, String min, String max, Integer limit, AsyncResponse response);
+}
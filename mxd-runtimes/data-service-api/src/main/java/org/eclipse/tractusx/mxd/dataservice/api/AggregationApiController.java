@@ -0,0 +1,91 @@
+/*
+ *  Copyright (c) 2024 Bayerische Motoren Werke Aktiengesellschaft (BMW AG)
+ *
+ *  This program and the accompanying materials are made available under the
+ *  terms of the Apache License, Version 2.0 which is available at
+ *  https://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  SPDX-License-Identifier: Apache-2.0
+ *
+ *  Contributors:
+ *       Bayerische Motoren Werke Aktiengesellschaft (BMW AG) - initial API and implementation
+ *
+ */
+
+package org.eclipse.tractusx.mxd.dataservice.api;
+
+import jakarta.ws.rs.GET;
+import jakarta.ws.rs.Path;
+import jakarta.ws.rs.Produces;
+import jakarta.ws.rs.QueryParam;
+import jakarta.ws.rs.container.AsyncResponse;
+import jakarta.ws.rs.container.Suspended;
+import jakarta.ws.rs.core.MediaType;
+import org.eclipse.edc.web.spi.exception.InvalidRequestException;
+import org.eclipse.tractusx.mxd.dataservice.aggregation.AttributeColumns;
+import org.eclipse.tractusx.mxd.dataservice.model.AggregationResult;
+import org.eclipse.tractusx.mxd.dataservice.store.DataRecordStore;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Aggregations over the attributes of the DataRecords, evaluated on a column-oriented copy of the attributes instead
+ * of the records themselves, so that a dashboard gets its counts without downloading the records.
+ */
+@Produces(MediaType.APPLICATION_JSON)
+@Path("/v1/data/aggregate")
+public class AggregationApiController implements AggregationApi {
+
+    private static final int DEFAULT_LIMIT = 100;
+    private static final int MAX_LIMIT = 10_000;
+    private static final int MAX_GROUP_BY = 4;
+    private static final int MAX_MEASURES = 16;
+
+    private final AttributeColumns columns;
+    private final DataRecordStore store;
+    private final RequestDispatcher dispatcher;
+
+    public AggregationApiController(AttributeColumns columns, DataRecordStore store, RequestDispatcher dispatcher) {
+        this.columns = columns;
+        this.store = store;
+        this.dispatcher = dispatcher;
+    }
+
+    @GET
+    @Override
+    public void aggregate(@QueryParam("groupBy") String groupBy, @QueryParam("min") String min, @QueryParam("max") String max,
+                          @QueryParam("limit") Integer limit, @Suspended AsyncResponse response) {
+        dispatcher.dispatch(response, () -> aggregate(groupBy, min, max, limit));
+    }
+
+    private AggregationResult aggregate(String groupBy, String min, String max, Integer limit) {
+        var groupAttributes = attributes("groupBy", groupBy, MAX_GROUP_BY);
+        var minAttributes = attributes("min", min, MAX_MEASURES);
+        var maxAttributes = attributes("max", max, MAX_MEASURES);
+        if (limit != null && (limit <= 0 || limit > MAX_LIMIT)) {
+            throw new InvalidRequestException("limit must be between 1 and %d but was %d".formatted(MAX_LIMIT, limit));
+        }
+        // a lazily populated store fills the columns on its first access, which has to happen before they are read
+        store.count();
+        return columns.aggregate(groupAttributes, minAttributes, maxAttributes, limit == null ? DEFAULT_LIMIT : limit);
+    }
+
+    private static List<String> attributes(String parameter, @Nullable String value, int maxCount) {
+        if (value == null || value.isBlank()) {
+            return List.of();
+        }
+        var attributes = Arrays.stream(value.split(",")).map(String::trim).toList();
+        if (attributes.stream().anyMatch(String::isEmpty)) {
+            throw new InvalidRequestException("%s must not contain empty attribute names".formatted(parameter));
+        }
+        if (attributes.stream().distinct().count() < attributes.size()) {
+            throw new InvalidRequestException("%s must not name an attribute twice".formatted(parameter));
+        }
+        if (attributes.size() > maxCount) {
+            throw new InvalidRequestException("%s may name at most %d attributes, got %d".formatted(parameter, maxCount, attributes.size()));
+        }
+        return attributes;
+    }
+}
@@ -0,0 +1,80 @@
+/*
+ *  Copyright (c) 2024 Bayerische Motoren Werke Aktiengesellschaft (BMW AG)
+ *
+ *  This program and the accompanying materials are made available under the
+ *  terms of the Apache License, Version 2.0 which is available at
+ *  https://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  SPDX-License-Identifier: Apache-2.0
+ *
+ *  Contributors:
+ *       Bayerische Motoren Werke Aktiengesellschaft (BMW AG) - initial API and implementation
+ *
+ */
+
+package org.eclipse.tractusx.mxd.dataservice.api;
+
+import io.swagger.v3.oas.annotations.OpenAPIDefinition;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.headers.Header;
+import io.swagger.v3.oas.annotations.media.ArraySchema;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.media.Schema;
+import io.swagger.v3.oas.annotations.parameters.RequestBody;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.ws.rs.container.AsyncResponse;
+import jakarta.ws.rs.core.MediaType;
+import jakarta.ws.rs.core.Request;
+import org.eclipse.edc.web.spi.ApiErrorDetail;
+
+import java.io.InputStream;
+
+@OpenAPIDefinition
+@Tag(name = "Demo Backend Service for the MXD")
+public interface AttachmentApi {
+
+    @Operation(description = "Uploads the binary attachment of a DataRecord, replacing any previous one. " +
+            "The content is streamed to disk and stored with the given Content-Type.",
+            requestBody = @RequestBody(content = @Content(mediaType = MediaType.WILDCARD, schema = @Schema(type = "string", format = "binary"))),
+            responses = {
+                    @ApiResponse(responseCode = "204", description = "The attachment was stored.",
+                            headers = @Header(name = "ETag", description = "The tag of the attachment, which changes with every upload.")),
+                    @ApiResponse(responseCode = "400", description = "Invalid Request",
+                            content = @Content(array = @ArraySchema(schema = @Schema(implementation = ApiErrorDetail.class)))),
+                    @ApiResponse(responseCode = "404", description = "A DataRecord with the given ID was not found"),
+                    @ApiResponse(responseCode = "413", description = "The attachment is larger than allowed")
+            })
+    void uploadAttachment(String id, String contentType, Long contentLength, InputStream body, AsyncResponse response);
+
+    @Operation(description = "Downloads the binary attachment of a DataRecord. A single byte range can be requested with a Range header, " +
+            "requests for several ranges are answered with the whole attachment.",
+            parameters = {
+                    @Parameter(name = "Range", description = "A single byte range, e.g. 'bytes=0-1023', 'bytes=1024-' or 'bytes=-1024'."),
+                    @Parameter(name = "If-Range", description = "The ETag or Last-Modified date of the attachment a partial download continues. " +
+                            "If the attachment has changed since, the Range header is ignored and the whole attachment is sent.")
+            },
+            responses = {
+                    @ApiResponse(responseCode = "200", description = "The attachment.",
+                            headers = {
+                                    @Header(name = "ETag", description = "The tag of the attachment."),
+                                    @Header(name = "Last-Modified", description = "The time of the upload.")
+                            },
+                            content = @Content(mediaType = MediaType.WILDCARD, schema = @Schema(type = "string", format = "binary"))),
+                    @ApiResponse(responseCode = "206", description = "The requested range of the attachment.",
+                            headers = @Header(name = "Content-Range", description = "The range that is sent and the size of the attachment."),
+                            content = @Content(mediaType = MediaType.WILDCARD, schema = @Schema(type = "string", format = "binary"))),
+                    @ApiResponse(responseCode = "304", description = "The attachment is still at the tag given in If-None-Match."),
+                    @ApiResponse(responseCode = "404", description = "The DataRecord has no attachment"),
+                    @ApiResponse(responseCode = "416", description = "The requested range lies outside the attachment.")
+            })
+    void downloadAttachment(String id, String range, String ifRange, Request request, AsyncResponse response);
+
+    @Operation(description = "Deletes the binary attachment of a DataRecord. Deleting the DataRecord also deletes its attachment.",
+            responses = {
+                    @ApiResponse(responseCode = "204"),
+                    @ApiResponse(responseCode = "404", description = "The DataRecord has no attachment")
+            })
+    void deleteAttachment(String id, AsyncResponse response);
+}
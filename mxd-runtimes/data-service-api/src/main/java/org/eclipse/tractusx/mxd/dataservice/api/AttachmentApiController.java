@@ -0,0 +1,205 @@
+/*
+ *  Copyright (c) 2024 Bayerische Motoren Werke Aktiengesellschaft (BMW AG)
+ *
+ *  This program and the accompanying materials are made available under the
+ *  terms of the Apache License, Version 2.0 which is available at
+ *  https://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  SPDX-License-Identifier: Apache-2.0
+ *
+ *  Contributors:
+ *       Bayerische Motoren Werke Aktiengesellschaft (BMW AG) - initial API and implementation
+ *
+ */
+
+package org.eclipse.tractusx.mxd.dataservice.api;
+
+import jakarta.ws.rs.Consumes;
+import jakarta.ws.rs.DELETE;
+import jakarta.ws.rs.GET;
+import jakarta.ws.rs.HeaderParam;
+import jakarta.ws.rs.PUT;
+import jakarta.ws.rs.Path;
+import jakarta.ws.rs.PathParam;
+import jakarta.ws.rs.Produces;
+import jakarta.ws.rs.WebApplicationException;
+import jakarta.ws.rs.container.AsyncResponse;
+import jakarta.ws.rs.container.Suspended;
+import jakarta.ws.rs.core.Context;
+import jakarta.ws.rs.core.EntityTag;
+import jakarta.ws.rs.core.HttpHeaders;
+import jakarta.ws.rs.core.MediaType;
+import jakarta.ws.rs.core.Request;
+import jakarta.ws.rs.core.Response;
+import jakarta.ws.rs.core.StreamingOutput;
+import org.eclipse.edc.web.spi.ApiErrorDetail;
+import org.eclipse.edc.web.spi.exception.InvalidRequestException;
+import org.eclipse.edc.web.spi.exception.ObjectNotFoundException;
+import org.eclipse.tractusx.mxd.dataservice.attachment.Attachment;
+import org.eclipse.tractusx.mxd.dataservice.attachment.AttachmentStore;
+import org.eclipse.tractusx.mxd.dataservice.attachment.AttachmentTooLargeException;
+import org.eclipse.tractusx.mxd.dataservice.model.DataRecord;
+import org.eclipse.tractusx.mxd.dataservice.store.DataRecordStore;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.channels.Channels;
+import java.time.ZonedDateTime;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.util.Date;
+import java.util.List;
+
+// error details are only written as JSON, EDC's exception mapper leaves their media type to content negotiation
+@Produces(MediaType.APPLICATION_JSON)
+@Path("/v1/data/{id}/attachment")
+public class AttachmentApiController implements AttachmentApi {
+
+    public static final String RANGE_HEADER = "Range";
+    public static final String IF_RANGE_HEADER = "If-Range";
+    public static final String CONTENT_RANGE_HEADER = "Content-Range";
+    public static final String ACCEPT_RANGES_HEADER = "Accept-Ranges";
+
+    private static final int REQUEST_ENTITY_TOO_LARGE = 413;
+
+    private final DataRecordStore store;
+    private final AttachmentStore attachments;
+    private final long maxSize;
+    private final RequestDispatcher dispatcher;
+
+    public AttachmentApiController(DataRecordStore store, AttachmentStore attachments, long maxSize, RequestDispatcher dispatcher) {
+        this.store = store;
+        this.attachments = attachments;
+        this.maxSize = maxSize;
+        this.dispatcher = dispatcher;
+    }
+
+    @PUT
+    @Consumes(MediaType.WILDCARD)
+    @Override
+    public void uploadAttachment(@PathParam("id") String id, @HeaderParam(HttpHeaders.CONTENT_TYPE) String contentType,
+                                 @HeaderParam(HttpHeaders.CONTENT_LENGTH) Long contentLength, InputStream body, @Suspended AsyncResponse response) {
+        dispatcher.dispatchWrite(response, () -> upload(id, contentType, contentLength, body));
+    }
+
+    @GET
+    @Produces({ MediaType.APPLICATION_JSON, MediaType.WILDCARD })
+    @Override
+    public void downloadAttachment(@PathParam("id") String id, @HeaderParam(RANGE_HEADER) String range, @HeaderParam(IF_RANGE_HEADER) String ifRange,
+                                   @Context Request request, @Suspended AsyncResponse response) {
+        dispatcher.dispatch(response, () -> download(id, range, ifRange, request));
+    }
+
+    @DELETE
+    @Override
+    public void deleteAttachment(@PathParam("id") String id, @Suspended AsyncResponse response) {
+        dispatcher.dispatchWrite(response, () -> {
+            if (!attachments.delete(id)) {
+                throw new ObjectNotFoundException(Attachment.class, id);
+            }
+            return null;
+        });
+    }
+
+    private Response upload(String id, String contentType, Long contentLength, InputStream body) throws IOException {
+        if (contentType != null && contentType.length() > AttachmentStore.MAX_CONTENT_TYPE_LENGTH) {
+            throw new InvalidRequestException("Content-Type must not be longer than %d characters".formatted(AttachmentStore.MAX_CONTENT_TYPE_LENGTH));
+        }
+        if (contentLength != null && contentLength > maxSize) {
+            throw new WebApplicationException(new AttachmentTooLargeException(maxSize).getMessage(), REQUEST_ENTITY_TOO_LARGE);
+        }
+        if (store.findById(id) == null) {
+            throw new ObjectNotFoundException(DataRecord.class, id);
+        }
+        String tag;
+        try {
+            tag = attachments.write(id, contentType, body);
+        } catch (AttachmentTooLargeException e) {
+            throw new WebApplicationException(e.getMessage(), REQUEST_ENTITY_TOO_LARGE);
+        }
+        // the record may have been deleted while the content was uploaded, which did not delete the new attachment
+        if (store.findById(id) == null) {
+            attachments.delete(id);
+            throw new ObjectNotFoundException(DataRecord.class, id);
+        }
+        return Response.noContent().tag(new EntityTag(tag)).build();
+    }
+
+    /**
+     * Opens the attachment and either hands it to the response entity, which transfers the requested range and closes
+     * it, or closes it right away if the response has no body.
+     */
+    private Response download(String id, String range, String ifRange, Request request) throws IOException {
+        var attachment = attachments.open(id);
+        if (attachment == null) {
+            throw new ObjectNotFoundException(Attachment.class, id);
+        }
+        var streaming = false;
+        try {
+            var tag = new EntityTag(attachment.tag());
+            var lastModified = Date.from(attachment.lastModified());
+            var preconditionFailed = request.evaluatePreconditions(lastModified, tag);
+            if (preconditionFailed != null) {
+                return preconditionFailed.build();
+            }
+
+            var size = attachment.size();
+            var byteRange = ifRange == null || isCurrent(ifRange, attachment) ? ByteRange.parse(range, size) : null;
+            if (byteRange == ByteRange.UNSATISFIABLE) {
+                // an error without a body is replaced by the error page of the server, which drops the Content-Range
+                var detail = ApiErrorDetail.Builder.newInstance()
+                        .message("Range %s lies outside the attachment of %d bytes".formatted(range, size))
+                        .type(Response.Status.REQUESTED_RANGE_NOT_SATISFIABLE.getReasonPhrase())
+                        .build();
+                return Response.status(Response.Status.REQUESTED_RANGE_NOT_SATISFIABLE)
+                        .header(CONTENT_RANGE_HEADER, "bytes */" + size)
+                        .entity(List.of(detail))
+                        .type(MediaType.APPLICATION_JSON)
+                        .build();
+            }
+
+            var response = byteRange == null
+                    ? Response.ok()
+                    : Response.status(Response.Status.PARTIAL_CONTENT).header(CONTENT_RANGE_HEADER, byteRange.contentRange(size));
+            var first = byteRange == null ? 0 : byteRange.first();
+            var length = byteRange == null ? size : byteRange.length();
+            streaming = true;
+            return response.entity(transfer(attachment, first, length))
+                    .type(attachment.contentType())
+                    .tag(tag)
+                    .lastModified(lastModified)
+                    .header(ACCEPT_RANGES_HEADER, "bytes")
+                    .header(HttpHeaders.CONTENT_LENGTH, length)
+                    .build();
+        } finally {
+            if (!streaming) {
+                attachment.close();
+            }
+        }
+    }
+
+    /**
+     * Whether the {@code If-Range} header names the attachment as it is now, either by its strong tag or by the exact
+     * second of its upload.
+     */
+    private static boolean isCurrent(String ifRange, Attachment attachment) {
+        var value = ifRange.trim();
+        if (value.startsWith("\"") || value.startsWith("W/")) {
+            return value.equals("\"" + attachment.tag() + "\"");
+        }
+        try {
+            var date = ZonedDateTime.parse(value, DateTimeFormatter.RFC_1123_DATE_TIME).toEpochSecond();
+            return date == attachment.lastModified().getEpochSecond();
+        } catch (DateTimeParseException e) {
+            return false;
+        }
+    }
+
+    private static StreamingOutput transfer(Attachment attachment, long position, long count) {
+        return output -> {
+            try (attachment) {
+                attachment.transferTo(position, count, Channels.newChannel(output));
+            }
+        };
+    }
+}
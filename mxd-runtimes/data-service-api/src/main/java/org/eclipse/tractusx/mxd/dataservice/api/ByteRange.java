@@ -0,0 +1,74 @@
+/*
+ *  Copyright (c) 2024 Bayerische Motoren Werke Aktiengesellschaft (BMW AG)
+ *
+ *  This program and the accompanying materials are made available under the
+ *  terms of the Apache License, Version 2.0 which is available at
+ *  https://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  SPDX-License-Identifier: Apache-2.0
+ *
+ *  Contributors:
+ *       Bayerische Motoren Werke Aktiengesellschaft (BMW AG) - initial API and implementation
+ *
+ */
+
+package org.eclipse.tractusx.mxd.dataservice.api;
+
+import org.jetbrains.annotations.Nullable;
+
+/**
+ * A single byte range of a representation as requested by a {@code Range} header, with both positions inclusive.
+ */
+public record ByteRange(long first, long last) {
+
+    /**
+     * Returned for a range that lies completely outside the representation, which is answered with 416.
+     */
+    public static final ByteRange UNSATISFIABLE = new ByteRange(-1, -1);
+
+    private static final String BYTES_UNIT = "bytes=";
+
+    /**
+     * Parses the value of a {@code Range} header for a representation of the given size. Returns null if the whole
+     * representation is to be sent, which is the case if the header is absent or invalid and, as this server only sends
+     * single ranges, if it asks for several ranges.
+     */
+    public static @Nullable ByteRange parse(@Nullable String header, long size) {
+        if (header == null || !header.regionMatches(true, 0, BYTES_UNIT, 0, BYTES_UNIT.length())) {
+            return null;
+        }
+        var spec = header.substring(BYTES_UNIT.length()).trim();
+        var dash = spec.indexOf('-');
+        if (dash < 0 || spec.indexOf(',') >= 0) {
+            return null;
+        }
+        try {
+            if (dash == 0) {
+                var suffixLength = Long.parseLong(spec.substring(1));
+                if (suffixLength < 0) {
+                    return null;
+                }
+                return suffixLength == 0 || size == 0 ? UNSATISFIABLE : new ByteRange(Math.max(0, size - suffixLength), size - 1);
+            }
+            var first = Long.parseLong(spec.substring(0, dash));
+            var last = dash == spec.length() - 1 ? Long.MAX_VALUE : Long.parseLong(spec.substring(dash + 1));
+            if (first < 0 || last < first) {
+                return null;
+            }
+            return first >= size ? UNSATISFIABLE : new ByteRange(first, Math.min(last, size - 1));
+        } catch (NumberFormatException e) {
+            return null;
+        }
+    }
+
+    public long length() {
+        return last - first + 1;
+    }
+
+    /**
+     * The value of the {@code Content-Range} header of a response with this range.
+     */
+    public String contentRange(long size) {
+        return "bytes %d-%d/%d".formatted(first, last, size);
+    }
+}
@@ -0,0 +1,25 @@
+/*
+ *  Copyright (c) 2024 Bayerische Motoren Werke Aktiengesellschaft (BMW AG)
+ *
+ *  This program and the accompanying materials are made available under the
+ *  terms of the Apache License, Version 2.0 which is available at
+ *  https://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  SPDX-License-Identifier: Apache-2.0
+ *
+ *  Contributors:
+ *       Bayerische Motoren Werke Aktiengesellschaft (BMW AG) - initial API and implementation
+ *
+ */
+
+package org.eclipse.tractusx.mxd.dataservice.api;
+
+/**
+ * The dispatchers the controllers of the data API run their requests with, both of which use the executor of the
+ * configured execution mode.
+ *
+ * @param records runs the requests of the DataRecord endpoints, which are subject to the request timeout
+ * @param streams runs the requests of the endpoints that stream payloads of any size, which no timeout fits
+ */
+public record DataApiDispatchers(RequestDispatcher records, RequestDispatcher streams) {
+}
@@ -0,0 +1,43 @@
+/*
+ *  Copyright (c) 2024 Bayerische Motoren Werke Aktiengesellschaft (BMW AG)
+ *
+ *  This program and the accompanying materials are made available under the
+ *  terms of the Apache License, Version 2.0 which is available at
+ *  https://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  SPDX-License-Identifier: Apache-2.0
+ *
+ *  Contributors:
+ *       Bayerische Motoren Werke Aktiengesellschaft (BMW AG) - initial API and implementation
+ *
+ */
+
+package org.eclipse.tractusx.mxd.dataservice.api;
+
+import io.swagger.v3.oas.annotations.OpenAPIDefinition;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.media.Schema;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.ws.rs.core.MediaType;
+import jakarta.ws.rs.sse.Sse;
+import jakarta.ws.rs.sse.SseEventSink;
+import org.eclipse.tractusx.mxd.dataservice.model.DataRecordChange;
+
+@OpenAPIDefinition
+@Tag(name = "Demo Backend Service for the MXD")
+public interface DataChangesApi {
+
+    @Operation(description = "Streams the creations, updates and deletions of DataRecords as server-sent events. " +
+            "Each event is named after the kind of change, its ID is the sequence number of the change. " +
+            "A client that reconnects with a Last-Event-ID header is sent the changes it missed, or a 'reset' event if they are no longer available, " +
+            "after which it should reload all DataRecords. A client that does not keep up with the changes is disconnected and may reconnect the same way.",
+            parameters = @Parameter(name = "Last-Event-ID", description = "The sequence number of the last change the client has seen."),
+            responses = {
+                    @ApiResponse(responseCode = "200", description = "The stream of changes.",
+                            content = @Content(mediaType = MediaType.SERVER_SENT_EVENTS, schema = @Schema(implementation = DataRecordChange.class)))
+            })
+    void changes(String lastEventId, SseEventSink sink, Sse sse);
+}
@@ -0,0 +1,68 @@
+/*
+ *  Copyright (c) 2024 Bayerische Motoren Werke Aktiengesellschaft (BMW AG)
+ *
+ *  This program and the accompanying materials are made available under the
+ *  terms of the Apache License, Version 2.0 which is available at
+ *  https://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  SPDX-License-Identifier: Apache-2.0
+ *
+ *  Contributors:
+ *       Bayerische Motoren Werke Aktiengesellschaft (BMW AG) - initial API and implementation
+ *
+ */
+
+package org.eclipse.tractusx.mxd.dataservice.api;
+
+import jakarta.ws.rs.GET;
+import jakarta.ws.rs.HeaderParam;
+import jakarta.ws.rs.Path;
+import jakarta.ws.rs.Produces;
+import jakarta.ws.rs.core.Context;
+import jakarta.ws.rs.core.HttpHeaders;
+import jakarta.ws.rs.core.MediaType;
+import jakarta.ws.rs.sse.Sse;
+import jakarta.ws.rs.sse.SseEventSink;
+import org.eclipse.edc.web.spi.exception.InvalidRequestException;
+import org.eclipse.tractusx.mxd.dataservice.changes.DataRecordChangeFeed;
+
+import java.io.IOException;
+
+@Path("/v1/data/changes")
+public class DataChangesApiController implements DataChangesApi {
+
+    private final DataRecordChangeFeed feed;
+
+    public DataChangesApiController(DataRecordChangeFeed feed) {
+        this.feed = feed;
+    }
+
+    @GET
+    @Produces(MediaType.SERVER_SENT_EVENTS)
+    @Override
+    public void changes(@HeaderParam(HttpHeaders.LAST_EVENT_ID_HEADER) String lastEventId, @Context SseEventSink sink, @Context Sse sse) {
+        Long lastSequence;
+        try {
+            lastSequence = lastEventId == null || lastEventId.isBlank() ? null : Long.parseLong(lastEventId.trim());
+        } catch (NumberFormatException e) {
+            throw new InvalidRequestException("Last-Event-ID must be the sequence number of a change but was " + lastEventId);
+        }
+        feed.subscribe(lastSequence,
+                event -> sink.send(event == DataRecordChangeFeed.HEARTBEAT ?
+                        sse.newEventBuilder().comment(event.name()).build() :
+                        sse.newEventBuilder()
+                                .id(Long.toString(event.sequence()))
+                                .name(event.name())
+                                .data(event.data())
+                                .build()),
+                () -> close(sink));
+    }
+
+    private static void close(SseEventSink sink) {
+        try {
+            sink.close();
+        } catch (IOException e) {
+            // the connection is gone, there is nothing left to release
+        }
+    }
+}
@@ -16,67 +16,141 @@ package org.eclipse.tractusx.mxd.dataservice.api;
 
 import io.swagger.v3.oas.annotations.OpenAPIDefinition;
 import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.headers.Header;
 import io.swagger.v3.oas.annotations.media.ArraySchema;
 import io.swagger.v3.oas.annotations.media.Content;
 import io.swagger.v3.oas.annotations.media.Schema;
 import io.swagger.v3.oas.annotations.parameters.RequestBody;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.ws.rs.container.AsyncResponse;
+import jakarta.ws.rs.core.Request;
 import org.eclipse.edc.spi.query.QuerySpec;
 import org.eclipse.edc.web.spi.ApiErrorDetail;
+import org.eclipse.tractusx.mxd.dataservice.model.BatchResult;
 import org.eclipse.tractusx.mxd.dataservice.model.DataRecord;
+import org.eclipse.tractusx.mxd.dataservice.model.LookupResult;
 
-import java.util.Collection;
+import java.io.InputStream;
+import java.util.List;
 
 @OpenAPIDefinition
 @Tag(name = "Demo Backend Service for the MXD")
 public interface DataServiceApi {
 
-    @Operation(description = "Gets all DataRecord",
+    String FIELDS_DESCRIPTION = "Comma-separated properties of the DataRecords to return, for example 'id,name'. All properties are returned if omitted.";
+    String TTL_DESCRIPTION = "Seconds after its last write at which the DataRecord is deleted, instead of the configured default. Only available if expiry is enabled.";
+
+    @Operation(description = "Gets all DataRecords ordered by their ID, optionally one page at a time. " +
+            "The ETag changes whenever any DataRecord changes, a request with a matching If-None-Match header is answered with 304.",
+            parameters = {
+                    @Parameter(name = "limit", description = "Maximum number of DataRecords to return. All DataRecords are returned if omitted."),
+                    @Parameter(name = "cursor", description = "ID of the last DataRecord of the previous page. Only DataRecords with a greater ID are returned."),
+                    @Parameter(name = "stream", description = "Write the DataRecords to the response one at a time instead of serializing the whole page at once."),
+                    @Parameter(name = "fields", description = FIELDS_DESCRIPTION)
+            },
             responses = {
                     @ApiResponse(responseCode = "200", description = "The DataRecords.",
-                            content = @Content(schema = @Schema(implementation = DataRecord.class))),
+                            headers = {
+                                    @Header(name = DataServiceApiController.NEXT_CURSOR_HEADER, description = "The cursor for the next page, absent on the last page."),
+                                    @Header(name = "ETag", description = "The revision of the DataRecord collection.")
+                            },
+                            content = @Content(array = @ArraySchema(schema = @Schema(implementation = DataRecord.class)))),
+                    @ApiResponse(responseCode = "304", description = "No DataRecord has changed since the revision given in If-None-Match."),
+                    @ApiResponse(responseCode = "400", description = "Invalid Request",
+                            content = @Content(array = @ArraySchema(schema = @Schema(implementation = ApiErrorDetail.class)))),
                     @ApiResponse(responseCode = "401", description = "Not authenticated: principal could not be identified",
                             content = @Content(array = @ArraySchema(schema = @Schema(implementation = ApiErrorDetail.class))))
             })
-    Collection<DataRecord> getAll();
+    void getAll(Integer limit, String cursor, boolean stream, String fields, Request request, AsyncResponse response);
 
-    @Operation(description = "Gets the DataRecord for the given ID",
+    @Operation(description = "Gets the DataRecords matching the given query. Filters, sorting and range criteria on 'id' and 'name' are answered from indexes.",
+            requestBody = @RequestBody(content = @Content(schema = @Schema(implementation = QuerySpec.class))),
+            parameters = @Parameter(name = "fields", description = FIELDS_DESCRIPTION),
+            responses = {
+                    @ApiResponse(responseCode = "200", description = "The matching DataRecords.",
+                            content = @Content(array = @ArraySchema(schema = @Schema(implementation = DataRecord.class)))),
+                    @ApiResponse(responseCode = "400", description = "Invalid Request",
+                            content = @Content(array = @ArraySchema(schema = @Schema(implementation = ApiErrorDetail.class)))),
+                    @ApiResponse(responseCode = "401", description = "Not authenticated: principal could not be identified",
+                            content = @Content(array = @ArraySchema(schema = @Schema(implementation = ApiErrorDetail.class))))
+            })
+    void query(QuerySpec querySpec, String fields, AsyncResponse response);
+
+    @Operation(description = "Gets the DataRecords with the given IDs in one request. The DataRecords are written as they are read, ordered by ID, " +
+            "followed by the IDs that were not found. At most 10000 IDs can be looked up at once.",
+            requestBody = @RequestBody(content = @Content(array = @ArraySchema(schema = @Schema(implementation = String.class)))),
+            parameters = @Parameter(name = "fields", description = FIELDS_DESCRIPTION),
+            responses = {
+                    @ApiResponse(responseCode = "200", description = "The found DataRecords and the missing IDs.",
+                            content = @Content(schema = @Schema(implementation = LookupResult.class))),
+                    @ApiResponse(responseCode = "400", description = "Invalid Request",
+                            content = @Content(array = @ArraySchema(schema = @Schema(implementation = ApiErrorDetail.class)))),
+                    @ApiResponse(responseCode = "401", description = "Not authenticated: principal could not be identified",
+                            content = @Content(array = @ArraySchema(schema = @Schema(implementation = ApiErrorDetail.class))))
+            })
+    void lookup(List<String> ids, String fields, AsyncResponse response);
+
+    @Operation(description = "Gets the DataRecord for the given ID. Its version is returned as ETag, a request with a matching If-None-Match header is answered with 304.",
+            parameters = @Parameter(name = "fields", description = FIELDS_DESCRIPTION),
             responses = {
                     @ApiResponse(responseCode = "200", description = "The DataRecord.",
+                            headers = @Header(name = "ETag", description = "The version of the DataRecord."),
                             content = @Content(schema = @Schema(implementation = DataRecord.class))),
+                    @ApiResponse(responseCode = "304", description = "The DataRecord is still at the version given in If-None-Match."),
                     @ApiResponse(responseCode = "400", description = "Invalid Request",
                             content = @Content(array = @ArraySchema(schema = @Schema(implementation = ApiErrorDetail.class)))),
                     @ApiResponse(responseCode = "401", description = "Not authenticated: principal could not be identified",
                             content = @Content(array = @ArraySchema(schema = @Schema(implementation = ApiErrorDetail.class)))),
                     @ApiResponse(responseCode = "404", description = "A DataRecord with the given ID was not found")
             })
-    DataRecord findById(String id);
+    void findById(String id, String fields, Request request, AsyncResponse response);
 
     @Operation(description = "Creates a new Data Record with the given parameters",
             requestBody = @RequestBody(content = @Content(schema = @Schema(implementation = DataRecord.class))),
+            parameters = @Parameter(name = "ttl", description = TTL_DESCRIPTION),
             responses = {
                     @ApiResponse(responseCode = "204", description = "The DataRecord was created successfully.",
-                            content = @Content(schema = @Schema(implementation = DataRecord.class))),
+                            headers = @Header(name = "ETag", description = "The version of the created DataRecord.")),
                     @ApiResponse(responseCode = "400", description = "Invalid Request",
                             content = @Content(array = @ArraySchema(schema = @Schema(implementation = ApiErrorDetail.class)))),
                     @ApiResponse(responseCode = "401", description = "Not authenticated: principal could not be identified",
                             content = @Content(array = @ArraySchema(schema = @Schema(implementation = ApiErrorDetail.class))))
             })
-    void create(DataRecord dataRecord);
+    void create(DataRecord dataRecord, Long ttl, AsyncResponse response);
 
 
-    @Operation(description = "Updates an existing DataRecord with new values.",
+    @Operation(description = "Creates DataRecords in bulk from a newline-delimited JSON stream with one DataRecord per line. " +
+            "Each line is created like a single DataRecord would be, lines that fail do not affect the others.",
+            requestBody = @RequestBody(content = @Content(mediaType = DataServiceApiController.APPLICATION_NDJSON, schema = @Schema(implementation = DataRecord.class))),
+            parameters = @Parameter(name = "ttl", description = TTL_DESCRIPTION),
+            responses = {
+                    @ApiResponse(responseCode = "200", description = "The number of created, conflicting and invalid lines, with details on the first failed lines.",
+                            content = @Content(schema = @Schema(implementation = BatchResult.class))),
+                    @ApiResponse(responseCode = "401", description = "Not authenticated: principal could not be identified",
+                            content = @Content(array = @ArraySchema(schema = @Schema(implementation = ApiErrorDetail.class))))
+            })
+    void createBatch(InputStream body, Long ttl, AsyncResponse response);
+
+    @Operation(description = "Updates an existing DataRecord with new values. " +
+            "With an If-Match header, the DataRecord is only updated if it is still at one of the given versions.",
             requestBody = @RequestBody(content = @Content(schema = @Schema(implementation = DataRecord.class))),
+            parameters = {
+                    @Parameter(name = "ttl", description = TTL_DESCRIPTION + " Without it, the DataRecord keeps its time-to-live."),
+                    @Parameter(name = "If-Match", description = "The ETag of the version the update is based on, or * for any version.")
+            },
             responses = {
-                    @ApiResponse(responseCode = "200"),
+                    @ApiResponse(responseCode = "204", description = "The DataRecord was updated successfully.",
+                            headers = @Header(name = "ETag", description = "The new version of the DataRecord.")),
                     @ApiResponse(responseCode = "400", description = "Invalid Request",
                             content = @Content(array = @ArraySchema(schema = @Schema(implementation = ApiErrorDetail.class)))),
                     @ApiResponse(responseCode = "401", description = "Not authenticated: principal could not be identified",
                             content = @Content(array = @ArraySchema(schema = @Schema(implementation = ApiErrorDetail.class)))),
-                    @ApiResponse(responseCode = "404", description = "A DataRecord with the given ID was not found")
+                    @ApiResponse(responseCode = "404", description = "A DataRecord with the given ID was not found"),
+                    @ApiResponse(responseCode = "412", description = "The DataRecord has been modified since the version given in If-Match, or does not exist")
             })
-    void update(DataRecord dataRecord);
+    void update(DataRecord dataRecord, Long ttl, String ifMatch, Request request, AsyncResponse response);
 
     @Operation(description = "Deletes a DataRecord by ID",
             responses = {
@@ -87,5 +161,5 @@ public interface DataServiceApi {
                             content = @Content(array = @ArraySchema(schema = @Schema(implementation = ApiErrorDetail.class)))),
                     @ApiResponse(responseCode = "404", description = "A DataRecord with the given ID was not found")
             })
-    void delete(String id);
+    void delete(String id, AsyncResponse response);
 }
@@ -14,76 +14,436 @@
 
 package org.eclipse.tractusx.mxd.dataservice.api;
 
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
 import jakarta.ws.rs.Consumes;
 import jakarta.ws.rs.DELETE;
 import jakarta.ws.rs.GET;
+import jakarta.ws.rs.HeaderParam;
 import jakarta.ws.rs.POST;
 import jakarta.ws.rs.PUT;
 import jakarta.ws.rs.Path;
 import jakarta.ws.rs.PathParam;
 import jakarta.ws.rs.Produces;
+import jakarta.ws.rs.QueryParam;
+import jakarta.ws.rs.container.AsyncResponse;
+import jakarta.ws.rs.container.Suspended;
+import jakarta.ws.rs.core.Context;
+import jakarta.ws.rs.core.EntityTag;
+import jakarta.ws.rs.core.HttpHeaders;
 import jakarta.ws.rs.core.MediaType;
+import jakarta.ws.rs.core.Request;
+import jakarta.ws.rs.core.Response;
+import jakarta.ws.rs.core.StreamingOutput;
+import org.eclipse.edc.spi.EdcException;
+import org.eclipse.edc.spi.query.Criterion;
+import org.eclipse.edc.spi.query.QuerySpec;
+import org.eclipse.edc.spi.result.StoreFailure;
 import org.eclipse.edc.web.spi.exception.InvalidRequestException;
 import org.eclipse.edc.web.spi.exception.ObjectConflictException;
 import org.eclipse.edc.web.spi.exception.ObjectNotFoundException;
+import org.eclipse.tractusx.mxd.dataservice.cache.SerializedDataRecordCache;
+import org.eclipse.tractusx.mxd.dataservice.expiry.RecordExpiry;
+import org.eclipse.tractusx.mxd.dataservice.model.BatchResult;
 import org.eclipse.tractusx.mxd.dataservice.model.DataRecord;
+import org.eclipse.tractusx.mxd.dataservice.store.DataRecordStore;
+import org.jetbrains.annotations.Nullable;
 
-import java.util.Collection;
-import java.util.Map;
-import java.util.concurrent.ConcurrentHashMap;
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Objects;
+import java.util.stream.Stream;
 
 @Consumes(MediaType.APPLICATION_JSON)
 @Produces(MediaType.APPLICATION_JSON)
 @Path("/v1/data")
 public class DataServiceApiController implements DataServiceApi {
 
-    private final ConcurrentHashMap<String, DataRecord> database;
+    public static final String NEXT_CURSOR_HEADER = "X-Next-Cursor";
+    public static final String APPLICATION_NDJSON = "application/x-ndjson";
 
-    public DataServiceApiController(ConcurrentHashMap<String, DataRecord> database) {
-        this.database = database;
+    private static final int BATCH_SIZE = 1000;
+    private static final int MAX_REPORTED_FAILURES = 1000;
+    private static final int MAX_LOOKUP_IDS = 10_000;
+    private static final byte[] FOUND_PREFIX = "{\"found\":".getBytes(StandardCharsets.UTF_8);
+    private static final byte[] MISSING_PREFIX = ",\"missing\":".getBytes(StandardCharsets.UTF_8);
+
+    private final DataRecordStore store;
+    private final SerializedDataRecordCache cache;
+    private final ObjectMapper objectMapper;
+    private final ObjectReader recordReader;
+    private final RequestDispatcher dispatcher;
+    private final @Nullable RecordExpiry expiry;
+
+    public DataServiceApiController(DataRecordStore store, ObjectMapper objectMapper, SerializedDataRecordCache cache, RequestDispatcher dispatcher) {
+        this(store, objectMapper, cache, dispatcher, null);
+    }
+
+    /**
+     * @param expiry the expiry the store is bounded by, or null if records do not expire
+     */
+    public DataServiceApiController(DataRecordStore store, ObjectMapper objectMapper, SerializedDataRecordCache cache, RequestDispatcher dispatcher,
+                                    @Nullable RecordExpiry expiry) {
+        this.store = store;
+        this.cache = cache;
+        this.objectMapper = objectMapper;
+        this.recordReader = objectMapper.readerFor(DataRecord.class);
+        this.dispatcher = dispatcher;
+        this.expiry = expiry;
     }
 
     @GET
     @Override
-    public Collection<DataRecord> getAll() {
-        return database.values();
+    public void getAll(@QueryParam("limit") Integer limit, @QueryParam("cursor") String cursor, @QueryParam("stream") boolean stream,
+                       @QueryParam("fields") String fields, @Context Request request, @Suspended AsyncResponse response) {
+        dispatcher.dispatch(response, () -> page(limit, cursor, stream, FieldProjection.parse(fields, objectMapper), request));
+    }
+
+    @POST
+    @Path("/request")
+    @ReadOnly
+    @Override
+    public void query(QuerySpec querySpec, @QueryParam("fields") String fields, @Suspended AsyncResponse response) {
+        dispatcher.dispatch(response, () -> {
+            var projection = FieldProjection.parse(fields, objectMapper);
+            var records = store.findAll(querySpec == null ? QuerySpec.none() : querySpec);
+            if (projection == null) {
+                return records.toList();
+            }
+            return Response.ok(projection.array(records)).type(MediaType.APPLICATION_JSON).build();
+        });
+    }
+
+    @POST
+    @Path("/lookup")
+    @ReadOnly
+    @Override
+    public void lookup(List<String> ids, @QueryParam("fields") String fields, @Suspended AsyncResponse response) {
+        dispatcher.dispatch(response, () -> lookup(ids, FieldProjection.parse(fields, objectMapper)));
     }
 
     @GET
     @Path("/{id}")
     @Override
-    public DataRecord findById(@PathParam("id") String id) {
-        if(database.containsKey(id)) {
-            return database.get(id);
-        }
-        throw new ObjectNotFoundException(DataRecord.class, id);
+    public void findById(@PathParam("id") String id, @QueryParam("fields") String fields, @Context Request request, @Suspended AsyncResponse response) {
+        dispatcher.dispatch(response, () -> find(id, FieldProjection.parse(fields, objectMapper), request));
     }
 
     @POST
     @Override
-    public void create(DataRecord dataRecord) {
-        if (database.containsKey(dataRecord.id())) {
-            throw new ObjectConflictException("DataRecord with id " + dataRecord.id() + " already exists");
-        }
-        database.put(dataRecord.id(), dataRecord);
+    public void create(DataRecord dataRecord, @QueryParam("ttl") Long ttl, @Suspended AsyncResponse response) {
+        dispatcher.dispatchWrite(response, () -> {
+            var expiresAfter = ttl(ttl);
+            var version = store.create(dataRecord).orElseThrow(failure -> exception(failure, dataRecord.id()));
+            expireAfter(dataRecord.id(), expiresAfter);
+            return Response.noContent().tag(tag(version)).build();
+        });
+    }
+
+    @POST
+    @Path("/batch")
+    @Consumes(APPLICATION_NDJSON)
+    @Override
+    public void createBatch(InputStream body, @QueryParam("ttl") Long ttl, @Suspended AsyncResponse response) {
+        dispatcher.dispatchWrite(response, () -> ingest(body, ttl(ttl)));
     }
 
     @PUT
     @Override
-    public void update(DataRecord dataRecord) {
-        if (!database.containsKey(dataRecord.id())) {
-            throw new ObjectNotFoundException(DataRecord.class, dataRecord.id());
-        }
-        database.put(dataRecord.id(), dataRecord);
+    public void update(DataRecord dataRecord, @QueryParam("ttl") Long ttl, @HeaderParam(HttpHeaders.IF_MATCH) String ifMatch, @Context Request request,
+                       @Suspended AsyncResponse response) {
+        dispatcher.dispatchWrite(response, () -> replace(dataRecord, ttl(ttl), ifMatch, request));
     }
 
     @DELETE
     @Path("/{id}")
     @Override
-    public void delete(@PathParam("id") String id) {
-        if (!database.containsKey(id)) {
+    public void delete(@PathParam("id") String id, @Suspended AsyncResponse response) {
+        dispatcher.dispatchWrite(response, () -> {
+            store.deleteById(id).orElseThrow(failure -> exception(failure, id));
+            return null;
+        });
+    }
+
+    /**
+     * Pages with a projection are neither served from nor put into the cache, which only holds full records.
+     */
+    private Response page(Integer limit, String cursor, boolean stream, @Nullable FieldProjection projection, Request request) {
+        if (limit != null && limit <= 0) {
+            throw new InvalidRequestException("limit must be a positive number but was " + limit);
+        }
+
+        // taken before reading, so that a write racing with this request changes the tag of the next one
+        var revision = store.revision();
+        var tag = new EntityTag(revision);
+        var notModified = request.evaluatePreconditions(tag);
+        if (notModified != null) {
+            return notModified.build();
+        }
+
+        var wholeCollection = limit == null && cursor == null && projection == null;
+        var cached = wholeCollection ? cache.collection(revision) : null;
+        if (cached != null) {
+            return Response.ok(cached).type(MediaType.APPLICATION_JSON).tag(tag).build();
+        }
+
+        // records are ordered by id, so the cursor is simply the id of the last record of the previous page
+        var page = pageQuery(cursor).offset(0).limit(limit == null ? Integer.MAX_VALUE : limit).build();
+        String nextCursor = null;
+        if (limit != null) {
+            var boundary = store.findAll(pageQuery(cursor).offset(limit - 1).limit(2).build()).toList();
+            nextCursor = boundary.size() == 2 ? boundary.get(0).id() : null;
+        }
+
+        Response.ResponseBuilder response;
+        if (stream) {
+            response = Response.ok(writeArray(store.findAll(page), projection));
+        } else {
+            var json = projection == null ? cache.array(store.findAll(page)) : projection.array(store.findAll(page));
+            if (wholeCollection) {
+                cache.putCollection(revision, json);
+            }
+            response = Response.ok(json);
+        }
+        return response
+                .type(MediaType.APPLICATION_JSON)
+                .tag(tag)
+                .header(NEXT_CURSOR_HEADER, nextCursor)
+                .build();
+    }
+
+    private Response find(String id, @Nullable FieldProjection projection, Request request) {
+        var versioned = store.findById(id);
+        if (versioned == null) {
             throw new ObjectNotFoundException(DataRecord.class, id);
         }
-        database.remove(id);
+        touch(id);
+        var tag = tag(versioned.version());
+        var notModified = request.evaluatePreconditions(tag);
+        if (notModified != null) {
+            return notModified.build();
+        }
+        var json = projection == null ? cache.record(versioned.dataRecord()) : projection.record(versioned.dataRecord());
+        return Response.ok(json).type(MediaType.APPLICATION_JSON).tag(tag).build();
+    }
+
+    /**
+     * Reads the records with a single query on their IDs and writes them while they are read. The IDs that were not
+     * found are only known once all records are written, so they follow the records.
+     */
+    private StreamingOutput lookup(List<String> ids, @Nullable FieldProjection projection) {
+        if (ids == null) {
+            throw new InvalidRequestException("Request body must be a JSON array of DataRecord IDs");
+        }
+        if (ids.size() > MAX_LOOKUP_IDS) {
+            throw new InvalidRequestException("At most %d IDs can be looked up at once, got %d".formatted(MAX_LOOKUP_IDS, ids.size()));
+        }
+        if (ids.stream().anyMatch(Objects::isNull)) {
+            throw new InvalidRequestException("DataRecord IDs must not be null");
+        }
+        var distinct = new LinkedHashSet<>(ids);
+        var found = new HashSet<String>(distinct.size() * 2);
+        var records = distinct.isEmpty() ? Stream.<DataRecord>empty() : store.findAll(QuerySpec.Builder.newInstance()
+                        .filter(new Criterion("id", "in", List.copyOf(distinct)))
+                        .sortField("id")
+                        .limit(distinct.size())
+                        .build())
+                .peek(dataRecord -> {
+                    found.add(dataRecord.id());
+                    touch(dataRecord.id());
+                });
+        return output -> {
+            output.write(FOUND_PREFIX);
+            if (projection == null) {
+                cache.writeArray(records, output);
+            } else {
+                projection.writeArray(records, output);
+            }
+            output.write(MISSING_PREFIX);
+            output.write(objectMapper.writeValueAsBytes(distinct.stream().filter(id -> !found.contains(id)).toList()));
+            output.write('}');
+        };
+    }
+
+    private BatchResult ingest(InputStream body, @Nullable Duration ttl) throws IOException {
+        var ingest = new BatchIngest(ttl);
+        var reader = new BufferedReader(new InputStreamReader(body, StandardCharsets.UTF_8), 64 * 1024);
+        String line;
+        while ((line = reader.readLine()) != null) {
+            ingest.line(line);
+        }
+        return ingest.finish();
+    }
+
+    /**
+     * Replaces the record. With an {@code If-Match} header, the version it matched is passed on to the store, which
+     * only replaces that very version, so a write that slips in between fails the precondition instead of being lost.
+     */
+    private Response replace(DataRecord dataRecord, @Nullable Duration ttl, String ifMatch, Request request) {
+        var current = store.findById(dataRecord.id());
+        var preconditionFailed = current == null ? request.evaluatePreconditions() : request.evaluatePreconditions(tag(current.version()));
+        if (preconditionFailed != null) {
+            return preconditionFailed.build();
+        }
+        if (current == null) {
+            throw new ObjectNotFoundException(DataRecord.class, dataRecord.id());
+        }
+
+        var expectedVersion = ifMatch == null ? null : current.version();
+        var result = store.update(dataRecord, expectedVersion);
+        if (result.failed() && expectedVersion != null) {
+            return Response.status(Response.Status.PRECONDITION_FAILED).build();
+        }
+        var version = result.orElseThrow(failure -> exception(failure, dataRecord.id()));
+        expireAfter(dataRecord.id(), ttl);
+        return Response.noContent().tag(tag(version)).build();
+    }
+
+    /**
+     * Parses NDJSON lines one at a time and hands the records to the store in batches, counting the outcome per line.
+     */
+    private class BatchIngest {
+        private final @Nullable Duration ttl;
+        private final List<DataRecord> batch = new ArrayList<>(BATCH_SIZE);
+        private final List<Long> batchLines = new ArrayList<>(BATCH_SIZE);
+        private final List<BatchResult.LineFailure> failures = new ArrayList<>();
+        private long lineNumber;
+        private long created;
+        private long conflicts;
+        private long invalid;
+
+        BatchIngest(@Nullable Duration ttl) {
+            this.ttl = ttl;
+        }
+
+        void line(String line) {
+            lineNumber++;
+            if (line.isBlank()) {
+                return;
+            }
+            DataRecord dataRecord;
+            try {
+                dataRecord = recordReader.readValue(line);
+            } catch (JsonProcessingException e) {
+                invalid++;
+                fail(lineNumber, null, 400, e.getOriginalMessage());
+                return;
+            }
+            if (dataRecord == null || dataRecord.id() == null) {
+                invalid++;
+                fail(lineNumber, null, 400, "DataRecord must have an id");
+                return;
+            }
+            batch.add(dataRecord);
+            batchLines.add(lineNumber);
+            if (batch.size() == BATCH_SIZE) {
+                flush();
+            }
+        }
+
+        BatchResult finish() {
+            flush();
+            return new BatchResult(created, conflicts, invalid, failures);
+        }
+
+        private void flush() {
+            if (batch.isEmpty()) {
+                return;
+            }
+            var results = store.createAll(batch);
+            for (var i = 0; i < results.size(); i++) {
+                var result = results.get(i);
+                if (result.succeeded()) {
+                    created++;
+                    expireAfter(batch.get(i).id(), ttl);
+                } else if (result.reason() == StoreFailure.Reason.ALREADY_EXISTS) {
+                    conflicts++;
+                    fail(batchLines.get(i), batch.get(i).id(), 409, result.getFailureDetail());
+                } else {
+                    invalid++;
+                    fail(batchLines.get(i), batch.get(i).id(), 500, result.getFailureDetail());
+                }
+            }
+            batch.clear();
+            batchLines.clear();
+        }
+
+        private void fail(long line, String id, int status, String message) {
+            if (failures.size() < MAX_REPORTED_FAILURES) {
+                failures.add(new BatchResult.LineFailure(line, id, status, message));
+            }
+        }
+    }
+
+    private QuerySpec.Builder pageQuery(String cursor) {
+        var query = QuerySpec.Builder.newInstance().sortField("id");
+        if (cursor != null) {
+            query.filter(new Criterion("id", ">", cursor));
+        }
+        return query;
+    }
+
+    private @Nullable Duration ttl(@Nullable Long seconds) {
+        if (seconds == null) {
+            return null;
+        }
+        if (expiry == null) {
+            throw new InvalidRequestException("ttl is not supported, as expiry of DataRecords is not enabled");
+        }
+        if (seconds <= 0) {
+            throw new InvalidRequestException("ttl must be a positive number of seconds but was " + seconds);
+        }
+        return Duration.ofSeconds(seconds);
+    }
+
+    /**
+     * Applies a time-to-live given with a write. A record deleted in the meantime is left alone.
+     */
+    private void expireAfter(String id, @Nullable Duration ttl) {
+        if (expiry != null && ttl != null) {
+            expiry.expireAfter(id, ttl);
+        }
+    }
+
+    /**
+     * Marks a record as used for eviction. Only reads that name the record count, listing and querying does not, so
+     * that a scan over all records does not make all of them look recently used.
+     */
+    private void touch(String id) {
+        if (expiry != null) {
+            expiry.touch(id);
+        }
+    }
+
+    private static EntityTag tag(long version) {
+        return new EntityTag(Long.toString(version));
+    }
+
+    private EdcException exception(StoreFailure failure, String id) {
+        return switch (failure.getReason()) {
+            case NOT_FOUND -> new ObjectNotFoundException(DataRecord.class, id);
+            case ALREADY_EXISTS -> new ObjectConflictException(failure.getFailureDetail());
+            default -> new EdcException(failure.getFailureDetail());
+        };
+    }
+
+    /**
+     * Writes the records as a JSON array directly to the response stream, one record at a time, so that the
+     * collection never has to be held in memory as a whole.
+     */
+    private StreamingOutput writeArray(Stream<DataRecord> records, @Nullable FieldProjection projection) {
+        if (projection != null) {
+            return output -> projection.writeArray(records, output);
+        }
+        return output -> cache.writeArray(records, output);
     }
 }
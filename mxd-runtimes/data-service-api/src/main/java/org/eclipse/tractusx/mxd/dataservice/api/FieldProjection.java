@@ -0,0 +1,191 @@
+/*
+ *  Copyright (c) 2024 Bayerische Motoren Werke Aktiengesellschaft (BMW AG)
+ *
+ *  This program and the accompanying materials are made available under the
+ *  terms of the Apache License, Version 2.0 which is available at
+ *  https://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  SPDX-License-Identifier: Apache-2.0
+ *
+ *  Contributors:
+ *       Bayerische Motoren Werke Aktiengesellschaft (BMW AG) - initial API and implementation
+ *
+ */
+
+package org.eclipse.tractusx.mxd.dataservice.api;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.SerializableString;
+import com.fasterxml.jackson.core.io.SerializedString;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.eclipse.edc.spi.EdcException;
+import org.eclipse.edc.web.spi.exception.InvalidRequestException;
+import org.eclipse.tractusx.mxd.dataservice.model.DataRecord;
+import org.jetbrains.annotations.Nullable;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Stream;
+
+/**
+ * The properties of {@link DataRecord}s a client asked for with a {@code fields} query parameter. Records are written
+ * straight to a {@link JsonGenerator}, property by property, so leaving out a large description saves both the bytes
+ * and the work of encoding it.
+ */
+public class FieldProjection {
+
+    private static final List<Field> FIELDS = List.of(
+            new Field("id", DataRecord::id, false),
+            new Field("name", DataRecord::name, false),
+            new Field("description", DataRecord::description, false),
+            // left out of full records too when null
+            new Field("attributes", DataRecord::attributes, true));
+
+    private final Field[] fields;
+    private final JsonFactory factory;
+    private final boolean writeNulls;
+
+    private FieldProjection(Field[] fields, JsonFactory factory, boolean writeNulls) {
+        this.fields = fields;
+        this.factory = factory;
+        this.writeNulls = writeNulls;
+    }
+
+    /**
+     * Parses a comma-separated list of property names. Returns null if the parameter is absent or empty, in which case
+     * records are written in full. Properties are written in their usual order, whatever the order of the list.
+     *
+     * @param objectMapper the mapper that writes full records, whose handling of null values is kept
+     * @throws InvalidRequestException if a name is not a property of a DataRecord
+     */
+    public static @Nullable FieldProjection parse(@Nullable String parameter, ObjectMapper objectMapper) {
+        if (parameter == null || parameter.isBlank()) {
+            return null;
+        }
+        var selected = new boolean[FIELDS.size()];
+        for (var name : parameter.split(",")) {
+            var trimmed = name.trim();
+            var index = indexOf(trimmed);
+            if (index < 0) {
+                throw new InvalidRequestException("Unknown DataRecord field '%s' in fields, must be one of %s"
+                        .formatted(trimmed, FIELDS.stream().map(field -> field.name().getValue()).toList()));
+            }
+            selected[index] = true;
+        }
+        var fields = new Field[FIELDS.size()];
+        var count = 0;
+        for (var i = 0; i < selected.length; i++) {
+            if (selected[i]) {
+                fields[count++] = FIELDS.get(i);
+            }
+        }
+        var inclusion = objectMapper.getSerializationConfig().getDefaultPropertyInclusion().getValueInclusion();
+        var writeNulls = inclusion == JsonInclude.Include.ALWAYS || inclusion == JsonInclude.Include.USE_DEFAULTS;
+        return new FieldProjection(Arrays.copyOf(fields, count), objectMapper.getFactory(), writeNulls);
+    }
+
+    /**
+     * Writes the selected properties of the record as a JSON object.
+     */
+    public void write(DataRecord dataRecord, JsonGenerator generator) throws IOException {
+        generator.writeStartObject();
+        for (var field : fields) {
+            var value = field.accessor().apply(dataRecord);
+            if (value != null || writeNulls && !field.omitNull()) {
+                generator.writeFieldName(field.name());
+                if (value instanceof Map<?, ?> attributes) {
+                    writeAttributes(attributes, generator);
+                } else {
+                    generator.writeString((String) value);
+                }
+            }
+        }
+        generator.writeEndObject();
+    }
+
+    /**
+     * Writes the records as a JSON array and closes the stream of records.
+     */
+    public void writeArray(Stream<DataRecord> dataRecords, OutputStream output) throws IOException {
+        try (dataRecords; var generator = factory.createGenerator(output)) {
+            // the stream belongs to the caller, closing the generator only flushes it
+            generator.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+            generator.writeStartArray();
+            for (var iterator = dataRecords.iterator(); iterator.hasNext(); ) {
+                write(iterator.next(), generator);
+            }
+            generator.writeEndArray();
+        }
+    }
+
+    /**
+     * Returns the records as a JSON array and closes the stream of records.
+     */
+    public byte[] array(Stream<DataRecord> dataRecords) {
+        var output = new ByteArrayOutputStream();
+        try {
+            writeArray(dataRecords, output);
+        } catch (IOException e) {
+            // not thrown by a ByteArrayOutputStream
+            throw new EdcException(e);
+        }
+        return output.toByteArray();
+    }
+
+    /**
+     * Returns the selected properties of the record as a JSON object.
+     */
+    public byte[] record(DataRecord dataRecord) {
+        var output = new ByteArrayOutputStream(256);
+        try (var generator = factory.createGenerator(output)) {
+            write(dataRecord, generator);
+        } catch (IOException e) {
+            // not thrown by a ByteArrayOutputStream
+            throw new EdcException(e);
+        }
+        return output.toByteArray();
+    }
+
+    private static void writeAttributes(Map<?, ?> attributes, JsonGenerator generator) throws IOException {
+        generator.writeStartObject();
+        for (var attribute : attributes.entrySet()) {
+            generator.writeFieldName((String) attribute.getKey());
+            var value = attribute.getValue();
+            if (value instanceof String string) {
+                generator.writeString(string);
+            } else if (value instanceof Long number) {
+                generator.writeNumber(number);
+            } else if (value instanceof Double number) {
+                generator.writeNumber(number);
+            } else {
+                generator.writeBoolean((Boolean) value);
+            }
+        }
+        generator.writeEndObject();
+    }
+
+    private static int indexOf(String name) {
+        for (var i = 0; i < FIELDS.size(); i++) {
+            if (FIELDS.get(i).name().getValue().equals(name)) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * A property with its name encoded up front, so that writing it is a plain copy.
+     */
+    private record Field(SerializableString name, Function<DataRecord, Object> accessor, boolean omitNull) {
+        Field(String name, Function<DataRecord, Object> accessor, boolean omitNull) {
+            this(new SerializedString(name), accessor, omitNull);
+        }
+    }
+}
@@ -0,0 +1,34 @@
+/*
+ *  Copyright (c) 2024 Bayerische Motoren Werke Aktiengesellschaft (BMW AG)
+ *
+ *  This program and the accompanying materials are made available under the
+ *  terms of the Apache License, Version 2.0 which is available at
+ *  https://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  SPDX-License-Identifier: Apache-2.0
+ *
+ *  Contributors:
+ *       Bayerische Motoren Werke Aktiengesellschaft (BMW AG) - initial API and implementation
+ *
+ */
+
+package org.eclipse.tractusx.mxd.dataservice.api;
+
+import io.swagger.v3.oas.annotations.OpenAPIDefinition;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import org.eclipse.tractusx.mxd.dataservice.metrics.DataServiceMetrics;
+
+@OpenAPIDefinition
+@Tag(name = "Demo Backend Service for the MXD")
+public interface MetricsApi {
+
+    @Operation(description = "Gets the request counts, error counts, request latencies and memory usage of the data service in the Prometheus text format.",
+            responses = {
+                    @ApiResponse(responseCode = "200", description = "The metrics.",
+                            content = @Content(mediaType = DataServiceMetrics.CONTENT_TYPE))
+            })
+    String metrics();
+}
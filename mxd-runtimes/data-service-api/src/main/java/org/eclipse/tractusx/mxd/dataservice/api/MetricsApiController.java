@@ -0,0 +1,37 @@
+/*
+ *  Copyright (c) 2024 Bayerische Motoren Werke Aktiengesellschaft (BMW AG)
+ *
+ *  This program and the accompanying materials are made available under the
+ *  terms of the Apache License, Version 2.0 which is available at
+ *  https://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  SPDX-License-Identifier: Apache-2.0
+ *
+ *  Contributors:
+ *       Bayerische Motoren Werke Aktiengesellschaft (BMW AG) - initial API and implementation
+ *
+ */
+
+package org.eclipse.tractusx.mxd.dataservice.api;
+
+import jakarta.ws.rs.GET;
+import jakarta.ws.rs.Path;
+import jakarta.ws.rs.Produces;
+import org.eclipse.tractusx.mxd.dataservice.metrics.DataServiceMetrics;
+
+@Path("/metrics")
+public class MetricsApiController implements MetricsApi {
+
+    private final DataServiceMetrics metrics;
+
+    public MetricsApiController(DataServiceMetrics metrics) {
+        this.metrics = metrics;
+    }
+
+    @GET
+    @Produces(DataServiceMetrics.CONTENT_TYPE)
+    @Override
+    public String metrics() {
+        return metrics.scrape();
+    }
+}
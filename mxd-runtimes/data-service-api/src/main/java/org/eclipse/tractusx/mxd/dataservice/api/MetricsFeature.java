@@ -0,0 +1,77 @@
+/*
+ *  Copyright (c) 2024 Bayerische Motoren Werke Aktiengesellschaft (BMW AG)
+ *
+ *  This program and the accompanying materials are made available under the
+ *  terms of the Apache License, Version 2.0 which is available at
+ *  https://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  SPDX-License-Identifier: Apache-2.0
+ *
+ *  Contributors:
+ *       Bayerische Motoren Werke Aktiengesellschaft (BMW AG) - initial API and implementation
+ *
+ */
+
+package org.eclipse.tractusx.mxd.dataservice.api;
+
+import jakarta.ws.rs.container.ContainerRequestContext;
+import jakarta.ws.rs.container.ContainerRequestFilter;
+import jakarta.ws.rs.container.ContainerResponseContext;
+import jakarta.ws.rs.container.ContainerResponseFilter;
+import jakarta.ws.rs.container.DynamicFeature;
+import jakarta.ws.rs.container.ResourceInfo;
+import jakarta.ws.rs.core.FeatureContext;
+import org.eclipse.tractusx.mxd.dataservice.metrics.DataServiceMetrics;
+import org.eclipse.tractusx.mxd.dataservice.metrics.EndpointMetrics;
+
+import java.util.Set;
+
+/**
+ * Records the requests to the resource methods of the given resource classes. Every resource method gets its
+ * own filter bound to the metrics of its endpoint, so nothing has to be looked up per request. The filters also see
+ * requests that end in an exception, as the response filter runs after the exception was mapped to a response.
+ * <p>
+ * Recording into the endpoint's histogram does not allocate. Keeping the start time of a request in its properties
+ * does, as the property holds an object and the request's property map an entry for it.
+ */
+public class MetricsFeature implements DynamicFeature {
+
+    private static final String START_PROPERTY = MetricsFeature.class.getName() + ".start";
+
+    private final DataServiceMetrics metrics;
+    private final Set<Class<?>> resourceClasses;
+
+    /**
+     * @param resourceClasses the resource classes whose methods are recorded, under the endpoint named like the method
+     */
+    public MetricsFeature(DataServiceMetrics metrics, Set<Class<?>> resourceClasses) {
+        this.metrics = metrics;
+        this.resourceClasses = resourceClasses;
+    }
+
+    @Override
+    public void configure(ResourceInfo resourceInfo, FeatureContext context) {
+        if (!resourceClasses.contains(resourceInfo.getResourceClass())) {
+            return;
+        }
+        var endpoint = metrics.endpoint(resourceInfo.getResourceMethod().getName());
+        if (endpoint != null) {
+            context.register(new EndpointFilter(endpoint));
+        }
+    }
+
+    private record EndpointFilter(EndpointMetrics endpoint) implements ContainerRequestFilter, ContainerResponseFilter {
+
+        @Override
+        public void filter(ContainerRequestContext requestContext) {
+            requestContext.setProperty(START_PROPERTY, System.nanoTime());
+        }
+
+        @Override
+        public void filter(ContainerRequestContext requestContext, ContainerResponseContext responseContext) {
+            if (requestContext.getProperty(START_PROPERTY) instanceof Long start) {
+                endpoint.record(responseContext.getStatus(), System.nanoTime() - start);
+            }
+        }
+    }
+}
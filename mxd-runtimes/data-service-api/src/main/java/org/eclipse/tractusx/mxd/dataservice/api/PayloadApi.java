@@ -0,0 +1,57 @@
+/*
+ *  Copyright (c) 2024 Bayerische Motoren Werke Aktiengesellschaft (BMW AG)
+ *
+ *  This program and the accompanying materials are made available under the
+ *  terms of the Apache License, Version 2.0 which is available at
+ *  https://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  SPDX-License-Identifier: Apache-2.0
+ *
+ *  Contributors:
+ *       Bayerische Motoren Werke Aktiengesellschaft (BMW AG) - initial API and implementation
+ *
+ */
+
+package org.eclipse.tractusx.mxd.dataservice.api;
+
+import io.swagger.v3.oas.annotations.OpenAPIDefinition;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.headers.Header;
+import io.swagger.v3.oas.annotations.media.ArraySchema;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.media.Schema;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.servlet.http.HttpServletResponse;
+import jakarta.ws.rs.container.AsyncResponse;
+import org.eclipse.edc.web.spi.ApiErrorDetail;
+
+@OpenAPIDefinition
+@Tag(name = "Demo Backend Service for the MXD")
+public interface PayloadApi {
+
+    @Operation(description = "Streams a synthetic payload of the requested size that is generated on the fly, for measuring the throughput of a data plane. " +
+            "The same parameters always produce the same payload. It is sent with chunked transfer encoding, optionally followed by a CRC32C trailer.",
+            parameters = {
+                    @Parameter(name = "size", description = "Size of the payload in bytes. JSONL payloads are rounded down to a whole number of records.", required = true),
+                    @Parameter(name = "format", description = "'binary' for pseudo-random bytes or 'jsonl' for DataRecords as newline-delimited JSON."),
+                    @Parameter(name = "seed", description = "Seed of the pseudo-random content."),
+                    @Parameter(name = "recordSize", description = "Size in bytes of each JSONL line, including the newline."),
+                    @Parameter(name = "checksum", description = "Send the CRC32C of the payload in a trailer, which requires HTTP/1.1.")
+            },
+            responses = {
+                    @ApiResponse(responseCode = "200", description = "The payload.",
+                            headers = {
+                                    @Header(name = PayloadApiController.PAYLOAD_SIZE_HEADER, description = "The size of the payload in bytes."),
+                                    @Header(name = PayloadApiController.CHECKSUM_TRAILER, description = "Trailer with the CRC32C of the payload as 8 hex digits, if requested.")
+                            },
+                            content = {
+                                    @Content(mediaType = "application/octet-stream", schema = @Schema(type = "string", format = "binary")),
+                                    @Content(mediaType = DataServiceApiController.APPLICATION_NDJSON)
+                            }),
+                    @ApiResponse(responseCode = "400", description = "Invalid Request",
+                            content = @Content(array = @ArraySchema(schema = @Schema(implementation = ApiErrorDetail.class))))
+            })
+    void payload(Long size, String format, long seed, int recordSize, boolean checksum, HttpServletResponse servletResponse, AsyncResponse response);
+}
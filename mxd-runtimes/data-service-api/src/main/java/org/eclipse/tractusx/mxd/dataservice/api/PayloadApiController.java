@@ -0,0 +1,104 @@
+/*
+ *  Copyright (c) 2024 Bayerische Motoren Werke Aktiengesellschaft (BMW AG)
+ *
+ *  This program and the accompanying materials are made available under the
+ *  terms of the Apache License, Version 2.0 which is available at
+ *  https://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  SPDX-License-Identifier: Apache-2.0
+ *
+ *  Contributors:
+ *       Bayerische Motoren Werke Aktiengesellschaft (BMW AG) - initial API and implementation
+ *
+ */
+
+package org.eclipse.tractusx.mxd.dataservice.api;
+
+import jakarta.servlet.http.HttpServletResponse;
+import jakarta.ws.rs.DefaultValue;
+import jakarta.ws.rs.GET;
+import jakarta.ws.rs.Path;
+import jakarta.ws.rs.Produces;
+import jakarta.ws.rs.QueryParam;
+import jakarta.ws.rs.container.AsyncResponse;
+import jakarta.ws.rs.container.Suspended;
+import jakarta.ws.rs.core.Context;
+import jakarta.ws.rs.core.MediaType;
+import jakarta.ws.rs.core.Response;
+import jakarta.ws.rs.core.StreamingOutput;
+import org.eclipse.edc.web.spi.exception.InvalidRequestException;
+import org.eclipse.tractusx.mxd.dataservice.payload.BufferPool;
+import org.eclipse.tractusx.mxd.dataservice.payload.PayloadFormat;
+import org.eclipse.tractusx.mxd.dataservice.payload.SyntheticPayload;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.Map;
+import java.util.zip.CRC32C;
+
+@Path("/v1/payload")
+public class PayloadApiController implements PayloadApi {
+
+    public static final String PAYLOAD_SIZE_HEADER = "X-Payload-Size";
+    public static final String CHECKSUM_TRAILER = "X-Payload-CRC32C";
+
+    private static final String TRAILER_HEADER = "Trailer";
+
+    private final BufferPool buffers;
+    private final RequestDispatcher dispatcher;
+
+    public PayloadApiController(BufferPool buffers, RequestDispatcher dispatcher) {
+        this.buffers = buffers;
+        this.dispatcher = dispatcher;
+    }
+
+    @GET
+    // error details are only written as JSON, EDC's exception mapper leaves their media type to content negotiation
+    @Produces({ MediaType.APPLICATION_JSON, MediaType.APPLICATION_OCTET_STREAM, DataServiceApiController.APPLICATION_NDJSON })
+    @Override
+    public void payload(@QueryParam("size") Long size, @QueryParam("format") @DefaultValue("binary") String format,
+                        @QueryParam("seed") @DefaultValue("0") long seed, @QueryParam("recordSize") @DefaultValue("256") int recordSize,
+                        @QueryParam("checksum") boolean checksum, @Context HttpServletResponse servletResponse, @Suspended AsyncResponse response) {
+        dispatcher.dispatch(response, () -> payload(size, format, seed, recordSize, checksum ? servletResponse : null));
+    }
+
+    /**
+     * @param trailerResponse the response to add the checksum trailer to, or null for no checksum
+     */
+    private Response payload(Long size, String format, long seed, int recordSize, @Nullable HttpServletResponse trailerResponse) {
+        if (size == null) {
+            throw new InvalidRequestException("size is required");
+        }
+        PayloadFormat payloadFormat;
+        SyntheticPayload payload;
+        try {
+            payloadFormat = PayloadFormat.parse(format);
+            payload = new SyntheticPayload(payloadFormat, size, seed, recordSize);
+        } catch (IllegalArgumentException e) {
+            throw new InvalidRequestException(e.getMessage());
+        }
+
+        var checksum = trailerResponse == null ? null : new CRC32C();
+        if (trailerResponse != null) {
+            try {
+                // the supplier is called once the whole entity has been written
+                trailerResponse.setTrailerFields(() -> Map.of(CHECKSUM_TRAILER, "%08x".formatted(checksum.getValue())));
+            } catch (IllegalStateException e) {
+                throw new InvalidRequestException("A checksum trailer requires HTTP/1.1 or newer");
+            }
+        }
+
+        StreamingOutput entity = output -> {
+            var buffer = buffers.acquire();
+            try {
+                payload.writeTo(output, buffer, checksum);
+            } finally {
+                buffers.release(buffer);
+            }
+        };
+        return Response.ok(entity)
+                .type(payloadFormat.mediaType())
+                .header(PAYLOAD_SIZE_HEADER, payload.size())
+                .header(TRAILER_HEADER, checksum == null ? null : CHECKSUM_TRAILER)
+                .build();
+    }
+}
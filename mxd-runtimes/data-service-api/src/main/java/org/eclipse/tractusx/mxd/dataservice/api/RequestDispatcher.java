@@ -0,0 +1,144 @@
+/*
+ *  Copyright (c) 2024 Bayerische Motoren Werke Aktiengesellschaft (BMW AG)
+ *
+ *  This program and the accompanying materials are made available under the
+ *  terms of the Apache License, Version 2.0 which is available at
+ *  https://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  SPDX-License-Identifier: Apache-2.0
+ *
+ *  Contributors:
+ *       Bayerische Motoren Werke Aktiengesellschaft (BMW AG) - initial API and implementation
+ *
+ */
+
+package org.eclipse.tractusx.mxd.dataservice.api;
+
+import jakarta.ws.rs.ServiceUnavailableException;
+import jakarta.ws.rs.container.AsyncResponse;
+import jakarta.ws.rs.core.Response;
+import org.jetbrains.annotations.Nullable;
+
+import java.time.Duration;
+import java.util.concurrent.Callable;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Future;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Runs request handlers for a controller whose resource methods suspend their response. Without an executor, the
+ * handler runs on the container thread that received the request, as for a synchronous resource method. With one, the
+ * container thread is handed back to the server's pool as soon as the handler is submitted, so the number of requests
+ * in progress is no longer bound by the size of that pool.
+ * <p>
+ * With a timeout, a read whose response has not been resumed in time is answered with {@code 503 Service Unavailable},
+ * and its handler is interrupted if it runs on the executor, or dropped if it has not started yet, so that requests the
+ * client no longer waits for do not hold up those behind them. A write is only answered with 503 if its handler has not
+ * started in time, it is then dropped and never applied. A write that has started is neither interrupted nor answered
+ * before it completes, since it may have taken effect already.
+ */
+public class RequestDispatcher {
+
+    private final @Nullable Executor executor;
+    private final long timeoutMillis;
+
+    /**
+     * @param executor the executor handlers run on, or null to run them on the container thread
+     */
+    public RequestDispatcher(@Nullable Executor executor) {
+        this(executor, null);
+    }
+
+    /**
+     * @param executor the executor handlers run on, or null to run them on the container thread
+     * @param timeout  the time a request may take until its response is resumed, or null for no limit
+     */
+    public RequestDispatcher(@Nullable Executor executor, @Nullable Duration timeout) {
+        if (timeout != null && (timeout.isNegative() || timeout.isZero())) {
+            throw new IllegalArgumentException("Timeout must be positive: " + timeout);
+        }
+        this.executor = executor;
+        this.timeoutMillis = timeout == null ? 0 : timeout.toMillis();
+    }
+
+    /**
+     * Runs the handler of a read and resumes the response with its result, or with the exception it throws, which is
+     * then mapped like one thrown by a synchronous resource method. A null result is sent as {@code 204 No Content}.
+     */
+    public void dispatch(AsyncResponse response, Callable<?> handler) {
+        if (executor == null) {
+            limit(response, null);
+            run(response, handler);
+            return;
+        }
+        var task = new FutureTask<Void>(() -> run(response, handler), null);
+        limit(response, task);
+        try {
+            executor.execute(task);
+        } catch (RejectedExecutionException e) {
+            response.resume(new ServiceUnavailableException("The data service is shutting down or overloaded"));
+        }
+    }
+
+    /**
+     * Runs the handler of a write like {@link #dispatch}, except that the timeout only applies until the handler starts.
+     * A {@code 503} therefore always means that the write was not applied.
+     */
+    public void dispatchWrite(AsyncResponse response, Callable<?> handler) {
+        // taken by whichever comes first, the handler starting or the timeout
+        var claimed = new AtomicBoolean();
+        if (timeoutMillis != 0) {
+            response.setTimeoutHandler(suspended -> {
+                if (claimed.compareAndSet(false, true)) {
+                    suspended.resume(new ServiceUnavailableException("The write did not start within %d ms and was not applied".formatted(timeoutMillis)));
+                } else {
+                    // in progress, it is answered once it completes
+                    suspended.setTimeout(timeoutMillis, TimeUnit.MILLISECONDS);
+                }
+            });
+            response.setTimeout(timeoutMillis, TimeUnit.MILLISECONDS);
+        }
+        Runnable task = () -> {
+            if (claimed.compareAndSet(false, true)) {
+                run(response, handler);
+            }
+        };
+        if (executor == null) {
+            task.run();
+            return;
+        }
+        try {
+            executor.execute(task);
+        } catch (RejectedExecutionException e) {
+            response.resume(new ServiceUnavailableException("The data service is shutting down or overloaded"));
+        }
+    }
+
+    private void limit(AsyncResponse response, @Nullable Future<?> task) {
+        if (timeoutMillis == 0) {
+            return;
+        }
+        response.setTimeoutHandler(suspended -> {
+            if (task != null) {
+                task.cancel(true);
+            }
+            suspended.resume(new ServiceUnavailableException("The request did not complete within %d ms".formatted(timeoutMillis)));
+        });
+        response.setTimeout(timeoutMillis, TimeUnit.MILLISECONDS);
+    }
+
+    private static void run(AsyncResponse response, Callable<?> handler) {
+        Object result;
+        try {
+            result = handler.call();
+        } catch (Throwable t) {
+            response.resume(t);
+            return;
+        }
+        // unlike a synchronous resource method, a suspended response resumed with null would be sent as 200 OK
+        response.resume(result == null ? Response.noContent().build() : result);
+    }
+}
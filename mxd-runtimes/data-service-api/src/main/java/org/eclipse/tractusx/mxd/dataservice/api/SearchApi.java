@@ -0,0 +1,47 @@
+/*
+ *  Copyright (c) 2024 Bayerische Motoren Werke Aktiengesellschaft (BMW AG)
+ *
+ *  This program and the accompanying materials are made available under the
+ *  terms of the Apache License, Version 2.0 which is available at
+ *  https://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  SPDX-License-Identifier: Apache-2.0
+ *
+ *  Contributors:
+ *       Bayerische Motoren Werke Aktiengesellschaft (BMW AG) - initial API and implementation
+ *
+ */
+
+package org.eclipse.tractusx.mxd.dataservice.api;
+
+import io.swagger.v3.oas.annotations.OpenAPIDefinition;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.media.ArraySchema;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.media.Schema;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.ws.rs.container.AsyncResponse;
+import org.eclipse.edc.web.spi.ApiErrorDetail;
+import org.eclipse.tractusx.mxd.dataservice.model.DataRecord;
+
+@OpenAPIDefinition
+@Tag(name = "Demo Backend Service for the MXD")
+public interface SearchApi {
+
+    @Operation(description = "Searches the names and descriptions of the DataRecords. Returns the DataRecords that contain all words of the query, " +
+            "best match first. Words in the name count more than words in the description, rare words more than common ones.",
+            parameters = {
+                    @Parameter(name = "q", description = "The words to search for, case-insensitive.", required = true),
+                    @Parameter(name = "limit", description = "Maximum number of DataRecords to return, at most 100. Defaults to 10."),
+                    @Parameter(name = "fields", description = DataServiceApi.FIELDS_DESCRIPTION)
+            },
+            responses = {
+                    @ApiResponse(responseCode = "200", description = "The matching DataRecords.",
+                            content = @Content(array = @ArraySchema(schema = @Schema(implementation = DataRecord.class)))),
+                    @ApiResponse(responseCode = "400", description = "Invalid Request",
+                            content = @Content(array = @ArraySchema(schema = @Schema(implementation = ApiErrorDetail.class))))
+            })
+    void search(String query, Integer limit, String fields, AsyncResponse response);
+}
@@ -0,0 +1,88 @@
+/*
+ *  Copyright (c) 2024 Bayerische Motoren Werke Aktiengesellschaft (BMW AG)
+ *
+ *  This program and the accompanying materials are made available under the
+ *  terms of the Apache License, Version 2.0 which is available at
+ *  https://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  SPDX-License-Identifier: Apache-2.0
+ *
+ *  Contributors:
+ *       Bayerische Motoren Werke Aktiengesellschaft (BMW AG) - initial API and implementation
+ *
+ */
+
+package org.eclipse.tractusx.mxd.dataservice.api;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.ws.rs.GET;
+import jakarta.ws.rs.Path;
+import jakarta.ws.rs.Produces;
+import jakarta.ws.rs.QueryParam;
+import jakarta.ws.rs.container.AsyncResponse;
+import jakarta.ws.rs.container.Suspended;
+import jakarta.ws.rs.core.MediaType;
+import jakarta.ws.rs.core.StreamingOutput;
+import org.eclipse.edc.web.spi.exception.InvalidRequestException;
+import org.eclipse.tractusx.mxd.dataservice.cache.SerializedDataRecordCache;
+import org.eclipse.tractusx.mxd.dataservice.model.VersionedDataRecord;
+import org.eclipse.tractusx.mxd.dataservice.search.SearchHit;
+import org.eclipse.tractusx.mxd.dataservice.search.SearchIndex;
+import org.eclipse.tractusx.mxd.dataservice.store.DataRecordStore;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.Objects;
+
+/**
+ * Full-text search over the DataRecords. The index yields the IDs of the best matches, which are then read from the
+ * store, so the response holds the current state of each record. A record deleted between the two steps is left out.
+ */
+@Produces(MediaType.APPLICATION_JSON)
+@Path("/v1/data/search")
+public class SearchApiController implements SearchApi {
+
+    private static final int DEFAULT_LIMIT = 10;
+    private static final int MAX_LIMIT = 100;
+
+    private final SearchIndex index;
+    private final DataRecordStore store;
+    private final ObjectMapper objectMapper;
+    private final SerializedDataRecordCache cache;
+    private final RequestDispatcher dispatcher;
+
+    public SearchApiController(SearchIndex index, DataRecordStore store, ObjectMapper objectMapper, SerializedDataRecordCache cache, RequestDispatcher dispatcher) {
+        this.index = index;
+        this.store = store;
+        this.objectMapper = objectMapper;
+        this.cache = cache;
+        this.dispatcher = dispatcher;
+    }
+
+    @GET
+    @Override
+    public void search(@QueryParam("q") String query, @QueryParam("limit") Integer limit, @QueryParam("fields") String fields,
+                       @Suspended AsyncResponse response) {
+        dispatcher.dispatch(response, () -> search(query, limit, FieldProjection.parse(fields, objectMapper)));
+    }
+
+    private StreamingOutput search(String query, Integer limit, @Nullable FieldProjection projection) {
+        if (query == null || query.isBlank()) {
+            throw new InvalidRequestException("Query parameter q must not be blank");
+        }
+        if (limit != null && (limit <= 0 || limit > MAX_LIMIT)) {
+            throw new InvalidRequestException("limit must be between 1 and %d but was %d".formatted(MAX_LIMIT, limit));
+        }
+        // a lazily populated store fills the index on its first access, which has to happen before the index is asked
+        store.count();
+        var hits = index.search(query, limit == null ? DEFAULT_LIMIT : limit);
+        var records = hits.stream()
+                .map(SearchHit::id)
+                .map(store::findById)
+                .filter(Objects::nonNull)
+                .map(VersionedDataRecord::dataRecord);
+        if (projection != null) {
+            return output -> projection.writeArray(records, output);
+        }
+        return output -> cache.writeArray(records, output);
+    }
+}
@@ -0,0 +1,72 @@
+/*
+ *  Copyright (c) 2024 Bayerische Motoren Werke Aktiengesellschaft (BMW AG)
+ *
+ *  This program and the accompanying materials are made available under the
+ *  terms of the Apache License, Version 2.0 which is available at
+ *  https://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  SPDX-License-Identifier: Apache-2.0
+ *
+ *  Contributors:
+ *       Bayerische Motoren Werke Aktiengesellschaft (BMW AG) - initial API and implementation
+ *
+ */
+
+package org.eclipse.tractusx.mxd.dataservice.api;
+
+import io.swagger.v3.oas.annotations.OpenAPIDefinition;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.media.ArraySchema;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.media.Schema;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.ws.rs.container.AsyncResponse;
+import org.eclipse.edc.spi.query.QuerySpec;
+import org.eclipse.tractusx.mxd.dataservice.model.DataRecord;
+import org.eclipse.tractusx.mxd.dataservice.model.ShardResult;
+import org.eclipse.tractusx.mxd.dataservice.model.ShardStatus;
+import org.eclipse.tractusx.mxd.dataservice.model.VersionedDataRecord;
+
+import java.util.List;
+
+@OpenAPIDefinition
+@Tag(name = "Demo Backend Service for the MXD")
+public interface ShardApi {
+
+    @Operation(description = "Gets a DataRecord of this instance's shard with its version. Used by the other instances of the cluster.",
+            responses = {
+                    @ApiResponse(responseCode = "200", description = "The DataRecord.",
+                            content = @Content(schema = @Schema(implementation = VersionedDataRecord.class))),
+                    @ApiResponse(responseCode = "404", description = "The shard has no DataRecord with the ID.")
+            })
+    void findById(String id, AsyncResponse response);
+
+    @Operation(description = "Gets the DataRecords of this instance's shard that match the query, written while they are read. Used by the other instances of the cluster, which page through a shard by continuing after the last record of the previous page.",
+            responses = {
+                    @ApiResponse(responseCode = "200", description = "The matching DataRecords.",
+                            content = @Content(array = @ArraySchema(schema = @Schema(implementation = DataRecord.class)))),
+                    @ApiResponse(responseCode = "400", description = "The query is invalid.")
+            })
+    void query(QuerySpec querySpec, AsyncResponse response);
+
+    @Operation(description = "Creates DataRecords in this instance's shard. Used by the other instances of the cluster.",
+            responses = @ApiResponse(responseCode = "200", description = "The outcome per DataRecord, in the order of the request.",
+                    content = @Content(array = @ArraySchema(schema = @Schema(implementation = ShardResult.class)))))
+    void createAll(List<DataRecord> dataRecords, AsyncResponse response);
+
+    @Operation(description = "Replaces a DataRecord of this instance's shard, optionally only if it is at the expected version. Used by the other instances of the cluster.",
+            responses = @ApiResponse(responseCode = "200", description = "The outcome of the update.",
+                    content = @Content(schema = @Schema(implementation = ShardResult.class))))
+    void update(DataRecord dataRecord, Long expectedVersion, AsyncResponse response);
+
+    @Operation(description = "Deletes a DataRecord of this instance's shard, optionally only if it is at the expected version. Used by the other instances of the cluster.",
+            responses = @ApiResponse(responseCode = "200", description = "The outcome of the delete.",
+                    content = @Content(schema = @Schema(implementation = ShardResult.class))))
+    void delete(String id, Long expectedVersion, AsyncResponse response);
+
+    @Operation(description = "Gets the number of DataRecords and the revision of this instance's shard. Used by the other instances of the cluster.",
+            responses = @ApiResponse(responseCode = "200", description = "The status of the shard.",
+                    content = @Content(schema = @Schema(implementation = ShardStatus.class))))
+    void status(AsyncResponse response);
+}
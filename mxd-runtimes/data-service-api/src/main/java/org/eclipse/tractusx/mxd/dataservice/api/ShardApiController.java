@@ -0,0 +1,136 @@
+/*
+ *  Copyright (c) 2024 Bayerische Motoren Werke Aktiengesellschaft (BMW AG)
+ *
+ *  This program and the accompanying materials are made available under the
+ *  terms of the Apache License, Version 2.0 which is available at
+ *  https://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  SPDX-License-Identifier: Apache-2.0
+ *
+ *  Contributors:
+ *       Bayerische Motoren Werke Aktiengesellschaft (BMW AG) - initial API and implementation
+ *
+ */
+
+package org.eclipse.tractusx.mxd.dataservice.api;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.ws.rs.Consumes;
+import jakarta.ws.rs.DELETE;
+import jakarta.ws.rs.GET;
+import jakarta.ws.rs.POST;
+import jakarta.ws.rs.PUT;
+import jakarta.ws.rs.Path;
+import jakarta.ws.rs.PathParam;
+import jakarta.ws.rs.Produces;
+import jakarta.ws.rs.QueryParam;
+import jakarta.ws.rs.container.AsyncResponse;
+import jakarta.ws.rs.container.Suspended;
+import jakarta.ws.rs.core.MediaType;
+import jakarta.ws.rs.core.StreamingOutput;
+import org.eclipse.edc.spi.query.QuerySpec;
+import org.eclipse.edc.web.spi.exception.ObjectNotFoundException;
+import org.eclipse.tractusx.mxd.dataservice.model.DataRecord;
+import org.eclipse.tractusx.mxd.dataservice.model.ShardResult;
+import org.eclipse.tractusx.mxd.dataservice.model.ShardStatus;
+import org.eclipse.tractusx.mxd.dataservice.store.DataRecordStore;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.List;
+import java.util.stream.Stream;
+
+/**
+ * The shard API through which the instances of a cluster access each other's records. It operates on the local store
+ * of the instance only, so a request is never forwarded a second time.
+ * <p>
+ * Its writes bypass the {@link org.eclipse.tractusx.mxd.dataservice.store.ObservableDataRecordStore} of the instance,
+ * whose listeners only see the writes made through the instance's own data API. The change feed of an instance
+ * therefore only reports those, and features whose listeners have to see every write to the shard, like search,
+ * aggregations and expiry, are disabled in a cluster.
+ */
+@Consumes(MediaType.APPLICATION_JSON)
+@Produces(MediaType.APPLICATION_JSON)
+@Path("/v1/shard")
+public class ShardApiController implements ShardApi {
+
+    private final DataRecordStore store;
+    private final ObjectMapper objectMapper;
+    private final RequestDispatcher dispatcher;
+
+    /**
+     * @param store the store holding this instance's shard
+     */
+    public ShardApiController(DataRecordStore store, ObjectMapper objectMapper, RequestDispatcher dispatcher) {
+        this.store = store;
+        this.objectMapper = objectMapper;
+        this.dispatcher = dispatcher;
+    }
+
+    @GET
+    @Path("/records/{id}")
+    @Override
+    public void findById(@PathParam("id") String id, @Suspended AsyncResponse response) {
+        dispatcher.dispatch(response, () -> {
+            var versioned = store.findById(id);
+            if (versioned == null) {
+                throw new ObjectNotFoundException(DataRecord.class, id);
+            }
+            return versioned;
+        });
+    }
+
+    @POST
+    @Path("/records/query")
+    @Override
+    public void query(QuerySpec querySpec, @Suspended AsyncResponse response) {
+        dispatcher.dispatch(response, () -> {
+            var records = store.findAll(querySpec == null ? QuerySpec.none() : querySpec);
+            return (StreamingOutput) output -> writeArray(records, output);
+        });
+    }
+
+    @POST
+    @Path("/records")
+    @Override
+    public void createAll(List<DataRecord> dataRecords, @Suspended AsyncResponse response) {
+        dispatcher.dispatchWrite(response, () -> store.createAll(dataRecords).stream().map(ShardResult::ofVersion).toList());
+    }
+
+    @PUT
+    @Path("/records")
+    @Override
+    public void update(DataRecord dataRecord, @QueryParam("expectedVersion") Long expectedVersion, @Suspended AsyncResponse response) {
+        dispatcher.dispatchWrite(response, () -> ShardResult.ofVersion(store.update(dataRecord, expectedVersion)));
+    }
+
+    @DELETE
+    @Path("/records/{id}")
+    @Override
+    public void delete(@PathParam("id") String id, @QueryParam("expectedVersion") Long expectedVersion, @Suspended AsyncResponse response) {
+        dispatcher.dispatchWrite(response, () -> ShardResult.ofDataRecord(store.deleteById(id, expectedVersion)));
+    }
+
+    @GET
+    @Path("/status")
+    @Override
+    public void status(@Suspended AsyncResponse response) {
+        dispatcher.dispatch(response, () -> new ShardStatus(store.count(), store.revision()));
+    }
+
+    /**
+     * Writes the records as a JSON array while they are read and closes the stream of records.
+     */
+    private void writeArray(Stream<DataRecord> dataRecords, OutputStream output) throws IOException {
+        try (dataRecords; var generator = objectMapper.getFactory().createGenerator(output)) {
+            // the stream belongs to the container, closing the generator only flushes it
+            generator.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+            generator.writeStartArray();
+            for (var iterator = dataRecords.iterator(); iterator.hasNext(); ) {
+                objectMapper.writeValue(generator, iterator.next());
+            }
+            generator.writeEndArray();
+        }
+    }
+}
@@ -0,0 +1,72 @@
+/*
+ *  Copyright (c) 2024 Bayerische Motoren Werke Aktiengesellschaft (BMW AG)
+ *
+ *  This program and the accompanying materials are made available under the
+ *  terms of the Apache License, Version 2.0 which is available at
+ *  https://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  SPDX-License-Identifier: Apache-2.0
+ *
+ *  Contributors:
+ *       Bayerische Motoren Werke Aktiengesellschaft (BMW AG) - initial API and implementation
+ *
+ */
+
+package org.eclipse.tractusx.mxd.dataservice.api;
+
+import io.swagger.v3.oas.annotations.OpenAPIDefinition;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.media.ArraySchema;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.media.Schema;
+import io.swagger.v3.oas.annotations.parameters.RequestBody;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.ws.rs.container.AsyncResponse;
+import jakarta.ws.rs.core.MediaType;
+import org.eclipse.tractusx.mxd.dataservice.model.TransferStats;
+
+import java.io.InputStream;
+
+@OpenAPIDefinition
+@Tag(name = "Demo Backend Service for the MXD")
+public interface SinkApi {
+
+    @Operation(description = "Receives a pushed transfer: the body is read to its end and discarded or written to disk, and counted towards the statistics of the transfer. " +
+            "Any path below the transfer ID is accepted and counted towards the same transfer. A transfer can consist of several requests.",
+            parameters = {
+                    @Parameter(name = "persist", description = "Write the body to disk instead of discarding it. Defaults to the configured behavior."),
+                    @Parameter(name = "checksum", description = "Compute the CRC32C of the body.")
+            },
+            requestBody = @RequestBody(content = @Content(mediaType = MediaType.WILDCARD, schema = @Schema(type = "string", format = "binary"))),
+            responses = @ApiResponse(responseCode = "200", description = "The statistics of the transfer including this request.",
+                    content = @Content(schema = @Schema(implementation = TransferStats.class))))
+    void receivePut(String transferId, Boolean persist, boolean checksum, InputStream body, AsyncResponse response);
+
+    @Operation(description = "Receives a pushed transfer, like PUT.",
+            requestBody = @RequestBody(content = @Content(mediaType = MediaType.WILDCARD, schema = @Schema(type = "string", format = "binary"))),
+            responses = @ApiResponse(responseCode = "200", description = "The statistics of the transfer including this request.",
+                    content = @Content(schema = @Schema(implementation = TransferStats.class))))
+    void receivePost(String transferId, Boolean persist, boolean checksum, InputStream body, AsyncResponse response);
+
+    @Operation(description = "Gets the statistics of all transfers the sink still keeps, oldest first.",
+            responses = @ApiResponse(responseCode = "200", description = "The statistics.",
+                    content = @Content(array = @ArraySchema(schema = @Schema(implementation = TransferStats.class)))))
+    void getAllStats(AsyncResponse response);
+
+    @Operation(description = "Gets the statistics of a transfer, which are updated while its body is being received.",
+            responses = {
+                    @ApiResponse(responseCode = "200", description = "The statistics.",
+                            content = @Content(schema = @Schema(implementation = TransferStats.class))),
+                    @ApiResponse(responseCode = "404", description = "Nothing was received for the transfer")
+            })
+    void getStats(String transferId, AsyncResponse response);
+
+    @Operation(description = "Forgets the statistics of a transfer and deletes the bodies written to disk for it.",
+            responses = {
+                    @ApiResponse(responseCode = "204"),
+                    @ApiResponse(responseCode = "404", description = "Nothing was received for the transfer")
+            })
+    void deleteStats(String transferId, AsyncResponse response);
+}
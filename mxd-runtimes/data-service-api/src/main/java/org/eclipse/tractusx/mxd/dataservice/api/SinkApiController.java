@@ -0,0 +1,105 @@
+/*
+ *  Copyright (c) 2024 Bayerische Motoren Werke Aktiengesellschaft (BMW AG)
+ *
+ *  This program and the accompanying materials are made available under the
+ *  terms of the Apache License, Version 2.0 which is available at
+ *  https://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  SPDX-License-Identifier: Apache-2.0
+ *
+ *  Contributors:
+ *       Bayerische Motoren Werke Aktiengesellschaft (BMW AG) - initial API and implementation
+ *
+ */
+
+package org.eclipse.tractusx.mxd.dataservice.api;
+
+import jakarta.ws.rs.Consumes;
+import jakarta.ws.rs.DELETE;
+import jakarta.ws.rs.GET;
+import jakarta.ws.rs.POST;
+import jakarta.ws.rs.PUT;
+import jakarta.ws.rs.Path;
+import jakarta.ws.rs.PathParam;
+import jakarta.ws.rs.Produces;
+import jakarta.ws.rs.QueryParam;
+import jakarta.ws.rs.container.AsyncResponse;
+import jakarta.ws.rs.container.Suspended;
+import jakarta.ws.rs.core.MediaType;
+import org.eclipse.edc.web.spi.exception.ObjectNotFoundException;
+import org.eclipse.tractusx.mxd.dataservice.model.TransferStats;
+import org.eclipse.tractusx.mxd.dataservice.sink.TransferSink;
+
+import java.io.InputStream;
+
+@Produces(MediaType.APPLICATION_JSON)
+@Path("/v1/sink")
+public class SinkApiController implements SinkApi {
+
+    // the transfer ID, optionally followed by any path a data plane appends to the destination URL
+    private static final String TRANSFER_PATH = "/{transferId}{path: (/.*)?}";
+
+    private final TransferSink sink;
+    private final boolean persistByDefault;
+    private final RequestDispatcher dispatcher;
+
+    public SinkApiController(TransferSink sink, boolean persistByDefault, RequestDispatcher dispatcher) {
+        this.sink = sink;
+        this.persistByDefault = persistByDefault;
+        this.dispatcher = dispatcher;
+    }
+
+    @PUT
+    @Path(TRANSFER_PATH)
+    @Consumes(MediaType.WILDCARD)
+    @Override
+    public void receivePut(@PathParam("transferId") String transferId, @QueryParam("persist") Boolean persist, @QueryParam("checksum") boolean checksum,
+                           InputStream body, @Suspended AsyncResponse response) {
+        receive(transferId, persist, checksum, body, response);
+    }
+
+    @POST
+    @Path(TRANSFER_PATH)
+    @Consumes(MediaType.WILDCARD)
+    @Override
+    public void receivePost(@PathParam("transferId") String transferId, @QueryParam("persist") Boolean persist, @QueryParam("checksum") boolean checksum,
+                            InputStream body, @Suspended AsyncResponse response) {
+        receive(transferId, persist, checksum, body, response);
+    }
+
+    @GET
+    @Override
+    public void getAllStats(@Suspended AsyncResponse response) {
+        dispatcher.dispatch(response, sink::stats);
+    }
+
+    @GET
+    @Path("/{transferId}")
+    @Override
+    public void getStats(@PathParam("transferId") String transferId, @Suspended AsyncResponse response) {
+        dispatcher.dispatch(response, () -> {
+            var stats = sink.stats(transferId);
+            if (stats == null) {
+                throw new ObjectNotFoundException(TransferStats.class, transferId);
+            }
+            return stats;
+        });
+    }
+
+    @DELETE
+    @Path("/{transferId}")
+    @Override
+    public void deleteStats(@PathParam("transferId") String transferId, @Suspended AsyncResponse response) {
+        dispatcher.dispatchWrite(response, () -> {
+            if (!sink.remove(transferId)) {
+                throw new ObjectNotFoundException(TransferStats.class, transferId);
+            }
+            return null;
+        });
+    }
+
+    private void receive(String transferId, Boolean persist, boolean checksum, InputStream body, AsyncResponse response) {
+        var persistBody = persist == null ? persistByDefault : persist;
+        dispatcher.dispatchWrite(response, () -> sink.receive(transferId, body, persistBody, checksum));
+    }
+}
@@ -0,0 +1,49 @@
+/*
+ *  Copyright (c) 2024 Bayerische Motoren Werke Aktiengesellschaft (BMW AG)
+ *
+ *  This program and the accompanying materials are made available under the
+ *  terms of the Apache License, Version 2.0 which is available at
+ *  https://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  SPDX-License-Identifier: Apache-2.0
+ *
+ *  Contributors:
+ *       Bayerische Motoren Werke Aktiengesellschaft (BMW AG) - initial API and implementation
+ *
+ */
+
+package org.eclipse.tractusx.mxd.dataservice.api;
+
+import jakarta.ws.rs.POST;
+import jakarta.ws.rs.Path;
+import jakarta.ws.rs.Produces;
+import jakarta.ws.rs.core.MediaType;
+import org.eclipse.edc.spi.EdcException;
+import org.eclipse.tractusx.mxd.dataservice.model.SnapshotInfo;
+import org.eclipse.tractusx.mxd.dataservice.store.InMemoryDataRecordStore;
+import org.eclipse.tractusx.mxd.dataservice.store.snapshot.DataRecordSnapshot;
+
+import java.io.IOException;
+
+@Path("/snapshot")
+public class SnapshotApiController implements SnapshotApi {
+
+    private final InMemoryDataRecordStore store;
+    private final DataRecordSnapshot snapshot;
+
+    public SnapshotApiController(InMemoryDataRecordStore store, DataRecordSnapshot snapshot) {
+        this.store = store;
+        this.snapshot = snapshot;
+    }
+
+    @POST
+    @Produces(MediaType.APPLICATION_JSON)
+    @Override
+    public SnapshotInfo writeSnapshot() {
+        try {
+            return snapshot.write(store);
+        } catch (IOException e) {
+            throw new EdcException("Failed to write the data record snapshot " + snapshot.file(), e);
+        }
+    }
+}
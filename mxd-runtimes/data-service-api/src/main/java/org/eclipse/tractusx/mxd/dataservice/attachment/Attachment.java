@@ -0,0 +1,86 @@
+/*
+ *  Copyright (c) 2024 Bayerische Motoren Werke Aktiengesellschaft (BMW AG)
+ *
+ *  This program and the accompanying materials are made available under the
+ *  terms of the Apache License, Version 2.0 which is available at
+ *  https://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  SPDX-License-Identifier: Apache-2.0
+ *
+ *  Contributors:
+ *       Bayerische Motoren Werke Aktiengesellschaft (BMW AG) - initial API and implementation
+ *
+ */
+
+package org.eclipse.tractusx.mxd.dataservice.attachment;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.channels.FileChannel;
+import java.nio.channels.WritableByteChannel;
+import java.time.Instant;
+
+/**
+ * An open attachment file. The file stays readable as uploaded, even if the attachment is replaced or deleted while it is
+ * being read, until it is closed.
+ */
+public class Attachment implements Closeable {
+
+    private final FileChannel channel;
+    private final long offset;
+    private final long size;
+    private final String contentType;
+    private final String tag;
+    private final Instant lastModified;
+
+    Attachment(FileChannel channel, long offset, long size, String contentType, String tag, Instant lastModified) {
+        this.channel = channel;
+        this.offset = offset;
+        this.size = size;
+        this.contentType = contentType;
+        this.tag = tag;
+        this.lastModified = lastModified;
+    }
+
+    /**
+     * The size of the content in bytes.
+     */
+    public long size() {
+        return size;
+    }
+
+    public String contentType() {
+        return contentType;
+    }
+
+    /**
+     * A strong entity tag that is unique to every upload.
+     */
+    public String tag() {
+        return tag;
+    }
+
+    public Instant lastModified() {
+        return lastModified;
+    }
+
+    /**
+     * Transfers the given range of the content to the target with {@link FileChannel#transferTo}, which lets the operating
+     * system copy the bytes straight from the page cache if the target is a socket or file channel.
+     */
+    public void transferTo(long position, long count, WritableByteChannel target) throws IOException {
+        var end = position + count;
+        while (position < end) {
+            var transferred = channel.transferTo(offset + position, end - position, target);
+            if (transferred <= 0) {
+                throw new IOException("Attachment was truncated while it was read");
+            }
+            position += transferred;
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        channel.close();
+    }
+}
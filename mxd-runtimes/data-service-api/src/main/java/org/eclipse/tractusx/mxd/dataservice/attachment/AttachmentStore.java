@@ -0,0 +1,198 @@
+/*
+ *  Copyright (c) 2024 Bayerische Motoren Werke Aktiengesellschaft (BMW AG)
+ *
+ *  This program and the accompanying materials are made available under the
+ *  terms of the Apache License, Version 2.0 which is available at
+ *  https://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  SPDX-License-Identifier: Apache-2.0
+ *
+ *  Contributors:
+ *       Bayerische Motoren Werke Aktiengesellschaft (BMW AG) - initial API and implementation
+ *
+ */
+
+package org.eclipse.tractusx.mxd.dataservice.attachment;
+
+import org.eclipse.edc.spi.EdcException;
+import org.eclipse.edc.spi.monitor.Monitor;
+import org.eclipse.tractusx.mxd.dataservice.model.DataRecord;
+import org.eclipse.tractusx.mxd.dataservice.store.DataRecordListener;
+import org.jetbrains.annotations.Nullable;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Instant;
+import java.util.HexFormat;
+import java.util.UUID;
+
+import static java.nio.file.StandardCopyOption.ATOMIC_MOVE;
+import static java.nio.file.StandardCopyOption.REPLACE_EXISTING;
+import static java.nio.file.StandardOpenOption.CREATE_NEW;
+import static java.nio.file.StandardOpenOption.READ;
+import static java.nio.file.StandardOpenOption.WRITE;
+
+/**
+ * Keeps one binary attachment per DataRecord in a directory, named after the SHA-256 of the record ID so that any ID
+ * makes a valid file name. The attachment of a record is deleted with the record.
+ * <p>
+ * A file starts with {@code magic:int | uploaded:long | tag:long[2] | contentTypeLength:int | contentType} followed by
+ * the content. Uploads are streamed into a temporary file that atomically replaces the previous attachment once it is
+ * complete, so readers never see a partial upload.
+ */
+public class AttachmentStore implements DataRecordListener {
+
+    public static final int MAX_CONTENT_TYPE_LENGTH = 1024;
+
+    private static final String SUFFIX = ".bin";
+    private static final String UPLOAD_SUFFIX = ".upload";
+    private static final int MAGIC = 0x4D584441;
+    private static final int FIXED_HEADER_SIZE = 3 * Long.BYTES + 2 * Integer.BYTES;
+    private static final long TRANSFER_SIZE = 1024 * 1024;
+
+    private final Path directory;
+    private final long maxSize;
+    private final Monitor monitor;
+
+    /**
+     * @param maxSize the maximum size of an attachment in bytes
+     */
+    public AttachmentStore(Path directory, long maxSize, Monitor monitor) {
+        this.directory = directory;
+        this.maxSize = maxSize;
+        this.monitor = monitor;
+        try {
+            Files.createDirectories(directory);
+            // uploads that were interrupted by a restart
+            try (var uploads = Files.newDirectoryStream(directory, "*" + UPLOAD_SUFFIX)) {
+                for (var upload : uploads) {
+                    Files.deleteIfExists(upload);
+                }
+            }
+        } catch (IOException e) {
+            throw new EdcException("Failed to open the attachment directory " + directory, e);
+        }
+    }
+
+    /**
+     * Streams the content to disk and makes it the attachment of the record, replacing any previous one.
+     *
+     * @return the tag of the new attachment
+     * @throws AttachmentTooLargeException if the content exceeds the maximum attachment size
+     */
+    public String write(String id, @Nullable String contentType, InputStream content) throws IOException {
+        var type = (contentType == null ? "application/octet-stream" : contentType).getBytes(StandardCharsets.UTF_8);
+        if (type.length > MAX_CONTENT_TYPE_LENGTH) {
+            throw new IOException("Content type must not be longer than %d bytes".formatted(MAX_CONTENT_TYPE_LENGTH));
+        }
+        var uuid = UUID.randomUUID();
+        var path = path(id);
+        var upload = directory.resolve(path.getFileName() + "." + uuid + UPLOAD_SUFFIX);
+        try (var channel = FileChannel.open(upload, CREATE_NEW, WRITE)) {
+            var header = ByteBuffer.allocate(FIXED_HEADER_SIZE + type.length)
+                    .putInt(MAGIC)
+                    .putLong(System.currentTimeMillis())
+                    .putLong(uuid.getMostSignificantBits())
+                    .putLong(uuid.getLeastSignificantBits())
+                    .putInt(type.length)
+                    .put(type)
+                    .flip();
+            while (header.hasRemaining()) {
+                channel.write(header);
+            }
+            var position = channel.position();
+            var source = Channels.newChannel(content);
+            long transferred;
+            // asks for one byte more than allowed, to tell content of exactly the maximum size from larger content
+            while ((transferred = channel.transferFrom(source, position, Math.min(TRANSFER_SIZE, maxSize - (position - header.limit())) + 1)) > 0) {
+                position += transferred;
+                if (position - header.limit() > maxSize) {
+                    throw new AttachmentTooLargeException(maxSize);
+                }
+            }
+        } catch (IOException | RuntimeException e) {
+            Files.deleteIfExists(upload);
+            throw e;
+        }
+        Files.move(upload, path, ATOMIC_MOVE, REPLACE_EXISTING);
+        return tag(uuid.getMostSignificantBits(), uuid.getLeastSignificantBits());
+    }
+
+    /**
+     * Opens the attachment of the record, returns null if it has none. The caller has to close it.
+     */
+    public @Nullable Attachment open(String id) throws IOException {
+        FileChannel channel;
+        try {
+            channel = FileChannel.open(path(id), READ);
+        } catch (NoSuchFileException e) {
+            return null;
+        }
+        try {
+            var header = read(channel, 0, FIXED_HEADER_SIZE);
+            if (header.getInt() != MAGIC) {
+                throw new IOException("Not an attachment: " + path(id));
+            }
+            var uploaded = Instant.ofEpochMilli(header.getLong());
+            var tag = tag(header.getLong(), header.getLong());
+            var typeLength = header.getInt();
+            if (typeLength < 0 || typeLength > MAX_CONTENT_TYPE_LENGTH) {
+                throw new IOException("Corrupt attachment header: " + path(id));
+            }
+            var contentType = StandardCharsets.UTF_8.decode(read(channel, FIXED_HEADER_SIZE, typeLength)).toString();
+            var offset = FIXED_HEADER_SIZE + typeLength;
+            return new Attachment(channel, offset, channel.size() - offset, contentType, tag, uploaded);
+        } catch (IOException | RuntimeException e) {
+            channel.close();
+            throw e;
+        }
+    }
+
+    /**
+     * Deletes the attachment of the record, returns false if it had none.
+     */
+    public boolean delete(String id) throws IOException {
+        return Files.deleteIfExists(path(id));
+    }
+
+    @Override
+    public void deleted(DataRecord dataRecord) {
+        try {
+            delete(dataRecord.id());
+        } catch (IOException e) {
+            monitor.warning("Failed to delete the attachment of DataRecord " + dataRecord.id(), e);
+        }
+    }
+
+    private Path path(String id) {
+        try {
+            var digest = MessageDigest.getInstance("SHA-256").digest(id.getBytes(StandardCharsets.UTF_8));
+            return directory.resolve(HexFormat.of().formatHex(digest) + SUFFIX);
+        } catch (NoSuchAlgorithmException e) {
+            throw new EdcException(e);
+        }
+    }
+
+    private static String tag(long mostSignificantBits, long leastSignificantBits) {
+        return HexFormat.of().toHexDigits(mostSignificantBits) + HexFormat.of().toHexDigits(leastSignificantBits);
+    }
+
+    private static ByteBuffer read(FileChannel channel, long position, int length) throws IOException {
+        var buffer = ByteBuffer.allocate(length);
+        while (buffer.hasRemaining()) {
+            if (channel.read(buffer, position + buffer.position()) < 0) {
+                throw new IOException("Unexpected end of attachment header");
+            }
+        }
+        return buffer.flip();
+    }
+}
@@ -0,0 +1,27 @@
+/*
+ *  Copyright (c) 2024 Bayerische Motoren Werke Aktiengesellschaft (BMW AG)
+ *
+ *  This program and the accompanying materials are made available under the
+ *  terms of the Apache License, Version 2.0 which is available at
+ *  https://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  SPDX-License-Identifier: Apache-2.0
+ *
+ *  Contributors:
+ *       Bayerische Motoren Werke Aktiengesellschaft (BMW AG) - initial API and implementation
+ *
+ */
+
+package org.eclipse.tractusx.mxd.dataservice.attachment;
+
+import java.io.IOException;
+
+/**
+ * Thrown when an upload exceeds the maximum attachment size. Nothing of the upload is kept.
+ */
+public class AttachmentTooLargeException extends IOException {
+
+    public AttachmentTooLargeException(long maxSize) {
+        super("Attachments must not be larger than %d bytes".formatted(maxSize));
+    }
+}
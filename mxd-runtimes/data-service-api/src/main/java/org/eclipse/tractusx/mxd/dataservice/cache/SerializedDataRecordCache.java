@@ -0,0 +1,157 @@
+/*
+ *  Copyright (c) 2024 Bayerische Motoren Werke Aktiengesellschaft (BMW AG)
+ *
+ *  This program and the accompanying materials are made available under the
+ *  terms of the Apache License, Version 2.0 which is available at
+ *  https://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  SPDX-License-Identifier: Apache-2.0
+ *
+ *  Contributors:
+ *       Bayerische Motoren Werke Aktiengesellschaft (BMW AG) - initial API and implementation
+ *
+ */
+
+package org.eclipse.tractusx.mxd.dataservice.cache;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import org.eclipse.edc.spi.EdcException;
+import org.eclipse.tractusx.mxd.dataservice.model.DataRecord;
+import org.eclipse.tractusx.mxd.dataservice.store.DataRecordListener;
+import org.jetbrains.annotations.Nullable;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Stream;
+
+/**
+ * Keeps the JSON encoding of {@link DataRecord}s as UTF-8 bytes, so that reads copy bytes into the response instead of
+ * serializing the same records over and over. Holds one entry per record and one of the whole collection.
+ * <p>
+ * A record entry is only used for a record equal to the one it was serialized from, and the collection entry only for
+ * the store revision it was built at, so a stale entry is never served even for writes this cache is not notified of.
+ * Notifications merely free the memory of entries that can no longer be used.
+ */
+public class SerializedDataRecordCache implements DataRecordListener {
+
+    private final ObjectWriter recordWriter;
+    private final int maxRecords;
+    private final int maxCollectionBytes;
+    private final Map<String, Entry> records = new ConcurrentHashMap<>();
+    private volatile @Nullable Snapshot collection;
+
+    /**
+     * @param maxRecords         the number of records to keep, 0 disables caching of single records
+     * @param maxCollectionBytes the size up to which the encoding of the whole collection is kept, 0 disables it
+     */
+    public SerializedDataRecordCache(ObjectMapper objectMapper, int maxRecords, int maxCollectionBytes) {
+        this.recordWriter = objectMapper.writerFor(DataRecord.class);
+        this.maxRecords = maxRecords;
+        this.maxCollectionBytes = maxCollectionBytes;
+    }
+
+    /**
+     * Returns the JSON encoding of the record.
+     */
+    public byte[] record(DataRecord dataRecord) {
+        var entry = records.get(dataRecord.id());
+        if (entry != null && entry.dataRecord().equals(dataRecord)) {
+            return entry.json();
+        }
+        byte[] json;
+        try {
+            json = recordWriter.writeValueAsBytes(dataRecord);
+        } catch (JsonProcessingException e) {
+            throw new EdcException(e);
+        }
+        if (maxRecords > 0) {
+            if (entry == null && records.size() >= maxRecords) {
+                // make room by dropping some entry, which is as good a guess as any without tracking access
+                var iterator = records.keySet().iterator();
+                if (iterator.hasNext()) {
+                    records.remove(iterator.next());
+                }
+            }
+            records.put(dataRecord.id(), new Entry(dataRecord, json));
+        }
+        return json;
+    }
+
+    /**
+     * Writes the records as a JSON array and closes the stream of records.
+     */
+    public void writeArray(Stream<DataRecord> dataRecords, OutputStream output) throws IOException {
+        try (dataRecords) {
+            output.write('[');
+            var first = true;
+            for (var iterator = dataRecords.iterator(); iterator.hasNext(); ) {
+                if (!first) {
+                    output.write(',');
+                }
+                output.write(record(iterator.next()));
+                first = false;
+            }
+            output.write(']');
+        }
+    }
+
+    /**
+     * Returns the records as a JSON array and closes the stream of records.
+     */
+    public byte[] array(Stream<DataRecord> dataRecords) {
+        var output = new ByteArrayOutputStream();
+        try {
+            writeArray(dataRecords, output);
+        } catch (IOException e) {
+            // not thrown by a ByteArrayOutputStream
+            throw new EdcException(e);
+        }
+        return output.toByteArray();
+    }
+
+    /**
+     * Returns the JSON array of all records if it was built at the given store revision, null otherwise.
+     */
+    @Nullable
+    public byte[] collection(String revision) {
+        var current = collection;
+        return current != null && current.revision().equals(revision) ? current.json() : null;
+    }
+
+    /**
+     * Keeps the JSON array of all records, as read at the given store revision or later.
+     */
+    public void putCollection(String revision, byte[] json) {
+        if (json.length <= maxCollectionBytes) {
+            collection = new Snapshot(revision, json);
+        }
+    }
+
+    @Override
+    public void created(DataRecord dataRecord, long version) {
+        collection = null;
+    }
+
+    @Override
+    public void updated(DataRecord dataRecord, long version) {
+        records.remove(dataRecord.id());
+        collection = null;
+    }
+
+    @Override
+    public void deleted(DataRecord dataRecord) {
+        records.remove(dataRecord.id());
+        collection = null;
+    }
+
+    private record Entry(DataRecord dataRecord, byte[] json) {
+    }
+
+    private record Snapshot(String revision, byte[] json) {
+    }
+}
@@ -0,0 +1,300 @@
+/*
+ *  Copyright (c) 2024 Bayerische Motoren Werke Aktiengesellschaft (BMW AG)
+ *
+ *  This program and the accompanying materials are made available under the
+ *  terms of the Apache License, Version 2.0 which is available at
+ *  https://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  SPDX-License-Identifier: Apache-2.0
+ *
+ *  Contributors:
+ *       Bayerische Motoren Werke Aktiengesellschaft (BMW AG) - initial API and implementation
+ *
+ */
+
+package org.eclipse.tractusx.mxd.dataservice.changes;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import org.eclipse.edc.spi.EdcException;
+import org.eclipse.tractusx.mxd.dataservice.model.DataRecord;
+import org.eclipse.tractusx.mxd.dataservice.model.DataRecordChange;
+import org.eclipse.tractusx.mxd.dataservice.store.DataRecordListener;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.Set;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.function.Function;
+
+/**
+ * Numbers the changes to the data records and fans them out to subscribers. The most recent changes are kept in a ring,
+ * so that a subscriber can resume after the last change it has seen.
+ * <p>
+ * Publishing takes no lock: a change is numbered, serialized on the writing thread and put into the ring slot of its
+ * sequence number. Each subscriber reads the ring in sequence order on the given executor, never on the writing thread,
+ * and only one change per subscriber is in flight at a time. Sending is chained on the stage the sender returns, so a
+ * slow subscriber holds no thread while it waits. A subscriber that falls behind by a whole buffer is sent the changes
+ * up to that point and then disconnected, it can resume from the history at its own pace.
+ * <p>
+ * {@link #heartbeat()} is meant to be called periodically. It sends a {@link #HEARTBEAT} to the idle subscribers, so
+ * that the failed send of a dead connection closes its subscription, and disconnects subscribers whose previous send
+ * has not completed since the last heartbeat.
+ */
+public class DataRecordChangeFeed implements DataRecordListener {
+
+    /**
+     * Sent to a subscriber that resumes after a change that is no longer kept. The subscriber has missed changes and
+     * needs to reload the records before it continues with the following changes.
+     */
+    public static final String RESET = "reset";
+
+    /**
+     * Sent to idle subscribers by {@link #heartbeat()}. It is no change and has no data, it is meant to be sent as a
+     * comment.
+     */
+    public static final ChangeEvent HEARTBEAT = new ChangeEvent(0, "heartbeat", null);
+
+    private final ObjectWriter changeWriter;
+    private final int bufferSize;
+    private final Executor executor;
+    private final AtomicReferenceArray<ChangeEvent> history;
+    private final Set<Subscription> subscriptions = ConcurrentHashMap.newKeySet();
+    private final AtomicLong sequence = new AtomicLong();
+
+    /**
+     * @param historySize the number of recent changes kept for subscribers that resume
+     * @param bufferSize  the number of changes a subscriber may fall behind
+     */
+    public DataRecordChangeFeed(ObjectMapper objectMapper, int historySize, int bufferSize, Executor executor) {
+        this.changeWriter = objectMapper.writerFor(DataRecordChange.class);
+        this.history = new AtomicReferenceArray<>(Math.max(historySize, 1));
+        this.bufferSize = bufferSize;
+        this.executor = executor;
+    }
+
+    @Override
+    public void created(DataRecord dataRecord, long version) {
+        publish(DataRecordChange.Type.CREATED, dataRecord, version);
+    }
+
+    @Override
+    public void updated(DataRecord dataRecord, long version) {
+        publish(DataRecordChange.Type.UPDATED, dataRecord, version);
+    }
+
+    @Override
+    public void deleted(DataRecord dataRecord) {
+        publish(DataRecordChange.Type.DELETED, dataRecord, null);
+    }
+
+    /**
+     * Subscribes to all changes after the given sequence number, or to the changes from now on if it is null. If the
+     * changes after the sequence number are no longer kept, the subscriber is sent a {@link #RESET} event first.
+     *
+     * @param sender  sends an event to the subscriber, the next one is sent once the returned stage completes
+     * @param onClose called once the subscription ends, be it because sending failed or the subscriber fell behind
+     */
+    public Subscription subscribe(@Nullable Long lastSequence, Function<ChangeEvent, CompletionStage<?>> sender, Runnable onClose) {
+        var current = sequence.get();
+        var subscription = new Subscription(sender, onClose, current + 1);
+        if (lastSequence != null && lastSequence != current) {
+            if (lastSequence < current - history.length() || lastSequence > current) {
+                subscription.reset = new ChangeEvent(current, RESET, Long.toString(current));
+            } else {
+                subscription.next = lastSequence + 1;
+            }
+        }
+        subscriptions.add(subscription);
+        subscription.drainLater();
+        return subscription;
+    }
+
+    /**
+     * The number of open subscriptions.
+     */
+    public int subscriptionCount() {
+        return subscriptions.size();
+    }
+
+    /**
+     * Sends a {@link #HEARTBEAT} to every subscriber that has nothing to send, and disconnects the subscribers whose
+     * send has not completed since the previous call.
+     */
+    public void heartbeat() {
+        subscriptions.forEach(Subscription::heartbeat);
+    }
+
+    private void publish(DataRecordChange.Type type, DataRecord dataRecord, @Nullable Long version) {
+        var change = new DataRecordChange(sequence.incrementAndGet(), type, dataRecord.id(), version, dataRecord);
+        try {
+            // serialized once and shared by all subscribers
+            put(new ChangeEvent(change.sequence(), type.name().toLowerCase(), changeWriter.writeValueAsString(change)));
+        } catch (JsonProcessingException e) {
+            // the sequence number is taken, subscribers that reach it have missed a change
+            put(new ChangeEvent(change.sequence(), RESET, Long.toString(change.sequence())));
+            throw new EdcException(e);
+        }
+    }
+
+    private void put(ChangeEvent event) {
+        // a slow writer must not replace a change that has overtaken it in the ring
+        history.accumulateAndGet(slot(event.sequence()), event, (kept, added) -> kept == null || kept.sequence() < added.sequence() ? added : kept);
+        subscriptions.forEach(subscription -> subscription.signal(event.sequence()));
+    }
+
+    private int slot(long sequence) {
+        return (int) (sequence % history.length());
+    }
+
+    /**
+     * A change as it is sent to subscribers, with its data already serialized to JSON.
+     */
+    public record ChangeEvent(long sequence, String name, String data) {
+    }
+
+    public final class Subscription implements AutoCloseable {
+        private final Function<ChangeEvent, CompletionStage<?>> sender;
+        private final Runnable onClose;
+        private final AtomicBoolean draining = new AtomicBoolean();
+        private final AtomicBoolean closed = new AtomicBoolean();
+        private final long start;
+        private volatile @Nullable ChangeEvent reset;
+        private volatile long next;
+        private volatile long last = Long.MAX_VALUE;
+        private volatile boolean heartbeatDue;
+        private volatile boolean sending;
+        private volatile long sent;
+        private long sentAtHeartbeat = -1;
+
+        private Subscription(Function<ChangeEvent, CompletionStage<?>> sender, Runnable onClose, long next) {
+            this.sender = sender;
+            this.onClose = onClose;
+            this.start = next;
+            this.next = next;
+        }
+
+        @Override
+        public void close() {
+            if (closed.compareAndSet(false, true)) {
+                subscriptions.remove(this);
+                onClose.run();
+            }
+        }
+
+        private void signal(long published) {
+            // replayed changes are bounded by the history and do not count against the buffer
+            var position = Math.max(next, start);
+            if (last == Long.MAX_VALUE && published - position >= bufferSize) {
+                // fell behind by a whole buffer, what is left of it is sent before disconnecting
+                last = position + bufferSize - 1;
+            }
+            drainLater();
+        }
+
+        private void heartbeat() {
+            if (sending && sent == sentAtHeartbeat) {
+                close();
+                return;
+            }
+            sentAtHeartbeat = sent;
+            heartbeatDue = true;
+            drainLater();
+        }
+
+        private void drainLater() {
+            if (!closed.get() && draining.compareAndSet(false, true)) {
+                executor.execute(this::drain);
+            }
+        }
+
+        private void drain() {
+            while (!closed.get()) {
+                var event = nextEvent();
+                if (event == null) {
+                    draining.set(false);
+                    // a change published after the check above found draining still set and relies on this drain
+                    if (closed.get() || !available() || !draining.compareAndSet(false, true)) {
+                        return;
+                    }
+                    continue;
+                }
+                sending = true;
+                CompletionStage<?> stage;
+                try {
+                    stage = sender.apply(event);
+                } catch (RuntimeException e) {
+                    close();
+                    return;
+                }
+                var future = stage.toCompletableFuture();
+                if (!future.isDone()) {
+                    future.whenComplete((result, failure) -> {
+                        if (sent(event, failure)) {
+                            executor.execute(this::drain);
+                        }
+                    });
+                    return;
+                }
+                if (!sent(event, future.isCompletedExceptionally() ? future.handle((result, failure) -> failure).join() : null)) {
+                    return;
+                }
+            }
+        }
+
+        private boolean sent(ChangeEvent event, @Nullable Throwable failure) {
+            sending = false;
+            sent++;
+            if (failure != null) {
+                close();
+                return false;
+            }
+            if (event == reset) {
+                reset = null;
+            } else if (event != HEARTBEAT) {
+                next = event.sequence() + 1;
+            }
+            return true;
+        }
+
+        /**
+         * The event to send next, or null if there is none yet. Closes the subscription once it is done or has been
+         * overtaken by the ring.
+         */
+        private @Nullable ChangeEvent nextEvent() {
+            var pending = reset;
+            if (pending != null) {
+                next = pending.sequence() + 1;
+                return pending;
+            }
+            if (next > last) {
+                close();
+                return null;
+            }
+            var event = history.get(slot(next));
+            if (event != null && event.sequence() > next) {
+                close();
+                return null;
+            }
+            if (event != null && event.sequence() == next) {
+                heartbeatDue = false;
+                return event;
+            }
+            if (heartbeatDue) {
+                heartbeatDue = false;
+                return HEARTBEAT;
+            }
+            return null;
+        }
+
+        private boolean available() {
+            var event = history.get(slot(next));
+            return reset != null || heartbeatDue || next > last || event != null && event.sequence() >= next;
+        }
+    }
+}
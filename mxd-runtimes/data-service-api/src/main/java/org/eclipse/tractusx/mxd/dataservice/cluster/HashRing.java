@@ -0,0 +1,95 @@
+/*
+ *  Copyright (c) 2024 Bayerische Motoren Werke Aktiengesellschaft (BMW AG)
+ *
+ *  This program and the accompanying materials are made available under the
+ *  terms of the Apache License, Version 2.0 which is available at
+ *  https://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  SPDX-License-Identifier: Apache-2.0
+ *
+ *  Contributors:
+ *       Bayerische Motoren Werke Aktiengesellschaft (BMW AG) - initial API and implementation
+ *
+ */
+
+package org.eclipse.tractusx.mxd.dataservice.cluster;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+
+/**
+ * A consistent-hash ring that assigns every record ID to one of a fixed set of nodes. Each node is placed on the ring
+ * at many points, its virtual nodes, so that the IDs spread evenly and adding a node only moves about 1/n of them.
+ * An ID belongs to the node of the first point at or after its own hash, wrapping around at the end of the ring.
+ * <p>
+ * The ring depends on nothing but the node names and the number of virtual nodes, so instances configured with the
+ * same peer list agree on the owner of every ID without talking to each other.
+ */
+public class HashRing {
+
+    private final List<String> nodes;
+    private final long[] points;
+    private final String[] owners;
+
+    public HashRing(List<String> nodes, int virtualNodes) {
+        if (nodes.isEmpty()) {
+            throw new IllegalArgumentException("A hash ring needs at least one node");
+        }
+        if (new HashSet<>(nodes).size() != nodes.size()) {
+            throw new IllegalArgumentException("The nodes of a hash ring must be distinct: " + nodes);
+        }
+        if (virtualNodes < 1) {
+            throw new IllegalArgumentException("Virtual nodes must be at least 1: " + virtualNodes);
+        }
+        this.nodes = List.copyOf(nodes);
+        var ring = new Point[nodes.size() * virtualNodes];
+        for (var n = 0; n < nodes.size(); n++) {
+            for (var v = 0; v < virtualNodes; v++) {
+                ring[n * virtualNodes + v] = new Point(hash(nodes.get(n) + "#" + v), nodes.get(n));
+            }
+        }
+        // ties are practically impossible with 64-bit hashes, ordering them by node keeps even those deterministic
+        Arrays.sort(ring, (a, b) -> a.hash() != b.hash() ? Long.compare(a.hash(), b.hash()) : a.node().compareTo(b.node()));
+        points = new long[ring.length];
+        owners = new String[ring.length];
+        for (var i = 0; i < ring.length; i++) {
+            points[i] = ring[i].hash();
+            owners[i] = ring[i].node();
+        }
+    }
+
+    /**
+     * Returns the node the ID belongs to.
+     */
+    public String owner(String id) {
+        var index = Arrays.binarySearch(points, hash(id));
+        if (index < 0) {
+            index = -index - 1;
+        }
+        return owners[index == points.length ? 0 : index];
+    }
+
+    public List<String> nodes() {
+        return nodes;
+    }
+
+    /**
+     * 64-bit FNV-1a over the UTF-8 bytes, followed by the SplitMix64 finalizer, as FNV alone spreads short, similar
+     * strings like "id1", "id2" poorly over the high bits.
+     */
+    static long hash(String value) {
+        var hash = 0xcbf29ce484222325L;
+        for (var b : value.getBytes(StandardCharsets.UTF_8)) {
+            hash ^= b & 0xff;
+            hash *= 0x100000001b3L;
+        }
+        hash = (hash ^ (hash >>> 30)) * 0xbf58476d1ce4e5b9L;
+        hash = (hash ^ (hash >>> 27)) * 0x94d049bb133111ebL;
+        return hash ^ (hash >>> 31);
+    }
+
+    private record Point(long hash, String node) {
+    }
+}
@@ -0,0 +1,183 @@
+/*
+ *  Copyright (c) 2024 Bayerische Motoren Werke Aktiengesellschaft (BMW AG)
+ *
+ *  This program and the accompanying materials are made available under the
+ *  terms of the Apache License, Version 2.0 which is available at
+ *  https://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  SPDX-License-Identifier: Apache-2.0
+ *
+ *  Contributors:
+ *       Bayerische Motoren Werke Aktiengesellschaft (BMW AG) - initial API and implementation
+ *
+ */
+
+package org.eclipse.tractusx.mxd.dataservice.cluster;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import jakarta.ws.rs.ServiceUnavailableException;
+import jakarta.ws.rs.core.HttpHeaders;
+import jakarta.ws.rs.core.MediaType;
+import org.eclipse.edc.spi.EdcException;
+import org.eclipse.edc.spi.query.QuerySpec;
+import org.eclipse.edc.spi.result.StoreResult;
+import org.eclipse.edc.web.spi.exception.InvalidRequestException;
+import org.eclipse.tractusx.mxd.dataservice.model.DataRecord;
+import org.eclipse.tractusx.mxd.dataservice.model.ShardResult;
+import org.eclipse.tractusx.mxd.dataservice.model.ShardStatus;
+import org.eclipse.tractusx.mxd.dataservice.model.VersionedDataRecord;
+import org.eclipse.tractusx.mxd.dataservice.store.DataRecordStore;
+import org.jetbrains.annotations.Nullable;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.URLEncoder;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.List;
+import java.util.stream.Stream;
+
+/**
+ * The shard of another instance of the cluster, accessed through its shard API. Failures to reach the instance are
+ * reported as {@link ServiceUnavailableException}s, so that clients see a {@code 503} rather than a generic error.
+ */
+public class RemoteDataRecordStore implements DataRecordStore {
+
+    private static final String RECORDS_PATH = "v1/shard/records";
+    private static final String STATUS_PATH = "v1/shard/status";
+
+    private final URI baseUri;
+    private final HttpClient client;
+    private final Duration timeout;
+    private final ObjectWriter writer;
+    private final ObjectReader versionedReader;
+    private final ObjectReader recordsReader;
+    private final ObjectReader resultReader;
+    private final ObjectReader resultsReader;
+    private final ObjectReader statusReader;
+
+    /**
+     * @param baseUri the base URI of the instance's data API
+     */
+    public RemoteDataRecordStore(URI baseUri, HttpClient client, ObjectMapper objectMapper, Duration timeout) {
+        this.baseUri = baseUri.toString().endsWith("/") ? baseUri : URI.create(baseUri + "/");
+        this.client = client;
+        this.timeout = timeout;
+        this.writer = objectMapper.writer();
+        this.versionedReader = objectMapper.readerFor(VersionedDataRecord.class);
+        this.recordsReader = objectMapper.readerFor(new TypeReference<List<DataRecord>>() { });
+        this.resultReader = objectMapper.readerFor(ShardResult.class);
+        this.resultsReader = objectMapper.readerFor(new TypeReference<List<ShardResult>>() { });
+        this.statusReader = objectMapper.readerFor(ShardStatus.class);
+    }
+
+    @Override
+    public @Nullable VersionedDataRecord findById(String id) {
+        var response = send(HttpRequest.newBuilder(recordUri(id)).GET());
+        if (response.statusCode() == 404) {
+            return null;
+        }
+        return read(response, versionedReader);
+    }
+
+    @Override
+    public Stream<DataRecord> findAll(QuerySpec querySpec) {
+        List<DataRecord> records = read(send(post(baseUri.resolve(RECORDS_PATH + "/query"), querySpec)), recordsReader);
+        return records.stream();
+    }
+
+    @Override
+    public StoreResult<Long> create(DataRecord dataRecord) {
+        return createAll(List.of(dataRecord)).get(0);
+    }
+
+    @Override
+    public List<StoreResult<Long>> createAll(List<DataRecord> dataRecords) {
+        List<ShardResult> results = read(send(post(baseUri.resolve(RECORDS_PATH), dataRecords)), resultsReader);
+        return results.stream().map(ShardResult::toVersion).toList();
+    }
+
+    @Override
+    public StoreResult<Long> update(DataRecord dataRecord, @Nullable Long expectedVersion) {
+        var uri = baseUri.resolve(RECORDS_PATH + (expectedVersion == null ? "" : "?expectedVersion=" + expectedVersion));
+        ShardResult result = read(send(HttpRequest.newBuilder(uri)
+                .header(HttpHeaders.CONTENT_TYPE, MediaType.APPLICATION_JSON)
+                .PUT(HttpRequest.BodyPublishers.ofByteArray(write(dataRecord)))), resultReader);
+        return result.toVersion();
+    }
+
+    @Override
+    public StoreResult<DataRecord> deleteById(String id, @Nullable Long expectedVersion) {
+        var uri = expectedVersion == null ? recordUri(id) : URI.create(recordUri(id) + "?expectedVersion=" + expectedVersion);
+        ShardResult result = read(send(HttpRequest.newBuilder(uri).DELETE()), resultReader);
+        return result.toDataRecord();
+    }
+
+    @Override
+    public long count() {
+        return status().count();
+    }
+
+    @Override
+    public String revision() {
+        return status().revision();
+    }
+
+    public ShardStatus status() {
+        return read(send(HttpRequest.newBuilder(baseUri.resolve(STATUS_PATH)).GET()), statusReader);
+    }
+
+    public URI baseUri() {
+        return baseUri;
+    }
+
+    private URI recordUri(String id) {
+        return baseUri.resolve(RECORDS_PATH + "/" + URLEncoder.encode(id, StandardCharsets.UTF_8).replace("+", "%20"));
+    }
+
+    private HttpRequest.Builder post(URI uri, Object body) {
+        return HttpRequest.newBuilder(uri)
+                .header(HttpHeaders.CONTENT_TYPE, MediaType.APPLICATION_JSON)
+                .POST(HttpRequest.BodyPublishers.ofByteArray(write(body)));
+    }
+
+    private byte[] write(Object body) {
+        try {
+            return writer.writeValueAsBytes(body);
+        } catch (IOException e) {
+            throw new EdcException(e);
+        }
+    }
+
+    private HttpResponse<byte[]> send(HttpRequest.Builder request) {
+        try {
+            return client.send(request.timeout(timeout).build(), HttpResponse.BodyHandlers.ofByteArray());
+        } catch (IOException e) {
+            throw new ServiceUnavailableException("Shard %s is unavailable: %s".formatted(baseUri, e.getMessage()));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new ServiceUnavailableException("Interrupted while waiting for shard " + baseUri);
+        }
+    }
+
+    private <T> T read(HttpResponse<byte[]> response, ObjectReader reader) {
+        if (response.statusCode() == 400) {
+            // the query was rejected by the shard, so it is the client's to fix
+            throw new InvalidRequestException(new String(response.body(), StandardCharsets.UTF_8));
+        }
+        if (response.statusCode() != 200) {
+            throw new ServiceUnavailableException("Shard %s answered %s with status %d".formatted(baseUri, response.request().uri().getPath(), response.statusCode()));
+        }
+        try {
+            return reader.readValue(response.body());
+        } catch (IOException e) {
+            throw new EdcException("Invalid response from shard " + baseUri, e);
+        }
+    }
+}
@@ -0,0 +1,312 @@
+/*
+ *  Copyright (c) 2024 Bayerische Motoren Werke Aktiengesellschaft (BMW AG)
+ *
+ *  This program and the accompanying materials are made available under the
+ *  terms of the Apache License, Version 2.0 which is available at
+ *  https://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  SPDX-License-Identifier: Apache-2.0
+ *
+ *  Contributors:
+ *       Bayerische Motoren Werke Aktiengesellschaft (BMW AG) - initial API and implementation
+ *
+ */
+
+package org.eclipse.tractusx.mxd.dataservice.cluster;
+
+import org.eclipse.edc.spi.query.Criterion;
+import org.eclipse.edc.spi.query.QuerySpec;
+import org.eclipse.edc.spi.query.SortOrder;
+import org.eclipse.edc.spi.result.StoreResult;
+import org.eclipse.tractusx.mxd.dataservice.model.DataRecord;
+import org.eclipse.tractusx.mxd.dataservice.model.VersionedDataRecord;
+import org.eclipse.tractusx.mxd.dataservice.store.DataRecordIndex;
+import org.eclipse.tractusx.mxd.dataservice.store.DataRecordStore;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Objects;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+/**
+ * Spreads the records over the shards of a cluster by their ID. Operations on a single record go to the shard that
+ * owns it, queries go to all shards in parallel and their results are merged in the order the query asks for.
+ * <p>
+ * Query results are read from every shard in batches, each continuing after the last record of the previous one, as
+ * the merge consumes them. However many records a query returns, this instance holds at most a batch of each shard,
+ * and no shard is asked for more than a batch at once.
+ * <p>
+ * Versions and revisions are assigned by each shard on its own. A record's version still changes with every write of
+ * it, and the revision of the whole cluster, which combines those of the shards, with every write of any record.
+ */
+public class ShardedDataRecordStore implements DataRecordStore {
+
+    static final int BATCH_SIZE = 1000;
+
+    private final HashRing ring;
+    private final Map<String, DataRecordStore> shards;
+    private final Executor executor;
+    private final int batchSize;
+
+    /**
+     * @param shards   the store of every node of the ring, by node
+     * @param executor runs the requests to the other shards of a query in parallel
+     */
+    public ShardedDataRecordStore(HashRing ring, Map<String, DataRecordStore> shards, Executor executor) {
+        this(ring, shards, executor, BATCH_SIZE);
+    }
+
+    ShardedDataRecordStore(HashRing ring, Map<String, DataRecordStore> shards, Executor executor, int batchSize) {
+        if (!shards.keySet().equals(Set.copyOf(ring.nodes()))) {
+            throw new IllegalArgumentException("There must be a shard for every node of the ring, got %s for %s".formatted(shards.keySet(), ring.nodes()));
+        }
+        this.ring = ring;
+        this.shards = Map.copyOf(shards);
+        this.executor = executor;
+        this.batchSize = batchSize;
+    }
+
+    @Override
+    public @Nullable VersionedDataRecord findById(String id) {
+        return shard(id).findById(id);
+    }
+
+    /**
+     * The first batches of all shards are read in parallel, so that an invalid query fails here. Any of the first
+     * {@code offset + limit} matches of a shard could be on the requested page, the offset is skipped in the merge.
+     */
+    @Override
+    public Stream<DataRecord> findAll(QuerySpec querySpec) {
+        var comparator = DataRecordIndex.comparator(querySpec);
+        var window = (int) Math.min(Integer.MAX_VALUE, (long) querySpec.getOffset() + querySpec.getLimit());
+        var readers = fanOut(shard -> new ShardReader(shard, querySpec, window, batchSize));
+        return merge(readers.values(), comparator)
+                .skip(querySpec.getOffset())
+                .limit(querySpec.getLimit());
+    }
+
+    @Override
+    public StoreResult<Long> create(DataRecord dataRecord) {
+        return shard(dataRecord.id()).create(dataRecord);
+    }
+
+    /**
+     * Hands every shard its part of the batch in a single call, all shards in parallel.
+     */
+    @Override
+    public List<StoreResult<Long>> createAll(List<DataRecord> dataRecords) {
+        var parts = dataRecords.stream().collect(Collectors.groupingBy(dataRecord -> ring.owner(dataRecord.id())));
+        var futures = new LinkedHashMap<String, CompletableFuture<List<StoreResult<Long>>>>();
+        parts.forEach((node, part) -> futures.put(node, CompletableFuture.supplyAsync(() -> shards.get(node).createAll(part), executor)));
+        var results = new LinkedHashMap<String, Iterator<StoreResult<Long>>>();
+        futures.forEach((node, future) -> results.put(node, join(future).iterator()));
+        return dataRecords.stream().map(dataRecord -> results.get(ring.owner(dataRecord.id())).next()).toList();
+    }
+
+    @Override
+    public StoreResult<Long> update(DataRecord dataRecord, @Nullable Long expectedVersion) {
+        return shard(dataRecord.id()).update(dataRecord, expectedVersion);
+    }
+
+    @Override
+    public StoreResult<DataRecord> deleteById(String id, @Nullable Long expectedVersion) {
+        return shard(id).deleteById(id, expectedVersion);
+    }
+
+    @Override
+    public long count() {
+        return fanOut(DataRecordStore::count).values().stream().mapToLong(Long::longValue).sum();
+    }
+
+    @Override
+    public String revision() {
+        var revisions = fanOut(DataRecordStore::revision);
+        return ring.nodes().stream().map(revisions::get).collect(Collectors.joining("."));
+    }
+
+    /**
+     * Returns the shard that owns the ID.
+     */
+    public DataRecordStore shard(String id) {
+        return shards.get(ring.owner(id));
+    }
+
+    /**
+     * Runs the call against every shard, all but one on the executor and the last one on the calling thread.
+     */
+    private <T> Map<String, T> fanOut(Function<DataRecordStore, T> call) {
+        var futures = new LinkedHashMap<String, CompletableFuture<T>>();
+        var nodes = ring.nodes();
+        for (var node : nodes.subList(0, nodes.size() - 1)) {
+            futures.put(node, CompletableFuture.supplyAsync(() -> call.apply(shards.get(node)), executor));
+        }
+        var last = nodes.get(nodes.size() - 1);
+        var results = new LinkedHashMap<String, T>();
+        results.put(last, call.apply(shards.get(last)));
+        futures.forEach((node, future) -> results.put(node, join(future)));
+        return results;
+    }
+
+    private static <T> T join(CompletableFuture<T> future) {
+        try {
+            return future.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw e;
+        }
+    }
+
+    /**
+     * Merges iterators that are each sorted by the comparator into a single sorted stream, lazily, so that a page only
+     * costs as many comparisons as it has records.
+     */
+    static Stream<DataRecord> merge(Iterable<? extends Iterator<DataRecord>> sorted, Comparator<DataRecord> comparator) {
+        var heads = new PriorityQueue<Head>((a, b) -> comparator.compare(a.current, b.current));
+        for (var iterator : sorted) {
+            if (iterator.hasNext()) {
+                heads.add(new Head(iterator.next(), iterator));
+            }
+        }
+        var merged = new Iterator<DataRecord>() {
+            @Override
+            public boolean hasNext() {
+                return !heads.isEmpty();
+            }
+
+            @Override
+            public DataRecord next() {
+                var head = heads.remove();
+                var next = head.current;
+                if (head.rest.hasNext()) {
+                    head.current = head.rest.next();
+                    heads.add(head);
+                }
+                return next;
+            }
+        };
+        return StreamSupport.stream(Spliterators.spliteratorUnknownSize(merged, Spliterator.ORDERED | Spliterator.NONNULL), false);
+    }
+
+    private static final class Head {
+        private DataRecord current;
+        private final Iterator<DataRecord> rest;
+
+        private Head(DataRecord current, Iterator<DataRecord> rest) {
+            this.current = current;
+            this.rest = rest;
+        }
+    }
+
+    /**
+     * The matches of a query in one shard, read a batch at a time. Sorted by ID, a batch continues after the ID of the
+     * last record read. Sorted by another field, it continues at the value of the last record read, skipping the records
+     * with that value that have been read already. Records without a value sort after all values and are not matched
+     * by a criterion on it, they are read by offset: first in descending order, and in ascending order once the records
+     * with a value are exhausted.
+     */
+    private static final class ShardReader implements Iterator<DataRecord> {
+
+        private final DataRecordStore shard;
+        private final QuerySpec querySpec;
+        private final String sortField;
+        private final Function<DataRecord, String> sortValue;
+        private final boolean descending;
+        private final int batchSize;
+        private int remaining;
+        private Iterator<DataRecord> batch = Collections.emptyIterator();
+        private boolean exhausted;
+        private boolean withoutValue;
+        private DataRecord last;
+        private int read;
+        private int readWithLastValue;
+
+        /**
+         * Reads the first batch.
+         *
+         * @param window the number of matches that are needed at most
+         */
+        private ShardReader(DataRecordStore shard, QuerySpec querySpec, int window, int batchSize) {
+            this.shard = shard;
+            this.querySpec = querySpec;
+            this.sortField = querySpec.getSortField() == null ? "id" : querySpec.getSortField();
+            this.sortValue = DataRecordIndex.accessor(sortField);
+            this.descending = querySpec.getSortOrder() == SortOrder.DESC;
+            this.batchSize = batchSize;
+            this.remaining = window;
+            readBatch();
+        }
+
+        @Override
+        public boolean hasNext() {
+            while (!batch.hasNext() && !exhausted) {
+                readBatch();
+            }
+            return batch.hasNext();
+        }
+
+        @Override
+        public DataRecord next() {
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+            return batch.next();
+        }
+
+        private void readBatch() {
+            var size = Math.min(batchSize, remaining);
+            if (size <= 0) {
+                exhausted = true;
+                return;
+            }
+            var query = QuerySpec.Builder.newInstance()
+                    .filter(querySpec.getFilterExpression())
+                    .sortField(querySpec.getSortField())
+                    .sortOrder(querySpec.getSortOrder())
+                    .limit(size);
+            var byValue = false;
+            if (last == null) {
+                query.offset(0);
+            } else if (sortField.equals("id")) {
+                query.filter(new Criterion("id", descending ? "<" : ">", last.id())).offset(0);
+            } else if (withoutValue || sortValue.apply(last) == null) {
+                query.offset(read);
+            } else {
+                query.filter(new Criterion(sortField, descending ? "<=" : ">=", sortValue.apply(last))).offset(readWithLastValue);
+                byValue = true;
+            }
+            var records = shard.findAll(query.build()).toList();
+            for (var dataRecord : records) {
+                readWithLastValue = last != null && Objects.equals(sortValue.apply(dataRecord), sortValue.apply(last)) ? readWithLastValue + 1 : 1;
+                last = dataRecord;
+            }
+            read += records.size();
+            remaining -= records.size();
+            batch = records.iterator();
+            if (records.size() < size) {
+                if (byValue && !descending) {
+                    withoutValue = true;
+                } else {
+                    exhausted = true;
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,337 @@
+/*
+ *  Copyright (c) 2024 Bayerische Motoren Werke Aktiengesellschaft (BMW AG)
+ *
+ *  This program and the accompanying materials are made available under the
+ *  terms of the Apache License, Version 2.0 which is available at
+ *  https://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  SPDX-License-Identifier: Apache-2.0
+ *
+ *  Contributors:
+ *       Bayerische Motoren Werke Aktiengesellschaft (BMW AG) - initial API and implementation
+ *
+ */
+
+package org.eclipse.tractusx.mxd.dataservice.expiry;
+
+import org.eclipse.edc.spi.query.QuerySpec;
+import org.eclipse.tractusx.mxd.dataservice.model.DataRecord;
+import org.eclipse.tractusx.mxd.dataservice.store.DataRecordListener;
+import org.eclipse.tractusx.mxd.dataservice.store.DataRecordStore;
+import org.jetbrains.annotations.Nullable;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongSupplier;
+
+/**
+ * Bounds the records of a store by age and by number. As a listener of the store it keeps an entry per record, which
+ * is scheduled on a {@link TimingWheel} to expire a time-to-live after the last write of the record, and which takes
+ * part in evicting records once there are more than the maximum.
+ * <p>
+ * Eviction approximates least-recently-used with the CLOCK algorithm: the entries form a ring that a hand sweeps
+ * over, reads of a record set a flag on its entry without taking a lock, and the hand evicts the first record whose
+ * flag is not set, clearing the flags it passes. New records are placed right behind the hand, so they are the last
+ * to be looked at.
+ * <p>
+ * Expired and evicted records are deleted through the store, so that its other listeners see them go like any other
+ * deleted record. Those deletes never happen on the thread of a write: expiry runs whenever {@link #expire()} is
+ * called, eviction is handed to the executor as soon as a write exceeds the maximum. They are conditional on the version
+ * the entry was scheduled for, a record written after its entry was taken off the wheel or the ring is not deleted but
+ * tracked anew by the listener call of that write.
+ */
+public class RecordExpiry implements DataRecordListener {
+
+    private static final int EVICTION_BATCH_SIZE = 1024;
+
+    private final DataRecordStore store;
+    private final long defaultTtlNanos;
+    private final long maxRecords;
+    private final long tickNanos;
+    private final LongSupplier nanoTime;
+    private final long origin;
+    private final Executor evictor;
+    private final Map<String, Entry> entries = new ConcurrentHashMap<>();
+    private final TimingWheel wheel = new TimingWheel(0);
+    private final AtomicBoolean evicting = new AtomicBoolean();
+    private final AtomicLong expired = new AtomicLong();
+    private final AtomicLong evicted = new AtomicLong();
+    private @Nullable Entry hand;
+
+    /**
+     * @param store      the store the records are deleted from, which this listens to
+     * @param defaultTtl the time-to-live of records written without one, or null if they do not expire
+     * @param maxRecords the number of records above which the least recently used are evicted, 0 for no limit
+     * @param tick       the resolution of expiry, records expire up to one tick late
+     * @param nanoTime   the source of time, {@link System#nanoTime()} outside of tests
+     * @param evictor    runs the evictions
+     */
+    public RecordExpiry(DataRecordStore store, @Nullable Duration defaultTtl, long maxRecords, Duration tick, LongSupplier nanoTime, Executor evictor) {
+        if (defaultTtl != null && (defaultTtl.isNegative() || defaultTtl.isZero())) {
+            throw new IllegalArgumentException("Default time-to-live must be positive: " + defaultTtl);
+        }
+        if (maxRecords < 0) {
+            throw new IllegalArgumentException("Maximum number of records must not be negative: " + maxRecords);
+        }
+        if (tick.isNegative() || tick.isZero()) {
+            throw new IllegalArgumentException("Tick must be positive: " + tick);
+        }
+        this.store = store;
+        this.defaultTtlNanos = defaultTtl == null ? 0 : defaultTtl.toNanos();
+        this.maxRecords = maxRecords;
+        this.tickNanos = tick.toNanos();
+        this.nanoTime = nanoTime;
+        this.origin = nanoTime.getAsLong();
+        this.evictor = evictor;
+    }
+
+    /**
+     * Adds the records of a store that were stored before this was registered as a listener, with the default
+     * time-to-live. Their versions are looked up in the given store rather than in the one records are deleted from,
+     * which may not be accessible yet while it is being initialized.
+     *
+     * @return the number of records added
+     */
+    public long track(DataRecordStore source) {
+        try (var dataRecords = source.findAll(QuerySpec.max())) {
+            var count = dataRecords.mapToLong(dataRecord -> {
+                var versioned = source.findById(dataRecord.id());
+                if (versioned == null) {
+                    return 0;
+                }
+                written(dataRecord.id(), versioned.version(), false);
+                return 1;
+            }).sum();
+            evictIfFull();
+            return count;
+        }
+    }
+
+    @Override
+    public void initialized(DataRecordStore store) {
+        track(store);
+    }
+
+    @Override
+    public void created(DataRecord dataRecord, long version) {
+        written(dataRecord.id(), version, false);
+        evictIfFull();
+    }
+
+    @Override
+    public void updated(DataRecord dataRecord, long version) {
+        written(dataRecord.id(), version, true);
+    }
+
+    @Override
+    public void deleted(DataRecord dataRecord) {
+        var entry = entries.get(dataRecord.id());
+        if (entry != null) {
+            synchronized (this) {
+                remove(entry);
+            }
+        }
+    }
+
+    /**
+     * Marks the record as recently used, a cheap no-op for records that already are.
+     */
+    public void touch(String id) {
+        var entry = entries.get(id);
+        if (entry != null && !entry.referenced) {
+            entry.referenced = true;
+        }
+    }
+
+    /**
+     * Sets the time-to-live of a stored record, counting from now and restarting with every write of the record.
+     *
+     * @return false if the record is not known, e.g. because it was deleted in the meantime
+     */
+    public synchronized boolean expireAfter(String id, Duration ttl) {
+        var entry = entries.get(id);
+        if (entry == null) {
+            return false;
+        }
+        entry.ttlNanos = ttl.toNanos();
+        wheel.schedule(entry, deadline(entry.ttlNanos));
+        return true;
+    }
+
+    /**
+     * Deletes the records whose time-to-live has passed.
+     *
+     * @return the number of records deleted
+     */
+    public long expire() {
+        var expiring = new ArrayList<Entry>();
+        synchronized (this) {
+            wheel.advance(ticks(nanoTime.getAsLong() - origin), timer -> {
+                var entry = (Entry) timer;
+                remove(entry);
+                expiring.add(entry);
+            });
+        }
+        var deleted = delete(expiring);
+        expired.addAndGet(deleted);
+        return deleted;
+    }
+
+    /**
+     * Number of records that were deleted because their time-to-live passed.
+     */
+    public long expired() {
+        return expired.get();
+    }
+
+    /**
+     * Number of records that were deleted to stay within the maximum number of records.
+     */
+    public long evicted() {
+        return evicted.get();
+    }
+
+    /**
+     * Number of records known, as created and not yet deleted.
+     */
+    public long size() {
+        return entries.size();
+    }
+
+    /**
+     * Number of records that are scheduled to expire.
+     */
+    public synchronized long scheduled() {
+        return wheel.size();
+    }
+
+    private void written(String id, long version, boolean used) {
+        synchronized (this) {
+            var entry = entries.get(id);
+            if (entry == null) {
+                entry = new Entry(id, defaultTtlNanos);
+                entries.put(id, entry);
+                insertBehindHand(entry);
+            }
+            // a record tracked at startup may have been written since its version was looked up
+            entry.version = Math.max(entry.version, version);
+            if (entry.ttlNanos > 0) {
+                wheel.schedule(entry, deadline(entry.ttlNanos));
+            }
+            if (used) {
+                entry.referenced = true;
+            }
+        }
+    }
+
+    private void evictIfFull() {
+        if (maxRecords > 0 && entries.size() > maxRecords && evicting.compareAndSet(false, true)) {
+            evictor.execute(this::evict);
+        }
+    }
+
+    private void evict() {
+        try {
+            List<Entry> victims;
+            while (!(victims = victims()).isEmpty()) {
+                evicted.addAndGet(delete(victims));
+            }
+        } finally {
+            evicting.set(false);
+        }
+        // a record created while the flag was still set did not hand over another eviction
+        evictIfFull();
+    }
+
+    /**
+     * Takes the entries of the next records to evict out of the ring, so that they are not picked twice. The lock is
+     * given up between batches, so that writes are not held up for the whole eviction.
+     */
+    private synchronized List<Entry> victims() {
+        var count = (int) Math.min(entries.size() - maxRecords, EVICTION_BATCH_SIZE);
+        if (count <= 0) {
+            return List.of();
+        }
+        var victims = new ArrayList<Entry>(count);
+        while (victims.size() < count && hand != null) {
+            while (hand.referenced) {
+                hand.referenced = false;
+                hand = hand.clockNext;
+            }
+            var victim = hand;
+            remove(victim);
+            victims.add(victim);
+        }
+        return victims;
+    }
+
+    /**
+     * Deletes the records of entries that were removed, unless they were written since.
+     */
+    private long delete(List<Entry> removed) {
+        return removed.stream().filter(entry -> store.deleteById(entry.id, entry.version).succeeded()).count();
+    }
+
+    private void insertBehindHand(Entry entry) {
+        if (hand == null) {
+            entry.clockNext = entry;
+            entry.clockPrevious = entry;
+            hand = entry;
+        } else {
+            entry.clockNext = hand;
+            entry.clockPrevious = hand.clockPrevious;
+            hand.clockPrevious.clockNext = entry;
+            hand.clockPrevious = entry;
+        }
+    }
+
+    /**
+     * Removes the entry from the map, the wheel and the ring, unless it was already removed.
+     */
+    private void remove(Entry entry) {
+        if (!entries.remove(entry.id, entry)) {
+            return;
+        }
+        wheel.cancel(entry);
+        if (entry.clockNext == entry) {
+            hand = null;
+        } else {
+            if (hand == entry) {
+                hand = entry.clockNext;
+            }
+            entry.clockPrevious.clockNext = entry.clockNext;
+            entry.clockNext.clockPrevious = entry.clockPrevious;
+        }
+        entry.clockNext = null;
+        entry.clockPrevious = null;
+    }
+
+    private long deadline(long ttlNanos) {
+        // rounded up, so that a record never expires early
+        return ticks(nanoTime.getAsLong() - origin + ttlNanos + tickNanos - 1);
+    }
+
+    private long ticks(long nanos) {
+        return nanos / tickNanos;
+    }
+
+    private static final class Entry extends TimingWheel.Timer {
+        private final String id;
+        private long ttlNanos;
+        private long version;
+        private volatile boolean referenced;
+        private Entry clockNext;
+        private Entry clockPrevious;
+
+        Entry(String id, long ttlNanos) {
+            this.id = id;
+            this.ttlNanos = ttlNanos;
+        }
+    }
+}
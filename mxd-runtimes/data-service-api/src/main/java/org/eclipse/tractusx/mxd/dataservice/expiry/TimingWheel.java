@@ -0,0 +1,190 @@
+/*
+ *  Copyright (c) 2024 Bayerische Motoren Werke Aktiengesellschaft (BMW AG)
+ *
+ *  This program and the accompanying materials are made available under the
+ *  terms of the Apache License, Version 2.0 which is available at
+ *  https://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  SPDX-License-Identifier: Apache-2.0
+ *
+ *  Contributors:
+ *       Bayerische Motoren Werke Aktiengesellschaft (BMW AG) - initial API and implementation
+ *
+ */
+
+package org.eclipse.tractusx.mxd.dataservice.expiry;
+
+import java.util.function.Consumer;
+
+/**
+ * A hierarchical timing wheel: timers are kept in rings of 64 slots, the first ring holding those due within 64 ticks,
+ * each following ring those due within 64 times as many. Scheduling and cancelling a timer is a matter of linking it
+ * into a slot or out of it. When the first ring wraps around, the next slot of the second ring is spread over the first
+ * one, and so on, so each timer is moved at most once per ring before it fires, and advancing the wheel never visits
+ * a timer that is not due.
+ * <p>
+ * Timers due beyond the reach of the last ring wait in its furthest slot and are placed again from there. The wheel is
+ * not thread-safe.
+ */
+final class TimingWheel {
+
+    private static final int SLOT_BITS = 6;
+    private static final int SLOTS = 1 << SLOT_BITS;
+    private static final int MASK = SLOTS - 1;
+    private static final int LEVELS = 4;
+    private static final long HORIZON = 1L << (SLOT_BITS * LEVELS);
+
+    /**
+     * The sentinels of the slots, each the head of a circular list of timers.
+     */
+    private final Timer[][] slots = new Timer[LEVELS][SLOTS];
+    private long tick;
+    private int size;
+
+    /**
+     * @param tick the current tick, timers are due at later ticks
+     */
+    TimingWheel(long tick) {
+        this.tick = tick;
+        for (var level = 0; level < LEVELS; level++) {
+            for (var slot = 0; slot < SLOTS; slot++) {
+                var sentinel = new Timer();
+                sentinel.next = sentinel;
+                sentinel.previous = sentinel;
+                slots[level][slot] = sentinel;
+            }
+        }
+    }
+
+    /**
+     * Schedules the timer to fire at the given tick, or at the next tick if that has passed. A timer that is already
+     * scheduled is moved.
+     */
+    void schedule(Timer timer, long deadline) {
+        cancel(timer);
+        timer.deadline = Math.max(deadline, tick + 1);
+        place(timer);
+        size++;
+    }
+
+    /**
+     * Removes the timer from the wheel, if it is scheduled.
+     */
+    void cancel(Timer timer) {
+        if (timer.next != null) {
+            unlink(timer);
+            size--;
+        }
+    }
+
+    /**
+     * Moves the wheel forward to the given tick, passing the timers that are due on the way to the consumer in the order
+     * of their deadlines. The timers are no longer scheduled when they are passed on; the consumer must not schedule
+     * or cancel other timers.
+     */
+    void advance(long to, Consumer<Timer> expired) {
+        while (tick < to) {
+            tick++;
+            if ((tick & MASK) == 0) {
+                cascade(1);
+            }
+            var due = detach(slots[0][(int) (tick & MASK)]);
+            while (due != null) {
+                var next = due.next;
+                due.next = null;
+                due.previous = null;
+                size--;
+                expired.accept(due);
+                due = next;
+            }
+        }
+    }
+
+    long tick() {
+        return tick;
+    }
+
+    int size() {
+        return size;
+    }
+
+    /**
+     * Spreads the timers of the current slot of the given ring over the rings below it, once every ring below has
+     * wrapped around.
+     */
+    private void cascade(int level) {
+        if (level == LEVELS) {
+            return;
+        }
+        var index = (int) ((tick >>> (SLOT_BITS * level)) & MASK);
+        if (index == 0) {
+            cascade(level + 1);
+        }
+        var timer = detach(slots[level][index]);
+        while (timer != null) {
+            var next = timer.next;
+            place(timer);
+            timer = next;
+        }
+    }
+
+    private void place(Timer timer) {
+        var deadline = timer.deadline;
+        var delta = deadline - tick;
+        if (delta >= HORIZON) {
+            deadline = tick + HORIZON - 1;
+            delta = HORIZON - 1;
+        }
+        var level = 0;
+        while (delta >= 1L << (SLOT_BITS * (level + 1))) {
+            level++;
+        }
+        link(slots[level][(int) ((deadline >>> (SLOT_BITS * level)) & MASK)], timer);
+    }
+
+    private static void link(Timer sentinel, Timer timer) {
+        timer.previous = sentinel.previous;
+        timer.next = sentinel;
+        sentinel.previous.next = timer;
+        sentinel.previous = timer;
+    }
+
+    private static void unlink(Timer timer) {
+        timer.previous.next = timer.next;
+        timer.next.previous = timer.previous;
+        timer.next = null;
+        timer.previous = null;
+    }
+
+    /**
+     * Empties the slot and returns its timers as a list linked by {@link Timer#next} and ending in null, so that they
+     * can be placed again, even in the same slot, while it is walked.
+     */
+    private static Timer detach(Timer sentinel) {
+        if (sentinel.next == sentinel) {
+            return null;
+        }
+        var first = sentinel.next;
+        sentinel.previous.next = null;
+        sentinel.next = sentinel;
+        sentinel.previous = sentinel;
+        return first;
+    }
+
+    /**
+     * An entry of the wheel, linked into the slot it is due in.
+     */
+    static class Timer {
+        private Timer next;
+        private Timer previous;
+        private long deadline;
+
+        long deadline() {
+            return deadline;
+        }
+
+        boolean scheduled() {
+            return next != null;
+        }
+    }
+}
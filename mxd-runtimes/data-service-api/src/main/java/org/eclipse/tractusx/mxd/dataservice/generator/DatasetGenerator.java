@@ -0,0 +1,144 @@
+/*
+ *  Copyright (c) 2024 Bayerische Motoren Werke Aktiengesellschaft (BMW AG)
+ *
+ *  This program and the accompanying materials are made available under the
+ *  terms of the Apache License, Version 2.0 which is available at
+ *  https://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  SPDX-License-Identifier: Apache-2.0
+ *
+ *  Contributors:
+ *       Bayerische Motoren Werke Aktiengesellschaft (BMW AG) - initial API and implementation
+ *
+ */
+
+package org.eclipse.tractusx.mxd.dataservice.generator;
+
+import org.eclipse.edc.spi.EdcException;
+import org.eclipse.edc.spi.result.StoreResult;
+import org.eclipse.tractusx.mxd.dataservice.model.DataRecord;
+import org.eclipse.tractusx.mxd.dataservice.store.DataRecordStore;
+
+import java.util.SplittableRandom;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.function.Predicate;
+import java.util.stream.LongStream;
+
+/**
+ * Generates a synthetic data set of {@link DataRecord}s. Each record is derived from the seed and its index alone, so
+ * the same settings always produce the same records, no matter how many threads generate them or in which order.
+ */
+public class DatasetGenerator {
+
+    private static final int BATCH_SIZE = 1000;
+    private static final String ALPHABET = "abcdefghijklmnopqrstuvwxyz";
+
+    private final long count;
+    private final long seed;
+    private final IdScheme idScheme;
+    private final PayloadSize payloadSize;
+    private final int parallelism;
+
+    /**
+     * @param payloadSize the size of the descriptions, a size of 0 keeps the short default description
+     * @param parallelism the number of threads that generate and store records
+     */
+    public DatasetGenerator(long count, long seed, IdScheme idScheme, PayloadSize payloadSize, int parallelism) {
+        if (count < 0) {
+            throw new IllegalArgumentException("Record count must not be negative: " + count);
+        }
+        if (parallelism < 1) {
+            throw new IllegalArgumentException("Parallelism must be at least 1: " + parallelism);
+        }
+        this.count = count;
+        this.seed = seed;
+        this.idScheme = idScheme;
+        this.payloadSize = payloadSize;
+        this.parallelism = parallelism;
+    }
+
+    /**
+     * Returns the record with the given index.
+     */
+    public DataRecord record(long index) {
+        var random = new SplittableRandom(seed ^ index * 0x9E3779B97F4A7C15L);
+        var description = "This is a record (nr. " + index + ") coming from the provider's private HTTP data service";
+        var size = payloadSize.next(random);
+        if (size > 0) {
+            description = text(description, size, random);
+        }
+        return new DataRecord(idScheme.id(index, count, seed), "Record Nr. " + index, description);
+    }
+
+    /**
+     * Stores all records in batches, spread over as many threads as the parallelism allows. Records whose ID already
+     * exists in the store are skipped.
+     *
+     * @return the number of records that were created
+     */
+    public long populate(DataRecordStore store) {
+        return populate(store, id -> true);
+    }
+
+    /**
+     * Stores the records whose ID is accepted by the filter, like {@link #populate(DataRecordStore)}. The IDs, and so
+     * the records, are the same as without the filter, which lets each node of a cluster store just its own part of
+     * the data set.
+     *
+     * @return the number of records that were created
+     */
+    public long populate(DataRecordStore store, Predicate<String> ids) {
+        var batches = (count + BATCH_SIZE - 1) / BATCH_SIZE;
+        var pool = new ForkJoinPool(parallelism);
+        try {
+            // a parallel stream runs in the pool it is started from
+            return pool.submit(() -> LongStream.range(0, batches).parallel()
+                            .map(batch -> populate(store, ids, batch * BATCH_SIZE, Math.min(count, (batch + 1) * BATCH_SIZE)))
+                            .sum())
+                    .get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new EdcException("Interrupted while generating data records", e);
+        } catch (ExecutionException e) {
+            throw new EdcException("Failed to generate data records", e.getCause());
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    public long count() {
+        return count;
+    }
+
+    private long populate(DataRecordStore store, Predicate<String> ids, long from, long to) {
+        var records = LongStream.range(from, to)
+                .filter(index -> ids.test(idScheme.id(index, count, seed)))
+                .mapToObj(this::record)
+                .toList();
+        if (records.isEmpty()) {
+            return 0;
+        }
+        return store.createAll(records).stream().filter(StoreResult::succeeded).count();
+    }
+
+    /**
+     * Pads the text with random lower-case words, or truncates it, to exactly the given size.
+     */
+    private static String text(String prefix, int size, SplittableRandom random) {
+        var text = new char[size];
+        var length = Math.min(prefix.length(), size);
+        prefix.getChars(0, length, text, 0);
+        var word = 0;
+        for (var i = length; i < size; i++) {
+            if (word == 0) {
+                text[i] = ' ';
+                word = random.nextInt(2, 11);
+            } else {
+                text[i] = ALPHABET.charAt(random.nextInt(ALPHABET.length()));
+                word--;
+            }
+        }
+        return new String(text);
+    }
+}
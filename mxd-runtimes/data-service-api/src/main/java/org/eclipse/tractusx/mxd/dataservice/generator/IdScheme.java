@@ -0,0 +1,64 @@
+/*
+ *  Copyright (c) 2024 Bayerische Motoren Werke Aktiengesellschaft (BMW AG)
+ *
+ *  This program and the accompanying materials are made available under the
+ *  terms of the Apache License, Version 2.0 which is available at
+ *  https://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  SPDX-License-Identifier: Apache-2.0
+ *
+ *  Contributors:
+ *       Bayerische Motoren Werke Aktiengesellschaft (BMW AG) - initial API and implementation
+ *
+ */
+
+package org.eclipse.tractusx.mxd.dataservice.generator;
+
+import java.util.Locale;
+import java.util.SplittableRandom;
+
+/**
+ * How the IDs of generated records are formed from their index.
+ */
+public enum IdScheme {
+
+    /**
+     * {@code id0}, {@code id1}, ..., the IDs the data service has always used for its sample records.
+     */
+    SEQUENTIAL {
+        @Override
+        String id(long index, long count, long seed) {
+            return "id" + index;
+        }
+    },
+
+    /**
+     * Sequential IDs padded with zeros to the same length, so that their natural order matches the order of the index.
+     */
+    PADDED {
+        @Override
+        String id(long index, long count, long seed) {
+            var width = Long.toString(Math.max(count - 1, 0)).length();
+            return "id" + String.format("%0" + width + "d", index);
+        }
+    },
+
+    /**
+     * Random-looking version 4 UUIDs derived from the seed, which spread records evenly across an ID range.
+     */
+    UUID {
+        @Override
+        String id(long index, long count, long seed) {
+            var random = new SplittableRandom(seed ^ index * 0x9E3779B97F4A7C15L);
+            var mostSignificant = random.nextLong() & 0xFFFFFFFFFFFF0FFFL | 0x0000000000004000L;
+            var leastSignificant = random.nextLong() & 0x3FFFFFFFFFFFFFFFL | 0x8000000000000000L;
+            return new java.util.UUID(mostSignificant, leastSignificant).toString();
+        }
+    };
+
+    public static IdScheme parse(String value) {
+        return valueOf(value.toUpperCase(Locale.ROOT));
+    }
+
+    abstract String id(long index, long count, long seed);
+}
@@ -0,0 +1,66 @@
+/*
+ *  Copyright (c) 2024 Bayerische Motoren Werke Aktiengesellschaft (BMW AG)
+ *
+ *  This program and the accompanying materials are made available under the
+ *  terms of the Apache License, Version 2.0 which is available at
+ *  https://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  SPDX-License-Identifier: Apache-2.0
+ *
+ *  Contributors:
+ *       Bayerische Motoren Werke Aktiengesellschaft (BMW AG) - initial API and implementation
+ *
+ */
+
+package org.eclipse.tractusx.mxd.dataservice.generator;
+
+import java.util.SplittableRandom;
+
+/**
+ * The distribution of the description length of generated records, in bytes of (ASCII) text.
+ */
+@FunctionalInterface
+public interface PayloadSize {
+
+    int next(SplittableRandom random);
+
+    /**
+     * Every description has the same size.
+     */
+    static PayloadSize fixed(int size) {
+        requireNonNegative(size);
+        return random -> size;
+    }
+
+    /**
+     * Sizes are spread evenly between min and max, both inclusive.
+     */
+    static PayloadSize uniform(int min, int max) {
+        requireNonNegative(min);
+        if (max < min) {
+            throw new IllegalArgumentException("Maximum payload size %d is less than the minimum %d".formatted(max, min));
+        }
+        return random -> random.nextInt(min, max + 1);
+    }
+
+    /**
+     * Sizes follow a normal distribution, cut off at min and max.
+     */
+    static PayloadSize normal(int mean, int standardDeviation, int min, int max) {
+        requireNonNegative(min);
+        if (max < min) {
+            throw new IllegalArgumentException("Maximum payload size %d is less than the minimum %d".formatted(max, min));
+        }
+        return random -> {
+            // Box-Muller, SplittableRandom has no nextGaussian on Java 17
+            var gaussian = Math.sqrt(-2 * Math.log(1 - random.nextDouble())) * Math.cos(2 * Math.PI * random.nextDouble());
+            return (int) Math.max(min, Math.min(max, Math.round(mean + gaussian * standardDeviation)));
+        };
+    }
+
+    private static void requireNonNegative(int size) {
+        if (size < 0) {
+            throw new IllegalArgumentException("Payload size must not be negative: " + size);
+        }
+    }
+}
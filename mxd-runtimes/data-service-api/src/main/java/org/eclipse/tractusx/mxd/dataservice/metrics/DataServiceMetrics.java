@@ -0,0 +1,152 @@
+/*
+ *  Copyright (c) 2024 Bayerische Motoren Werke Aktiengesellschaft (BMW AG)
+ *
+ *  This program and the accompanying materials are made available under the
+ *  terms of the Apache License, Version 2.0 which is available at
+ *  https://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  SPDX-License-Identifier: Apache-2.0
+ *
+ *  Contributors:
+ *       Bayerische Motoren Werke Aktiengesellschaft (BMW AG) - initial API and implementation
+ *
+ */
+
+package org.eclipse.tractusx.mxd.dataservice.metrics;
+
+import org.jetbrains.annotations.Nullable;
+
+import java.math.BigDecimal;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.LongSupplier;
+
+/**
+ * The metrics of the data service, rendered in the Prometheus text exposition format on every scrape. The set of
+ * endpoints is fixed up front, so that recording a request is a lookup in an immutable map followed by a few atomic
+ * increments.
+ * <p>
+ * Request latencies are exported as a histogram with fixed buckets, from which Prometheus can compute percentiles over
+ * any time window, and as percentiles since startup taken from the full-precision histogram.
+ */
+public class DataServiceMetrics {
+
+    public static final String CONTENT_TYPE = "text/plain; version=0.0.4; charset=utf-8";
+
+    private static final String PREFIX = "mxd_dataservice_";
+    private static final long[] BUCKETS_MICROS = {
+            100, 250, 500, 1_000, 2_500, 5_000, 10_000, 25_000, 50_000, 100_000, 250_000, 500_000, 1_000_000, 2_500_000, 5_000_000, 10_000_000
+    };
+    private static final double[] QUANTILES = { 0.5, 0.9, 0.99, 0.999 };
+
+    private final Map<String, EndpointMetrics> endpoints;
+    private final List<Family> families = new CopyOnWriteArrayList<>();
+
+    public DataServiceMetrics(Collection<String> endpointNames) {
+        var endpoints = new LinkedHashMap<String, EndpointMetrics>();
+        endpointNames.forEach(name -> endpoints.put(name, new EndpointMetrics(name)));
+        this.endpoints = Collections.unmodifiableMap(endpoints);
+    }
+
+    /**
+     * Returns the metrics of the endpoint, or null if it is not one of the endpoints given on construction.
+     */
+    public @Nullable EndpointMetrics endpoint(String name) {
+        return endpoints.get(name);
+    }
+
+    /**
+     * Adds a gauge whose value is read on every scrape.
+     */
+    public void gauge(String name, String help, LongSupplier value) {
+        families.add(new Family(PREFIX + name, help, "gauge", null, Map.of("", value)));
+    }
+
+    /**
+     * Adds a gauge with a sample per value of the label, whose values are read on every scrape. Samples are
+     * ordered by label value.
+     */
+    public void gauge(String name, String help, String label, Map<String, LongSupplier> values) {
+        families.add(new Family(PREFIX + name, help, "gauge", label, new TreeMap<>(values)));
+    }
+
+    /**
+     * Adds a counter with a sample per value of the label, whose values are read on every scrape.
+     */
+    public void counter(String name, String help, String label, Map<String, LongSupplier> values) {
+        families.add(new Family(PREFIX + name, help, "counter", label, new TreeMap<>(values)));
+    }
+
+    public String scrape() {
+        var output = new StringBuilder(8192);
+        var snapshots = new LinkedHashMap<String, LatencyHistogram.Snapshot>();
+        endpoints.values().forEach(endpoint -> snapshots.put(endpoint.name(), endpoint.latency().snapshot()));
+
+        header(output, "requests_total", "counter", "Requests to the data service API by endpoint.");
+        snapshots.forEach((endpoint, snapshot) -> sample(output, "requests_total", "endpoint=\"" + endpoint + "\"", snapshot.count()));
+
+        header(output, "request_errors_total", "counter", "Requests to the data service API that were answered with an error status, by endpoint and status.");
+        for (var endpoint : endpoints.values()) {
+            for (var status = EndpointMetrics.MIN_ERROR_STATUS; status <= EndpointMetrics.MAX_STATUS; status++) {
+                var count = endpoint.count(status);
+                if (count > 0) {
+                    sample(output, "request_errors_total", "endpoint=\"%s\",status=\"%d\"".formatted(endpoint.name(), status), count);
+                }
+            }
+        }
+
+        header(output, "request_duration_seconds", "histogram", "Time from receiving a request until its response status was known, by endpoint.");
+        snapshots.forEach((endpoint, snapshot) -> {
+            for (var bucket : BUCKETS_MICROS) {
+                sample(output, "request_duration_seconds_bucket", "endpoint=\"%s\",le=\"%s\"".formatted(endpoint, seconds(bucket)), snapshot.countAtOrBelow(bucket));
+            }
+            sample(output, "request_duration_seconds_bucket", "endpoint=\"%s\",le=\"+Inf\"".formatted(endpoint), snapshot.count());
+            sample(output, "request_duration_seconds_sum", "endpoint=\"" + endpoint + "\"", seconds(snapshot.sumMicros()));
+            sample(output, "request_duration_seconds_count", "endpoint=\"" + endpoint + "\"", snapshot.count());
+        });
+
+        header(output, "request_duration_quantile_seconds", "gauge", "Percentiles of the request duration since startup, by endpoint, accurate to about 3%.");
+        snapshots.forEach((endpoint, snapshot) -> Arrays.stream(QUANTILES).forEach(quantile ->
+                sample(output, "request_duration_quantile_seconds", "endpoint=\"%s\",quantile=\"%s\"".formatted(endpoint, quantile),
+                        seconds(snapshot.valueAtQuantile(quantile)))));
+
+        for (var family : families) {
+            output.append("# HELP ").append(family.name()).append(' ').append(family.help()).append('\n');
+            output.append("# TYPE ").append(family.name()).append(' ').append(family.type()).append('\n');
+            family.samples().forEach((labelValue, value) -> {
+                output.append(family.name());
+                if (family.label() != null) {
+                    output.append('{').append(family.label()).append("=\"").append(labelValue).append("\"}");
+                }
+                output.append(' ').append(value.getAsLong()).append('\n');
+            });
+        }
+        return output.toString();
+    }
+
+    private static void header(StringBuilder output, String name, String type, String help) {
+        output.append("# HELP ").append(PREFIX).append(name).append(' ').append(help).append('\n');
+        output.append("# TYPE ").append(PREFIX).append(name).append(' ').append(type).append('\n');
+    }
+
+    private static void sample(StringBuilder output, String name, String labels, Object value) {
+        output.append(PREFIX).append(name).append('{').append(labels).append("} ").append(value).append('\n');
+    }
+
+    private static String seconds(long micros) {
+        return BigDecimal.valueOf(micros, 6).stripTrailingZeros().toPlainString();
+    }
+
+    /**
+     * Metrics read from elsewhere on every scrape, keyed by the value of their label, or by an empty string if there is
+     * no label.
+     */
+    private record Family(String name, String help, String type, @Nullable String label, Map<String, LongSupplier> samples) {
+    }
+}
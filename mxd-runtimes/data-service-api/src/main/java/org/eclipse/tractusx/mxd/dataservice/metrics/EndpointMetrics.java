@@ -0,0 +1,59 @@
+/*
+ *  Copyright (c) 2024 Bayerische Motoren Werke Aktiengesellschaft (BMW AG)
+ *
+ *  This program and the accompanying materials are made available under the
+ *  terms of the Apache License, Version 2.0 which is available at
+ *  https://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  SPDX-License-Identifier: Apache-2.0
+ *
+ *  Contributors:
+ *       Bayerische Motoren Werke Aktiengesellschaft (BMW AG) - initial API and implementation
+ *
+ */
+
+package org.eclipse.tractusx.mxd.dataservice.metrics;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * The requests to one operation of the data service API: their number, the number of errors by status code and their
+ * latency.
+ */
+public class EndpointMetrics {
+
+    static final int MIN_STATUS = 100;
+    static final int MAX_STATUS = 599;
+    static final int MIN_ERROR_STATUS = 400;
+
+    private final String name;
+    private final LatencyHistogram latency = new LatencyHistogram();
+    private final AtomicLongArray statuses = new AtomicLongArray(MAX_STATUS - MIN_STATUS + 1);
+
+    public EndpointMetrics(String name) {
+        this.name = name;
+    }
+
+    /**
+     * Records a completed request, does not allocate.
+     */
+    public void record(int status, long nanos) {
+        latency.record(nanos);
+        statuses.incrementAndGet(Math.min(Math.max(status, MIN_STATUS), MAX_STATUS) - MIN_STATUS);
+    }
+
+    public String name() {
+        return name;
+    }
+
+    public LatencyHistogram latency() {
+        return latency;
+    }
+
+    /**
+     * The number of requests answered with the given status code.
+     */
+    public long count(int status) {
+        return statuses.get(status - MIN_STATUS);
+    }
+}
@@ -0,0 +1,137 @@
+/*
+ *  Copyright (c) 2024 Bayerische Motoren Werke Aktiengesellschaft (BMW AG)
+ *
+ *  This program and the accompanying materials are made available under the
+ *  terms of the Apache License, Version 2.0 which is available at
+ *  https://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  SPDX-License-Identifier: Apache-2.0
+ *
+ *  Contributors:
+ *       Bayerische Motoren Werke Aktiengesellschaft (BMW AG) - initial API and implementation
+ *
+ */
+
+package org.eclipse.tractusx.mxd.dataservice.metrics;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * A latency histogram in the manner of HdrHistogram: each power of two of microseconds is split into 32 linear
+ * sub-buckets, so every recorded value is kept with a relative error of at most about 3% from one microsecond up to
+ * twelve days, in a fixed array of counters. Recording is lock-free and does not allocate.
+ */
+public class LatencyHistogram {
+
+    private static final int SUB_BUCKET_BITS = 5;
+    private static final int SUB_BUCKETS = 1 << SUB_BUCKET_BITS;
+    // values are recorded up to 2^40 microseconds, larger ones count as the maximum
+    private static final int MAX_MAGNITUDE = 40;
+    private static final long MAX_VALUE = (1L << MAX_MAGNITUDE) - 1;
+    static final int BUCKETS = (MAX_MAGNITUDE - SUB_BUCKET_BITS + 1) * SUB_BUCKETS;
+
+    private final AtomicLongArray counts = new AtomicLongArray(BUCKETS);
+    private final AtomicLong sum = new AtomicLong();
+
+    public void record(long nanos) {
+        var micros = Math.min(Math.max(nanos / 1000, 0), MAX_VALUE);
+        counts.incrementAndGet(index(micros));
+        sum.addAndGet(micros);
+    }
+
+    /**
+     * Returns a copy of the bucket counts, from which consistent totals and percentiles can be taken.
+     */
+    public Snapshot snapshot() {
+        var copy = new long[BUCKETS];
+        for (var i = 0; i < BUCKETS; i++) {
+            copy[i] = counts.get(i);
+        }
+        return new Snapshot(copy, sum.get());
+    }
+
+    static int index(long micros) {
+        var magnitude = 63 - Long.numberOfLeadingZeros(micros);
+        if (magnitude < SUB_BUCKET_BITS) {
+            return (int) micros;
+        }
+        var shift = magnitude - SUB_BUCKET_BITS;
+        return (shift + 1) << SUB_BUCKET_BITS | (int) (micros >>> shift) - SUB_BUCKETS;
+    }
+
+    /**
+     * The smallest value that falls into the bucket.
+     */
+    static long lowerBound(int index) {
+        if (index < SUB_BUCKETS) {
+            return index;
+        }
+        var shift = (index >>> SUB_BUCKET_BITS) - 1;
+        return (long) (SUB_BUCKETS + (index & (SUB_BUCKETS - 1))) << shift;
+    }
+
+    /**
+     * The largest value that falls into the bucket.
+     */
+    static long upperBound(int index) {
+        return index == BUCKETS - 1 ? MAX_VALUE : lowerBound(index + 1) - 1;
+    }
+
+    /**
+     * The bucket counts of a histogram at one point in time.
+     */
+    public static final class Snapshot {
+        private final long[] counts;
+        private final long sum;
+        private final long count;
+
+        private Snapshot(long[] counts, long sum) {
+            this.counts = counts;
+            this.sum = sum;
+            var count = 0L;
+            for (var bucketCount : counts) {
+                count += bucketCount;
+            }
+            this.count = count;
+        }
+
+        public long count() {
+            return count;
+        }
+
+        /**
+         * The sum of all recorded values in microseconds.
+         */
+        public long sumMicros() {
+            return sum;
+        }
+
+        /**
+         * The number of recorded values of at most the given number of microseconds, to within the precision of the
+         * buckets.
+         */
+        public long countAtOrBelow(long micros) {
+            var result = 0L;
+            for (var i = 0; i < counts.length && upperBound(i) <= micros; i++) {
+                result += counts[i];
+            }
+            return result;
+        }
+
+        /**
+         * The value in microseconds below which the given fraction of the recorded values lie, 0 if nothing was recorded.
+         */
+        public long valueAtQuantile(double quantile) {
+            var rank = Math.max(1, (long) Math.ceil(quantile * count));
+            var seen = 0L;
+            for (var i = 0; i < counts.length; i++) {
+                seen += counts[i];
+                if (seen >= rank) {
+                    return upperBound(i);
+                }
+            }
+            return 0;
+        }
+    }
+}
@@ -0,0 +1,32 @@
+/*
+ *  Copyright (c) 2024 Bayerische Motoren Werke Aktiengesellschaft (BMW AG)
+ *
+ *  This program and the accompanying materials are made available under the
+ *  terms of the Apache License, Version 2.0 which is available at
+ *  https://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  SPDX-License-Identifier: Apache-2.0
+ *
+ *  Contributors:
+ *       Bayerische Motoren Werke Aktiengesellschaft (BMW AG) - initial API and implementation
+ *
+ */
+
+package org.eclipse.tractusx.mxd.dataservice.model;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * The answer to an aggregation over the attributes of the DataRecords: the number of records and of groups, and the
+ * groups with the most records, largest first. Without grouping attributes all records form a single group.
+ */
+public record AggregationResult(long count, long groupCount, List<Group> groups) {
+
+    /**
+     * The records whose grouping attributes have the values of the key, a null value standing for records without the
+     * attribute. The smallest and largest values are null for an attribute none of the records has.
+     */
+    public record Group(Map<String, Object> key, long count, Map<String, Object> min, Map<String, Object> max) {
+    }
+}
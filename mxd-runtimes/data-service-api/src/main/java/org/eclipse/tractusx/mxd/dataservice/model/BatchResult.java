@@ -0,0 +1,29 @@
+/*
+ *  Copyright (c) 2024 Bayerische Motoren Werke Aktiengesellschaft (BMW AG)
+ *
+ *  This program and the accompanying materials are made available under the
+ *  terms of the Apache License, Version 2.0 which is available at
+ *  https://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  SPDX-License-Identifier: Apache-2.0
+ *
+ *  Contributors:
+ *       Bayerische Motoren Werke Aktiengesellschaft (BMW AG) - initial API and implementation
+ *
+ */
+
+package org.eclipse.tractusx.mxd.dataservice.model;
+
+import java.util.List;
+
+/**
+ * Summary of a bulk ingest: the number of created, conflicting and invalid lines, and the first failed lines in detail.
+ */
+public record BatchResult(long created, long conflicts, long invalid, List<LineFailure> failures) {
+
+    /**
+     * A line of the request body that did not result in a new record. Lines are counted from 1.
+     */
+    public record LineFailure(long line, String id, int status, String message) {
+    }
+}
@@ -14,5 +14,71 @@
 
 package org.eclipse.tractusx.mxd.dataservice.model;
 
-public record DataRecord(String id, String name, String description) {
+import com.fasterxml.jackson.annotation.JsonInclude;
+import org.jetbrains.annotations.Nullable;
+
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * A record of the data service. Besides its name and description, a record may carry attributes: values by name that
+ * the service can count and group records by, see {@link #attributes()}.
+ *
+ * @param attributes the attributes of the record, or null if it has none. A value is a {@link String}, a {@link Long},
+ *                   a {@link Double} or a {@link Boolean}; other integral numbers are converted to a Long, other
+ *                   decimal numbers to a Double. The map keeps the order of the given one and cannot be modified.
+ */
+public record DataRecord(String id, String name, String description,
+                         @JsonInclude(JsonInclude.Include.NON_NULL) @Nullable Map<String, Object> attributes) {
+
+    public DataRecord {
+        if (attributes != null) {
+            attributes = typed(attributes);
+        }
+    }
+
+    public DataRecord(String id, String name, String description) {
+        this(id, name, description, null);
+    }
+
+    /**
+     * Returns the attribute with the given name, or null if the record does not have it.
+     */
+    public @Nullable Object attribute(String name) {
+        return attributes == null ? null : attributes.get(name);
+    }
+
+    private static Map<String, Object> typed(Map<String, Object> attributes) {
+        var typed = new LinkedHashMap<String, Object>(Math.max(4, attributes.size() * 2));
+        attributes.forEach((name, value) -> {
+            if (name == null || name.isEmpty()) {
+                throw new IllegalArgumentException("Attribute names must not be empty");
+            }
+            typed.put(name, value(name, value));
+        });
+        return Collections.unmodifiableMap(typed);
+    }
+
+    private static Object value(String name, @Nullable Object value) {
+        if (value instanceof String || value instanceof Long || value instanceof Boolean) {
+            return value;
+        }
+        if (value instanceof Integer || value instanceof Short || value instanceof Byte) {
+            return ((Number) value).longValue();
+        }
+        if (value instanceof BigInteger integer && integer.bitLength() < Long.SIZE) {
+            return integer.longValue();
+        }
+        if (value instanceof Double || value instanceof Float || value instanceof BigDecimal) {
+            var number = ((Number) value).doubleValue();
+            if (Double.isFinite(number)) {
+                return number;
+            }
+        }
+        throw new IllegalArgumentException("Attribute '%s' must be a string, a boolean or a number in the range of a long or a double, but was %s"
+                .formatted(name, value));
+    }
 }
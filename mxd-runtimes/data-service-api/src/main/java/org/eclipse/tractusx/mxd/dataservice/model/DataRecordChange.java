@@ -0,0 +1,28 @@
+/*
+ *  Copyright (c) 2024 Bayerische Motoren Werke Aktiengesellschaft (BMW AG)
+ *
+ *  This program and the accompanying materials are made available under the
+ *  terms of the Apache License, Version 2.0 which is available at
+ *  https://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  SPDX-License-Identifier: Apache-2.0
+ *
+ *  Contributors:
+ *       Bayerische Motoren Werke Aktiengesellschaft (BMW AG) - initial API and implementation
+ *
+ */
+
+package org.eclipse.tractusx.mxd.dataservice.model;
+
+import org.jetbrains.annotations.Nullable;
+
+/**
+ * A change to a {@link DataRecord}, as sent on the change feed. The sequence number orders all changes, the version is
+ * the one the record has after the change and is absent for deletions, which also carry the last state of the record.
+ */
+public record DataRecordChange(long sequence, Type type, String id, @Nullable Long version, DataRecord dataRecord) {
+
+    public enum Type {
+        CREATED, UPDATED, DELETED
+    }
+}
@@ -0,0 +1,24 @@
+/*
+ *  Copyright (c) 2024 Bayerische Motoren Werke Aktiengesellschaft (BMW AG)
+ *
+ *  This program and the accompanying materials are made available under the
+ *  terms of the Apache License, Version 2.0 which is available at
+ *  https://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  SPDX-License-Identifier: Apache-2.0
+ *
+ *  Contributors:
+ *       Bayerische Motoren Werke Aktiengesellschaft (BMW AG) - initial API and implementation
+ *
+ */
+
+package org.eclipse.tractusx.mxd.dataservice.model;
+
+import java.util.List;
+
+/**
+ * The answer to a lookup of several DataRecords by ID: the records that exist, ordered by ID, and the IDs of those that
+ * do not, in the order they were asked for.
+ */
+public record LookupResult(List<DataRecord> found, List<String> missing) {
+}
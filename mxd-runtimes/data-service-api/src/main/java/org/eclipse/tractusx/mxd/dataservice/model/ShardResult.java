@@ -0,0 +1,58 @@
+/*
+ *  Copyright (c) 2024 Bayerische Motoren Werke Aktiengesellschaft (BMW AG)
+ *
+ *  This program and the accompanying materials are made available under the
+ *  terms of the Apache License, Version 2.0 which is available at
+ *  https://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  SPDX-License-Identifier: Apache-2.0
+ *
+ *  Contributors:
+ *       Bayerische Motoren Werke Aktiengesellschaft (BMW AG) - initial API and implementation
+ *
+ */
+
+package org.eclipse.tractusx.mxd.dataservice.model;
+
+import org.eclipse.edc.spi.result.StoreFailure;
+import org.eclipse.edc.spi.result.StoreResult;
+import org.jetbrains.annotations.Nullable;
+
+/**
+ * The outcome of a write to a shard of a cluster, a {@link StoreResult} in a form that can be sent between instances.
+ *
+ * @param version    the new version of the record if a create or update succeeded
+ * @param dataRecord the deleted record if a delete succeeded
+ * @param reason     the reason the write failed, or null if it succeeded
+ * @param detail     the description of the failure
+ */
+public record ShardResult(@Nullable Long version, @Nullable DataRecord dataRecord, @Nullable StoreFailure.Reason reason, @Nullable String detail) {
+
+    public static ShardResult ofVersion(StoreResult<Long> result) {
+        return result.succeeded() ? new ShardResult(result.getContent(), null, null, null) : failed(result);
+    }
+
+    public static ShardResult ofDataRecord(StoreResult<DataRecord> result) {
+        return result.succeeded() ? new ShardResult(null, result.getContent(), null, null) : failed(result);
+    }
+
+    public StoreResult<Long> toVersion() {
+        return reason != null ? failure() : StoreResult.success(version);
+    }
+
+    public StoreResult<DataRecord> toDataRecord() {
+        return reason != null ? failure() : StoreResult.success(dataRecord);
+    }
+
+    private static ShardResult failed(StoreResult<?> result) {
+        return new ShardResult(null, null, result.reason(), result.getFailureDetail());
+    }
+
+    private <T> StoreResult<T> failure() {
+        return switch (reason) {
+            case NOT_FOUND -> StoreResult.notFound(detail);
+            case ALREADY_EXISTS -> StoreResult.alreadyExists(detail);
+            default -> StoreResult.generalError(detail);
+        };
+    }
+}
@@ -0,0 +1,27 @@
+/*
+ *  Copyright (c) 2024 Bayerische Motoren Werke Aktiengesellschaft (BMW AG)
+ *
+ *  This program and the accompanying materials are made available under the
+ *  terms of the Apache License, Version 2.0 which is available at
+ *  https://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  SPDX-License-Identifier: Apache-2.0
+ *
+ *  Contributors:
+ *       Bayerische Motoren Werke Aktiengesellschaft (BMW AG) - initial API and implementation
+ *
+ */
+
+package org.eclipse.tractusx.mxd.dataservice.model;
+
+/**
+ * Outcome of writing a snapshot of the data record store.
+ *
+ * @param file           the path of the snapshot file
+ * @param records        the number of records in the snapshot
+ * @param bytes          the size of the snapshot file
+ * @param compressed     whether the snapshot is compressed
+ * @param durationMillis how long writing the snapshot took
+ */
+public record SnapshotInfo(String file, long records, long bytes, boolean compressed, long durationMillis) {
+}
@@ -0,0 +1,28 @@
+/*
+ *  Copyright (c) 2024 Bayerische Motoren Werke Aktiengesellschaft (BMW AG)
+ *
+ *  This program and the accompanying materials are made available under the
+ *  terms of the Apache License, Version 2.0 which is available at
+ *  https://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  SPDX-License-Identifier: Apache-2.0
+ *
+ *  Contributors:
+ *       Bayerische Motoren Werke Aktiengesellschaft (BMW AG) - initial API and implementation
+ *
+ */
+
+package org.eclipse.tractusx.mxd.dataservice.model;
+
+/**
+ * What the sink has received for one transfer so far, over all requests pushed to it.
+ *
+ * @param activeRequests  the number of requests whose body is still being received
+ * @param startedAt       when the first request started, in milliseconds since the epoch
+ * @param durationSeconds from the start of the first request to the end of the last one, or to now while requests are active
+ * @param bytesPerSecond  the bytes received divided by the duration
+ * @param crc32c          the CRC32C of the body of the last completed request as 8 hex digits, if a checksum was requested
+ */
+public record TransferStats(String transferId, long requests, long activeRequests, long bytes, long startedAt,
+                            double durationSeconds, double bytesPerSecond, String crc32c) {
+}
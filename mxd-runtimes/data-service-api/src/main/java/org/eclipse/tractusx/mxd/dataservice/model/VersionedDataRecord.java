@@ -0,0 +1,23 @@
+/*
+ *  Copyright (c) 2024 Bayerische Motoren Werke Aktiengesellschaft (BMW AG)
+ *
+ *  This program and the accompanying materials are made available under the
+ *  terms of the Apache License, Version 2.0 which is available at
+ *  https://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  SPDX-License-Identifier: Apache-2.0
+ *
+ *  Contributors:
+ *       Bayerische Motoren Werke Aktiengesellschaft (BMW AG) - initial API and implementation
+ *
+ */
+
+package org.eclipse.tractusx.mxd.dataservice.model;
+
+/**
+ * A stored {@link DataRecord} together with its version. Versions are assigned by the store on every write and are
+ * unique within the store, so a version never identifies two different states of a record, even across a delete and
+ * re-create.
+ */
+public record VersionedDataRecord(DataRecord dataRecord, long version) {
+}
@@ -0,0 +1,46 @@
+/*
+ *  Copyright (c) 2024 Bayerische Motoren Werke Aktiengesellschaft (BMW AG)
+ *
+ *  This program and the accompanying materials are made available under the
+ *  terms of the Apache License, Version 2.0 which is available at
+ *  https://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  SPDX-License-Identifier: Apache-2.0
+ *
+ *  Contributors:
+ *       Bayerische Motoren Werke Aktiengesellschaft (BMW AG) - initial API and implementation
+ *
+ */
+
+package org.eclipse.tractusx.mxd.dataservice.payload;
+
+import java.nio.ByteBuffer;
+import java.util.concurrent.ArrayBlockingQueue;
+
+/**
+ * Heap buffers of a fixed size that are reused across requests. At most {@code maxPooled} buffers are kept, any buffer
+ * needed beyond that is allocated and, once released, left to the garbage collector.
+ * <p>
+ * The buffers are on the heap because request and response bodies are streams, which read into and write from byte
+ * arrays. The array of a heap buffer is passed to them as is, while a direct buffer would be copied through a
+ * temporary array on every read or write.
+ */
+public class BufferPool {
+
+    private final int bufferSize;
+    private final ArrayBlockingQueue<ByteBuffer> buffers;
+
+    public BufferPool(int bufferSize, int maxPooled) {
+        this.bufferSize = bufferSize;
+        this.buffers = new ArrayBlockingQueue<>(maxPooled);
+    }
+
+    public ByteBuffer acquire() {
+        var buffer = buffers.poll();
+        return buffer == null ? ByteBuffer.allocate(bufferSize) : buffer.clear();
+    }
+
+    public void release(ByteBuffer buffer) {
+        buffers.offer(buffer);
+    }
+}
@@ -0,0 +1,48 @@
+/*
+ *  Copyright (c) 2024 Bayerische Motoren Werke Aktiengesellschaft (BMW AG)
+ *
+ *  This program and the accompanying materials are made available under the
+ *  terms of the Apache License, Version 2.0 which is available at
+ *  https://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  SPDX-License-Identifier: Apache-2.0
+ *
+ *  Contributors:
+ *       Bayerische Motoren Werke Aktiengesellschaft (BMW AG) - initial API and implementation
+ *
+ */
+
+package org.eclipse.tractusx.mxd.dataservice.payload;
+
+import java.util.Locale;
+
+/**
+ * The shape of a synthetic payload.
+ */
+public enum PayloadFormat {
+
+    /**
+     * Pseudo-random bytes.
+     */
+    BINARY("application/octet-stream"),
+
+    /**
+     * DataRecords as newline-delimited JSON, one record of a fixed size per line, which can be posted to the batch
+     * endpoint of the data service as is.
+     */
+    JSONL("application/x-ndjson");
+
+    private final String mediaType;
+
+    PayloadFormat(String mediaType) {
+        this.mediaType = mediaType;
+    }
+
+    public static PayloadFormat parse(String value) {
+        return valueOf(value.toUpperCase(Locale.ROOT));
+    }
+
+    public String mediaType() {
+        return mediaType;
+    }
+}
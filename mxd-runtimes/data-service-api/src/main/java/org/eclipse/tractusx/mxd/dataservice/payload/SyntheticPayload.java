@@ -0,0 +1,197 @@
+/*
+ *  Copyright (c) 2024 Bayerische Motoren Werke Aktiengesellschaft (BMW AG)
+ *
+ *  This program and the accompanying materials are made available under the
+ *  terms of the Apache License, Version 2.0 which is available at
+ *  https://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  SPDX-License-Identifier: Apache-2.0
+ *
+ *  Contributors:
+ *       Bayerische Motoren Werke Aktiengesellschaft (BMW AG) - initial API and implementation
+ *
+ */
+
+package org.eclipse.tractusx.mxd.dataservice.payload;
+
+import org.jetbrains.annotations.Nullable;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.SplittableRandom;
+import java.util.zip.Checksum;
+
+/**
+ * A deterministic payload of any size that is generated while it is written, so that it takes the same, small amount of
+ * memory whether it is a kilobyte or a hundred gigabytes. Every byte is a function of the seed and its position, the
+ * same parameters always produce the same payload.
+ * <p>
+ * A {@link PayloadFormat#JSONL} payload consists of lines of exactly {@code recordSize} bytes,
+ * {@code {"id":"<16 hex digits>","name":"<16 hex digits>","description":"<padding>"}}, where the ID is the line number.
+ * Its size is rounded down to a whole number of lines.
+ */
+public class SyntheticPayload {
+
+    private static final byte[] ID_PREFIX = "{\"id\":\"".getBytes(StandardCharsets.US_ASCII);
+    private static final byte[] NAME_PREFIX = "\",\"name\":\"".getBytes(StandardCharsets.US_ASCII);
+    private static final byte[] DESCRIPTION_PREFIX = "\",\"description\":\"".getBytes(StandardCharsets.US_ASCII);
+    private static final byte[] TAIL = "\"}\n".getBytes(StandardCharsets.US_ASCII);
+    private static final byte[] HEX_DIGITS = "0123456789abcdef".getBytes(StandardCharsets.US_ASCII);
+    private static final byte[] PADDING_ALPHABET = "abcdefghijklmnopqrstuvwxyzABCDEFGHIJKLMNOPQRSTUVWXYZ0123456789 ".getBytes(StandardCharsets.US_ASCII);
+    private static final int HEAD_SIZE = ID_PREFIX.length + 16 + NAME_PREFIX.length + 16 + DESCRIPTION_PREFIX.length;
+    private static final int PADDING_SIZE = 4096;
+    private static final long GOLDEN_GAMMA = 0x9E3779B97F4A7C15L;
+
+    /**
+     * The size of a JSONL record with an empty description.
+     */
+    public static final int MIN_RECORD_SIZE = HEAD_SIZE + TAIL.length;
+
+    private final PayloadFormat format;
+    private final long size;
+    private final long seed;
+    private final int recordSize;
+    private final byte[] head = new byte[HEAD_SIZE];
+    private final @Nullable byte[] padding;
+    private long headIndex = -1;
+
+    /**
+     * @param size       the requested size in bytes
+     * @param recordSize the size of a line of a {@link PayloadFormat#JSONL} payload, at least {@link #MIN_RECORD_SIZE}
+     */
+    public SyntheticPayload(PayloadFormat format, long size, long seed, int recordSize) {
+        if (size < 0) {
+            throw new IllegalArgumentException("size must not be negative but was " + size);
+        }
+        if (format == PayloadFormat.JSONL && recordSize < MIN_RECORD_SIZE) {
+            throw new IllegalArgumentException("recordSize must be at least %d but was %d".formatted(MIN_RECORD_SIZE, recordSize));
+        }
+        this.format = format;
+        this.size = format == PayloadFormat.JSONL ? size - size % recordSize : size;
+        this.seed = seed;
+        this.recordSize = recordSize;
+        if (format == PayloadFormat.JSONL) {
+            padding = new byte[PADDING_SIZE];
+            var random = new SplittableRandom(seed);
+            for (var i = 0; i < PADDING_SIZE; i++) {
+                padding[i] = PADDING_ALPHABET[random.nextInt(PADDING_ALPHABET.length)];
+            }
+            System.arraycopy(ID_PREFIX, 0, head, 0, ID_PREFIX.length);
+            System.arraycopy(NAME_PREFIX, 0, head, ID_PREFIX.length + 16, NAME_PREFIX.length);
+            System.arraycopy(DESCRIPTION_PREFIX, 0, head, HEAD_SIZE - DESCRIPTION_PREFIX.length, DESCRIPTION_PREFIX.length);
+        } else {
+            padding = null;
+        }
+    }
+
+    /**
+     * The actual size of the payload in bytes.
+     */
+    public long size() {
+        return size;
+    }
+
+    /**
+     * Generates the whole payload into the buffer, one buffer at a time, and writes the buffer's array to the output.
+     *
+     * @param buffer   a heap buffer, whose array is handed to the output without a copy
+     * @param checksum updated with every byte written, if not null
+     */
+    public void writeTo(OutputStream output, ByteBuffer buffer, @Nullable Checksum checksum) throws IOException {
+        if (!buffer.hasArray()) {
+            throw new IllegalArgumentException("The buffer must be a heap buffer");
+        }
+        var array = buffer.array();
+        var offset = buffer.arrayOffset();
+        var position = 0L;
+        while (position < size) {
+            buffer.clear().limit((int) Math.min(buffer.capacity(), size - position));
+            fill(buffer, position);
+            var length = buffer.position();
+            position += length;
+            if (checksum != null) {
+                checksum.update(array, offset, length);
+            }
+            output.write(array, offset, length);
+        }
+    }
+
+    /**
+     * Fills the remaining space of the buffer with the payload starting at the given position.
+     */
+    public void fill(ByteBuffer target, long position) {
+        if (format == PayloadFormat.JSONL) {
+            fillRecords(target, position);
+        } else {
+            fillBinary(target, position);
+        }
+    }
+
+    private void fillBinary(ByteBuffer target, long position) {
+        while (target.hasRemaining() && (position & 7) != 0) {
+            target.put(byteAt(position++));
+        }
+        var index = position >>> 3;
+        var words = target.remaining() / Long.BYTES;
+        for (var i = 0; i < words; i++) {
+            target.putLong(word(index++));
+        }
+        position = index << 3;
+        while (target.hasRemaining()) {
+            target.put(byteAt(position++));
+        }
+    }
+
+    private byte byteAt(long position) {
+        return (byte) (word(position >>> 3) >>> (56 - 8 * (position & 7)));
+    }
+
+    private void fillRecords(ByteBuffer target, long position) {
+        var paddingEnd = recordSize - TAIL.length;
+        while (target.hasRemaining()) {
+            var index = position / recordSize;
+            var offset = (int) (position % recordSize);
+            int length;
+            if (offset < HEAD_SIZE) {
+                length = Math.min(HEAD_SIZE - offset, target.remaining());
+                target.put(head(index), offset, length);
+            } else if (offset < paddingEnd) {
+                var source = (int) ((word(index) + offset - HEAD_SIZE) & (PADDING_SIZE - 1));
+                length = Math.min(Math.min(paddingEnd - offset, PADDING_SIZE - source), target.remaining());
+                target.put(padding, source, length);
+            } else {
+                length = Math.min(recordSize - offset, target.remaining());
+                target.put(TAIL, offset - paddingEnd, length);
+            }
+            position += length;
+        }
+    }
+
+    private byte[] head(long index) {
+        if (index != headIndex) {
+            hex(index, ID_PREFIX.length);
+            hex(word(index), ID_PREFIX.length + 16 + NAME_PREFIX.length);
+            headIndex = index;
+        }
+        return head;
+    }
+
+    private void hex(long value, int offset) {
+        for (var i = 15; i >= 0; i--) {
+            head[offset + i] = HEX_DIGITS[(int) (value & 0xF)];
+            value >>>= 4;
+        }
+    }
+
+    /**
+     * The SplitMix64 output for the index, a good pseudo-random value that does not depend on any previous one.
+     */
+    private long word(long index) {
+        var z = seed + index * GOLDEN_GAMMA;
+        z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+        z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+        return z ^ (z >>> 31);
+    }
+}
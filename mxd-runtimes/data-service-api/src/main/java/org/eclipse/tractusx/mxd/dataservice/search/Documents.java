@@ -0,0 +1,208 @@
+/*
+ *  Copyright (c) 2024 Bayerische Motoren Werke Aktiengesellschaft (BMW AG)
+ *
+ *  This program and the accompanying materials are made available under the
+ *  terms of the Apache License, Version 2.0 which is available at
+ *  https://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  SPDX-License-Identifier: Apache-2.0
+ *
+ *  Contributors:
+ *       Bayerische Motoren Werke Aktiengesellschaft (BMW AG) - initial API and implementation
+ *
+ */
+
+package org.eclipse.tractusx.mxd.dataservice.search;
+
+import org.jetbrains.annotations.Nullable;
+
+import java.util.Arrays;
+
+/**
+ * The documents of the {@link SearchIndex}, numbered in the order they were indexed: the ID of the record each one was
+ * made from, its length in terms and whether it has been deleted. A record gets a new document on every update, as
+ * numbers are not reused. Instead, the index is compacted into new documents without the deleted ones, see
+ * {@link #compact(int[])}.
+ * <p>
+ * Modified by a single writer at a time. Searches read without locking through the volatile {@link Table}, which the
+ * writer replaces when it grows; a search that races with a delete may still see the deleted document.
+ */
+final class Documents {
+
+    private static final int MIN_CAPACITY = 1024;
+
+    private volatile Table table = new Table(new String[MIN_CAPACITY], new int[MIN_CAPACITY], new long[MIN_CAPACITY / 64]);
+    private final IdTable ids = new IdTable();
+    private int next;
+    private volatile long live;
+    private volatile long totalLength;
+
+    /**
+     * Adds a document for the record with the given ID, which must not have a live document yet, and returns its number.
+     */
+    int add(String id, int length) {
+        if (next == Integer.MAX_VALUE) {
+            throw new IllegalStateException("The search index has run out of document numbers");
+        }
+        var current = table;
+        if (next == current.ids.length) {
+            var capacity = (int) Math.min(Integer.MAX_VALUE - 8, current.ids.length * 2L);
+            current = new Table(Arrays.copyOf(current.ids, capacity), Arrays.copyOf(current.lengths, capacity),
+                    Arrays.copyOf(current.deleted, (capacity + 63) / 64));
+            table = current;
+        }
+        var document = next++;
+        current.ids[document] = id;
+        current.lengths[document] = length;
+        ids.put(id, document);
+        live++;
+        totalLength += length;
+        return document;
+    }
+
+    /**
+     * Marks the live document of the record as deleted and returns its number, or -1 if the record has none.
+     */
+    int delete(String id) {
+        var document = ids.remove(id, this);
+        if (document < 0) {
+            return -1;
+        }
+        var current = table;
+        current.deleted[document >>> 6] |= 1L << document;
+        current.ids[document] = null;
+        live--;
+        totalLength -= current.lengths[document];
+        return document;
+    }
+
+    /**
+     * Copies the live documents into new documents, numbered in the same order from 0. The given array, as long as
+     * {@link #numbered()}, receives the new number of every document, or -1 for a deleted one.
+     */
+    Documents compact(int[] numbers) {
+        var compacted = new Documents();
+        var current = table;
+        for (var document = 0; document < next; document++) {
+            numbers[document] = isDeleted(document) ? -1 : compacted.add(current.ids[document], current.lengths[document]);
+        }
+        return compacted;
+    }
+
+    boolean isDeleted(int document) {
+        return (table.deleted[document >>> 6] & 1L << document) != 0;
+    }
+
+    int length(int document) {
+        return table.lengths[document];
+    }
+
+    /**
+     * Returns the ID of the record of the document, or null if it has been deleted.
+     */
+    @Nullable String id(int document) {
+        return table.ids[document];
+    }
+
+    long live() {
+        return live;
+    }
+
+    /**
+     * Number of documents numbered so far, live and deleted.
+     */
+    int numbered() {
+        return next;
+    }
+
+    double averageLength() {
+        var count = live;
+        return count == 0 ? 1 : Math.max(1, (double) totalLength / count);
+    }
+
+    private record Table(String[] ids, int[] lengths, long[] deleted) {
+    }
+
+    /**
+     * Open-addressing hash table from record ID to the number of its live document, with linear probing. The IDs are
+     * not held by the table but looked up in the documents, so an entry takes two ints.
+     */
+    private static final class IdTable {
+
+        private static final int EMPTY = -1;
+
+        private int[] documents = filled(16);
+        private int[] hashes = new int[16];
+        private int size;
+
+        void put(String id, int document) {
+            if ((size + 1) * 4L > documents.length * 3L) {
+                resize(documents.length * 2);
+            }
+            var hash = hash(id);
+            var mask = documents.length - 1;
+            var slot = hash & mask;
+            while (documents[slot] != EMPTY) {
+                slot = (slot + 1) & mask;
+            }
+            documents[slot] = document;
+            hashes[slot] = hash;
+            size++;
+        }
+
+        int remove(String id, Documents owner) {
+            var hash = hash(id);
+            var mask = documents.length - 1;
+            var free = hash & mask;
+            while (documents[free] != EMPTY && (hashes[free] != hash || !id.equals(owner.id(documents[free])))) {
+                free = (free + 1) & mask;
+            }
+            var document = documents[free];
+            if (document == EMPTY) {
+                return EMPTY;
+            }
+            documents[free] = EMPTY;
+            size--;
+            // move back every following entry whose probe sequence passes the freed slot
+            for (var slot = (free + 1) & mask; documents[slot] != EMPTY; slot = (slot + 1) & mask) {
+                var home = hashes[slot] & mask;
+                if (((slot - home) & mask) >= ((slot - free) & mask)) {
+                    documents[free] = documents[slot];
+                    hashes[free] = hashes[slot];
+                    documents[slot] = EMPTY;
+                    free = slot;
+                }
+            }
+            return document;
+        }
+
+        private void resize(int capacity) {
+            var oldDocuments = documents;
+            var oldHashes = hashes;
+            documents = filled(capacity);
+            hashes = new int[capacity];
+            var mask = capacity - 1;
+            for (var i = 0; i < oldDocuments.length; i++) {
+                if (oldDocuments[i] != EMPTY) {
+                    var slot = oldHashes[i] & mask;
+                    while (documents[slot] != EMPTY) {
+                        slot = (slot + 1) & mask;
+                    }
+                    documents[slot] = oldDocuments[i];
+                    hashes[slot] = oldHashes[i];
+                }
+            }
+        }
+
+        private static int hash(String id) {
+            var hash = id.hashCode() * 0x9E3779B9;
+            return hash ^ (hash >>> 16);
+        }
+
+        private static int[] filled(int capacity) {
+            var array = new int[capacity];
+            Arrays.fill(array, EMPTY);
+            return array;
+        }
+    }
+}
@@ -0,0 +1,184 @@
+/*
+ *  Copyright (c) 2024 Bayerische Motoren Werke Aktiengesellschaft (BMW AG)
+ *
+ *  This program and the accompanying materials are made available under the
+ *  terms of the Apache License, Version 2.0 which is available at
+ *  https://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  SPDX-License-Identifier: Apache-2.0
+ *
+ *  Contributors:
+ *       Bayerische Motoren Werke Aktiengesellschaft (BMW AG) - initial API and implementation
+ *
+ */
+
+package org.eclipse.tractusx.mxd.dataservice.search;
+
+import java.util.Arrays;
+
+/**
+ * The documents that contain a term, in ascending document order, each with the number of times it contains the term.
+ * Documents are numbered in the order they were indexed, so appending keeps the list sorted.
+ * <p>
+ * For every block of {@link #BLOCK_SIZE} postings, the highest term frequency and the shortest document length are
+ * kept. From these, a search computes an upper bound of the score of any posting in the block and skips blocks that
+ * cannot make it into the results.
+ * <p>
+ * Appends are made by a single writer at a time. Each append publishes a new {@link Snapshot}, which searches read
+ * without locking. The arrays of a snapshot are only written beyond its size, apart from the statistics of its last
+ * block, which can only become looser. Postings of deleted documents are dropped when the arrays are copied to grow,
+ * and when the index is compacted.
+ */
+final class PostingList {
+
+    static final int BLOCK_SIZE = 128;
+    static final int BLOCK_SHIFT = 7;
+    static final int MAX_FREQUENCY = 255;
+
+    private static final Snapshot EMPTY = new Snapshot(new int[0], new byte[0], null, null, 0, 0, Integer.MAX_VALUE);
+
+    private volatile Snapshot snapshot = EMPTY;
+
+    Snapshot snapshot() {
+        return snapshot;
+    }
+
+    /**
+     * Appends a posting for a document numbered higher than all documents in the list.
+     */
+    void append(int document, int frequency, int length, Documents documents) {
+        var current = snapshot;
+        if (current.size == current.documents.length) {
+            current = grow(current, documents);
+        }
+        var index = current.size;
+        var clamped = Math.min(frequency, MAX_FREQUENCY);
+        current.documents[index] = document;
+        current.frequencies[index] = (byte) clamped;
+        if (current.blockMaxFrequencies != null) {
+            var block = index >>> BLOCK_SHIFT;
+            if (index % BLOCK_SIZE == 0 || clamped > (current.blockMaxFrequencies[block] & 0xFF)) {
+                current.blockMaxFrequencies[block] = (byte) clamped;
+            }
+            if (index % BLOCK_SIZE == 0 || length < current.blockMinLengths[block]) {
+                current.blockMinLengths[block] = length;
+            }
+        }
+        snapshot = new Snapshot(current.documents, current.frequencies, current.blockMaxFrequencies, current.blockMinLengths, index + 1,
+                Math.max(current.maxFrequency, clamped), Math.min(current.minLength, length));
+    }
+
+    /**
+     * Returns a new list with the postings of the live documents, numbered as given by {@link Documents#compact(int[])},
+     * or null if all documents of this list have been deleted.
+     */
+    PostingList compact(int[] numbers, Documents compacted) {
+        var current = snapshot;
+        var list = new PostingList();
+        for (var i = 0; i < current.size; i++) {
+            var document = numbers[current.documents[i]];
+            if (document >= 0) {
+                list.append(document, current.frequency(i), compacted.length(document), compacted);
+            }
+        }
+        return list.snapshot.size == 0 ? null : list;
+    }
+
+    /**
+     * Copies the live postings into arrays with room for as many again, and recomputes the block statistics.
+     */
+    private static Snapshot grow(Snapshot current, Documents documents) {
+        var live = 0;
+        for (var i = 0; i < current.size; i++) {
+            if (!documents.isDeleted(current.documents[i])) {
+                live++;
+            }
+        }
+        var capacity = Math.max(2, live * 2);
+        var docs = new int[capacity];
+        var frequencies = new byte[capacity];
+        byte[] blockMaxFrequencies = null;
+        int[] blockMinLengths = null;
+        if (capacity > BLOCK_SIZE) {
+            var blocks = (capacity + BLOCK_SIZE - 1) >>> BLOCK_SHIFT;
+            blockMaxFrequencies = new byte[blocks];
+            blockMinLengths = new int[blocks];
+            Arrays.fill(blockMinLengths, Integer.MAX_VALUE);
+        }
+        var size = 0;
+        var maxFrequency = 0;
+        var minLength = Integer.MAX_VALUE;
+        for (var i = 0; i < current.size; i++) {
+            var document = current.documents[i];
+            if (documents.isDeleted(document)) {
+                continue;
+            }
+            var frequency = current.frequencies[i] & 0xFF;
+            var length = documents.length(document);
+            docs[size] = document;
+            frequencies[size] = current.frequencies[i];
+            if (blockMaxFrequencies != null) {
+                var block = size >>> BLOCK_SHIFT;
+                blockMaxFrequencies[block] = (byte) Math.max(blockMaxFrequencies[block] & 0xFF, frequency);
+                blockMinLengths[block] = Math.min(blockMinLengths[block], length);
+            }
+            maxFrequency = Math.max(maxFrequency, frequency);
+            minLength = Math.min(minLength, length);
+            size++;
+        }
+        return new Snapshot(docs, frequencies, blockMaxFrequencies, blockMinLengths, size, maxFrequency, minLength);
+    }
+
+    /**
+     * The postings as of one append. The list-wide maximum frequency and minimum length bound the score of every
+     * posting, the block arrays, which only lists longer than a block have, bound those of each block.
+     */
+    record Snapshot(int[] documents, byte[] frequencies, byte[] blockMaxFrequencies, int[] blockMinLengths, int size,
+                    int maxFrequency, int minLength) {
+
+        int frequency(int index) {
+            return frequencies[index] & 0xFF;
+        }
+
+        boolean hasBlocks() {
+            return blockMaxFrequencies != null;
+        }
+
+        int blockMaxFrequency(int block) {
+            return blockMaxFrequencies[block] & 0xFF;
+        }
+
+        int blockMinLength(int block) {
+            return blockMinLengths[block];
+        }
+
+        /**
+         * Returns the index of the first posting at or after {@code from} whose document is at least the given one, or
+         * the size if there is none. Gallops ahead before searching binary, as the next match is usually close.
+         */
+        int advance(int from, int document) {
+            if (from >= size || documents[from] >= document) {
+                return from;
+            }
+            var low = from;
+            var step = 1;
+            var high = from + step;
+            while (high < size && documents[high] < document) {
+                low = high;
+                step <<= 1;
+                high = from + step;
+            }
+            high = Math.min(high, size);
+            // documents[low] < document, and documents[high] >= document unless high is the size
+            while (low + 1 < high) {
+                var middle = (low + high) >>> 1;
+                if (documents[middle] < document) {
+                    low = middle;
+                } else {
+                    high = middle;
+                }
+            }
+            return high;
+        }
+    }
+}
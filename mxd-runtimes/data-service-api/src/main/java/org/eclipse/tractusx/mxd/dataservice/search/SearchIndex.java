@@ -0,0 +1,300 @@
+/*
+ *  Copyright (c) 2024 Bayerische Motoren Werke Aktiengesellschaft (BMW AG)
+ *
+ *  This program and the accompanying materials are made available under the
+ *  terms of the Apache License, Version 2.0 which is available at
+ *  https://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  SPDX-License-Identifier: Apache-2.0
+ *
+ *  Contributors:
+ *       Bayerische Motoren Werke Aktiengesellschaft (BMW AG) - initial API and implementation
+ *
+ */
+
+package org.eclipse.tractusx.mxd.dataservice.search;
+
+import org.eclipse.edc.spi.query.QuerySpec;
+import org.eclipse.tractusx.mxd.dataservice.model.DataRecord;
+import org.eclipse.tractusx.mxd.dataservice.store.DataRecordListener;
+import org.eclipse.tractusx.mxd.dataservice.store.DataRecordStore;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Stream;
+
+/**
+ * An in-memory inverted index over the terms of the name and description of {@link DataRecord}s, kept up to date as a
+ * listener of the store. Searches return the records that contain all terms of the query, ranked by BM25, with terms
+ * in the name counting twice.
+ * <p>
+ * Writes are applied one at a time, searches run concurrently with them and with each other without locking. A search
+ * walks the shortest posting list of its terms, looks up each of its documents in the other lists, and skips the
+ * blocks of postings whose best possible score cannot beat the lowest of the results found so far.
+ * <p>
+ * An update or delete leaves a deleted document behind. Once there are more deleted documents than live ones, the
+ * writer compacts the index: it copies the live documents and their postings into new posting lists, drops the terms
+ * no live document contains, and publishes the result at once. A search keeps using the contents it started with.
+ * The index therefore stays within about twice the size of the live records, however many writes there have been.
+ */
+public class SearchIndex implements DataRecordListener {
+
+    private static final double K1 = 1.2;
+    private static final double B = 0.75;
+    private static final int NAME_WEIGHT = 2;
+    private static final int MAX_QUERY_TERMS = 16;
+    private static final int MIN_COMPACTION = 1024;
+
+    private volatile Contents contents = new Contents(new ConcurrentHashMap<>(), new Documents());
+
+    /**
+     * Adds records that were stored before the index was registered as a listener.
+     *
+     * @return the number of records added
+     */
+    public long index(Stream<DataRecord> dataRecords) {
+        try (dataRecords) {
+            return dataRecords.mapToLong(dataRecord -> {
+                add(dataRecord, terms(dataRecord));
+                return 1;
+            }).sum();
+        }
+    }
+
+    @Override
+    public void initialized(DataRecordStore store) {
+        index(store.findAll(QuerySpec.max()));
+    }
+
+    @Override
+    public void created(DataRecord dataRecord, long version) {
+        add(dataRecord, terms(dataRecord));
+    }
+
+    @Override
+    public void updated(DataRecord dataRecord, long version) {
+        add(dataRecord, terms(dataRecord));
+    }
+
+    @Override
+    public synchronized void deleted(DataRecord dataRecord) {
+        contents.documents().delete(dataRecord.id());
+        compactIfMostlyDeleted();
+    }
+
+    /**
+     * Returns the IDs of the records with the highest scores that contain all terms of the query, best first, records
+     * with equal scores in the order they were written.
+     */
+    public List<SearchHit> search(String query, int limit) {
+        var terms = new LinkedHashSet<String>();
+        Tokenizer.tokenize(query, term -> {
+            if (terms.size() < MAX_QUERY_TERMS) {
+                terms.add(term);
+            }
+        });
+        if (terms.isEmpty() || limit <= 0) {
+            return List.of();
+        }
+        var current = contents;
+        var lists = new ArrayList<PostingList.Snapshot>(terms.size());
+        for (var term : terms) {
+            var list = current.postings().get(term);
+            var snapshot = list == null ? null : list.snapshot();
+            if (snapshot == null || snapshot.size() == 0) {
+                return List.of();
+            }
+            lists.add(snapshot);
+        }
+        lists.sort(Comparator.comparingInt(PostingList.Snapshot::size));
+        return new Search(lists, limit, current.documents()).run();
+    }
+
+    /**
+     * Number of records in the index.
+     */
+    public long size() {
+        return contents.documents().live();
+    }
+
+    /**
+     * Number of distinct terms in the index, including those only deleted records contained until the next compaction.
+     */
+    public long terms() {
+        return contents.postings().size();
+    }
+
+    /**
+     * Adds a new document for the record, replacing the one of its previous state if there is one.
+     */
+    private synchronized void add(DataRecord dataRecord, Map<String, Integer> terms) {
+        contents.documents().delete(dataRecord.id());
+        compactIfMostlyDeleted();
+        var current = contents;
+        var length = terms.values().stream().mapToInt(Integer::intValue).sum();
+        var document = current.documents().add(dataRecord.id(), length);
+        terms.forEach((term, frequency) -> current.postings().computeIfAbsent(term, t -> new PostingList())
+                .append(document, frequency, length, current.documents()));
+    }
+
+    /**
+     * Replaces the contents by a compacted copy once more than half of the documents have been deleted. Amortized over
+     * the writes that deleted them, this costs a constant time per write.
+     */
+    private void compactIfMostlyDeleted() {
+        var current = contents;
+        var documents = current.documents();
+        var deleted = documents.numbered() - documents.live();
+        if (deleted < MIN_COMPACTION || deleted <= documents.live()) {
+            return;
+        }
+        var numbers = new int[documents.numbered()];
+        var compacted = documents.compact(numbers);
+        var postings = new ConcurrentHashMap<String, PostingList>();
+        current.postings().forEach((term, list) -> {
+            var compactedList = list.compact(numbers, compacted);
+            if (compactedList != null) {
+                postings.put(term, compactedList);
+            }
+        });
+        contents = new Contents(postings, compacted);
+    }
+
+    /**
+     * Counts the terms of the record, done before taking the lock.
+     */
+    private static Map<String, Integer> terms(DataRecord dataRecord) {
+        var terms = new HashMap<String, Integer>();
+        Tokenizer.tokenize(dataRecord.name(), term -> terms.merge(term, NAME_WEIGHT, Integer::sum));
+        Tokenizer.tokenize(dataRecord.description(), term -> terms.merge(term, 1, Integer::sum));
+        return terms;
+    }
+
+    /**
+     * A single search over posting lists ordered from shortest to longest.
+     */
+    private final class Search {
+
+        private final List<PostingList.Snapshot> lists;
+        private final int limit;
+        private final double[] idfs;
+        private final double averageLength;
+        private final PriorityQueue<Hit> results;
+        private final Documents documents;
+
+        private Search(List<PostingList.Snapshot> lists, int limit, Documents documents) {
+            this.lists = lists;
+            this.limit = limit;
+            this.documents = documents;
+            this.averageLength = documents.averageLength();
+            var count = Math.max(documents.live(), 1);
+            // postings of deleted documents still count until they are dropped, which must not make the IDF negative
+            idfs = lists.stream().mapToLong(list -> Math.min(list.size(), count))
+                    .mapToDouble(frequency -> Math.log(1 + (count - frequency + 0.5) / (frequency + 0.5)))
+                    .toArray();
+            // the weakest result at the head
+            results = new PriorityQueue<>(limit + 1, Comparator.comparingDouble(Hit::score).thenComparing(Hit::document, Comparator.reverseOrder()));
+        }
+
+        List<SearchHit> run() {
+            var driver = lists.get(0);
+            var others = lists.size() - 1;
+            var cursors = new int[others];
+            var othersBound = 0.0;
+            for (var j = 1; j < lists.size(); j++) {
+                othersBound += score(idfs[j], lists.get(j).maxFrequency(), lists.get(j).minLength());
+            }
+            var bound = score(idfs[0], driver.maxFrequency(), driver.minLength()) + othersBound;
+
+            var index = 0;
+            candidates:
+            while (index < driver.size()) {
+                if (driver.hasBlocks() && (index & (PostingList.BLOCK_SIZE - 1)) == 0 && results.size() == limit) {
+                    var block = index >>> PostingList.BLOCK_SHIFT;
+                    var blockLength = driver.blockMinLength(block);
+                    var blockBound = score(idfs[0], driver.blockMaxFrequency(block), blockLength) + othersBound(blockLength);
+                    if (blockBound <= results.peek().score()) {
+                        index += PostingList.BLOCK_SIZE;
+                        continue;
+                    }
+                }
+                var document = driver.documents()[index];
+                var frequency = driver.frequency(index);
+                index++;
+                if (documents.isDeleted(document)) {
+                    continue;
+                }
+                var length = documents.length(document);
+                var score = score(idfs[0], frequency, length);
+                if (results.size() == limit && score + othersBound(length) <= results.peek().score()) {
+                    continue;
+                }
+                for (var j = 0; j < others; j++) {
+                    var list = lists.get(j + 1);
+                    var cursor = list.advance(cursors[j], document);
+                    cursors[j] = cursor;
+                    if (cursor == list.size()) {
+                        // no later document of the driver can be in this list either
+                        break candidates;
+                    }
+                    if (list.documents()[cursor] != document) {
+                        continue candidates;
+                    }
+                    score += score(idfs[j + 1], list.frequency(cursor), length);
+                }
+                results.add(new Hit(document, score));
+                if (results.size() > limit) {
+                    results.poll();
+                }
+                if (results.size() == limit && bound <= results.peek().score()) {
+                    // not even the best possible posting of the rest could make it into the results
+                    break;
+                }
+            }
+
+            var hits = new ArrayList<SearchHit>(results.size());
+            while (!results.isEmpty()) {
+                var hit = results.poll();
+                var id = documents.id(hit.document());
+                if (id != null) {
+                    hits.add(new SearchHit(id, hit.score()));
+                }
+            }
+            Collections.reverse(hits);
+            return hits;
+        }
+
+        /**
+         * The best score the terms other than the driver's could add to a document of at least the given length. A
+         * document is as long in every list, so this is far tighter than their best scores, which are those of their
+         * shortest document.
+         */
+        private double othersBound(int length) {
+            var bound = 0.0;
+            for (var j = 1; j < lists.size(); j++) {
+                bound += score(idfs[j], lists.get(j).maxFrequency(), length);
+            }
+            return bound;
+        }
+
+        private double score(double idf, int frequency, int length) {
+            return idf * frequency * (K1 + 1) / (frequency + K1 * (1 - B + B * length / averageLength));
+        }
+    }
+
+    private record Hit(int document, double score) {
+    }
+
+    /**
+     * The posting lists by term and the documents they refer to, replaced together by a compaction.
+     */
+    private record Contents(Map<String, PostingList> postings, Documents documents) {
+    }
+}
@@ -0,0 +1,61 @@
+/*
+ *  Copyright (c) 2024 Bayerische Motoren Werke Aktiengesellschaft (BMW AG)
+ *
+ *  This program and the accompanying materials are made available under the
+ *  terms of the Apache License, Version 2.0 which is available at
+ *  https://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  SPDX-License-Identifier: Apache-2.0
+ *
+ *  Contributors:
+ *       Bayerische Motoren Werke Aktiengesellschaft (BMW AG) - initial API and implementation
+ *
+ */
+
+package org.eclipse.tractusx.mxd.dataservice.search;
+
+import org.jetbrains.annotations.Nullable;
+
+import java.util.function.Consumer;
+
+/**
+ * Splits text into the terms of the {@link SearchIndex}: runs of letters and digits, lower-cased. Terms shorter than two
+ * characters are dropped, as they match too many records to be of use, and terms longer than 64 characters are cut.
+ */
+public final class Tokenizer {
+
+    static final int MIN_LENGTH = 2;
+    static final int MAX_LENGTH = 64;
+
+    private Tokenizer() {
+    }
+
+    /**
+     * Passes the terms of the text to the consumer in the order they appear, including repeated ones.
+     */
+    public static void tokenize(@Nullable String text, Consumer<String> terms) {
+        if (text == null) {
+            return;
+        }
+        var term = new StringBuilder(MAX_LENGTH);
+        for (var i = 0; i < text.length(); ) {
+            var codePoint = text.codePointAt(i);
+            i += Character.charCount(codePoint);
+            if (Character.isLetterOrDigit(codePoint)) {
+                if (term.length() < MAX_LENGTH) {
+                    term.appendCodePoint(Character.toLowerCase(codePoint));
+                }
+            } else {
+                emit(term, terms);
+            }
+        }
+        emit(term, terms);
+    }
+
+    private static void emit(StringBuilder term, Consumer<String> terms) {
+        if (term.length() >= MIN_LENGTH) {
+            terms.accept(term.toString());
+        }
+        term.setLength(0);
+    }
+}
@@ -0,0 +1,226 @@
+/*
+ *  Copyright (c) 2024 Bayerische Motoren Werke Aktiengesellschaft (BMW AG)
+ *
+ *  This program and the accompanying materials are made available under the
+ *  terms of the Apache License, Version 2.0 which is available at
+ *  https://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  SPDX-License-Identifier: Apache-2.0
+ *
+ *  Contributors:
+ *       Bayerische Motoren Werke Aktiengesellschaft (BMW AG) - initial API and implementation
+ *
+ */
+
+package org.eclipse.tractusx.mxd.dataservice.sink;
+
+import org.eclipse.edc.spi.EdcException;
+import org.eclipse.tractusx.mxd.dataservice.model.TransferStats;
+import org.eclipse.tractusx.mxd.dataservice.payload.BufferPool;
+import org.jetbrains.annotations.Nullable;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.FileAlreadyExistsException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.HexFormat;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.zip.CRC32C;
+
+import static java.nio.file.StandardOpenOption.CREATE_NEW;
+import static java.nio.file.StandardOpenOption.WRITE;
+
+/**
+ * A destination for pushed transfers that receives request bodies of any size through pooled buffers, and either
+ * discards them or writes them to a file per request. It keeps statistics per transfer ID, for the most recent
+ * {@code maxTransfers} transfers. The files of transfers that are forgotten that way are kept, a later transfer with
+ * the same ID numbers its files after them.
+ */
+public class TransferSink {
+
+    private final Path directory;
+    private final BufferPool buffers;
+    private final Map<String, Transfer> transfers;
+
+    public TransferSink(Path directory, BufferPool buffers, int maxTransfers) {
+        this.directory = directory;
+        this.buffers = buffers;
+        this.transfers = new LinkedHashMap<>() {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, Transfer> eldest) {
+                return size() > maxTransfers;
+            }
+        };
+    }
+
+    /**
+     * Reads the body to its end and counts it towards the transfer.
+     *
+     * @param persist  whether the body is written to a file instead of being discarded
+     * @param checksum whether the CRC32C of the body is computed
+     * @return the statistics of the transfer including this request
+     */
+    public TransferStats receive(String transferId, InputStream body, boolean persist, boolean checksum) throws IOException {
+        var transfer = transfer(transferId);
+        transfer.started();
+        var crc = checksum ? new CRC32C() : null;
+        var buffer = buffers.acquire();
+        try (body; var file = persist ? open(transfer) : null) {
+            var array = buffer.array();
+            var end = false;
+            while (!end) {
+                // fills the buffer before handing it on, the stream reads at most a few kilobytes at a time
+                var length = 0;
+                while (length < array.length && !end) {
+                    var read = body.read(array, length, array.length - length);
+                    end = read < 0;
+                    length += Math.max(read, 0);
+                }
+                transfer.received(length);
+                if (crc != null) {
+                    crc.update(array, 0, length);
+                }
+                buffer.clear().limit(length);
+                while (file != null && buffer.hasRemaining()) {
+                    file.write(buffer);
+                }
+            }
+        } finally {
+            buffers.release(buffer);
+            transfer.finished(crc);
+        }
+        return transfer.stats();
+    }
+
+    public @Nullable TransferStats stats(String transferId) {
+        Transfer transfer;
+        synchronized (transfers) {
+            transfer = transfers.get(transferId);
+        }
+        return transfer == null ? null : transfer.stats();
+    }
+
+    /**
+     * The statistics of all transfers, oldest first.
+     */
+    public List<TransferStats> stats() {
+        List<Transfer> all;
+        synchronized (transfers) {
+            all = new ArrayList<>(transfers.values());
+        }
+        return all.stream().map(Transfer::stats).toList();
+    }
+
+    /**
+     * Forgets the transfer and deletes the files its requests were written to, including those kept from earlier
+     * transfers with the same ID. Returns false if it is unknown.
+     */
+    public boolean remove(String transferId) throws IOException {
+        Transfer transfer;
+        synchronized (transfers) {
+            transfer = transfers.remove(transferId);
+        }
+        if (transfer == null) {
+            return false;
+        }
+        for (var file = transfer.lastFile(); file > 0; file--) {
+            Files.deleteIfExists(path(transferId, file));
+        }
+        return true;
+    }
+
+    private Transfer transfer(String transferId) {
+        synchronized (transfers) {
+            return transfers.computeIfAbsent(transferId, Transfer::new);
+        }
+    }
+
+    /**
+     * Creates the next file of the transfer. Files are never overwritten, the numbers of files that already exist, kept
+     * from an earlier transfer with the same ID or an earlier run, are skipped.
+     */
+    private FileChannel open(Transfer transfer) throws IOException {
+        Files.createDirectories(directory);
+        while (true) {
+            try {
+                return FileChannel.open(path(transfer.transferId, transfer.nextFile()), CREATE_NEW, WRITE);
+            } catch (FileAlreadyExistsException e) {
+                // taken, try the next number
+            }
+        }
+    }
+
+    /**
+     * Named after the SHA-256 of the transfer ID, so that any ID makes a valid file name.
+     */
+    private Path path(String transferId, long file) {
+        try {
+            var digest = MessageDigest.getInstance("SHA-256").digest(transferId.getBytes(StandardCharsets.UTF_8));
+            return directory.resolve(HexFormat.of().formatHex(digest) + "-" + file + ".bin");
+        } catch (NoSuchAlgorithmException e) {
+            throw new EdcException(e);
+        }
+    }
+
+    private static final class Transfer {
+        private final String transferId;
+        // updated for every buffer, so that the progress of a running request can be followed
+        private final AtomicLong bytes = new AtomicLong();
+        private long requests;
+        private long files;
+        private long active;
+        private long startedAt;
+        private long startNanos;
+        private long endNanos;
+        private String crc32c;
+
+        private Transfer(String transferId) {
+            this.transferId = transferId;
+        }
+
+        synchronized void started() {
+            if (requests == 0) {
+                startedAt = System.currentTimeMillis();
+                startNanos = System.nanoTime();
+            }
+            active++;
+            requests++;
+        }
+
+        synchronized long nextFile() {
+            return ++files;
+        }
+
+        synchronized long lastFile() {
+            return files;
+        }
+
+        void received(int count) {
+            bytes.addAndGet(count);
+        }
+
+        synchronized void finished(@Nullable CRC32C crc) {
+            active--;
+            endNanos = Math.max(endNanos, System.nanoTime());
+            if (crc != null) {
+                crc32c = "%08x".formatted(crc.getValue());
+            }
+        }
+
+        synchronized TransferStats stats() {
+            var end = active > 0 ? System.nanoTime() : endNanos;
+            var seconds = (end - startNanos) / 1e9;
+            var received = bytes.get();
+            return new TransferStats(transferId, requests, active, received, startedAt, seconds, seconds > 0 ? received / seconds : 0, crc32c);
+        }
+    }
+}
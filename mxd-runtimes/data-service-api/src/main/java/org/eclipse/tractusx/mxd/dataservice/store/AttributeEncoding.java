@@ -0,0 +1,165 @@
+/*
+ *  Copyright (c) 2024 Bayerische Motoren Werke Aktiengesellschaft (BMW AG)
+ *
+ *  This program and the accompanying materials are made available under the
+ *  terms of the Apache License, Version 2.0 which is available at
+ *  https://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  SPDX-License-Identifier: Apache-2.0
+ *
+ *  Contributors:
+ *       Bayerische Motoren Werke Aktiengesellschaft (BMW AG) - initial API and implementation
+ *
+ */
+
+package org.eclipse.tractusx.mxd.dataservice.store;
+
+import org.jetbrains.annotations.Nullable;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * The binary encoding of the attributes of a {@link org.eclipse.tractusx.mxd.dataservice.model.DataRecord}, shared by
+ * the stores that write records as bytes.
+ * <p>
+ * Encoded as {@code count:int} followed by {@code name | type:byte | value} per attribute, where a string, names
+ * included, is {@code byteLength:int | utf8 bytes}, a long or the bits of a double are 8 bytes and a boolean is 1 byte.
+ * A count of -1 stands for a record without attributes.
+ */
+public final class AttributeEncoding {
+
+    private static final byte STRING = 1;
+    private static final byte LONG = 2;
+    private static final byte DOUBLE = 3;
+    private static final byte BOOLEAN = 4;
+
+    private AttributeEncoding() {
+    }
+
+    /**
+     * The number of bytes {@link #encode(Map, ByteBuffer)} writes for the attributes.
+     */
+    public static int encodedSize(@Nullable Map<String, Object> attributes) {
+        var size = Integer.BYTES;
+        if (attributes != null) {
+            for (var attribute : attributes.entrySet()) {
+                size += Integer.BYTES + utf8Length(attribute.getKey()) + 1 + switch (type(attribute.getValue())) {
+                    case STRING -> Integer.BYTES + utf8Length((String) attribute.getValue());
+                    case BOOLEAN -> 1;
+                    default -> Long.BYTES;
+                };
+            }
+        }
+        return size;
+    }
+
+    public static void encode(@Nullable Map<String, Object> attributes, ByteBuffer target) {
+        if (attributes == null) {
+            target.putInt(-1);
+            return;
+        }
+        target.putInt(attributes.size());
+        attributes.forEach((name, value) -> {
+            putString(target, name);
+            var type = type(value);
+            target.put(type);
+            switch (type) {
+                case STRING -> putString(target, (String) value);
+                case LONG -> target.putLong((Long) value);
+                case DOUBLE -> target.putDouble((Double) value);
+                default -> target.put((byte) ((Boolean) value ? 1 : 0));
+            }
+        });
+    }
+
+    /**
+     * Returns the encoded attributes, or null if there are none.
+     */
+    public static @Nullable byte[] encode(@Nullable Map<String, Object> attributes) {
+        if (attributes == null) {
+            return null;
+        }
+        var buffer = ByteBuffer.allocate(encodedSize(attributes));
+        encode(attributes, buffer);
+        return buffer.array();
+    }
+
+    /**
+     * Decodes the attributes at the buffer's position and advances past them.
+     */
+    public static @Nullable Map<String, Object> decode(ByteBuffer source) {
+        var count = source.getInt();
+        if (count < 0) {
+            return null;
+        }
+        var attributes = new LinkedHashMap<String, Object>(Math.max(4, count * 2));
+        for (var i = 0; i < count; i++) {
+            var name = getString(source);
+            var type = source.get();
+            attributes.put(name, switch (type) {
+                case STRING -> getString(source);
+                case LONG -> source.getLong();
+                case DOUBLE -> source.getDouble();
+                case BOOLEAN -> source.get() != 0;
+                default -> throw new IllegalArgumentException("Unknown attribute type " + type);
+            });
+        }
+        return attributes;
+    }
+
+    /**
+     * Decodes attributes written by {@link #encode(Map)}, the inverse of it.
+     */
+    public static @Nullable Map<String, Object> decode(@Nullable byte[] encoded) {
+        return encoded == null ? null : decode(ByteBuffer.wrap(encoded));
+    }
+
+    private static byte type(Object value) {
+        if (value instanceof String) {
+            return STRING;
+        }
+        if (value instanceof Long) {
+            return LONG;
+        }
+        if (value instanceof Double) {
+            return DOUBLE;
+        }
+        if (value instanceof Boolean) {
+            return BOOLEAN;
+        }
+        throw new IllegalArgumentException("Unsupported attribute value " + value);
+    }
+
+    private static void putString(ByteBuffer target, String value) {
+        var bytes = value.getBytes(StandardCharsets.UTF_8);
+        target.putInt(bytes.length);
+        target.put(bytes);
+    }
+
+    private static String getString(ByteBuffer source) {
+        var bytes = new byte[source.getInt()];
+        source.get(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    private static int utf8Length(String value) {
+        var length = 0;
+        for (var i = 0; i < value.length(); i++) {
+            var c = value.charAt(i);
+            if (c < 0x80) {
+                length++;
+            } else if (c < 0x800) {
+                length += 2;
+            } else if (Character.isHighSurrogate(c) && i + 1 < value.length() && Character.isLowSurrogate(value.charAt(i + 1))) {
+                length += 4;
+                i++;
+            } else {
+                length += 3;
+            }
+        }
+        return length;
+    }
+}
@@ -0,0 +1,414 @@
+/*
+ *  Copyright (c) 2024 Bayerische Motoren Werke Aktiengesellschaft (BMW AG)
+ *
+ *  This program and the accompanying materials are made available under the
+ *  terms of the Apache License, Version 2.0 which is available at
+ *  https://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  SPDX-License-Identifier: Apache-2.0
+ *
+ *  Contributors:
+ *       Bayerische Motoren Werke Aktiengesellschaft (BMW AG) - initial API and implementation
+ *
+ */
+
+package org.eclipse.tractusx.mxd.dataservice.store;
+
+import org.eclipse.edc.spi.query.Criterion;
+import org.eclipse.edc.spi.query.QuerySpec;
+import org.eclipse.edc.spi.query.SortOrder;
+import org.eclipse.edc.web.spi.exception.InvalidRequestException;
+import org.eclipse.tractusx.mxd.dataservice.model.DataRecord;
+import org.eclipse.tractusx.mxd.dataservice.model.VersionedDataRecord;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.NavigableSet;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentNavigableMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.ConcurrentSkipListSet;
+import java.util.function.Function;
+import java.util.function.Predicate;
+import java.util.regex.Pattern;
+import java.util.stream.Stream;
+
+/**
+ * Secondary indexes over the {@link DataRecord}s of an id-ordered primary map, used to answer {@link QuerySpec}s
+ * without scanning the whole map. Equality lookups on {@code name} go through a hash index, sorting and range or prefix
+ * filters on {@code name} through an ordered index, and the same operations on {@code id} through the primary map itself.
+ * Records without a name are kept apart and sort after all names, as a null sorts after all values in every query.
+ * <p>
+ * The indexes are updated after the primary map, so every record they yield is re-checked against all criteria. An
+ * update of the indexes removes the record's previous value and then indexes the value the map holds at that moment,
+ * under the lock of the indexes. Concurrent writes of a record may thus reach the indexes in any order, the last of
+ * them leaves the record indexed by its current value.
+ */
+public class DataRecordIndex {
+
+    private static final Map<String, Function<DataRecord, String>> FIELDS = Map.of(
+            "id", DataRecord::id,
+            "name", DataRecord::name,
+            "description", DataRecord::description);
+
+    private final ConcurrentNavigableMap<String, VersionedDataRecord> database;
+    private final Map<String, NavigableSet<String>> idsByName = new ConcurrentHashMap<>();
+    private final ConcurrentNavigableMap<String, NavigableSet<String>> idsByNameInOrder = new ConcurrentSkipListMap<>();
+    private final NavigableSet<String> idsWithoutName = new ConcurrentSkipListSet<>();
+
+    public DataRecordIndex(ConcurrentNavigableMap<String, VersionedDataRecord> database) {
+        this.database = database;
+        // nothing else sees the indexes yet, so they can be filled in parallel without the lock
+        database.values().parallelStream()
+                .map(VersionedDataRecord::dataRecord)
+                .forEach(dataRecord -> {
+                    if (dataRecord.name() == null) {
+                        idsWithoutName.add(dataRecord.id());
+                    } else {
+                        idsByName.computeIfAbsent(dataRecord.name(), name -> new ConcurrentSkipListSet<>()).add(dataRecord.id());
+                    }
+                });
+        idsByNameInOrder.putAll(idsByName);
+    }
+
+    /**
+     * Indexes a record that has been put into the map.
+     */
+    public void add(DataRecord dataRecord) {
+        update(dataRecord.id(), null);
+    }
+
+    /**
+     * Drops a record that has been removed from the map.
+     */
+    public void remove(DataRecord dataRecord) {
+        update(dataRecord.id(), dataRecord);
+    }
+
+    /**
+     * Re-indexes a record whose value in the map has been replaced.
+     */
+    public void replace(@Nullable DataRecord previous, DataRecord current) {
+        update(current.id(), previous);
+    }
+
+    private synchronized void update(String id, @Nullable DataRecord previous) {
+        if (previous != null) {
+            unindex(id, previous.name());
+        }
+        var current = database.get(id);
+        if (current != null) {
+            index(id, current.dataRecord().name());
+        }
+    }
+
+    private void index(String id, @Nullable String name) {
+        if (name == null) {
+            idsWithoutName.add(id);
+            return;
+        }
+        var ids = idsByName.computeIfAbsent(name, n -> new ConcurrentSkipListSet<>());
+        ids.add(id);
+        idsByNameInOrder.putIfAbsent(name, ids);
+    }
+
+    private void unindex(String id, @Nullable String name) {
+        if (name == null) {
+            idsWithoutName.remove(id);
+            return;
+        }
+        var ids = idsByName.get(name);
+        if (ids != null && ids.remove(id) && ids.isEmpty()) {
+            idsByName.remove(name);
+            idsByNameInOrder.remove(name);
+        }
+    }
+
+    /**
+     * Returns the records matching all criteria of the query, sorted and paged as requested.
+     *
+     * @throws InvalidRequestException if the query refers to unknown fields or uses unsupported operators
+     */
+    public Stream<DataRecord> query(QuerySpec querySpec) {
+        var criteria = querySpec.getFilterExpression().stream().map(FieldCriterion::of).toList();
+        var sortField = querySpec.getSortField() == null ? "id" : querySpec.getSortField();
+        var descending = querySpec.getSortOrder() == SortOrder.DESC;
+
+        var lookup = criteria.stream().filter(FieldCriterion::isLookup).findFirst();
+        Stream<DataRecord> candidates;
+        if (lookup.isPresent()) {
+            // a handful of candidates, sorting them is cheaper than walking an ordered index
+            candidates = lookup(lookup.get()).sorted(comparator(querySpec));
+        } else {
+            candidates = scan(sortField, descending, criteria);
+        }
+        return candidates
+                .filter(dataRecord -> criteria.stream().allMatch(criterion -> criterion.test(dataRecord)))
+                .skip(querySpec.getOffset())
+                .limit(querySpec.getLimit());
+    }
+
+    /**
+     * Answers a query from records in ID order alone, for stores that keep no secondary indexes. Criteria on {@code id}
+     * narrow the range that is read, everything else is filtered and, unless sorted by ID, sorted in memory.
+     *
+     * @throws InvalidRequestException if the query refers to unknown fields or uses unsupported operators
+     */
+    public static Stream<DataRecord> query(QuerySpec querySpec, IdOrderedRecords records) {
+        var criteria = querySpec.getFilterExpression().stream().map(FieldCriterion::of).toList();
+        var sortField = querySpec.getSortField() == null ? "id" : querySpec.getSortField();
+        var descending = querySpec.getSortOrder() == SortOrder.DESC;
+        var comparator = comparator(querySpec);
+
+        var lookup = criteria.stream().filter(criterion -> criterion.isLookup() && criterion.field().equals("id")).findFirst();
+        Stream<DataRecord> candidates;
+        if (lookup.isPresent()) {
+            candidates = lookup.get().values().stream().distinct()
+                    .flatMap(id -> records.range(id, true, id, true, false))
+                    .sorted(comparator);
+        } else if (sortField.equals("id")) {
+            var range = new Range();
+            criteria.stream().filter(criterion -> criterion.field().equals("id")).forEach(range::restrict);
+            candidates = range.apply(records, descending);
+        } else {
+            candidates = records.range(null, false, null, false, false).sorted(comparator);
+        }
+        return candidates
+                .filter(dataRecord -> criteria.stream().allMatch(criterion -> criterion.test(dataRecord)))
+                .skip(querySpec.getOffset())
+                .limit(querySpec.getLimit());
+    }
+
+    /**
+     * Returns the order of the results of the query: by the sort field, or the ID if there is none, and records with the
+     * same value by ID. A record without a value sorts after all values, so last in ascending and first in descending
+     * order, as in PostgreSQL.
+     *
+     * @throws InvalidRequestException if the sort field is unknown
+     */
+    public static Comparator<DataRecord> comparator(QuerySpec querySpec) {
+        var sortField = querySpec.getSortField() == null ? "id" : querySpec.getSortField();
+        return comparator(sortField, querySpec.getSortOrder() == SortOrder.DESC);
+    }
+
+    private static Comparator<DataRecord> comparator(String sortField, boolean descending) {
+        Comparator<DataRecord> comparator = Comparator.comparing(accessor(sortField), Comparator.nullsLast(Comparator.naturalOrder()));
+        comparator = comparator.thenComparing(DataRecord::id);
+        return descending ? comparator.reversed() : comparator;
+    }
+
+    private Stream<DataRecord> lookup(FieldCriterion criterion) {
+        var ids = criterion.values().stream();
+        if (criterion.field().equals("name")) {
+            ids = ids.map(idsByName::get).filter(Objects::nonNull).flatMap(Collection::stream);
+        }
+        return ids.distinct().map(this::get).filter(Objects::nonNull);
+    }
+
+    /**
+     * Walks the records in sort order, narrowed to the range that criteria on the sort field allow.
+     */
+    private Stream<DataRecord> scan(String sortField, boolean descending, List<FieldCriterion> criteria) {
+        return switch (sortField) {
+            case "id" -> narrow(database, sortField, criteria, descending).values().stream().map(VersionedDataRecord::dataRecord);
+            case "name" -> {
+                var named = narrow(idsByNameInOrder, sortField, criteria, descending).values().stream()
+                        .flatMap(ids -> descending ? ids.descendingSet().stream() : ids.stream());
+                // only a criterion on the name that a missing name can pass leaves the records without one in question
+                if (criteria.stream().anyMatch(criterion -> criterion.field().equals("name") && !criterion.operator().equals("!="))) {
+                    yield named.map(this::get).filter(Objects::nonNull);
+                }
+                var ids = descending ? Stream.concat(idsWithoutName.descendingSet().stream(), named) : Stream.concat(named, idsWithoutName.stream());
+                yield ids.map(this::get).filter(Objects::nonNull);
+            }
+            default -> database.values().stream().map(VersionedDataRecord::dataRecord).sorted(comparator(sortField, descending));
+        };
+    }
+
+    private DataRecord get(String id) {
+        var versioned = database.get(id);
+        return versioned == null ? null : versioned.dataRecord();
+    }
+
+    private <V> NavigableMap<String, V> narrow(NavigableMap<String, V> index, String field, List<FieldCriterion> criteria, boolean descending) {
+        var range = new Range();
+        criteria.stream().filter(criterion -> criterion.field().equals(field)).forEach(range::restrict);
+        var narrowed = range.apply(index);
+        return descending ? narrowed.descendingMap() : narrowed;
+    }
+
+    /**
+     * Returns the getter of the field with the given name.
+     *
+     * @throws InvalidRequestException if there is no such field
+     */
+    public static Function<DataRecord, String> accessor(String name) {
+        var accessor = FIELDS.get(name);
+        if (accessor == null) {
+            throw new InvalidRequestException("Unknown DataRecord field '%s', must be one of %s".formatted(name, FIELDS.keySet()));
+        }
+        return accessor;
+    }
+
+    /**
+     * The key range of an ordered index that criteria on the indexed field leave open.
+     */
+    private static class Range {
+        private String lower;
+        private boolean lowerInclusive;
+        private String upper;
+        private boolean upperInclusive;
+
+        void restrict(FieldCriterion criterion) {
+            switch (criterion.operator()) {
+                case ">" -> lower(criterion.value(), false);
+                case ">=" -> lower(criterion.value(), true);
+                case "<" -> upper(criterion.value(), false);
+                case "<=" -> upper(criterion.value(), true);
+                case "like" -> {
+                    if (criterion.prefix() != null) {
+                        lower(criterion.prefix(), true);
+                        upper(criterion.prefix() + Character.MAX_VALUE, true);
+                    }
+                }
+                default -> {
+                    // not a range criterion, only applied as a filter
+                }
+            }
+        }
+
+        <V> NavigableMap<String, V> apply(NavigableMap<String, V> index) {
+            if (lower != null && upper != null) {
+                var order = lower.compareTo(upper);
+                if (order > 0 || order == 0 && !(lowerInclusive && upperInclusive)) {
+                    return Collections.emptyNavigableMap();
+                }
+                return index.subMap(lower, lowerInclusive, upper, upperInclusive);
+            }
+            if (lower != null) {
+                return index.tailMap(lower, lowerInclusive);
+            }
+            if (upper != null) {
+                return index.headMap(upper, upperInclusive);
+            }
+            return index;
+        }
+
+        Stream<DataRecord> apply(IdOrderedRecords records, boolean descending) {
+            if (lower != null && upper != null) {
+                var order = lower.compareTo(upper);
+                if (order > 0 || order == 0 && !(lowerInclusive && upperInclusive)) {
+                    return Stream.empty();
+                }
+            }
+            return records.range(lower, lowerInclusive, upper, upperInclusive, descending);
+        }
+
+        private void lower(String value, boolean inclusive) {
+            var order = lower == null ? 1 : value.compareTo(lower);
+            if (order > 0 || order == 0 && !inclusive) {
+                lower = value;
+                lowerInclusive = inclusive;
+            }
+        }
+
+        private void upper(String value, boolean inclusive) {
+            var order = upper == null ? -1 : value.compareTo(upper);
+            if (order < 0 || order == 0 && !inclusive) {
+                upper = value;
+                upperInclusive = inclusive;
+            }
+        }
+    }
+
+    /**
+     * Records in ID order, as a store without secondary indexes provides them.
+     */
+    public interface IdOrderedRecords {
+
+        /**
+         * Returns the records with IDs in the given range, in ascending or descending ID order. A null bound leaves the
+         * range open on that side.
+         */
+        Stream<DataRecord> range(@Nullable String lower, boolean lowerInclusive, @Nullable String upper, boolean upperInclusive, boolean descending);
+    }
+
+    /**
+     * A {@link Criterion} resolved against a {@link DataRecord} field.
+     */
+    private record FieldCriterion(String field, Function<DataRecord, String> accessor, String operator, List<String> values,
+                                  Predicate<String> predicate) {
+
+        static FieldCriterion of(Criterion criterion) {
+            var field = String.valueOf(criterion.getOperandLeft());
+            var accessor = DataRecordIndex.accessor(field);
+            var operator = criterion.getOperator().toLowerCase();
+            var values = criterion.getOperandRight() instanceof Collection<?> collection ?
+                    collection.stream().map(String::valueOf).toList() :
+                    List.of(String.valueOf(criterion.getOperandRight()));
+            // an empty "in" list matches nothing, every other operator compares against a single value
+            if (values.isEmpty() && !operator.equals("in")) {
+                throw new InvalidRequestException("Operator '%s' on field '%s' needs a value".formatted(criterion.getOperator(), field));
+            }
+            var value = values.isEmpty() ? null : values.get(0);
+
+            Predicate<String> predicate = switch (operator) {
+                case "=" -> value::equals;
+                case "!=" -> v -> !value.equals(v);
+                case "in" -> Set.copyOf(values)::contains;
+                case "<" -> v -> v.compareTo(value) < 0;
+                case "<=" -> v -> v.compareTo(value) <= 0;
+                case ">" -> v -> v.compareTo(value) > 0;
+                case ">=" -> v -> v.compareTo(value) >= 0;
+                case "like" -> likePattern(value, 0).asMatchPredicate();
+                case "ilike" -> likePattern(value, Pattern.CASE_INSENSITIVE | Pattern.UNICODE_CASE).asMatchPredicate();
+                default -> throw new InvalidRequestException("Unsupported operator '%s' on field '%s'".formatted(criterion.getOperator(), field));
+            };
+            return new FieldCriterion(field, accessor, operator, values, predicate);
+        }
+
+        /**
+         * The value compared against, only operators other than {@code in} have one.
+         */
+        String value() {
+            return values.get(0);
+        }
+
+        boolean isLookup() {
+            return (field.equals("id") || field.equals("name")) && (operator.equals("=") || operator.equals("in"));
+        }
+
+        /**
+         * The literal prefix of a {@code like} pattern that only has a trailing wildcard, e.g. {@code abc%}.
+         */
+        String prefix() {
+            var pattern = value();
+            var wildcard = pattern.indexOf('%');
+            return wildcard == pattern.length() - 1 && pattern.indexOf('_') < 0 ? pattern.substring(0, wildcard) : null;
+        }
+
+        boolean test(DataRecord dataRecord) {
+            var value = accessor.apply(dataRecord);
+            return value == null ? operator.equals("!=") : predicate.test(value);
+        }
+
+        private static Pattern likePattern(String like, int flags) {
+            var regex = new StringBuilder();
+            for (var token : like.split("(?=[%_])|(?<=[%_])")) {
+                regex.append(switch (token) {
+                    case "%" -> ".*";
+                    case "_" -> ".";
+                    default -> Pattern.quote(token);
+                });
+            }
+            return Pattern.compile(regex.toString(), flags | Pattern.DOTALL);
+        }
+    }
+}
@@ -0,0 +1,41 @@
+/*
+ *  Copyright (c) 2024 Bayerische Motoren Werke Aktiengesellschaft (BMW AG)
+ *
+ *  This program and the accompanying materials are made available under the
+ *  terms of the Apache License, Version 2.0 which is available at
+ *  https://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  SPDX-License-Identifier: Apache-2.0
+ *
+ *  Contributors:
+ *       Bayerische Motoren Werke Aktiengesellschaft (BMW AG) - initial API and implementation
+ *
+ */
+
+package org.eclipse.tractusx.mxd.dataservice.store;
+
+import org.eclipse.tractusx.mxd.dataservice.model.DataRecord;
+
+/**
+ * Gets notified of every successful write to an {@link ObservableDataRecordStore}. Notifications for the same record are
+ * delivered in the order of its writes.
+ */
+public interface DataRecordListener {
+
+    /**
+     * Called once before any write, with the store the observable store reads from once it has been populated. Records
+     * it already holds, e.g. restored, recovered or generated ones, are not written through the observable store, so
+     * listeners that keep a view of all records build it from the store here.
+     */
+    default void initialized(DataRecordStore store) {
+    }
+
+    default void created(DataRecord dataRecord, long version) {
+    }
+
+    default void updated(DataRecord dataRecord, long version) {
+    }
+
+    default void deleted(DataRecord dataRecord) {
+    }
+}
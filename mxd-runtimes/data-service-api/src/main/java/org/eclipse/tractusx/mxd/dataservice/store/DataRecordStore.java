@@ -0,0 +1,100 @@
+/*
+ *  Copyright (c) 2024 Bayerische Motoren Werke Aktiengesellschaft (BMW AG)
+ *
+ *  This program and the accompanying materials are made available under the
+ *  terms of the Apache License, Version 2.0 which is available at
+ *  https://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  SPDX-License-Identifier: Apache-2.0
+ *
+ *  Contributors:
+ *       Bayerische Motoren Werke Aktiengesellschaft (BMW AG) - initial API and implementation
+ *
+ */
+
+package org.eclipse.tractusx.mxd.dataservice.store;
+
+import org.eclipse.edc.spi.query.QuerySpec;
+import org.eclipse.edc.spi.result.StoreResult;
+import org.eclipse.tractusx.mxd.dataservice.model.DataRecord;
+import org.eclipse.tractusx.mxd.dataservice.model.VersionedDataRecord;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.List;
+import java.util.stream.Stream;
+
+/**
+ * Stores the {@link DataRecord}s served by the data service. Every write assigns the record a new version, see
+ * {@link VersionedDataRecord}.
+ */
+public interface DataRecordStore {
+
+    /**
+     * Returns the record with the given ID and its current version, or null if there is none.
+     */
+    @Nullable
+    VersionedDataRecord findById(String id);
+
+    /**
+     * Returns the records matching the query, sorted and paged as requested. Without a sort field, records are
+     * ordered by their ID. The stream holds no resources of the store, it may be consumed later, on another thread, or
+     * not at all without being closed.
+     */
+    Stream<DataRecord> findAll(QuerySpec querySpec);
+
+    /**
+     * Stores a new record and returns its version, fails with {@code ALREADY_EXISTS} if a record with the same ID exists.
+     */
+    StoreResult<Long> create(DataRecord dataRecord);
+
+    /**
+     * Stores a batch of new records, with the same semantics as {@link #create} for each of them. Returns one result per
+     * record, in the order of the given list.
+     */
+    default List<StoreResult<Long>> createAll(List<DataRecord> dataRecords) {
+        return dataRecords.stream().map(this::create).toList();
+    }
+
+    /**
+     * Replaces an existing record and returns its new version, fails with {@code NOT_FOUND} if there is no record with the
+     * same ID.
+     */
+    default StoreResult<Long> update(DataRecord dataRecord) {
+        return update(dataRecord, null);
+    }
+
+    /**
+     * Replaces an existing record if it is still at the expected version and returns its new version. Fails with
+     * {@code NOT_FOUND} if there is no record with the same ID, and with {@code ALREADY_EXISTS} if a different version of
+     * the record exists.
+     *
+     * @param expectedVersion the version the caller based the update on, or null to replace any version
+     */
+    StoreResult<Long> update(DataRecord dataRecord, @Nullable Long expectedVersion);
+
+    /**
+     * Removes a record and returns it, fails with {@code NOT_FOUND} if there is no record with the given ID.
+     */
+    default StoreResult<DataRecord> deleteById(String id) {
+        return deleteById(id, null);
+    }
+
+    /**
+     * Removes a record if it is still at the expected version and returns it. Fails with {@code NOT_FOUND} if there is no
+     * record with the given ID, and with {@code ALREADY_EXISTS} if a different version of the record exists.
+     *
+     * @param expectedVersion the version the caller based the delete on, or null to remove any version
+     */
+    StoreResult<DataRecord> deleteById(String id, @Nullable Long expectedVersion);
+
+    /**
+     * Returns the number of stored records.
+     */
+    long count();
+
+    /**
+     * Returns a value that changes whenever any record is created, updated or deleted, so it can serve as a version of
+     * the collection as a whole.
+     */
+    String revision();
+}
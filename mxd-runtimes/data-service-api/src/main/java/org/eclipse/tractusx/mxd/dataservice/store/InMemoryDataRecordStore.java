@@ -0,0 +1,165 @@
+/*
+ *  Copyright (c) 2024 Bayerische Motoren Werke Aktiengesellschaft (BMW AG)
+ *
+ *  This program and the accompanying materials are made available under the
+ *  terms of the Apache License, Version 2.0 which is available at
+ *  https://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  SPDX-License-Identifier: Apache-2.0
+ *
+ *  Contributors:
+ *       Bayerische Motoren Werke Aktiengesellschaft (BMW AG) - initial API and implementation
+ *
+ */
+
+package org.eclipse.tractusx.mxd.dataservice.store;
+
+import org.eclipse.edc.spi.query.QuerySpec;
+import org.eclipse.edc.spi.result.StoreResult;
+import org.eclipse.tractusx.mxd.dataservice.model.DataRecord;
+import org.eclipse.tractusx.mxd.dataservice.model.VersionedDataRecord;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.concurrent.ConcurrentNavigableMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Stream;
+
+/**
+ * Keeps all records on the heap in a map sorted by ID, which gives paging a stable order and lets it seek directly to
+ * a cursor. Queries are answered from a {@link DataRecordIndex}.
+ * <p>
+ * Versions are drawn from a single counter, the revision counts completed writes. It is only advanced once a write is
+ * visible, so a reader that sees a revision also sees every write it covers.
+ */
+public class InMemoryDataRecordStore implements DataRecordStore {
+
+    private final ConcurrentNavigableMap<String, VersionedDataRecord> database;
+    private final DataRecordIndex index;
+    private final AtomicLong versions;
+    private final AtomicLong modifications = new AtomicLong();
+    // distinguishes the revisions of this instance from those of an earlier one with different content
+    private final String epoch = Long.toHexString(ThreadLocalRandom.current().nextLong());
+
+    public InMemoryDataRecordStore() {
+        this(new ConcurrentSkipListMap<>(), 0);
+    }
+
+    /**
+     * Creates a store over already loaded records, the indexes are built from the map's current content.
+     *
+     * @param lastVersion the highest version assigned so far, new versions continue after it
+     */
+    public InMemoryDataRecordStore(ConcurrentNavigableMap<String, VersionedDataRecord> database, long lastVersion) {
+        this.database = database;
+        this.index = new DataRecordIndex(database);
+        this.versions = new AtomicLong(lastVersion);
+    }
+
+    @Override
+    public @Nullable VersionedDataRecord findById(String id) {
+        return database.get(id);
+    }
+
+    @Override
+    public Stream<DataRecord> findAll(QuerySpec querySpec) {
+        return index.query(querySpec);
+    }
+
+    @Override
+    public StoreResult<Long> create(DataRecord dataRecord) {
+        var versioned = new VersionedDataRecord(dataRecord, versions.incrementAndGet());
+        if (database.putIfAbsent(dataRecord.id(), versioned) != null) {
+            return StoreResult.alreadyExists("DataRecord with id " + dataRecord.id() + " already exists");
+        }
+        index.add(dataRecord);
+        modifications.incrementAndGet();
+        return StoreResult.success(versioned.version());
+    }
+
+    @Override
+    public StoreResult<Long> update(DataRecord dataRecord, @Nullable Long expectedVersion) {
+        var versioned = new VersionedDataRecord(dataRecord, versions.incrementAndGet());
+        while (true) {
+            var previous = database.get(dataRecord.id());
+            if (previous == null) {
+                return StoreResult.notFound("DataRecord with id " + dataRecord.id() + " not found");
+            }
+            if (expectedVersion != null && previous.version() != expectedVersion) {
+                return StoreResult.alreadyExists("DataRecord with id %s has been modified, its current version is %d"
+                        .formatted(dataRecord.id(), previous.version()));
+            }
+            if (database.replace(dataRecord.id(), previous, versioned)) {
+                index.replace(previous.dataRecord(), dataRecord);
+                modifications.incrementAndGet();
+                return StoreResult.success(versioned.version());
+            }
+        }
+    }
+
+    @Override
+    public StoreResult<DataRecord> deleteById(String id, @Nullable Long expectedVersion) {
+        VersionedDataRecord previous;
+        do {
+            previous = database.get(id);
+            if (previous == null) {
+                return StoreResult.notFound("DataRecord with id " + id + " not found");
+            }
+            if (expectedVersion != null && previous.version() != expectedVersion) {
+                return StoreResult.alreadyExists("DataRecord with id %s has been modified, its current version is %d"
+                        .formatted(id, previous.version()));
+            }
+        } while (!database.remove(id, previous));
+        index.remove(previous.dataRecord());
+        versions.incrementAndGet();
+        modifications.incrementAndGet();
+        return StoreResult.success(previous.dataRecord());
+    }
+
+    @Override
+    public long count() {
+        return database.size();
+    }
+
+    @Override
+    public String revision() {
+        return epoch + "-" + modifications.get();
+    }
+
+    /**
+     * Returns the highest version assigned so far.
+     */
+    public long lastVersion() {
+        return versions.get();
+    }
+
+    /**
+     * Returns all records in ID order.
+     */
+    public Stream<VersionedDataRecord> stream() {
+        return database.values().stream();
+    }
+
+    /**
+     * Stores the given version of a record unconditionally, replacing whatever version is stored. Meant for callers that
+     * assign versions themselves.
+     */
+    public void put(VersionedDataRecord versioned) {
+        var previous = database.put(versioned.dataRecord().id(), versioned);
+        index.replace(previous == null ? null : previous.dataRecord(), versioned.dataRecord());
+        modifications.incrementAndGet();
+    }
+
+    /**
+     * Removes a record unconditionally, returns the removed version or null if there was none.
+     */
+    public @Nullable VersionedDataRecord remove(String id) {
+        var previous = database.remove(id);
+        if (previous != null) {
+            index.remove(previous.dataRecord());
+            modifications.incrementAndGet();
+        }
+        return previous;
+    }
+}
@@ -0,0 +1,94 @@
+/*
+ *  Copyright (c) 2024 Bayerische Motoren Werke Aktiengesellschaft (BMW AG)
+ *
+ *  This program and the accompanying materials are made available under the
+ *  terms of the Apache License, Version 2.0 which is available at
+ *  https://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  SPDX-License-Identifier: Apache-2.0
+ *
+ *  Contributors:
+ *       Bayerische Motoren Werke Aktiengesellschaft (BMW AG) - initial API and implementation
+ *
+ */
+
+package org.eclipse.tractusx.mxd.dataservice.store;
+
+import org.eclipse.edc.spi.query.QuerySpec;
+import org.eclipse.edc.spi.result.StoreResult;
+import org.eclipse.tractusx.mxd.dataservice.model.DataRecord;
+import org.eclipse.tractusx.mxd.dataservice.model.VersionedDataRecord;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.List;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+
+/**
+ * Defers initializing a store, e.g. populating it with a large data set, until it is first accessed, so that it does
+ * not hold up the startup of the runtime. The first access, and every access that arrives while it is in progress,
+ * waits for the initialization to complete.
+ */
+public class LazyInitializingDataRecordStore implements DataRecordStore {
+
+    private final DataRecordStore delegate;
+    private final Consumer<DataRecordStore> initializer;
+    private volatile boolean initialized;
+
+    public LazyInitializingDataRecordStore(DataRecordStore delegate, Consumer<DataRecordStore> initializer) {
+        this.delegate = delegate;
+        this.initializer = initializer;
+    }
+
+    @Override
+    public @Nullable VersionedDataRecord findById(String id) {
+        return initialized().findById(id);
+    }
+
+    @Override
+    public Stream<DataRecord> findAll(QuerySpec querySpec) {
+        return initialized().findAll(querySpec);
+    }
+
+    @Override
+    public StoreResult<Long> create(DataRecord dataRecord) {
+        return initialized().create(dataRecord);
+    }
+
+    @Override
+    public List<StoreResult<Long>> createAll(List<DataRecord> dataRecords) {
+        return initialized().createAll(dataRecords);
+    }
+
+    @Override
+    public StoreResult<Long> update(DataRecord dataRecord, @Nullable Long expectedVersion) {
+        return initialized().update(dataRecord, expectedVersion);
+    }
+
+    @Override
+    public StoreResult<DataRecord> deleteById(String id, @Nullable Long expectedVersion) {
+        return initialized().deleteById(id, expectedVersion);
+    }
+
+    @Override
+    public long count() {
+        return initialized().count();
+    }
+
+    @Override
+    public String revision() {
+        return initialized().revision();
+    }
+
+    private DataRecordStore initialized() {
+        if (!initialized) {
+            synchronized (this) {
+                if (!initialized) {
+                    initializer.accept(delegate);
+                    initialized = true;
+                }
+            }
+        }
+        return delegate;
+    }
+}
@@ -0,0 +1,135 @@
+/*
+ *  Copyright (c) 2024 Bayerische Motoren Werke Aktiengesellschaft (BMW AG)
+ *
+ *  This program and the accompanying materials are made available under the
+ *  terms of the Apache License, Version 2.0 which is available at
+ *  https://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  SPDX-License-Identifier: Apache-2.0
+ *
+ *  Contributors:
+ *       Bayerische Motoren Werke Aktiengesellschaft (BMW AG) - initial API and implementation
+ *
+ */
+
+package org.eclipse.tractusx.mxd.dataservice.store;
+
+import org.eclipse.edc.spi.observe.ObservableImpl;
+import org.eclipse.edc.spi.query.QuerySpec;
+import org.eclipse.edc.spi.result.StoreResult;
+import org.eclipse.tractusx.mxd.dataservice.model.DataRecord;
+import org.eclipse.tractusx.mxd.dataservice.model.VersionedDataRecord;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.List;
+import java.util.TreeSet;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Supplier;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
+/**
+ * Notifies {@link DataRecordListener}s of the writes to another store.
+ * <p>
+ * A write and its notification happen under a lock striped by record ID, so that listeners see the writes to one
+ * record in the order they took effect, while writes to different records mostly proceed in parallel.
+ */
+public class ObservableDataRecordStore extends ObservableImpl<DataRecordListener> implements DataRecordStore {
+
+    private static final int STRIPES = 64;
+
+    private final DataRecordStore delegate;
+    private final ReentrantLock[] stripes = IntStream.range(0, STRIPES).mapToObj(i -> new ReentrantLock()).toArray(ReentrantLock[]::new);
+
+    public ObservableDataRecordStore(DataRecordStore delegate) {
+        this.delegate = delegate;
+    }
+
+    @Override
+    public @Nullable VersionedDataRecord findById(String id) {
+        return delegate.findById(id);
+    }
+
+    @Override
+    public Stream<DataRecord> findAll(QuerySpec querySpec) {
+        return delegate.findAll(querySpec);
+    }
+
+    @Override
+    public StoreResult<Long> create(DataRecord dataRecord) {
+        return locked(dataRecord.id(), () -> {
+            var result = delegate.create(dataRecord);
+            if (result.succeeded()) {
+                invokeForEach(listener -> listener.created(dataRecord, result.getContent()));
+            }
+            return result;
+        });
+    }
+
+    @Override
+    public List<StoreResult<Long>> createAll(List<DataRecord> dataRecords) {
+        // locked in stripe order, so that two batches cannot wait for each other
+        var indexes = new TreeSet<Integer>();
+        dataRecords.forEach(dataRecord -> indexes.add(stripe(dataRecord.id())));
+        indexes.forEach(index -> stripes[index].lock());
+        try {
+            var results = delegate.createAll(dataRecords);
+            for (var i = 0; i < results.size(); i++) {
+                var result = results.get(i);
+                if (result.succeeded()) {
+                    var dataRecord = dataRecords.get(i);
+                    invokeForEach(listener -> listener.created(dataRecord, result.getContent()));
+                }
+            }
+            return results;
+        } finally {
+            indexes.descendingSet().forEach(index -> stripes[index].unlock());
+        }
+    }
+
+    @Override
+    public StoreResult<Long> update(DataRecord dataRecord, @Nullable Long expectedVersion) {
+        return locked(dataRecord.id(), () -> {
+            var result = delegate.update(dataRecord, expectedVersion);
+            if (result.succeeded()) {
+                invokeForEach(listener -> listener.updated(dataRecord, result.getContent()));
+            }
+            return result;
+        });
+    }
+
+    @Override
+    public StoreResult<DataRecord> deleteById(String id, @Nullable Long expectedVersion) {
+        return locked(id, () -> {
+            var result = delegate.deleteById(id, expectedVersion);
+            if (result.succeeded()) {
+                invokeForEach(listener -> listener.deleted(result.getContent()));
+            }
+            return result;
+        });
+    }
+
+    @Override
+    public long count() {
+        return delegate.count();
+    }
+
+    @Override
+    public String revision() {
+        return delegate.revision();
+    }
+
+    private <T> T locked(String id, Supplier<T> write) {
+        var lock = stripes[stripe(id)];
+        lock.lock();
+        try {
+            return write.get();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private static int stripe(String id) {
+        return Math.floorMod(id.hashCode(), STRIPES);
+    }
+}
@@ -0,0 +1,338 @@
+/*
+ *  Copyright (c) 2024 Bayerische Motoren Werke Aktiengesellschaft (BMW AG)
+ *
+ *  This program and the accompanying materials are made available under the
+ *  terms of the Apache License, Version 2.0 which is available at
+ *  https://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  SPDX-License-Identifier: Apache-2.0
+ *
+ *  Contributors:
+ *       Bayerische Motoren Werke Aktiengesellschaft (BMW AG) - initial API and implementation
+ *
+ */
+
+package org.eclipse.tractusx.mxd.dataservice.store.log;
+
+import org.eclipse.edc.spi.EdcException;
+import org.eclipse.edc.spi.monitor.Monitor;
+import org.eclipse.edc.spi.query.QuerySpec;
+import org.eclipse.edc.spi.result.StoreResult;
+import org.eclipse.tractusx.mxd.dataservice.model.DataRecord;
+import org.eclipse.tractusx.mxd.dataservice.model.VersionedDataRecord;
+import org.eclipse.tractusx.mxd.dataservice.store.DataRecordStore;
+import org.eclipse.tractusx.mxd.dataservice.store.InMemoryDataRecordStore;
+import org.jetbrains.annotations.Nullable;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
+/**
+ * A durable store that records every write in an append-only log of memory-mapped segment files, while serving reads
+ * from an {@link InMemoryDataRecordStore}. On startup the segments are decoded in parallel and replayed into memory.
+ * <p>
+ * Writes are serialized, each one is assigned the next version and appended to the log before it is applied in memory. Compaction runs in the
+ * background: it rolls over to a new segment and replaces all sealed segments by a single one holding the records
+ * currently in memory, which by then include every write of the sealed segments.
+ */
+public class LogDataRecordStore implements DataRecordStore, AutoCloseable {
+
+    private static final int MAX_SEALED_SEGMENTS = 16;
+
+    private final Path directory;
+    private final int segmentSize;
+    private final boolean sync;
+    private final Monitor monitor;
+    private final ReentrantLock writeLock = new ReentrantLock();
+    private final List<Segment> sealed = new ArrayList<>();
+    private final InMemoryDataRecordStore memory;
+    private Segment active;
+    private long lastVersion;
+    private long totalBytes;
+    private long liveBytes;
+    private @Nullable ScheduledExecutorService compactor;
+
+    /**
+     * Opens the log in the given directory and recovers all records from it.
+     *
+     * @param segmentSize the capacity of a segment file in bytes
+     * @param sync        whether every write is flushed to disk before it is acknowledged
+     */
+    public LogDataRecordStore(Path directory, int segmentSize, boolean sync, Monitor monitor) {
+        this.directory = directory;
+        this.segmentSize = segmentSize;
+        this.sync = sync;
+        this.monitor = monitor;
+        try {
+            Files.createDirectories(directory);
+            memory = recover();
+            active = Segment.create(directory, nextSequence(), segmentSize, lastVersion);
+        } catch (IOException e) {
+            throw new EdcException("Failed to open the data record log in " + directory, e);
+        }
+    }
+
+    /**
+     * Starts compacting the log in the background at the given interval.
+     */
+    public void startCompaction(Duration interval) {
+        compactor = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            var thread = new Thread(runnable, "data-record-log-compaction");
+            thread.setDaemon(true);
+            return thread;
+        });
+        compactor.scheduleWithFixedDelay(() -> {
+            try {
+                compact();
+            } catch (Exception e) {
+                monitor.severe("Compaction of the data record log failed", e);
+            }
+        }, interval.toMillis(), interval.toMillis(), TimeUnit.MILLISECONDS);
+    }
+
+    @Override
+    public @Nullable VersionedDataRecord findById(String id) {
+        return memory.findById(id);
+    }
+
+    @Override
+    public Stream<DataRecord> findAll(QuerySpec querySpec) {
+        return memory.findAll(querySpec);
+    }
+
+    @Override
+    public StoreResult<Long> create(DataRecord dataRecord) {
+        writeLock.lock();
+        try {
+            if (memory.findById(dataRecord.id()) != null) {
+                return StoreResult.alreadyExists("DataRecord with id " + dataRecord.id() + " already exists");
+            }
+            var versioned = new VersionedDataRecord(dataRecord, lastVersion + 1);
+            var entry = LogEntry.put(versioned);
+            append(entry);
+            lastVersion++;
+            liveBytes += entry.encodedSize();
+            memory.put(versioned);
+            return StoreResult.success(versioned.version());
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    @Override
+    public StoreResult<Long> update(DataRecord dataRecord, @Nullable Long expectedVersion) {
+        writeLock.lock();
+        try {
+            var previous = memory.findById(dataRecord.id());
+            if (previous == null) {
+                return StoreResult.notFound("DataRecord with id " + dataRecord.id() + " not found");
+            }
+            if (expectedVersion != null && previous.version() != expectedVersion) {
+                return StoreResult.alreadyExists("DataRecord with id %s has been modified, its current version is %d"
+                        .formatted(dataRecord.id(), previous.version()));
+            }
+            var versioned = new VersionedDataRecord(dataRecord, lastVersion + 1);
+            var entry = LogEntry.put(versioned);
+            append(entry);
+            lastVersion++;
+            liveBytes += entry.encodedSize() - LogEntry.put(previous).encodedSize();
+            memory.put(versioned);
+            return StoreResult.success(versioned.version());
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    @Override
+    public StoreResult<DataRecord> deleteById(String id, @Nullable Long expectedVersion) {
+        writeLock.lock();
+        try {
+            var previous = memory.findById(id);
+            if (previous == null) {
+                return StoreResult.notFound("DataRecord with id " + id + " not found");
+            }
+            if (expectedVersion != null && previous.version() != expectedVersion) {
+                return StoreResult.alreadyExists("DataRecord with id %s has been modified, its current version is %d"
+                        .formatted(id, previous.version()));
+            }
+            append(LogEntry.delete(id, lastVersion + 1));
+            lastVersion++;
+            liveBytes -= LogEntry.put(previous).encodedSize();
+            memory.remove(id);
+            return StoreResult.success(previous.dataRecord());
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    @Override
+    public long count() {
+        return memory.count();
+    }
+
+    @Override
+    public String revision() {
+        return memory.revision();
+    }
+
+    /**
+     * Replaces all sealed segments by a single compacted one, if they hold enough overwritten or deleted entries.
+     */
+    public synchronized void compact() throws IOException {
+        List<Segment> obsolete;
+        long version;
+        writeLock.lock();
+        try {
+            var garbage = totalBytes - liveBytes;
+            if (garbage <= Math.max(liveBytes, segmentSize) && sealed.size() <= MAX_SEALED_SEGMENTS) {
+                return;
+            }
+            roll(0);
+            obsolete = new ArrayList<>(sealed);
+            version = lastVersion;
+        } finally {
+            writeLock.unlock();
+        }
+
+        // every write of the obsolete segments has been applied to memory before the roll-over, later writes that show
+        // up in the snapshot as well are replayed again from the newer segments on recovery
+        var sequence = obsolete.get(obsolete.size() - 1).sequence();
+        var compacted = Segment.writeCompacted(directory, sequence, memory.stream().iterator(), version);
+
+        writeLock.lock();
+        try {
+            sealed.removeAll(obsolete);
+            sealed.add(0, compacted);
+            totalBytes += compacted.size() - obsolete.stream().mapToLong(Segment::size).sum();
+        } finally {
+            writeLock.unlock();
+        }
+        for (var segment : obsolete) {
+            if (!segment.path().equals(compacted.path())) {
+                segment.delete();
+            }
+        }
+        monitor.debug("Compacted %d data record log segments into %s".formatted(obsolete.size(), compacted.path()));
+    }
+
+    @Override
+    public void close() {
+        if (compactor != null) {
+            compactor.shutdownNow();
+        }
+        writeLock.lock();
+        try {
+            active.seal();
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    private void append(LogEntry entry) {
+        if (!active.append(entry, sync)) {
+            roll(entry.encodedSize());
+            active.append(entry, sync);
+        }
+        totalBytes += entry.encodedSize();
+    }
+
+    /**
+     * Continues the log in a new segment. The new segment is created before the active one is sealed, so a failure to
+     * create it leaves the active segment in place, still accepting the entries that fit.
+     */
+    private void roll(int required) {
+        Segment next;
+        try {
+            next = Segment.create(directory, nextSequence(), Math.max(segmentSize, 2 * Integer.BYTES + Long.BYTES + required), lastVersion);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        active.seal();
+        sealed.add(active);
+        active = next;
+    }
+
+    private long nextSequence() {
+        var last = active != null ? active : sealed.isEmpty() ? null : sealed.get(sealed.size() - 1);
+        return last == null ? 0 : last.sequence() + 1;
+    }
+
+    private InMemoryDataRecordStore recover() throws IOException {
+        List<Path> paths;
+        try (var files = Files.list(directory)) {
+            paths = files.filter(path -> path.getFileName().toString().startsWith(Segment.PREFIX)).sorted().toList();
+        }
+        for (var path : paths) {
+            if (path.getFileName().toString().endsWith(Segment.COMPACTING_SUFFIX)) {
+                // left over from a compaction that did not finish, the segments it would have replaced are still there
+                Files.delete(path);
+            }
+        }
+
+        var recovered = paths.parallelStream()
+                .filter(path -> path.getFileName().toString().endsWith(Segment.SUFFIX))
+                .map(path -> {
+                    try {
+                        return Segment.read(path);
+                    } catch (IOException e) {
+                        throw new UncheckedIOException(e);
+                    }
+                })
+                .sorted(Comparator.comparingLong(r -> r.segment().sequence()))
+                .toList();
+
+        // a compacted segment holds the complete state up to its sequence number, anything older is obsolete
+        var first = 0;
+        for (var i = 0; i < recovered.size(); i++) {
+            if (recovered.get(i).segment().isCompacted()) {
+                first = i;
+            }
+        }
+        for (var obsolete : recovered.subList(0, first)) {
+            obsolete.segment().delete();
+        }
+        var replay = recovered.subList(first, recovered.size());
+
+        // entries of the same record always land in the same partition, where they are applied in log order
+        var database = new ConcurrentSkipListMap<String, VersionedDataRecord>();
+        var maxVersion = new LongAccumulator(Math::max, 0);
+        replay.forEach(r -> maxVersion.accumulate(r.lastVersion()));
+        var partitions = Runtime.getRuntime().availableProcessors();
+        IntStream.range(0, partitions).parallel().forEach(partition -> {
+            for (var segment : replay) {
+                for (var entry : segment.entries()) {
+                    if (Math.floorMod(entry.id().hashCode(), partitions) != partition) {
+                        continue;
+                    }
+                    maxVersion.accumulate(entry.version());
+                    if (entry.isDelete()) {
+                        database.remove(entry.id());
+                    } else {
+                        database.put(entry.id(), entry.versioned());
+                    }
+                }
+            }
+        });
+
+        replay.forEach(r -> sealed.add(r.segment()));
+        totalBytes = sealed.stream().mapToLong(Segment::size).sum();
+        liveBytes = database.values().parallelStream().mapToLong(versioned -> LogEntry.put(versioned).encodedSize()).sum();
+        lastVersion = maxVersion.get();
+        monitor.info("Recovered %d data records from %d log segments in %s".formatted(database.size(), replay.size(), directory));
+        return new InMemoryDataRecordStore(database, lastVersion);
+    }
+}
@@ -0,0 +1,157 @@
+/*
+ *  Copyright (c) 2024 Bayerische Motoren Werke Aktiengesellschaft (BMW AG)
+ *
+ *  This program and the accompanying materials are made available under the
+ *  terms of the Apache License, Version 2.0 which is available at
+ *  https://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  SPDX-License-Identifier: Apache-2.0
+ *
+ *  Contributors:
+ *       Bayerische Motoren Werke Aktiengesellschaft (BMW AG) - initial API and implementation
+ *
+ */
+
+package org.eclipse.tractusx.mxd.dataservice.store.log;
+
+import org.eclipse.tractusx.mxd.dataservice.model.DataRecord;
+import org.eclipse.tractusx.mxd.dataservice.model.VersionedDataRecord;
+import org.eclipse.tractusx.mxd.dataservice.store.AttributeEncoding;
+import org.jetbrains.annotations.Nullable;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.zip.CRC32C;
+
+/**
+ * A single write in the log: either the new state of a record or a tombstone for a deleted one.
+ * <p>
+ * Encoded as {@code length:int | crc32c:int | payload}, where the payload is
+ * {@code op:byte | version:long | id | name | description | attributes} and each string is
+ * {@code byteLength:int | utf8 bytes}, with a length of -1 for null. Tombstones only carry the version and the id. The
+ * attributes are encoded as described in {@link AttributeEncoding}, entries written before records had attributes end
+ * after the description.
+ */
+record LogEntry(String id, long version, @Nullable DataRecord dataRecord) {
+
+    static final int HEADER_SIZE = 2 * Integer.BYTES;
+
+    private static final byte PUT = 1;
+    private static final byte DELETE = 2;
+
+    static LogEntry put(VersionedDataRecord versioned) {
+        return new LogEntry(versioned.dataRecord().id(), versioned.version(), versioned.dataRecord());
+    }
+
+    static LogEntry delete(String id, long version) {
+        return new LogEntry(id, version, null);
+    }
+
+    boolean isDelete() {
+        return dataRecord == null;
+    }
+
+    VersionedDataRecord versioned() {
+        return new VersionedDataRecord(dataRecord, version);
+    }
+
+    /**
+     * The number of bytes {@link #encode} writes for this entry.
+     */
+    int encodedSize() {
+        var size = HEADER_SIZE + 1 + Long.BYTES + stringSize(id);
+        if (dataRecord != null) {
+            size += stringSize(dataRecord.name()) + stringSize(dataRecord.description()) + AttributeEncoding.encodedSize(dataRecord.attributes());
+        }
+        return size;
+    }
+
+    void encode(ByteBuffer target) {
+        var start = target.position();
+        target.position(start + HEADER_SIZE);
+        target.put(isDelete() ? DELETE : PUT);
+        target.putLong(version);
+        putString(target, id);
+        if (dataRecord != null) {
+            putString(target, dataRecord.name());
+            putString(target, dataRecord.description());
+            AttributeEncoding.encode(dataRecord.attributes(), target);
+        }
+        var end = target.position();
+        var crc = new CRC32C();
+        crc.update(target.slice(start + HEADER_SIZE, end - start - HEADER_SIZE));
+        target.putInt(start, end - start - HEADER_SIZE);
+        target.putInt(start + Integer.BYTES, (int) crc.getValue());
+    }
+
+    /**
+     * Decodes the entry at the buffer's position and advances past it. Returns null, without advancing, if there is no
+     * complete and intact entry, which marks the end of the written part of a segment.
+     */
+    static @Nullable LogEntry decode(ByteBuffer source) {
+        var start = source.position();
+        if (source.remaining() < HEADER_SIZE) {
+            return null;
+        }
+        var length = source.getInt(start);
+        if (length <= 0 || length > source.remaining() - HEADER_SIZE) {
+            return null;
+        }
+        var payload = source.slice(start + HEADER_SIZE, length);
+        var crc = new CRC32C();
+        crc.update(payload.duplicate());
+        if ((int) crc.getValue() != source.getInt(start + Integer.BYTES)) {
+            return null;
+        }
+
+        var op = payload.get();
+        var version = payload.getLong();
+        var id = getString(payload);
+        var entry = op == DELETE ? delete(id, version) : new LogEntry(id, version, new DataRecord(id, getString(payload), getString(payload),
+                payload.hasRemaining() ? AttributeEncoding.decode(payload) : null));
+        source.position(start + HEADER_SIZE + length);
+        return entry;
+    }
+
+    private static int stringSize(@Nullable String value) {
+        return Integer.BYTES + (value == null ? 0 : utf8Length(value));
+    }
+
+    private static void putString(ByteBuffer target, @Nullable String value) {
+        if (value == null) {
+            target.putInt(-1);
+            return;
+        }
+        var bytes = value.getBytes(StandardCharsets.UTF_8);
+        target.putInt(bytes.length);
+        target.put(bytes);
+    }
+
+    private static @Nullable String getString(ByteBuffer source) {
+        var length = source.getInt();
+        if (length < 0) {
+            return null;
+        }
+        var bytes = new byte[length];
+        source.get(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    private static int utf8Length(String value) {
+        var length = 0;
+        for (var i = 0; i < value.length(); i++) {
+            var c = value.charAt(i);
+            if (c < 0x80) {
+                length++;
+            } else if (c < 0x800) {
+                length += 2;
+            } else if (Character.isHighSurrogate(c) && i + 1 < value.length() && Character.isLowSurrogate(value.charAt(i + 1))) {
+                length += 4;
+                i++;
+            } else {
+                length += 3;
+            }
+        }
+        return length;
+    }
+}
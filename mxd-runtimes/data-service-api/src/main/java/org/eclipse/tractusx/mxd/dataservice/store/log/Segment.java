@@ -0,0 +1,269 @@
+/*
+ *  Copyright (c) 2024 Bayerische Motoren Werke Aktiengesellschaft (BMW AG)
+ *
+ *  This program and the accompanying materials are made available under the
+ *  terms of the Apache License, Version 2.0 which is available at
+ *  https://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  SPDX-License-Identifier: Apache-2.0
+ *
+ *  Contributors:
+ *       Bayerische Motoren Werke Aktiengesellschaft (BMW AG) - initial API and implementation
+ *
+ */
+
+package org.eclipse.tractusx.mxd.dataservice.store.log;
+
+import org.eclipse.tractusx.mxd.dataservice.model.VersionedDataRecord;
+import org.jetbrains.annotations.Nullable;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.stream.IntStream;
+
+import static java.nio.file.StandardCopyOption.ATOMIC_MOVE;
+import static java.nio.file.StandardCopyOption.REPLACE_EXISTING;
+import static java.nio.file.StandardOpenOption.CREATE_NEW;
+import static java.nio.file.StandardOpenOption.READ;
+import static java.nio.file.StandardOpenOption.WRITE;
+
+/**
+ * A file of the append-only log. Only the active segment is writable, it is memory-mapped at its full capacity up front
+ * so that appending an entry is a plain memory copy. Sealed segments are never read again until the next startup.
+ * <p>
+ * A segment starts with {@code magic:int | flags:int | lastVersion:long} followed by {@link LogEntry}s, where
+ * {@code lastVersion} is the highest record version assigned when the segment was started. The unwritten rest of the file is
+ * zero-filled, which {@link LogEntry#decode} treats as the end of the segment, as it does a torn last write.
+ */
+final class Segment {
+
+    static final String PREFIX = "segment-";
+    static final String SUFFIX = ".log";
+    static final String COMPACTING_SUFFIX = ".compacting";
+
+    private static final int MAGIC = 0x4D584432;
+    private static final int FLAG_COMPACTED = 1;
+    private static final int HEADER_SIZE = 2 * Integer.BYTES + Long.BYTES;
+    private static final int WRITE_BUFFER_SIZE = 1024 * 1024;
+    private static final int CHUNK_SIZE = 8 * 1024 * 1024;
+
+    private final long sequence;
+    private final Path path;
+    private final boolean compacted;
+    private long size;
+    private @Nullable MappedByteBuffer buffer;
+
+    private Segment(long sequence, Path path, boolean compacted, long size, @Nullable MappedByteBuffer buffer) {
+        this.sequence = sequence;
+        this.path = path;
+        this.compacted = compacted;
+        this.size = size;
+        this.buffer = buffer;
+    }
+
+    /**
+     * Creates a new, empty segment that entries can be appended to.
+     */
+    static Segment create(Path directory, long sequence, int capacity, long lastVersion) throws IOException {
+        var path = path(directory, sequence);
+        try (var channel = FileChannel.open(path, CREATE_NEW, READ, WRITE)) {
+            var buffer = channel.map(FileChannel.MapMode.READ_WRITE, 0, capacity);
+            buffer.putInt(MAGIC).putInt(0).putLong(lastVersion);
+            return new Segment(sequence, path, false, HEADER_SIZE, buffer);
+        }
+    }
+
+    /**
+     * Writes the records into a new, sealed segment that replaces the segment with the given sequence number. The segment
+     * is flagged as compacted, so that all older segments are ignored on recovery even if deleting them fails.
+     * <p>
+     * A compacted segment usually holds the whole data set, so it ends with a table of chunk offsets that lets recovery
+     * decode it in parallel: {@code 0:int | offset:long... | count:int | magic:int}.
+     */
+    static Segment writeCompacted(Path directory, long sequence, Iterator<VersionedDataRecord> records, long lastVersion) throws IOException {
+        var path = path(directory, sequence);
+        var temporary = directory.resolve(path.getFileName() + COMPACTING_SUFFIX);
+        var chunks = new ArrayList<Long>();
+        long size = 0;
+        try (var channel = FileChannel.open(temporary, CREATE_NEW, WRITE)) {
+            var buffer = ByteBuffer.allocateDirect(WRITE_BUFFER_SIZE);
+            buffer.putInt(MAGIC).putInt(FLAG_COMPACTED).putLong(lastVersion);
+            while (records.hasNext()) {
+                var entry = LogEntry.put(records.next());
+                if (buffer.remaining() < entry.encodedSize()) {
+                    size += drain(channel, buffer);
+                }
+                var offset = size + buffer.position();
+                if (chunks.isEmpty() || offset - chunks.get(chunks.size() - 1) >= CHUNK_SIZE) {
+                    chunks.add(offset);
+                }
+                var target = entry.encodedSize() <= buffer.capacity() ? buffer : ByteBuffer.allocate(entry.encodedSize());
+                entry.encode(target);
+                if (target != buffer) {
+                    size += drain(channel, target);
+                }
+            }
+            var trailerSize = Integer.BYTES + chunks.size() * Long.BYTES + 2 * Integer.BYTES;
+            if (buffer.remaining() < trailerSize) {
+                size += drain(channel, buffer);
+            }
+            var target = trailerSize <= buffer.remaining() ? buffer : ByteBuffer.allocate(trailerSize);
+            target.putInt(0);
+            chunks.forEach(target::putLong);
+            target.putInt(chunks.size()).putInt(MAGIC);
+            if (target != buffer) {
+                size += drain(channel, buffer);
+            }
+            size += drain(channel, target);
+            channel.force(true);
+        }
+        Files.move(temporary, path, ATOMIC_MOVE, REPLACE_EXISTING);
+        return new Segment(sequence, path, true, size, null);
+    }
+
+    /**
+     * Maps an existing segment and decodes all its intact entries. Compacted segments are mapped and decoded chunk by
+     * chunk in parallel, which also keeps them clear of the 2 GB limit of a single mapping.
+     */
+    static Recovered read(Path path) throws IOException {
+        var sequence = sequence(path);
+        try (var channel = FileChannel.open(path, READ)) {
+            var header = read(channel, 0, HEADER_SIZE);
+            if (header.getInt() != MAGIC) {
+                throw new IOException("Not a data record log segment: " + path);
+            }
+            var compacted = (header.getInt() & FLAG_COMPACTED) != 0;
+            var lastVersion = header.getLong();
+            if (!compacted) {
+                var entries = new ArrayList<LogEntry>();
+                var size = decode(channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size()).position(HEADER_SIZE), entries);
+                return new Recovered(new Segment(sequence, path, false, size, null), entries, lastVersion);
+            }
+
+            var size = channel.size();
+            var count = read(channel, size - 2 * Integer.BYTES, Integer.BYTES).getInt();
+            var table = size - 2 * Integer.BYTES - (long) count * Long.BYTES;
+            var offsets = read(channel, table, count * Long.BYTES);
+            var chunks = new long[count + 1];
+            for (var i = 0; i < count; i++) {
+                chunks[i] = offsets.getLong();
+            }
+            chunks[count] = table - Integer.BYTES;
+            var entries = IntStream.range(0, count).parallel()
+                    .mapToObj(i -> {
+                        var chunk = new ArrayList<LogEntry>();
+                        try {
+                            decode(channel.map(FileChannel.MapMode.READ_ONLY, chunks[i], chunks[i + 1] - chunks[i]), chunk);
+                        } catch (IOException e) {
+                            throw new UncheckedIOException(e);
+                        }
+                        return chunk;
+                    })
+                    .flatMap(List::stream)
+                    .toList();
+            return new Recovered(new Segment(sequence, path, true, size, null), entries, lastVersion);
+        }
+    }
+
+    static Path path(Path directory, long sequence) {
+        return directory.resolve(PREFIX + "%020d".formatted(sequence) + SUFFIX);
+    }
+
+    static long sequence(Path path) {
+        var name = path.getFileName().toString();
+        return Long.parseLong(name.substring(PREFIX.length(), name.length() - SUFFIX.length()));
+    }
+
+    /**
+     * Appends the entry, returns false if the segment is sealed or has no room left for it.
+     */
+    boolean append(LogEntry entry, boolean sync) {
+        if (buffer == null || buffer.remaining() < entry.encodedSize()) {
+            return false;
+        }
+        var start = buffer.position();
+        entry.encode(buffer);
+        if (sync) {
+            buffer.force(start, buffer.position() - start);
+        }
+        size = buffer.position();
+        return true;
+    }
+
+    /**
+     * Flushes the segment to disk and makes it read-only. The mapping itself is released once the buffer is garbage
+     * collected, there is no way to unmap it explicitly.
+     */
+    void seal() {
+        if (buffer != null) {
+            buffer.force();
+            buffer = null;
+        }
+    }
+
+    void delete() throws IOException {
+        Files.deleteIfExists(path);
+    }
+
+    long sequence() {
+        return sequence;
+    }
+
+    Path path() {
+        return path;
+    }
+
+    boolean isCompacted() {
+        return compacted;
+    }
+
+    /**
+     * The number of bytes written to the segment so far.
+     */
+    long size() {
+        return size;
+    }
+
+    private static ByteBuffer read(FileChannel channel, long position, int length) throws IOException {
+        var buffer = ByteBuffer.allocate(length);
+        while (buffer.hasRemaining()) {
+            if (channel.read(buffer, position + buffer.position()) < 0) {
+                throw new IOException("Unexpected end of data record log segment");
+            }
+        }
+        return buffer.flip();
+    }
+
+    private static int decode(ByteBuffer buffer, List<LogEntry> entries) {
+        LogEntry entry;
+        while ((entry = LogEntry.decode(buffer)) != null) {
+            entries.add(entry);
+        }
+        return buffer.position();
+    }
+
+    private static int drain(FileChannel channel, ByteBuffer buffer) throws IOException {
+        buffer.flip();
+        var written = 0;
+        while (buffer.hasRemaining()) {
+            written += channel.write(buffer);
+        }
+        buffer.clear();
+        return written;
+    }
+
+    /**
+     * The entries of a segment and the last version recorded in its header, which covers versions of deleted records
+     * whose tombstones have since been compacted away.
+     */
+    record Recovered(Segment segment, List<LogEntry> entries, long lastVersion) {
+    }
+}
@@ -0,0 +1,122 @@
+/*
+ *  Copyright (c) 2024 Bayerische Motoren Werke Aktiengesellschaft (BMW AG)
+ *
+ *  This program and the accompanying materials are made available under the
+ *  terms of the Apache License, Version 2.0 which is available at
+ *  https://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  SPDX-License-Identifier: Apache-2.0
+ *
+ *  Contributors:
+ *       Bayerische Motoren Werke Aktiengesellschaft (BMW AG) - initial API and implementation
+ *
+ */
+
+package org.eclipse.tractusx.mxd.dataservice.store.offheap;
+
+import java.util.Arrays;
+
+/**
+ * Open-addressing hash table from record ID to {@link RecordArena} address, with linear probing. Slots are held in two
+ * primitive arrays, which the garbage collector does not need to trace, and the IDs themselves are only compared in the
+ * arena. Removal shifts the following entries back instead of leaving tombstones.
+ * <p>
+ * Not thread-safe, lookups may run concurrently with each other but not with modifications.
+ */
+final class IdHashTable {
+
+    private static final long EMPTY = -1;
+    private static final int MIN_CAPACITY = 16;
+
+    private long[] addresses;
+    private int[] hashes;
+    private int size;
+
+    IdHashTable() {
+        allocate(MIN_CAPACITY);
+    }
+
+    /**
+     * Returns the address of the record with the given ID, or -1 if there is none.
+     */
+    long find(RecordArena arena, byte[] id, int hash) {
+        var slot = slot(arena, id, hash);
+        return slot < 0 ? EMPTY : addresses[slot];
+    }
+
+    /**
+     * Adds the address of a record whose ID is not in the table yet.
+     */
+    void add(int hash, long address) {
+        if ((size + 1) * 4L > addresses.length * 3L) {
+            resize(addresses.length * 2);
+        }
+        insert(hash, address);
+        size++;
+    }
+
+    /**
+     * Points the entry of the record with the given ID to a new address.
+     */
+    void replace(RecordArena arena, byte[] id, int hash, long address) {
+        addresses[slot(arena, id, hash)] = address;
+    }
+
+    void remove(RecordArena arena, byte[] id, int hash) {
+        var mask = addresses.length - 1;
+        var free = slot(arena, id, hash);
+        addresses[free] = EMPTY;
+        size--;
+        // move back every following entry whose probe sequence passes the freed slot
+        for (var slot = (free + 1) & mask; addresses[slot] != EMPTY; slot = (slot + 1) & mask) {
+            var home = hashes[slot] & mask;
+            if (((slot - home) & mask) >= ((slot - free) & mask)) {
+                addresses[free] = addresses[slot];
+                hashes[free] = hashes[slot];
+                addresses[slot] = EMPTY;
+                free = slot;
+            }
+        }
+    }
+
+    int size() {
+        return size;
+    }
+
+    private int slot(RecordArena arena, byte[] id, int hash) {
+        var mask = addresses.length - 1;
+        for (var slot = hash & mask; addresses[slot] != EMPTY; slot = (slot + 1) & mask) {
+            if (hashes[slot] == hash && arena.idEquals(addresses[slot], id)) {
+                return slot;
+            }
+        }
+        return -1;
+    }
+
+    private void insert(int hash, long address) {
+        var mask = addresses.length - 1;
+        var slot = hash & mask;
+        while (addresses[slot] != EMPTY) {
+            slot = (slot + 1) & mask;
+        }
+        addresses[slot] = address;
+        hashes[slot] = hash;
+    }
+
+    private void resize(int capacity) {
+        var oldAddresses = addresses;
+        var oldHashes = hashes;
+        allocate(capacity);
+        for (var i = 0; i < oldAddresses.length; i++) {
+            if (oldAddresses[i] != EMPTY) {
+                insert(oldHashes[i], oldAddresses[i]);
+            }
+        }
+    }
+
+    private void allocate(int capacity) {
+        addresses = new long[capacity];
+        hashes = new int[capacity];
+        Arrays.fill(addresses, EMPTY);
+    }
+}
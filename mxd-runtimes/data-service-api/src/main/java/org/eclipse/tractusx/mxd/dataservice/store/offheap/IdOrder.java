@@ -0,0 +1,180 @@
+/*
+ *  Copyright (c) 2024 Bayerische Motoren Werke Aktiengesellschaft (BMW AG)
+ *
+ *  This program and the accompanying materials are made available under the
+ *  terms of the Apache License, Version 2.0 which is available at
+ *  https://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  SPDX-License-Identifier: Apache-2.0
+ *
+ *  Contributors:
+ *       Bayerische Motoren Werke Aktiengesellschaft (BMW AG) - initial API and implementation
+ *
+ */
+
+package org.eclipse.tractusx.mxd.dataservice.store.offheap;
+
+import org.jetbrains.annotations.Nullable;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.LongUnaryOperator;
+
+/**
+ * The {@link RecordArena} addresses of all records in ID order, kept in a list of sorted chunks of bounded size, so an
+ * insert or removal only shifts the addresses within one chunk. Lookups binary-search the chunks by their last ID, then
+ * the chunk itself, comparing IDs in the arena.
+ * <p>
+ * Not thread-safe, lookups may run concurrently with each other but not with modifications.
+ */
+final class IdOrder {
+
+    private static final int MAX_CHUNK_SIZE = 1024;
+
+    private final List<Chunk> chunks = new ArrayList<>();
+
+    void insert(RecordArena arena, byte[] id, long address) {
+        if (chunks.isEmpty()) {
+            var chunk = new Chunk();
+            chunk.insert(0, address);
+            chunks.add(chunk);
+            return;
+        }
+        var position = ceiling(arena, id);
+        var chunkIndex = position == null ? chunks.size() - 1 : position.chunk();
+        var chunk = chunks.get(chunkIndex);
+        chunk.insert(position == null ? chunk.size : position.index(), address);
+        if (chunk.size == MAX_CHUNK_SIZE) {
+            chunks.add(chunkIndex + 1, chunk.split());
+        }
+    }
+
+    void replace(RecordArena arena, byte[] id, long address) {
+        var position = ceiling(arena, id);
+        chunks.get(position.chunk()).addresses[position.index()] = address;
+    }
+
+    void remove(RecordArena arena, byte[] id) {
+        var position = ceiling(arena, id);
+        var chunk = chunks.get(position.chunk());
+        chunk.remove(position.index());
+        if (chunk.size == 0) {
+            chunks.remove(position.chunk());
+        }
+    }
+
+    /**
+     * Returns the position of the first record whose ID is greater than or equal to the given one, or null if there is
+     * none.
+     */
+    @Nullable
+    Position ceiling(RecordArena arena, byte[] id) {
+        var low = 0;
+        var high = chunks.size() - 1;
+        while (low <= high) {
+            var middle = (low + high) >>> 1;
+            var chunk = chunks.get(middle);
+            if (arena.compareId(chunk.addresses[chunk.size - 1], id) < 0) {
+                low = middle + 1;
+            } else {
+                high = middle - 1;
+            }
+        }
+        if (low == chunks.size()) {
+            return null;
+        }
+        var chunk = chunks.get(low);
+        var first = 0;
+        var last = chunk.size - 1;
+        while (first <= last) {
+            var middle = (first + last) >>> 1;
+            if (arena.compareId(chunk.addresses[middle], id) < 0) {
+                first = middle + 1;
+            } else {
+                last = middle - 1;
+            }
+        }
+        return new Position(low, first);
+    }
+
+    /**
+     * Returns the position of the first record, or null if there is none.
+     */
+    @Nullable
+    Position first() {
+        return chunks.isEmpty() ? null : new Position(0, 0);
+    }
+
+    /**
+     * Returns the position of the last record, or null if there is none.
+     */
+    @Nullable
+    Position last() {
+        return chunks.isEmpty() ? null : new Position(chunks.size() - 1, chunks.get(chunks.size() - 1).size - 1);
+    }
+
+    /**
+     * Returns the position after the given one, or null at the end.
+     */
+    @Nullable
+    Position next(Position position) {
+        if (position.index() + 1 < chunks.get(position.chunk()).size) {
+            return new Position(position.chunk(), position.index() + 1);
+        }
+        return position.chunk() + 1 < chunks.size() ? new Position(position.chunk() + 1, 0) : null;
+    }
+
+    /**
+     * Returns the position before the given one, or null at the start.
+     */
+    @Nullable
+    Position previous(Position position) {
+        if (position.index() > 0) {
+            return new Position(position.chunk(), position.index() - 1);
+        }
+        return position.chunk() > 0 ? new Position(position.chunk() - 1, chunks.get(position.chunk() - 1).size - 1) : null;
+    }
+
+    long address(Position position) {
+        return chunks.get(position.chunk()).addresses[position.index()];
+    }
+
+    /**
+     * Replaces every address with the result of the function, in ID order.
+     */
+    void relocate(LongUnaryOperator relocation) {
+        for (var chunk : chunks) {
+            for (var i = 0; i < chunk.size; i++) {
+                chunk.addresses[i] = relocation.applyAsLong(chunk.addresses[i]);
+            }
+        }
+    }
+
+    record Position(int chunk, int index) {
+    }
+
+    private static final class Chunk {
+        private final long[] addresses = new long[MAX_CHUNK_SIZE];
+        private int size;
+
+        void insert(int index, long address) {
+            System.arraycopy(addresses, index, addresses, index + 1, size - index);
+            addresses[index] = address;
+            size++;
+        }
+
+        void remove(int index) {
+            System.arraycopy(addresses, index + 1, addresses, index, size - index - 1);
+            size--;
+        }
+
+        Chunk split() {
+            var upper = new Chunk();
+            var half = size / 2;
+            upper.size = size - half;
+            System.arraycopy(addresses, half, upper.addresses, 0, upper.size);
+            size = half;
+            return upper;
+        }
+    }
+}
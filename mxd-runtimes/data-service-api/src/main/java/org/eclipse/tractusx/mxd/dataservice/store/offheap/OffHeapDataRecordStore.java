@@ -0,0 +1,354 @@
+/*
+ *  Copyright (c) 2024 Bayerische Motoren Werke Aktiengesellschaft (BMW AG)
+ *
+ *  This program and the accompanying materials are made available under the
+ *  terms of the Apache License, Version 2.0 which is available at
+ *  https://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  SPDX-License-Identifier: Apache-2.0
+ *
+ *  Contributors:
+ *       Bayerische Motoren Werke Aktiengesellschaft (BMW AG) - initial API and implementation
+ *
+ */
+
+package org.eclipse.tractusx.mxd.dataservice.store.offheap;
+
+import org.eclipse.edc.spi.query.QuerySpec;
+import org.eclipse.edc.spi.result.StoreResult;
+import org.eclipse.tractusx.mxd.dataservice.model.DataRecord;
+import org.eclipse.tractusx.mxd.dataservice.model.VersionedDataRecord;
+import org.eclipse.tractusx.mxd.dataservice.store.AttributeEncoding;
+import org.eclipse.tractusx.mxd.dataservice.store.DataRecordIndex;
+import org.eclipse.tractusx.mxd.dataservice.store.DataRecordStore;
+import org.eclipse.tractusx.mxd.dataservice.store.offheap.IdOrder.Position;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+/**
+ * Keeps records UTF-8 encoded in direct memory instead of as objects on the heap, so that even tens of millions of
+ * records add next to nothing to the work of the garbage collector. {@link DataRecord}s are only materialized while they
+ * are read, e.g. one by one while a response is serialized.
+ * <p>
+ * Records are found by ID through an {@link IdHashTable} and listed in ID order through an {@link IdOrder}, both of which
+ * only hold addresses in primitive arrays. There are no secondary indexes, queries other than by ID scan the records,
+ * see {@link DataRecordIndex#query(QuerySpec, DataRecordIndex.IdOrderedRecords)}. Replaced and deleted records are
+ * reclaimed by copying the live ones into a new arena once they make up more than half of it.
+ * <p>
+ * Reads share a lock, writes hold it exclusively. Listing records reads them in batches, each of which takes the lock
+ * on its own, so a long listing does not hold up writes and, like the map of the in-memory store, sees a weakly
+ * consistent view.
+ */
+public class OffHeapDataRecordStore implements DataRecordStore {
+
+    private static final int BATCH_SIZE = 256;
+
+    private final int slabSize;
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private final IdOrder order = new IdOrder();
+    private final AtomicLong modifications = new AtomicLong();
+    // distinguishes the revisions of this instance from those of an earlier one with different content
+    private final String epoch = Long.toHexString(ThreadLocalRandom.current().nextLong());
+    private RecordArena arena;
+    private IdHashTable table = new IdHashTable();
+    private long versions;
+    private long garbage;
+
+    /**
+     * @param slabSize the size of the blocks of direct memory records are allocated from
+     */
+    public OffHeapDataRecordStore(int slabSize) {
+        this.slabSize = slabSize;
+        this.arena = new RecordArena(slabSize);
+    }
+
+    @Override
+    public @Nullable VersionedDataRecord findById(String id) {
+        var encoded = RecordArena.encode(id);
+        var hash = RecordArena.hash(encoded);
+        lock.readLock().lock();
+        try {
+            var address = table.find(arena, encoded, hash);
+            return address < 0 ? null : arena.read(address);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    @Override
+    public Stream<DataRecord> findAll(QuerySpec querySpec) {
+        return DataRecordIndex.query(querySpec, this::range);
+    }
+
+    @Override
+    public StoreResult<Long> create(DataRecord dataRecord) {
+        var encoded = new EncodedRecord(dataRecord);
+        lock.writeLock().lock();
+        try {
+            return create(encoded);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @Override
+    public List<StoreResult<Long>> createAll(List<DataRecord> dataRecords) {
+        var encoded = dataRecords.stream().map(EncodedRecord::new).toList();
+        lock.writeLock().lock();
+        try {
+            return encoded.stream().map(this::create).toList();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @Override
+    public StoreResult<Long> update(DataRecord dataRecord, @Nullable Long expectedVersion) {
+        var encoded = new EncodedRecord(dataRecord);
+        lock.writeLock().lock();
+        try {
+            var previous = table.find(arena, encoded.id, encoded.hash);
+            if (previous < 0) {
+                return StoreResult.notFound("DataRecord with id " + dataRecord.id() + " not found");
+            }
+            if (expectedVersion != null && arena.version(previous) != expectedVersion) {
+                return StoreResult.alreadyExists("DataRecord with id %s has been modified, its current version is %d"
+                        .formatted(dataRecord.id(), arena.version(previous)));
+            }
+            var version = ++versions;
+            var address = arena.write(version, encoded.id, encoded.name, encoded.description, encoded.attributes);
+            table.replace(arena, encoded.id, encoded.hash, address);
+            order.replace(arena, encoded.id, address);
+            garbage += arena.size(previous);
+            modifications.incrementAndGet();
+            compactIfNeeded();
+            return StoreResult.success(version);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @Override
+    public StoreResult<DataRecord> deleteById(String id, @Nullable Long expectedVersion) {
+        var encoded = RecordArena.encode(id);
+        var hash = RecordArena.hash(encoded);
+        lock.writeLock().lock();
+        try {
+            var address = table.find(arena, encoded, hash);
+            if (address < 0) {
+                return StoreResult.notFound("DataRecord with id " + id + " not found");
+            }
+            if (expectedVersion != null && arena.version(address) != expectedVersion) {
+                return StoreResult.alreadyExists("DataRecord with id %s has been modified, its current version is %d"
+                        .formatted(id, arena.version(address)));
+            }
+            var previous = arena.read(address).dataRecord();
+            table.remove(arena, encoded, hash);
+            order.remove(arena, encoded);
+            garbage += arena.size(address);
+            versions++;
+            modifications.incrementAndGet();
+            compactIfNeeded();
+            return StoreResult.success(previous);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @Override
+    public long count() {
+        lock.readLock().lock();
+        try {
+            return table.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    @Override
+    public String revision() {
+        return epoch + "-" + modifications.get();
+    }
+
+    /**
+     * The number of bytes of direct memory the store has allocated.
+     */
+    public long offHeapCapacity() {
+        lock.readLock().lock();
+        try {
+            return arena.capacity();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * The number of bytes of direct memory taken up by current records.
+     */
+    public long offHeapUsed() {
+        lock.readLock().lock();
+        try {
+            return arena.used() - garbage;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private StoreResult<Long> create(EncodedRecord encoded) {
+        if (table.find(arena, encoded.id, encoded.hash) >= 0) {
+            return StoreResult.alreadyExists("DataRecord with id " + encoded.dataRecord.id() + " already exists");
+        }
+        var version = ++versions;
+        var address = arena.write(version, encoded.id, encoded.name, encoded.description, encoded.attributes);
+        table.add(encoded.hash, address);
+        order.insert(arena, encoded.id, address);
+        modifications.incrementAndGet();
+        return StoreResult.success(version);
+    }
+
+    private void compactIfNeeded() {
+        if (garbage < slabSize || garbage * 2 < arena.used()) {
+            return;
+        }
+        var compacted = new RecordArena(slabSize);
+        var compactedTable = new IdHashTable();
+        order.relocate(address -> {
+            var moved = compacted.copy(arena, address);
+            compactedTable.add(compacted.hash(moved), moved);
+            return moved;
+        });
+        arena = compacted;
+        table = compactedTable;
+        garbage = 0;
+    }
+
+    private Stream<DataRecord> range(@Nullable String lower, boolean lowerInclusive, @Nullable String upper, boolean upperInclusive, boolean descending) {
+        var spliterator = descending ?
+                new RangeSpliterator(RecordArena.encode(upper), upperInclusive, RecordArena.encode(lower), lowerInclusive, true) :
+                new RangeSpliterator(RecordArena.encode(lower), lowerInclusive, RecordArena.encode(upper), upperInclusive, false);
+        return StreamSupport.stream(spliterator, false);
+    }
+
+    /**
+     * The parts of a record as they are written to the arena, encoded before the lock is taken.
+     */
+    private static final class EncodedRecord {
+        private final DataRecord dataRecord;
+        private final byte[] id;
+        private final byte[] name;
+        private final byte[] description;
+        private final byte[] attributes;
+        private final int hash;
+
+        EncodedRecord(DataRecord dataRecord) {
+            this.dataRecord = dataRecord;
+            this.id = RecordArena.encode(dataRecord.id());
+            this.name = RecordArena.encode(dataRecord.name());
+            this.description = RecordArena.encode(dataRecord.description());
+            this.attributes = AttributeEncoding.encode(dataRecord.attributes());
+            this.hash = RecordArena.hash(id);
+        }
+    }
+
+    /**
+     * Walks the records from one ID towards another in batches, each batch continues after the last ID of the previous one.
+     */
+    private final class RangeSpliterator extends Spliterators.AbstractSpliterator<DataRecord> {
+
+        private final byte[] end;
+        private final boolean endInclusive;
+        private final boolean descending;
+        private byte[] start;
+        private boolean startInclusive;
+        private Iterator<DataRecord> batch = Collections.emptyIterator();
+        private boolean exhausted;
+
+        RangeSpliterator(@Nullable byte[] start, boolean startInclusive, @Nullable byte[] end, boolean endInclusive, boolean descending) {
+            super(Long.MAX_VALUE, Spliterator.ORDERED | Spliterator.NONNULL | Spliterator.DISTINCT);
+            this.start = start;
+            this.startInclusive = startInclusive;
+            this.end = end;
+            this.endInclusive = endInclusive;
+            this.descending = descending;
+        }
+
+        @Override
+        public boolean tryAdvance(Consumer<? super DataRecord> action) {
+            if (!batch.hasNext()) {
+                if (exhausted) {
+                    return false;
+                }
+                batch = nextBatch();
+                if (!batch.hasNext()) {
+                    return false;
+                }
+            }
+            action.accept(batch.next());
+            return true;
+        }
+
+        private Iterator<DataRecord> nextBatch() {
+            var records = new ArrayList<DataRecord>(BATCH_SIZE);
+            lock.readLock().lock();
+            try {
+                var position = startPosition();
+                long last = -1;
+                while (position != null && records.size() < BATCH_SIZE) {
+                    var address = order.address(position);
+                    if (end != null && pastEnd(arena.compareId(address, end))) {
+                        break;
+                    }
+                    records.add(arena.read(address).dataRecord());
+                    last = address;
+                    position = descending ? order.previous(position) : order.next(position);
+                }
+                if (records.size() < BATCH_SIZE) {
+                    exhausted = true;
+                } else {
+                    start = arena.id(last);
+                    startInclusive = false;
+                }
+            } finally {
+                lock.readLock().unlock();
+            }
+            return records.iterator();
+        }
+
+        private @Nullable Position startPosition() {
+            if (start == null) {
+                return descending ? order.last() : order.first();
+            }
+            // the first record at or after the start, which is one too far when walking down unless it is the start itself
+            var position = order.ceiling(arena, start);
+            if (descending) {
+                if (position == null) {
+                    return order.last();
+                }
+                var comparison = arena.compareId(order.address(position), start);
+                return comparison > 0 || comparison == 0 && !startInclusive ? order.previous(position) : position;
+            }
+            if (position != null && !startInclusive && arena.compareId(order.address(position), start) == 0) {
+                return order.next(position);
+            }
+            return position;
+        }
+
+        private boolean pastEnd(int comparison) {
+            var beyond = descending ? comparison < 0 : comparison > 0;
+            return beyond || comparison == 0 && !endInclusive;
+        }
+    }
+}
@@ -0,0 +1,258 @@
+/*
+ *  Copyright (c) 2024 Bayerische Motoren Werke Aktiengesellschaft (BMW AG)
+ *
+ *  This program and the accompanying materials are made available under the
+ *  terms of the Apache License, Version 2.0 which is available at
+ *  https://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  SPDX-License-Identifier: Apache-2.0
+ *
+ *  Contributors:
+ *       Bayerische Motoren Werke Aktiengesellschaft (BMW AG) - initial API and implementation
+ *
+ */
+
+package org.eclipse.tractusx.mxd.dataservice.store.offheap;
+
+import org.eclipse.tractusx.mxd.dataservice.model.DataRecord;
+import org.eclipse.tractusx.mxd.dataservice.model.VersionedDataRecord;
+import org.eclipse.tractusx.mxd.dataservice.store.AttributeEncoding;
+import org.jetbrains.annotations.Nullable;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Encoded records in slabs of direct memory, which the garbage collector never looks into. Records are only ever
+ * appended, replacing or removing one leaves its old encoding behind as garbage until the arena is copied into a new one.
+ * <p>
+ * A record is encoded as {@code version:long | idLength:int | nameLength:int | descriptionLength:int | attributesLength:int}
+ * followed by the UTF-8 bytes of the three strings and the attributes as encoded by {@link AttributeEncoding}, a length
+ * of -1 stands for null. Its address is {@code slab << 32 | offset}.
+ * <p>
+ * Not thread-safe, reads may run concurrently with each other but not with writes.
+ */
+final class RecordArena {
+
+    private static final int ID_LENGTH = Long.BYTES;
+    private static final int NAME_LENGTH = ID_LENGTH + Integer.BYTES;
+    private static final int DESCRIPTION_LENGTH = NAME_LENGTH + Integer.BYTES;
+    private static final int ATTRIBUTES_LENGTH = DESCRIPTION_LENGTH + Integer.BYTES;
+    private static final int HEADER_SIZE = ATTRIBUTES_LENGTH + Integer.BYTES;
+    private static final int ID = HEADER_SIZE;
+
+    private final int slabSize;
+    private final List<ByteBuffer> slabs = new ArrayList<>();
+    private long capacity;
+    private long used;
+
+    RecordArena(int slabSize) {
+        this.slabSize = slabSize;
+    }
+
+    static @Nullable byte[] encode(@Nullable String value) {
+        return value == null ? null : value.getBytes(StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Hash of an encoded ID, the same as {@link #hash(long)} of the record stored with it.
+     */
+    static int hash(byte[] id) {
+        return hash(ByteBuffer.wrap(id), 0, id.length);
+    }
+
+    long write(long version, byte[] id, @Nullable byte[] name, @Nullable byte[] description, @Nullable byte[] attributes) {
+        var size = HEADER_SIZE + id.length + length(name) + length(description) + length(attributes);
+        var slab = slabFor(size);
+        var offset = slab.position();
+        slab.putLong(version).putInt(id.length).putInt(name == null ? -1 : name.length).putInt(description == null ? -1 : description.length)
+                .putInt(attributes == null ? -1 : attributes.length);
+        slab.put(id);
+        if (name != null) {
+            slab.put(name);
+        }
+        if (description != null) {
+            slab.put(description);
+        }
+        if (attributes != null) {
+            slab.put(attributes);
+        }
+        used += size;
+        return address(slabs.size() - 1, offset);
+    }
+
+    /**
+     * Copies a record of another arena into this one, as is.
+     */
+    long copy(RecordArena source, long address) {
+        var from = source.slab(address);
+        var offset = offset(address);
+        var size = source.size(address);
+        var slab = slabFor(size);
+        var position = slab.position();
+        slab.put(position, from, offset, size).position(position + size);
+        used += size;
+        return address(slabs.size() - 1, position);
+    }
+
+    VersionedDataRecord read(long address) {
+        var slab = slab(address);
+        var offset = offset(address);
+        var idLength = slab.getInt(offset + ID_LENGTH);
+        var nameLength = slab.getInt(offset + NAME_LENGTH);
+        var descriptionLength = slab.getInt(offset + DESCRIPTION_LENGTH);
+        var id = string(slab, offset + ID, idLength);
+        var name = string(slab, offset + ID + idLength, nameLength);
+        var description = string(slab, offset + ID + idLength + Math.max(nameLength, 0), descriptionLength);
+        var attributesLength = slab.getInt(offset + ATTRIBUTES_LENGTH);
+        var attributes = attributesLength < 0 ? null :
+                AttributeEncoding.decode(slab.slice(offset + ID + idLength + Math.max(nameLength, 0) + Math.max(descriptionLength, 0), attributesLength));
+        return new VersionedDataRecord(new DataRecord(id, name, description, attributes), slab.getLong(offset));
+    }
+
+    long version(long address) {
+        return slab(address).getLong(offset(address));
+    }
+
+    byte[] id(long address) {
+        var slab = slab(address);
+        var offset = offset(address);
+        var id = new byte[slab.getInt(offset + ID_LENGTH)];
+        slab.get(offset + ID, id);
+        return id;
+    }
+
+    int hash(long address) {
+        var slab = slab(address);
+        var offset = offset(address);
+        return hash(slab, offset + ID, slab.getInt(offset + ID_LENGTH));
+    }
+
+    boolean idEquals(long address, byte[] id) {
+        var slab = slab(address);
+        var offset = offset(address);
+        return slab.getInt(offset + ID_LENGTH) == id.length && slab.slice(offset + ID, id.length).equals(ByteBuffer.wrap(id));
+    }
+
+    /**
+     * Compares the ID of the record with the given one in the order of {@link String#compareTo}.
+     */
+    int compareId(long address, byte[] id) {
+        var slab = slab(address);
+        var offset = offset(address);
+        return compare(slab, offset + ID, slab.getInt(offset + ID_LENGTH), ByteBuffer.wrap(id), 0, id.length);
+    }
+
+    /**
+     * The number of bytes the record takes up.
+     */
+    int size(long address) {
+        var slab = slab(address);
+        var offset = offset(address);
+        return HEADER_SIZE + slab.getInt(offset + ID_LENGTH) +
+                Math.max(slab.getInt(offset + NAME_LENGTH), 0) +
+                Math.max(slab.getInt(offset + DESCRIPTION_LENGTH), 0) +
+                Math.max(slab.getInt(offset + ATTRIBUTES_LENGTH), 0);
+    }
+
+    /**
+     * The number of bytes of direct memory allocated.
+     */
+    long capacity() {
+        return capacity;
+    }
+
+    /**
+     * The number of bytes written, including records that have since been replaced.
+     */
+    long used() {
+        return used;
+    }
+
+    private ByteBuffer slabFor(int size) {
+        var slab = slabs.isEmpty() ? null : slabs.get(slabs.size() - 1);
+        if (slab == null || slab.remaining() < size) {
+            slab = ByteBuffer.allocateDirect(Math.max(slabSize, size));
+            slabs.add(slab);
+            capacity += slab.capacity();
+        }
+        return slab;
+    }
+
+    private ByteBuffer slab(long address) {
+        return slabs.get((int) (address >>> 32));
+    }
+
+    private static int offset(long address) {
+        return (int) address;
+    }
+
+    private static long address(int slab, int offset) {
+        return (long) slab << 32 | offset;
+    }
+
+    private static int length(@Nullable byte[] value) {
+        return value == null ? 0 : value.length;
+    }
+
+    private static @Nullable String string(ByteBuffer slab, int offset, int length) {
+        if (length < 0) {
+            return null;
+        }
+        var bytes = new byte[length];
+        slab.get(offset, bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    private static int hash(ByteBuffer buffer, int offset, int length) {
+        // FNV-1a
+        var hash = 0x811C9DC5;
+        for (var i = 0; i < length; i++) {
+            hash = (hash ^ (buffer.get(offset + i) & 0xFF)) * 0x01000193;
+        }
+        return hash ^ hash >>> 16;
+    }
+
+    /**
+     * Compares two UTF-8 strings in the order of their UTF-16 code units, which is what {@link String#compareTo} does.
+     * The bytes are equal up to the first character that differs, whose code points then decide.
+     */
+    private static int compare(ByteBuffer a, int aOffset, int aLength, ByteBuffer b, int bOffset, int bLength) {
+        var length = Math.min(aLength, bLength);
+        var i = 0;
+        while (i < length && a.get(aOffset + i) == b.get(bOffset + i)) {
+            i++;
+        }
+        if (i == length) {
+            return Integer.compare(aLength, bLength);
+        }
+        // back up to the first byte of the character that differs
+        while (i > 0 && (a.get(aOffset + i) & 0xC0) == 0x80) {
+            i--;
+        }
+        return Integer.compare(utf16Order(codePoint(a, aOffset + i)), utf16Order(codePoint(b, bOffset + i)));
+    }
+
+    private static int codePoint(ByteBuffer buffer, int offset) {
+        var lead = buffer.get(offset) & 0xFF;
+        if (lead < 0x80) {
+            return lead;
+        }
+        if (lead < 0xE0) {
+            return (lead & 0x1F) << 6 | buffer.get(offset + 1) & 0x3F;
+        }
+        if (lead < 0xF0) {
+            return (lead & 0x0F) << 12 | (buffer.get(offset + 1) & 0x3F) << 6 | buffer.get(offset + 2) & 0x3F;
+        }
+        return (lead & 0x07) << 18 | (buffer.get(offset + 1) & 0x3F) << 12 | (buffer.get(offset + 2) & 0x3F) << 6 | buffer.get(offset + 3) & 0x3F;
+    }
+
+    /**
+     * Supplementary characters are encoded as surrogates in UTF-16, which sort before the BMP characters from U+E000 up.
+     */
+    private static int utf16Order(int codePoint) {
+        return codePoint >= 0xE000 && codePoint <= 0xFFFF ? codePoint + 0x110000 : codePoint;
+    }
+}
@@ -0,0 +1,447 @@
+/*
+ *  Copyright (c) 2024 Bayerische Motoren Werke Aktiengesellschaft (BMW AG)
+ *
+ *  This program and the accompanying materials are made available under the
+ *  terms of the Apache License, Version 2.0 which is available at
+ *  https://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  SPDX-License-Identifier: Apache-2.0
+ *
+ *  Contributors:
+ *       Bayerische Motoren Werke Aktiengesellschaft (BMW AG) - initial API and implementation
+ *
+ */
+
+package org.eclipse.tractusx.mxd.dataservice.store.snapshot;
+
+import org.eclipse.tractusx.mxd.dataservice.model.DataRecord;
+import org.eclipse.tractusx.mxd.dataservice.model.SnapshotInfo;
+import org.eclipse.tractusx.mxd.dataservice.model.VersionedDataRecord;
+import org.eclipse.tractusx.mxd.dataservice.store.AttributeEncoding;
+import org.eclipse.tractusx.mxd.dataservice.store.InMemoryDataRecordStore;
+import org.jetbrains.annotations.Nullable;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.AbstractMap;
+import java.util.AbstractSet;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.SortedMap;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.ForkJoinPool;
+import java.util.zip.CRC32C;
+import java.util.zip.DataFormatException;
+import java.util.zip.Deflater;
+import java.util.zip.Inflater;
+
+import static java.nio.file.StandardCopyOption.ATOMIC_MOVE;
+import static java.nio.file.StandardCopyOption.REPLACE_EXISTING;
+import static java.nio.file.StandardOpenOption.READ;
+import static java.nio.file.StandardOpenOption.WRITE;
+
+/**
+ * A copy of the records of an {@link InMemoryDataRecordStore} in a single file, so that a restart does not lose them.
+ * <p>
+ * The file starts with {@code magic:int | flags:int | lastVersion:long | count:long}, followed by chunks of
+ * {@code rawLength:int | storedLength:int | crc32c:int | bytes} and a final {@code 0:int}. A chunk holds consecutive
+ * records as {@code version:long | id | name | description | attributes}, each string as {@code byteLength:int | utf8 bytes}
+ * with a length of -1 for null and the attributes as described in {@link AttributeEncoding}. Snapshots written before
+ * records had attributes lack the flag for them, and their records end after the description. In a compressed snapshot every chunk is deflated on its own, which lets chunks be compressed
+ * while the next ones are encoded, and be mapped and decoded in parallel on restore.
+ */
+public class DataRecordSnapshot {
+
+    private static final int MAGIC = 0x4D584453;
+    private static final int FLAG_COMPRESSED = 1;
+    private static final int FLAG_ATTRIBUTES = 2;
+    private static final int HEADER_SIZE = 2 * Integer.BYTES + 2 * Long.BYTES;
+    private static final int CHUNK_HEADER_SIZE = 3 * Integer.BYTES;
+    private static final int CHUNK_SIZE = 4 * 1024 * 1024;
+
+    private final Path file;
+    private final boolean compress;
+
+    /**
+     * @param compress whether snapshots are written compressed, both variants can be read regardless
+     */
+    public DataRecordSnapshot(Path file, boolean compress) {
+        this.file = file;
+        this.compress = compress;
+    }
+
+    public Path file() {
+        return file;
+    }
+
+    public boolean exists() {
+        return Files.isRegularFile(file);
+    }
+
+    /**
+     * Writes the records of the store to a new snapshot that replaces the previous one once it is complete. Records
+     * changed while the snapshot is written may be included in either state, but every record is included in a state it
+     * actually had.
+     */
+    public SnapshotInfo write(InMemoryDataRecordStore store) throws IOException {
+        var start = System.nanoTime();
+        // taken before the records are read, versions assigned later are covered by the records themselves
+        var lastVersion = store.lastVersion();
+        var directory = file.toAbsolutePath().getParent();
+        Files.createDirectories(directory);
+        var temporary = Files.createTempFile(directory, file.getFileName().toString(), ".tmp");
+        try {
+            long count = 0;
+            long size;
+            try (var channel = FileChannel.open(temporary, WRITE)) {
+                channel.position(HEADER_SIZE);
+                // chunks are sealed on the common pool while the next ones are encoded, and written in order
+                var pending = new ArrayDeque<CompletableFuture<ByteBuffer[]>>();
+                var chunk = ByteBuffer.allocate(CHUNK_SIZE);
+                for (var iterator = store.stream().iterator(); iterator.hasNext(); ) {
+                    var versioned = iterator.next();
+                    var encodedSize = encodedSize(versioned.dataRecord());
+                    if (chunk.remaining() < encodedSize) {
+                        if (chunk.position() > 0) {
+                            var full = chunk;
+                            pending.add(CompletableFuture.supplyAsync(() -> seal(full)));
+                            if (pending.size() > ForkJoinPool.getCommonPoolParallelism()) {
+                                write(channel, pending.removeFirst().join());
+                            }
+                        }
+                        chunk = ByteBuffer.allocate(Math.max(CHUNK_SIZE, encodedSize));
+                    }
+                    encode(versioned, chunk);
+                    lastVersion = Math.max(lastVersion, versioned.version());
+                    count++;
+                }
+                if (chunk.position() > 0) {
+                    pending.add(CompletableFuture.completedFuture(seal(chunk)));
+                }
+                while (!pending.isEmpty()) {
+                    write(channel, pending.removeFirst().join());
+                }
+                write(channel, new ByteBuffer[]{ ByteBuffer.allocate(Integer.BYTES) });
+                var header = ByteBuffer.allocate(HEADER_SIZE)
+                        .putInt(MAGIC)
+                        .putInt((compress ? FLAG_COMPRESSED : 0) | FLAG_ATTRIBUTES)
+                        .putLong(lastVersion)
+                        .putLong(count)
+                        .flip();
+                while (header.hasRemaining()) {
+                    channel.write(header, header.position());
+                }
+                size = channel.size();
+                channel.force(true);
+            }
+            Files.move(temporary, file, ATOMIC_MOVE, REPLACE_EXISTING);
+            return new SnapshotInfo(file.toString(), count, size, compress, Duration.ofNanos(System.nanoTime() - start).toMillis());
+        } finally {
+            Files.deleteIfExists(temporary);
+        }
+    }
+
+    /**
+     * Maps the snapshot and decodes its chunks in parallel into a new store, which continues versioning where the
+     * snapshotted store left off. Records are written in ID order, so the store's map is built from them without any
+     * lookups.
+     *
+     * @throws IOException if the file is not a snapshot, or is truncated or corrupted
+     */
+    public InMemoryDataRecordStore read() throws IOException {
+        try (var channel = FileChannel.open(file, READ)) {
+            var header = read(channel, 0, HEADER_SIZE);
+            if (header.getInt() != MAGIC) {
+                throw new IOException("Not a data record snapshot: " + file);
+            }
+            var flags = header.getInt();
+            var compressed = (flags & FLAG_COMPRESSED) != 0;
+            var attributes = (flags & FLAG_ATTRIBUTES) != 0;
+            var lastVersion = header.getLong();
+            var count = header.getLong();
+
+            // walking the chunk headers is cheap, it is the chunks themselves that are decoded in parallel
+            var chunks = new ArrayList<Chunk>();
+            long position = HEADER_SIZE;
+            while (true) {
+                var rawLength = read(channel, position, Integer.BYTES).getInt();
+                if (rawLength == 0) {
+                    break;
+                }
+                var chunkHeader = read(channel, position + Integer.BYTES, CHUNK_HEADER_SIZE - Integer.BYTES);
+                var chunk = new Chunk(position + CHUNK_HEADER_SIZE, rawLength, chunkHeader.getInt(), chunkHeader.getInt());
+                if (chunk.rawLength() < 0 || chunk.storedLength() < 0 || chunk.offset() + chunk.storedLength() > channel.size()) {
+                    throw new IOException("Truncated data record snapshot: " + file);
+                }
+                chunks.add(chunk);
+                position = chunk.offset() + chunk.storedLength();
+            }
+
+            List<List<VersionedDataRecord>> records;
+            try {
+                records = chunks.parallelStream().<List<VersionedDataRecord>>map(chunk -> {
+                    try {
+                        var buffer = channel.map(FileChannel.MapMode.READ_ONLY, chunk.offset(), chunk.storedLength());
+                        var raw = compressed ? inflate(buffer, chunk.rawLength()) : buffer;
+                        var crc = new CRC32C();
+                        crc.update(raw.duplicate());
+                        if ((int) crc.getValue() != chunk.crc32c()) {
+                            throw new IOException("Corrupted chunk at offset %d of data record snapshot %s".formatted(chunk.offset(), file));
+                        }
+                        var decoded = new ArrayList<VersionedDataRecord>();
+                        while (raw.hasRemaining()) {
+                            decoded.add(decode(raw, attributes));
+                        }
+                        return decoded;
+                    } catch (IOException e) {
+                        throw new UncheckedIOException(e);
+                    }
+                }).toList();
+            } catch (UncheckedIOException e) {
+                throw e.getCause();
+            } catch (RuntimeException e) {
+                // a length that points past the end of its chunk
+                throw new IOException("Corrupted data record snapshot: " + file, e);
+            }
+            var sorted = new SortedRecords(records);
+            if (sorted.size() != count) {
+                throw new IOException("Data record snapshot %s holds %d records instead of %d".formatted(file, sorted.size(), count));
+            }
+            ConcurrentSkipListMap<String, VersionedDataRecord> database;
+            try {
+                database = new ConcurrentSkipListMap<>(sorted);
+            } catch (RuntimeException e) {
+                // records out of ID order, or without an ID
+                throw new IOException("Corrupted data record snapshot: " + file, e);
+            }
+            return new InMemoryDataRecordStore(database, lastVersion);
+        }
+    }
+
+    private ByteBuffer[] seal(ByteBuffer raw) {
+        raw.flip();
+        var crc = new CRC32C();
+        crc.update(raw.duplicate());
+        var rawLength = raw.remaining();
+        var stored = compress ? deflate(raw) : raw;
+        var header = ByteBuffer.allocate(CHUNK_HEADER_SIZE)
+                .putInt(rawLength)
+                .putInt(stored.remaining())
+                .putInt((int) crc.getValue())
+                .flip();
+        return new ByteBuffer[]{ header, stored };
+    }
+
+    private static ByteBuffer deflate(ByteBuffer raw) {
+        var deflater = new Deflater(Deflater.BEST_SPEED);
+        try {
+            deflater.setInput(raw);
+            deflater.finish();
+            var target = ByteBuffer.allocate(raw.remaining() + raw.remaining() / 1000 + 64);
+            while (!deflater.finished()) {
+                if (!target.hasRemaining()) {
+                    target = ByteBuffer.allocate(2 * target.capacity()).put(target.flip());
+                }
+                deflater.deflate(target);
+            }
+            return target.flip();
+        } finally {
+            deflater.end();
+        }
+    }
+
+    private static ByteBuffer inflate(ByteBuffer stored, int rawLength) throws IOException {
+        var inflater = new Inflater();
+        try {
+            inflater.setInput(stored);
+            var target = ByteBuffer.allocate(rawLength);
+            while (!inflater.finished()) {
+                if (!target.hasRemaining() || inflater.inflate(target) == 0 && (inflater.needsInput() || inflater.needsDictionary())) {
+                    throw new IOException("Corrupted compressed chunk in data record snapshot");
+                }
+            }
+            return target.flip();
+        } catch (DataFormatException e) {
+            throw new IOException("Corrupted compressed chunk in data record snapshot", e);
+        } finally {
+            inflater.end();
+        }
+    }
+
+    private static void write(FileChannel channel, ByteBuffer[] buffers) throws IOException {
+        while (buffers[buffers.length - 1].hasRemaining()) {
+            channel.write(buffers);
+        }
+    }
+
+    private static ByteBuffer read(FileChannel channel, long position, int length) throws IOException {
+        var buffer = ByteBuffer.allocate(length);
+        while (buffer.hasRemaining()) {
+            if (channel.read(buffer, position + buffer.position()) < 0) {
+                throw new IOException("Unexpected end of data record snapshot");
+            }
+        }
+        return buffer.flip();
+    }
+
+    private static int encodedSize(DataRecord dataRecord) {
+        return Long.BYTES + stringSize(dataRecord.id()) + stringSize(dataRecord.name()) + stringSize(dataRecord.description()) +
+                AttributeEncoding.encodedSize(dataRecord.attributes());
+    }
+
+    private static void encode(VersionedDataRecord versioned, ByteBuffer target) {
+        target.putLong(versioned.version());
+        putString(target, versioned.dataRecord().id());
+        putString(target, versioned.dataRecord().name());
+        putString(target, versioned.dataRecord().description());
+        AttributeEncoding.encode(versioned.dataRecord().attributes(), target);
+    }
+
+    private static VersionedDataRecord decode(ByteBuffer source, boolean attributes) {
+        var version = source.getLong();
+        return new VersionedDataRecord(new DataRecord(getString(source), getString(source), getString(source),
+                attributes ? AttributeEncoding.decode(source) : null), version);
+    }
+
+    private static int stringSize(@Nullable String value) {
+        return Integer.BYTES + (value == null ? 0 : utf8Length(value));
+    }
+
+    private static void putString(ByteBuffer target, @Nullable String value) {
+        if (value == null) {
+            target.putInt(-1);
+            return;
+        }
+        var bytes = value.getBytes(StandardCharsets.UTF_8);
+        target.putInt(bytes.length);
+        target.put(bytes);
+    }
+
+    private static @Nullable String getString(ByteBuffer source) {
+        var length = source.getInt();
+        if (length < 0) {
+            return null;
+        }
+        var bytes = new byte[length];
+        source.get(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    private static int utf8Length(String value) {
+        var length = 0;
+        for (var i = 0; i < value.length(); i++) {
+            var c = value.charAt(i);
+            if (c < 0x80) {
+                length++;
+            } else if (c < 0x800) {
+                length += 2;
+            } else if (Character.isHighSurrogate(c) && i + 1 < value.length() && Character.isLowSurrogate(value.charAt(i + 1))) {
+                length += 4;
+                i++;
+            } else {
+                length += 3;
+            }
+        }
+        return length;
+    }
+
+    /**
+     * The decoded records as a sorted map, which {@link ConcurrentSkipListMap} builds its index from in linear time
+     * instead of inserting the records one by one. Only iteration is supported, it fails if the records are not in
+     * ascending ID order.
+     */
+    private static final class SortedRecords extends AbstractMap<String, VersionedDataRecord> implements SortedMap<String, VersionedDataRecord> {
+
+        private final List<List<VersionedDataRecord>> chunks;
+        private final int size;
+
+        SortedRecords(List<List<VersionedDataRecord>> chunks) {
+            this.chunks = chunks;
+            this.size = chunks.stream().mapToInt(List::size).sum();
+        }
+
+        @Override
+        public Set<Entry<String, VersionedDataRecord>> entrySet() {
+            return new AbstractSet<>() {
+                @Override
+                public Iterator<Entry<String, VersionedDataRecord>> iterator() {
+                    var records = chunks.stream().flatMap(List::stream).iterator();
+                    return new Iterator<>() {
+                        private @Nullable String previous;
+
+                        @Override
+                        public boolean hasNext() {
+                            return records.hasNext();
+                        }
+
+                        @Override
+                        public Entry<String, VersionedDataRecord> next() {
+                            var versioned = records.next();
+                            var id = versioned.dataRecord().id();
+                            if (previous != null && previous.compareTo(id) >= 0) {
+                                throw new IllegalStateException("Record %s follows record %s".formatted(id, previous));
+                            }
+                            previous = id;
+                            return Map.entry(id, versioned);
+                        }
+                    };
+                }
+
+                @Override
+                public int size() {
+                    return size;
+                }
+            };
+        }
+
+        @Override
+        public int size() {
+            return size;
+        }
+
+        @Override
+        public @Nullable Comparator<? super String> comparator() {
+            return null;
+        }
+
+        @Override
+        public SortedMap<String, VersionedDataRecord> subMap(String fromKey, String toKey) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public SortedMap<String, VersionedDataRecord> headMap(String toKey) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public SortedMap<String, VersionedDataRecord> tailMap(String fromKey) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public String firstKey() {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public String lastKey() {
+            throw new UnsupportedOperationException();
+        }
+    }
+
+    private record Chunk(long offset, int rawLength, int storedLength, int crc32c) {
+    }
+}
@@ -0,0 +1,445 @@
+/*
+ *  Copyright (c) 2024 Bayerische Motoren Werke Aktiengesellschaft (BMW AG)
+ *
+ *  This program and the accompanying materials are made available under the
+ *  terms of the Apache License, Version 2.0 which is available at
+ *  https://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  SPDX-License-Identifier: Apache-2.0
+ *
+ *  Contributors:
+ *       Bayerische Motoren Werke Aktiengesellschaft (BMW AG) - initial API and implementation
+ *
+ */
+
+package org.eclipse.tractusx.mxd.dataservice.store.sql;
+
+import org.eclipse.edc.spi.EdcException;
+import org.eclipse.edc.spi.query.Criterion;
+import org.eclipse.edc.spi.query.QuerySpec;
+import org.eclipse.edc.spi.query.SortOrder;
+import org.eclipse.edc.spi.result.StoreResult;
+import org.eclipse.edc.transaction.datasource.spi.DataSourceRegistry;
+import org.eclipse.edc.transaction.spi.TransactionContext;
+import org.eclipse.edc.web.spi.exception.InvalidRequestException;
+import org.eclipse.tractusx.mxd.dataservice.model.DataRecord;
+import org.eclipse.tractusx.mxd.dataservice.model.VersionedDataRecord;
+import org.eclipse.tractusx.mxd.dataservice.store.AttributeEncoding;
+import org.eclipse.tractusx.mxd.dataservice.store.DataRecordStore;
+import org.jetbrains.annotations.Nullable;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.function.Consumer;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+/**
+ * Keeps the records in a SQL database, so that they are not bound to the heap of one JVM and can be shared between
+ * replicas. Written against PostgreSQL, the schema in {@code data-record-schema.sql} is created on startup if needed.
+ * <p>
+ * Queries are translated to SQL. Paging through all records by a cursor ({@code id > ? ORDER BY id LIMIT ?}) is a
+ * keyset seek on the primary key, and bulk inserts are sent as a single JDBC batch. Versions are drawn from a database
+ * sequence on every insert and update. Attributes are kept in a binary column, encoded as described in
+ * {@link AttributeEncoding}.
+ * <p>
+ * The revision of the collection is the sum of {@value #REVISION_STRIPES} counters in a table of their own. Every write
+ * transaction that changed a record increments the counter its first record hashes to, as its last statement. Writers
+ * thus rarely wait for the same row lock, and a reader sees the new revision exactly when it sees the write. Versions
+ * are no substitute: they are drawn before the commit, so a write committing after a later one may not raise them.
+ * <p>
+ * Query results are read in batches, each completely within a transaction of its own, so no connection is held while
+ * a caller consumes the records. The batches after the first continue by keyset from the last row read, a query
+ * therefore behaves like a client paging by cursor: a record written while it is consumed may or may not be included.
+ */
+public class SqlDataRecordStore implements DataRecordStore {
+
+    static final String TABLE = "mxd_data_record";
+
+    private static final String SCHEMA_RESOURCE = "data-record-schema.sql";
+    private static final Map<String, String> COLUMNS = Map.of("id", "id", "name", "name", "description", "description");
+    private static final String NEXT_VERSION = "nextval('" + TABLE + "_version_seq')";
+    private static final String SELECT = "SELECT id, name, description, attributes FROM " + TABLE;
+    private static final String SELECT_VERSIONED = "SELECT id, name, description, attributes, version FROM " + TABLE;
+    private static final String INSERT = "INSERT INTO " + TABLE + " (id, name, description, attributes, version) VALUES (?, ?, ?, ?, " + NEXT_VERSION + ") ON CONFLICT DO NOTHING";
+    private static final String UPDATE = "UPDATE " + TABLE + " SET name = ?, description = ?, attributes = ?, version = " + NEXT_VERSION + " WHERE id = ?";
+    private static final String DELETE = "DELETE FROM " + TABLE + " WHERE id = ?";
+    private static final String COUNT = "SELECT COUNT(*) FROM " + TABLE;
+    private static final String REVISION = "SELECT SUM(revision) FROM " + TABLE + "_revision";
+    private static final String INSERT_REVISION_STRIPE = "INSERT INTO " + TABLE + "_revision (id, revision) VALUES (?, 0) ON CONFLICT DO NOTHING";
+    private static final String INCREMENT_REVISION = "UPDATE " + TABLE + "_revision SET revision = revision + 1 WHERE id = ?";
+    private static final int REVISION_STRIPES = 64;
+    private static final int FETCH_SIZE = 1000;
+
+    private final DataSourceRegistry dataSourceRegistry;
+    private final String dataSourceName;
+    private final TransactionContext transactionContext;
+
+    public SqlDataRecordStore(DataSourceRegistry dataSourceRegistry, String dataSourceName, TransactionContext transactionContext) {
+        this.dataSourceRegistry = dataSourceRegistry;
+        this.dataSourceName = dataSourceName;
+        this.transactionContext = transactionContext;
+    }
+
+    /**
+     * Creates the tables and their indexes and the counters of the revision if they do not exist yet.
+     */
+    public void createSchema() {
+        String schema;
+        try (var stream = getClass().getClassLoader().getResourceAsStream(SCHEMA_RESOURCE)) {
+            schema = new String(Objects.requireNonNull(stream, SCHEMA_RESOURCE).readAllBytes(), StandardCharsets.UTF_8);
+        } catch (IOException e) {
+            throw new EdcException(e);
+        }
+        transactionContext.execute(() -> {
+            try (var connection = getConnection(); var statement = connection.createStatement()) {
+                for (var sql : schema.replaceAll("(?m)^--.*$", "").split(";")) {
+                    if (!sql.isBlank()) {
+                        statement.execute(sql);
+                    }
+                }
+            } catch (SQLException e) {
+                throw new EdcException(e);
+            }
+            try (var connection = getConnection(); var statement = connection.prepareStatement(INSERT_REVISION_STRIPE)) {
+                for (var stripe = 0; stripe < REVISION_STRIPES; stripe++) {
+                    statement.setInt(1, stripe);
+                    statement.addBatch();
+                }
+                statement.executeBatch();
+            } catch (SQLException e) {
+                throw new EdcException(e);
+            }
+        });
+    }
+
+    @Override
+    public @Nullable VersionedDataRecord findById(String id) {
+        return transactionContext.execute(() -> {
+            var rows = query(SELECT_VERSIONED + " WHERE id = ?", List.of(id), SqlDataRecordStore::versionedDataRecord);
+            return rows.isEmpty() ? null : rows.get(0);
+        });
+    }
+
+    /**
+     * Reads the result in batches of {@value #FETCH_SIZE} rows as the stream is consumed, each in a transaction of its
+     * own. The first batch skips the offset, every further batch continues after the sort key and ID of the last row
+     * read, so no batch is read past an offset and the heap holds at most one batch.
+     */
+    @Override
+    public Stream<DataRecord> findAll(QuerySpec querySpec) {
+        var parameters = new ArrayList<>();
+        var conditions = querySpec.getFilterExpression().stream()
+                .map(criterion -> condition(criterion, parameters))
+                .toList();
+        var sortColumn = querySpec.getSortField() == null ? "id" : column(querySpec.getSortField());
+        var batches = new Batches(conditions, parameters, sortColumn, querySpec.getSortOrder() == SortOrder.DESC,
+                querySpec.getOffset(), querySpec.getLimit());
+        return StreamSupport.stream(batches, false).flatMap(List::stream);
+    }
+
+    @Override
+    public StoreResult<Long> create(DataRecord dataRecord) {
+        return createAll(List.of(dataRecord)).get(0);
+    }
+
+    /**
+     * Inserts all records with a single batched statement. A record whose ID is taken is skipped by the database, which
+     * reports zero affected rows for it, the versions of the inserted rows are read back as generated keys.
+     */
+    @Override
+    public List<StoreResult<Long>> createAll(List<DataRecord> dataRecords) {
+        return transactionContext.execute(() -> {
+            try (var connection = getConnection(); var statement = connection.prepareStatement(INSERT, new String[]{ "id", "version" })) {
+                for (var dataRecord : dataRecords) {
+                    statement.setString(1, dataRecord.id());
+                    statement.setString(2, dataRecord.name());
+                    statement.setString(3, dataRecord.description());
+                    statement.setBytes(4, AttributeEncoding.encode(dataRecord.attributes()));
+                    statement.addBatch();
+                }
+                var counts = statement.executeBatch();
+                var versions = new HashMap<String, Long>();
+                try (var keys = statement.getGeneratedKeys()) {
+                    while (keys.next()) {
+                        versions.put(keys.getString(1), keys.getLong(2));
+                    }
+                }
+                var results = new ArrayList<StoreResult<Long>>(dataRecords.size());
+                for (var i = 0; i < counts.length; i++) {
+                    var id = dataRecords.get(i).id();
+                    results.add(counts[i] == 0 || !versions.containsKey(id) ?
+                            StoreResult.alreadyExists("DataRecord with id " + id + " already exists") :
+                            StoreResult.success(versions.get(id)));
+                }
+                if (!versions.isEmpty()) {
+                    incrementRevision(versions.keySet().iterator().next());
+                }
+                return results;
+            } catch (SQLException e) {
+                throw new EdcException(e);
+            }
+        });
+    }
+
+    @Override
+    public StoreResult<Long> update(DataRecord dataRecord, @Nullable Long expectedVersion) {
+        return transactionContext.execute(() -> {
+            var sql = expectedVersion == null ? UPDATE : UPDATE + " AND version = ?";
+            try (var connection = getConnection(); var statement = connection.prepareStatement(sql, new String[]{ "version" })) {
+                statement.setString(1, dataRecord.name());
+                statement.setString(2, dataRecord.description());
+                statement.setBytes(3, AttributeEncoding.encode(dataRecord.attributes()));
+                statement.setString(4, dataRecord.id());
+                if (expectedVersion != null) {
+                    statement.setLong(5, expectedVersion);
+                }
+                if (statement.executeUpdate() == 1) {
+                    long version;
+                    try (var keys = statement.getGeneratedKeys()) {
+                        keys.next();
+                        version = keys.getLong(1);
+                    }
+                    incrementRevision(dataRecord.id());
+                    return StoreResult.success(version);
+                }
+            } catch (SQLException e) {
+                throw new EdcException(e);
+            }
+            var current = expectedVersion == null ? null : findById(dataRecord.id());
+            return current == null ?
+                    StoreResult.<Long>notFound("DataRecord with id " + dataRecord.id() + " not found") :
+                    StoreResult.<Long>alreadyExists("DataRecord with id %s has been modified, its current version is %d"
+                            .formatted(dataRecord.id(), current.version()));
+        });
+    }
+
+    @Override
+    public StoreResult<DataRecord> deleteById(String id, @Nullable Long expectedVersion) {
+        return transactionContext.execute(() -> {
+            var existing = findById(id);
+            if (existing == null) {
+                return StoreResult.notFound("DataRecord with id " + id + " not found");
+            }
+            var deleted = expectedVersion == null ? execute(DELETE, id) : execute(DELETE + " AND version = ?", id, expectedVersion);
+            if (deleted == 0) {
+                var current = findById(id);
+                return current == null ?
+                        StoreResult.<DataRecord>notFound("DataRecord with id " + id + " not found") :
+                        StoreResult.<DataRecord>alreadyExists("DataRecord with id %s has been modified, its current version is %d"
+                                .formatted(id, current.version()));
+            }
+            incrementRevision(id);
+            return StoreResult.success(existing.dataRecord());
+        });
+    }
+
+    @Override
+    public long count() {
+        return transactionContext.execute(() -> {
+            try (var connection = getConnection(); var statement = connection.createStatement(); var resultSet = statement.executeQuery(COUNT)) {
+                resultSet.next();
+                return resultSet.getLong(1);
+            } catch (SQLException e) {
+                throw new EdcException(e);
+            }
+        });
+    }
+
+    @Override
+    public String revision() {
+        return transactionContext.execute(() -> {
+            try (var connection = getConnection(); var statement = connection.createStatement(); var resultSet = statement.executeQuery(REVISION)) {
+                resultSet.next();
+                return String.valueOf(resultSet.getLong(1));
+            } catch (SQLException e) {
+                throw new EdcException(e);
+            }
+        });
+    }
+
+    private String condition(Criterion criterion, List<Object> parameters) {
+        var column = column(String.valueOf(criterion.getOperandLeft()));
+        var operator = criterion.getOperator().toLowerCase();
+        var right = criterion.getOperandRight();
+        if (operator.equals("in")) {
+            var values = right instanceof Collection<?> collection ? collection : List.of(right);
+            if (values.isEmpty()) {
+                return "FALSE";
+            }
+            values.forEach(value -> parameters.add(String.valueOf(value)));
+            return column + " IN (" + values.stream().map(v -> "?").collect(Collectors.joining(", ")) + ")";
+        }
+        var sqlOperator = switch (operator) {
+            case "=", "<", "<=", ">", ">=" -> operator;
+            case "!=" -> "<>";
+            case "like" -> "LIKE";
+            case "ilike" -> "ILIKE";
+            default -> throw new InvalidRequestException("Unsupported operator '%s' on field '%s'".formatted(criterion.getOperator(), column));
+        };
+        parameters.add(String.valueOf(right));
+        return column + " " + sqlOperator + " ?";
+    }
+
+    private String column(String field) {
+        var column = COLUMNS.get(field);
+        if (column == null) {
+            throw new InvalidRequestException("Unknown DataRecord field '%s', must be one of %s".formatted(field, COLUMNS.keySet()));
+        }
+        return column;
+    }
+
+    private void incrementRevision(String id) {
+        execute(INCREMENT_REVISION, Math.floorMod(id.hashCode(), REVISION_STRIPES));
+    }
+
+    private int execute(String sql, Object... parameters) {
+        try (var connection = getConnection(); var statement = connection.prepareStatement(sql)) {
+            bind(statement, List.of(parameters));
+            return statement.executeUpdate();
+        } catch (SQLException e) {
+            throw new EdcException(e);
+        }
+    }
+
+    /**
+     * Runs the query and reads all of its rows, so that the connection is released before the transaction ends and no
+     * caller has to close anything.
+     */
+    private <T> List<T> query(String sql, List<Object> parameters, RowMapper<T> mapper) {
+        try (var connection = getConnection(); var statement = connection.prepareStatement(sql)) {
+            statement.setFetchSize(FETCH_SIZE);
+            bind(statement, parameters);
+            try (var resultSet = statement.executeQuery()) {
+                var rows = new ArrayList<T>();
+                while (resultSet.next()) {
+                    rows.add(mapper.map(resultSet));
+                }
+                return rows;
+            }
+        } catch (SQLException e) {
+            throw new EdcException(e);
+        }
+    }
+
+    private void bind(PreparedStatement statement, List<Object> parameters) throws SQLException {
+        for (var i = 0; i < parameters.size(); i++) {
+            statement.setObject(i + 1, parameters.get(i));
+        }
+    }
+
+    private Connection getConnection() throws SQLException {
+        var dataSource = dataSourceRegistry.resolve(dataSourceName);
+        if (dataSource == null) {
+            throw new EdcException("No datasource found with name " + dataSourceName);
+        }
+        return dataSource.getConnection();
+    }
+
+    private static DataRecord dataRecord(ResultSet resultSet) throws SQLException {
+        return new DataRecord(resultSet.getString(1), resultSet.getString(2), resultSet.getString(3), AttributeEncoding.decode(resultSet.getBytes(4)));
+    }
+
+    private static VersionedDataRecord versionedDataRecord(ResultSet resultSet) throws SQLException {
+        return new VersionedDataRecord(dataRecord(resultSet), resultSet.getLong(5));
+    }
+
+    /**
+     * The batches of a query, each read when the stream asks for it. Rows are ordered by the sort column, with nulls
+     * after all values as PostgreSQL orders them by default, then by ID. The sort key and ID of the last row read
+     * therefore identify where the next batch starts.
+     */
+    private class Batches extends Spliterators.AbstractSpliterator<List<DataRecord>> {
+
+        private final List<String> conditions;
+        private final List<Object> parameters;
+        private final String sortColumn;
+        private final boolean descending;
+        private int offset;
+        private int remaining;
+        private DataRecord last;
+
+        Batches(List<String> conditions, List<Object> parameters, String sortColumn, boolean descending, int offset, int limit) {
+            super(Long.MAX_VALUE, Spliterator.ORDERED | Spliterator.NONNULL);
+            this.conditions = conditions;
+            this.parameters = parameters;
+            this.sortColumn = sortColumn;
+            this.descending = descending;
+            this.offset = offset;
+            this.remaining = limit;
+        }
+
+        @Override
+        public boolean tryAdvance(Consumer<? super List<DataRecord>> action) {
+            if (remaining <= 0) {
+                return false;
+            }
+            var batchSize = Math.min(remaining, FETCH_SIZE);
+            var batchConditions = new ArrayList<>(conditions);
+            var batchParameters = new ArrayList<>(parameters);
+            if (last != null) {
+                batchConditions.add(after(batchParameters));
+            }
+            var sql = new StringBuilder(SELECT);
+            if (!batchConditions.isEmpty()) {
+                sql.append(" WHERE ").append(String.join(" AND ", batchConditions));
+            }
+            var direction = descending ? "DESC" : "ASC";
+            sql.append(" ORDER BY ");
+            if (!sortColumn.equals("id")) {
+                sql.append(sortColumn).append(" ").append(direction).append(descending ? " NULLS FIRST, " : " NULLS LAST, ");
+            }
+            sql.append("id ").append(direction).append(" LIMIT ? OFFSET ?");
+            batchParameters.add(batchSize);
+            batchParameters.add(offset);
+            var batch = transactionContext.execute(() -> query(sql.toString(), batchParameters, SqlDataRecordStore::dataRecord));
+            offset = 0;
+            remaining = batch.size() < batchSize ? 0 : remaining - batch.size();
+            if (batch.isEmpty()) {
+                return false;
+            }
+            last = batch.get(batch.size() - 1);
+            action.accept(batch);
+            return true;
+        }
+
+        /**
+         * The condition for the rows that come after the last row read.
+         */
+        private String after(List<Object> batchParameters) {
+            if (sortColumn.equals("id")) {
+                batchParameters.add(last.id());
+                return descending ? "id < ?" : "id > ?";
+            }
+            var key = sortKey(last);
+            if (key == null) {
+                batchParameters.add(last.id());
+                return (descending ? "(%1$s IS NULL AND id < ? OR %1$s IS NOT NULL)" : "(%1$s IS NULL AND id > ?)").formatted(sortColumn);
+            }
+            batchParameters.addAll(List.of(key, key, last.id()));
+            return (descending ? "(%1$s < ? OR %1$s = ? AND id < ?)" : "(%1$s > ? OR %1$s = ? AND id > ? OR %1$s IS NULL)").formatted(sortColumn);
+        }
+
+        private String sortKey(DataRecord dataRecord) {
+            return sortColumn.equals("name") ? dataRecord.name() : dataRecord.description();
+        }
+    }
+
+    @FunctionalInterface
+    private interface RowMapper<T> {
+        T map(ResultSet resultSet) throws SQLException;
+    }
+}
@@ -0,0 +1,35 @@
+--
+--  Copyright (c) 2024 Bayerische Motoren Werke Aktiengesellschaft (BMW AG)
+--
+--  This program and the accompanying materials are made available under the
+--  terms of the Apache License, Version 2.0 which is available at
+--  https://www.apache.org/licenses/LICENSE-2.0
+--
+--  SPDX-License-Identifier: Apache-2.0
+--
+--  Contributors:
+--       Bayerische Motoren Werke Aktiengesellschaft (BMW AG) - initial API and implementation
+--
+
+CREATE SEQUENCE IF NOT EXISTS mxd_data_record_version_seq;
+
+CREATE TABLE IF NOT EXISTS mxd_data_record
+(
+    id          VARCHAR NOT NULL PRIMARY KEY,
+    name        VARCHAR,
+    description VARCHAR,
+    attributes  BYTEA,
+    version     BIGINT  NOT NULL
+);
+
+-- tables created before records had attributes
+ALTER TABLE mxd_data_record ADD COLUMN IF NOT EXISTS attributes BYTEA;
+
+CREATE INDEX IF NOT EXISTS mxd_data_record_name_idx ON mxd_data_record (name, id);
+
+-- counters of the writes, summed to the revision, every write increments one of them in its own transaction
+CREATE TABLE IF NOT EXISTS mxd_data_record_revision
+(
+    id       INTEGER NOT NULL PRIMARY KEY,
+    revision BIGINT  NOT NULL
+);
@@ -0,0 +1,63 @@
+/*
+ *  Copyright (c) 2024 Bayerische Motoren Werke Aktiengesellschaft (BMW AG)
+ *
+ *  This program and the accompanying materials are made available under the
+ *  terms of the Apache License, Version 2.0 which is available at
+ *  https://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  SPDX-License-Identifier: Apache-2.0
+ *
+ *  Contributors:
+ *       Bayerische Motoren Werke Aktiengesellschaft (BMW AG) - initial API and implementation
+ *
+ */
+
+package org.eclipse.tractusx.mxd.dataservice.admission;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatIllegalArgumentException;
+
+class AimdLimitTest {
+
+    private static final long THRESHOLD = 10_000_000;
+
+    @Test
+    void update_increasesWhileFast() {
+        var limit = new AimdLimit(10, 1, 100, THRESHOLD, 0.5);
+
+        assertThat(limit.update(THRESHOLD, 10)).isEqualTo(11);
+        assertThat(limit.update(THRESHOLD, 10)).isEqualTo(12);
+    }
+
+    @Test
+    void update_keepsLimitWhileMostlyUnused() {
+        var limit = new AimdLimit(10, 1, 100, THRESHOLD, 0.5);
+
+        assertThat(limit.update(1000, 4)).isEqualTo(10);
+    }
+
+    @Test
+    void update_decreasesWhenSlow() {
+        var limit = new AimdLimit(10, 2, 100, THRESHOLD, 0.5);
+
+        assertThat(limit.update(THRESHOLD + 1, 10)).isEqualTo(5);
+        assertThat(limit.update(THRESHOLD + 1, 5)).isEqualTo(2);
+        assertThat(limit.update(THRESHOLD + 1, 2)).isEqualTo(2);
+    }
+
+    @Test
+    void update_staysBelowMax() {
+        var limit = new AimdLimit(10, 1, 10, THRESHOLD, 0.5);
+
+        assertThat(limit.update(1000, 10)).isEqualTo(10);
+    }
+
+    @Test
+    void invalidLimits() {
+        assertThatIllegalArgumentException().isThrownBy(() -> new AimdLimit(20, 1, 10, THRESHOLD, 0.5));
+        assertThatIllegalArgumentException().isThrownBy(() -> new AimdLimit(10, 0, 10, THRESHOLD, 0.5));
+        assertThatIllegalArgumentException().isThrownBy(() -> new AimdLimit(10, 1, 10, THRESHOLD, 1));
+    }
+}
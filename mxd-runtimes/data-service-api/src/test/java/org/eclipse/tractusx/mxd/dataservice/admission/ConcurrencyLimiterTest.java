@@ -0,0 +1,56 @@
+/*
+ *  Copyright (c) 2024 Bayerische Motoren Werke Aktiengesellschaft (BMW AG)
+ *
+ *  This program and the accompanying materials are made available under the
+ *  terms of the Apache License, Version 2.0 which is available at
+ *  https://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  SPDX-License-Identifier: Apache-2.0
+ *
+ *  Contributors:
+ *       Bayerische Motoren Werke Aktiengesellschaft (BMW AG) - initial API and implementation
+ *
+ */
+
+package org.eclipse.tractusx.mxd.dataservice.admission;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ConcurrencyLimiterTest {
+
+    @Test
+    void tryAcquire_rejectsBeyondLimit() {
+        var limiter = new ConcurrencyLimiter(new AimdLimit(2, 1, 10, 1_000_000, 0.5));
+
+        assertThat(limiter.tryAcquire()).isTrue();
+        assertThat(limiter.tryAcquire()).isTrue();
+        assertThat(limiter.tryAcquire()).isFalse();
+
+        assertThat(limiter.inFlight()).isEqualTo(2);
+        assertThat(limiter.rejected()).isEqualTo(1);
+    }
+
+    @Test
+    void release_admitsNextRequest() {
+        var limiter = new ConcurrencyLimiter(new AimdLimit(1, 1, 10, 1_000_000, 0.5));
+        limiter.tryAcquire();
+
+        limiter.release(1000);
+
+        assertThat(limiter.inFlight()).isZero();
+        assertThat(limiter.tryAcquire()).isTrue();
+    }
+
+    @Test
+    void release_adjustsLimit() {
+        var limiter = new ConcurrencyLimiter(new AimdLimit(4, 1, 10, 1_000_000, 0.5));
+        limiter.tryAcquire();
+        limiter.tryAcquire();
+
+        limiter.release(2_000_000);
+
+        assertThat(limiter.limit()).isEqualTo(2);
+    }
+}
@@ -0,0 +1,71 @@
+/*
+ *  Copyright (c) 2024 Bayerische Motoren Werke Aktiengesellschaft (BMW AG)
+ *
+ *  This program and the accompanying materials are made available under the
+ *  terms of the Apache License, Version 2.0 which is available at
+ *  https://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  SPDX-License-Identifier: Apache-2.0
+ *
+ *  Contributors:
+ *       Bayerische Motoren Werke Aktiengesellschaft (BMW AG) - initial API and implementation
+ *
+ */
+
+package org.eclipse.tractusx.mxd.dataservice.admission;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class GradientLimitTest {
+
+    private static final long LATENCY = 1_000_000;
+
+    @Test
+    void update_growsAtSteadyLatency() {
+        var limit = new GradientLimit(16, 1, 1000, 1.5);
+
+        var current = 16;
+        for (var i = 0; i < 100; i++) {
+            current = limit.update(LATENCY, current);
+        }
+
+        assertThat(current).isGreaterThan(100);
+    }
+
+    @Test
+    void update_shrinksWhenLatencyRises() {
+        var limit = new GradientLimit(100, 4, 1000, 1.5);
+        for (var i = 0; i < 10; i++) {
+            limit.update(LATENCY, 100);
+        }
+
+        var current = 100;
+        for (var i = 0; i < 50; i++) {
+            current = limit.update(10 * LATENCY, current);
+        }
+
+        assertThat(current).isLessThan(20);
+    }
+
+    @Test
+    void update_keepsLimitWhileMostlyUnused() {
+        var limit = new GradientLimit(100, 4, 1000, 1.5);
+
+        assertThat(limit.update(LATENCY, 10)).isEqualTo(100);
+        assertThat(limit.update(10 * LATENCY, 10)).isEqualTo(100);
+    }
+
+    @Test
+    void update_staysWithinBounds() {
+        var limit = new GradientLimit(10, 8, 12, 1.5);
+
+        for (var i = 0; i < 100; i++) {
+            assertThat(limit.update(LATENCY, 12)).isLessThanOrEqualTo(12);
+        }
+        for (var i = 0; i < 100; i++) {
+            assertThat(limit.update(100 * LATENCY, 12)).isGreaterThanOrEqualTo(8);
+        }
+    }
+}
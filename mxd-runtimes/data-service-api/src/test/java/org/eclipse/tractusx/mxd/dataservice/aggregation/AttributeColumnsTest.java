@@ -0,0 +1,193 @@
+/*
+ *  Copyright (c) 2024 Bayerische Motoren Werke Aktiengesellschaft (BMW AG)
+ *
+ *  This program and the accompanying materials are made available under the
+ *  terms of the Apache License, Version 2.0 which is available at
+ *  https://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  SPDX-License-Identifier: Apache-2.0
+ *
+ *  Contributors:
+ *       Bayerische Motoren Werke Aktiengesellschaft (BMW AG) - initial API and implementation
+ *
+ */
+
+package org.eclipse.tractusx.mxd.dataservice.aggregation;
+
+import org.eclipse.edc.web.spi.exception.InvalidRequestException;
+import org.eclipse.tractusx.mxd.dataservice.model.AggregationResult;
+import org.eclipse.tractusx.mxd.dataservice.model.DataRecord;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ForkJoinPool;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatExceptionOfType;
+
+class AttributeColumnsTest {
+
+    private final ForkJoinPool pool = new ForkJoinPool(4);
+    private final AttributeColumns columns = new AttributeColumns(pool, 1000);
+
+    @AfterEach
+    void tearDown() {
+        pool.shutdownNow();
+    }
+
+    @Test
+    void aggregate_countsAllRecords() {
+        columns.index(Stream.of(
+                record("1", Map.of("plant", "Munich", "weight", 12L)),
+                record("2", Map.of("weight", 3.5)),
+                new DataRecord("3", "name", "description")));
+
+        var result = columns.aggregate(List.of(), List.of("weight"), List.of("weight", "unknown"), 10);
+
+        assertThat(result.count()).isEqualTo(3);
+        assertThat(result.groupCount()).isEqualTo(1);
+        assertThat(result.groups()).containsExactly(new AggregationResult.Group(Map.of(), 3, Map.of("weight", 3.5), nullable("weight", 12L, "unknown", null)));
+    }
+
+    @Test
+    void aggregate_groupsByAttributes() {
+        columns.index(Stream.of(
+                record("1", Map.of("plant", "Munich", "line", 1L, "weight", 10L)),
+                record("2", Map.of("plant", "Munich", "line", 1L, "weight", 30L)),
+                record("3", Map.of("plant", "Munich", "line", 2L, "weight", 20L)),
+                record("4", Map.of("plant", "Leipzig", "line", 1L)),
+                record("5", Map.of("line", 1L, "weight", 5L)),
+                new DataRecord("6", "name", "description")));
+
+        var result = columns.aggregate(List.of("plant", "line"), List.of("weight"), List.of("weight"), 10);
+
+        assertThat(result.count()).isEqualTo(6);
+        assertThat(result.groupCount()).isEqualTo(5);
+        assertThat(result.groups()).containsExactly(
+                new AggregationResult.Group(Map.of("plant", "Munich", "line", 1L), 2, Map.of("weight", 10L), Map.of("weight", 30L)),
+                new AggregationResult.Group(Map.of("plant", "Munich", "line", 2L), 1, Map.of("weight", 20L), Map.of("weight", 20L)),
+                new AggregationResult.Group(Map.of("plant", "Leipzig", "line", 1L), 1, nullable("weight", null), nullable("weight", null)),
+                new AggregationResult.Group(nullable("plant", null, "line", 1L), 1, Map.of("weight", 5L), Map.of("weight", 5L)),
+                new AggregationResult.Group(nullable("plant", null, "line", null), 1, nullable("weight", null), nullable("weight", null)));
+    }
+
+    @Test
+    void aggregate_ordersValuesByTypeThenValue() {
+        columns.index(Stream.of(
+                record("1", Map.of("value", "a")),
+                record("2", Map.of("value", 2.5)),
+                record("3", Map.of("value", 3L)),
+                record("4", Map.of("value", true))));
+
+        var result = columns.aggregate(List.of(), List.of("value"), List.of("value"), 10);
+
+        assertThat(result.groups().get(0).min()).isEqualTo(Map.of("value", true));
+        assertThat(result.groups().get(0).max()).isEqualTo(Map.of("value", "a"));
+
+        columns.deleted(record("1", Map.of()));
+        columns.deleted(record("4", Map.of()));
+
+        assertThat(columns.aggregate(List.of(), List.of("value"), List.of("value"), 10).groups().get(0))
+                .isEqualTo(new AggregationResult.Group(Map.of(), 2, Map.of("value", 2.5), Map.of("value", 3L)));
+    }
+
+    @Test
+    void aggregate_acrossManyRanges() {
+        columns.index(IntStream.range(0, 100_000).mapToObj(i -> record("id" + i, Map.of("bucket", (long) (i % 7), "value", (long) i))));
+
+        var result = columns.aggregate(List.of("bucket"), List.of("value"), List.of("value"), 10);
+
+        assertThat(result.count()).isEqualTo(100_000);
+        assertThat(result.groups()).hasSize(7);
+        assertThat(result.groups().get(0)).isEqualTo(new AggregationResult.Group(Map.of("bucket", 0L), 14286, Map.of("value", 0L), Map.of("value", 99_995L)));
+        assertThat(result.groups()).extracting(AggregationResult.Group::count).containsExactly(14286L, 14286L, 14286L, 14286L, 14286L, 14285L, 14285L);
+    }
+
+    @Test
+    void aggregate_limitsGroups() {
+        columns.index(IntStream.range(0, 10).mapToObj(i -> record("id" + i, Map.of("bucket", (long) Math.min(i, 3)))));
+
+        var result = columns.aggregate(List.of("bucket"), List.of(), List.of(), 2);
+
+        assertThat(result.groupCount()).isEqualTo(4);
+        assertThat(result.groups()).extracting(AggregationResult.Group::key).containsExactly(Map.of("bucket", 3L), Map.of("bucket", 0L));
+    }
+
+    @Test
+    void aggregate_tooManyGroups() {
+        columns.index(IntStream.range(0, 20_000).mapToObj(i -> record("id" + i, Map.of("serial", "s" + i))));
+
+        assertThatExceptionOfType(InvalidRequestException.class).isThrownBy(() -> columns.aggregate(List.of("serial"), List.of(), List.of(), 10));
+    }
+
+    @Test
+    void updated_replacesValues() {
+        columns.created(record("1", Map.of("plant", "Munich", "weight", 1L)), 1);
+        columns.created(record("2", Map.of("plant", "Munich")), 2);
+
+        columns.updated(record("1", Map.of("plant", "Leipzig")), 3);
+        columns.updated(new DataRecord("2", "name", "description"), 4);
+
+        var result = columns.aggregate(List.of("plant"), List.of(), List.of("weight"), 10);
+
+        assertThat(result.count()).isEqualTo(2);
+        assertThat(result.groups()).containsExactly(
+                new AggregationResult.Group(Map.of("plant", "Leipzig"), 1, Map.of(), nullable("weight", null)),
+                new AggregationResult.Group(nullable("plant", null), 1, Map.of(), nullable("weight", null)));
+        assertThat(columns.size()).isEqualTo(1);
+        assertThat(columns.columns()).isEqualTo(1);
+    }
+
+    @Test
+    void deleted_movesLastRow() {
+        columns.created(record("1", Map.of("plant", "Munich")), 1);
+        columns.created(record("2", Map.of("plant", "Leipzig", "line", 2L)), 2);
+        columns.created(record("3", Map.of("plant", "Berlin")), 3);
+
+        columns.deleted(record("1", Map.of()));
+        columns.deleted(record("2", Map.of()));
+        columns.updated(record("3", Map.of("plant", "Hamburg")), 4);
+
+        var result = columns.aggregate(List.of("plant", "line"), List.of(), List.of(), 10);
+
+        assertThat(result.count()).isEqualTo(1);
+        assertThat(result.groups()).extracting(AggregationResult.Group::key).containsExactly(nullable("plant", "Hamburg", "line", null));
+        assertThat(columns.columns()).isEqualTo(1);
+    }
+
+    @Test
+    void aggregate_afterManyDistinctStrings() {
+        // replacing the values over and over makes the dictionary of the column rebuild itself
+        for (var i = 0; i < 10; i++) {
+            columns.created(record("id" + i, Map.of("value", "v" + i)), i);
+        }
+        for (var i = 10; i < 10_000; i++) {
+            columns.updated(record("id" + i % 10, Map.of("value", "v" + i)), i);
+        }
+
+        var result = columns.aggregate(List.of(), List.of("value"), List.of("value"), 10);
+
+        assertThat(result.groups().get(0).min()).isEqualTo(Map.of("value", "v9990"));
+        assertThat(result.groups().get(0).max()).isEqualTo(Map.of("value", "v9999"));
+    }
+
+    private static DataRecord record(String id, Map<String, Object> attributes) {
+        return new DataRecord(id, "name", "description", attributes);
+    }
+
+    /**
+     * A map of alternating keys and values, which unlike {@link Map#of} may hold null values.
+     */
+    private static Map<String, Object> nullable(Object... keysAndValues) {
+        var map = new HashMap<String, Object>();
+        for (var i = 0; i < keysAndValues.length; i += 2) {
+            map.put((String) keysAndValues[i], keysAndValues[i + 1]);
+        }
+        return map;
+    }
+}
@@ -0,0 +1,86 @@
+/*
+ *  Copyright (c) 2024 Bayerische Motoren Werke Aktiengesellschaft (BMW AG)
+ *
+ *  This program and the accompanying materials are made available under the
+ *  terms of the Apache License, Version 2.0 which is available at
+ *  https://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  SPDX-License-Identifier: Apache-2.0
+ *
+ *  Contributors:
+ *       Bayerische Motoren Werke Aktiengesellschaft (BMW AG) - initial API and implementation
+ *
+ */
+
+package org.eclipse.tractusx.mxd.dataservice.api;
+
+import jakarta.ws.rs.container.AsyncResponse;
+import jakarta.ws.rs.container.ContainerRequestContext;
+import jakarta.ws.rs.container.ContainerRequestFilter;
+import jakarta.ws.rs.container.ResourceInfo;
+import jakarta.ws.rs.core.FeatureContext;
+import org.eclipse.edc.spi.query.QuerySpec;
+import org.eclipse.tractusx.mxd.dataservice.admission.AimdLimit;
+import org.eclipse.tractusx.mxd.dataservice.admission.ConcurrencyLimiter;
+import org.eclipse.tractusx.mxd.dataservice.model.DataRecord;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+
+import java.io.IOException;
+import java.lang.reflect.Method;
+import java.util.List;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class AdmissionControlFeatureTest {
+
+    private final ConcurrencyLimiter reads = new ConcurrencyLimiter(new AimdLimit(4, 1, 10, 1_000_000, 0.5));
+    private final ConcurrencyLimiter writes = new ConcurrencyLimiter(new AimdLimit(4, 1, 10, 1_000_000, 0.5));
+    private final AdmissionControlFeature feature = new AdmissionControlFeature(reads, writes, Set.of(DataServiceApiController.class), 429, 1);
+
+    @Test
+    void lookup_countsAgainstReads() throws Exception {
+        admit(DataServiceApiController.class.getMethod("lookup", List.class, String.class, AsyncResponse.class));
+
+        assertThat(reads.inFlight()).isEqualTo(1);
+        assertThat(writes.inFlight()).isZero();
+    }
+
+    @Test
+    void query_countsAgainstReads() throws Exception {
+        admit(DataServiceApiController.class.getMethod("query", QuerySpec.class, String.class, AsyncResponse.class));
+
+        assertThat(reads.inFlight()).isEqualTo(1);
+        assertThat(writes.inFlight()).isZero();
+    }
+
+    @Test
+    void create_countsAgainstWrites() throws Exception {
+        admit(DataServiceApiController.class.getMethod("create", DataRecord.class, Long.class, AsyncResponse.class));
+
+        assertThat(reads.inFlight()).isZero();
+        assertThat(writes.inFlight()).isEqualTo(1);
+    }
+
+    /**
+     * Passes a request to the resource method through the filter the feature registers for it.
+     */
+    private void admit(Method method) throws IOException {
+        var resourceInfo = mock(ResourceInfo.class);
+        doReturn(DataServiceApiController.class).when(resourceInfo).getResourceClass();
+        when(resourceInfo.getResourceMethod()).thenReturn(method);
+        var context = mock(FeatureContext.class);
+
+        feature.configure(resourceInfo, context);
+
+        var filter = ArgumentCaptor.forClass(Object.class);
+        verify(context).register(filter.capture(), anyInt());
+        ((ContainerRequestFilter) filter.getValue()).filter(mock(ContainerRequestContext.class));
+    }
+}
@@ -0,0 +1,210 @@
+/*
+ *  Copyright (c) 2024 Bayerische Motoren Werke Aktiengesellschaft (BMW AG)
+ *
+ *  This program and the accompanying materials are made available under the
+ *  terms of the Apache License, Version 2.0 which is available at
+ *  https://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  SPDX-License-Identifier: Apache-2.0
+ *
+ *  Contributors:
+ *       Bayerische Motoren Werke Aktiengesellschaft (BMW AG) - initial API and implementation
+ *
+ */
+
+package org.eclipse.tractusx.mxd.dataservice.api;
+
+import io.restassured.response.ValidatableResponse;
+import io.restassured.specification.RequestSpecification;
+import org.eclipse.edc.junit.annotations.ApiTest;
+import org.eclipse.edc.spi.monitor.Monitor;
+import org.eclipse.edc.web.jersey.testfixtures.RestControllerTestBase;
+import org.eclipse.tractusx.mxd.dataservice.attachment.AttachmentStore;
+import org.eclipse.tractusx.mxd.dataservice.model.DataRecord;
+import org.eclipse.tractusx.mxd.dataservice.store.InMemoryDataRecordStore;
+import org.eclipse.tractusx.mxd.dataservice.store.ObservableDataRecordStore;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Path;
+import java.util.Arrays;
+
+import static io.restassured.RestAssured.given;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+
+@ApiTest
+class AttachmentApiControllerTest extends RestControllerTestBase {
+
+    private static final int MAX_SIZE = 1000;
+
+    private final ObservableDataRecordStore store = new ObservableDataRecordStore(new InMemoryDataRecordStore());
+    private final byte[] content = content(100);
+
+    @TempDir
+    private Path directory;
+
+    @Test
+    void upload_download() {
+        store.create(new DataRecord("id", "name", "desc"));
+
+        var tag = upload("id", content).statusCode(204).extract().header("ETag");
+
+        var response = baseRequest()
+                .get("/id/attachment")
+                .then()
+                .statusCode(200)
+                .contentType("image/png")
+                .header("ETag", tag)
+                .header("Accept-Ranges", "bytes")
+                .header("Content-Length", "100")
+                .extract();
+        assertThat(response.asByteArray()).isEqualTo(content);
+        assertThat(response.header("Last-Modified")).isNotNull();
+    }
+
+    @Test
+    void upload_recordNotExists() {
+        upload("id", content).statusCode(404);
+    }
+
+    @Test
+    void upload_tooLarge() {
+        store.create(new DataRecord("id", "name", "desc"));
+
+        upload("id", content(MAX_SIZE + 1)).statusCode(413);
+    }
+
+    @Test
+    void download_range() {
+        store.create(new DataRecord("id", "name", "desc"));
+        upload("id", content);
+
+        var range = baseRequest()
+                .header("Range", "bytes=10-19")
+                .get("/id/attachment")
+                .then()
+                .statusCode(206)
+                .header("Content-Range", "bytes 10-19/100")
+                .header("Content-Length", "10")
+                .extract().asByteArray();
+        assertThat(range).isEqualTo(Arrays.copyOfRange(content, 10, 20));
+
+        var suffix = baseRequest()
+                .header("Range", "bytes=-5")
+                .get("/id/attachment")
+                .then()
+                .statusCode(206)
+                .header("Content-Range", "bytes 95-99/100")
+                .extract().asByteArray();
+        assertThat(suffix).isEqualTo(Arrays.copyOfRange(content, 95, 100));
+    }
+
+    @Test
+    void download_rangeNotSatisfiable() {
+        store.create(new DataRecord("id", "name", "desc"));
+        upload("id", content);
+
+        baseRequest()
+                .header("Range", "bytes=100-")
+                .get("/id/attachment")
+                .then()
+                .statusCode(416)
+                .header("Content-Range", "bytes */100");
+    }
+
+    @Test
+    void download_ifRange() {
+        store.create(new DataRecord("id", "name", "desc"));
+        var tag = upload("id", content).extract().header("ETag");
+
+        baseRequest()
+                .header("Range", "bytes=10-19")
+                .header("If-Range", tag)
+                .get("/id/attachment")
+                .then()
+                .statusCode(206);
+
+        upload("id", content);
+        var whole = baseRequest()
+                .header("Range", "bytes=10-19")
+                .header("If-Range", tag)
+                .get("/id/attachment")
+                .then()
+                .statusCode(200)
+                .extract().asByteArray();
+        assertThat(whole).isEqualTo(content);
+    }
+
+    @Test
+    void download_notModified() {
+        store.create(new DataRecord("id", "name", "desc"));
+        var tag = upload("id", content).extract().header("ETag");
+
+        baseRequest()
+                .header("If-None-Match", tag)
+                .get("/id/attachment")
+                .then()
+                .statusCode(304);
+    }
+
+    @Test
+    void download_notExists() {
+        store.create(new DataRecord("id", "name", "desc"));
+
+        baseRequest()
+                .get("/id/attachment")
+                .then()
+                .statusCode(404);
+    }
+
+    @Test
+    void delete() {
+        store.create(new DataRecord("id", "name", "desc"));
+        upload("id", content);
+
+        baseRequest().delete("/id/attachment").then().statusCode(204);
+
+        baseRequest().get("/id/attachment").then().statusCode(404);
+        baseRequest().delete("/id/attachment").then().statusCode(404);
+    }
+
+    @Test
+    void deletedWithRecord() {
+        store.create(new DataRecord("id", "name", "desc"));
+        upload("id", content);
+
+        store.deleteById("id");
+
+        baseRequest().get("/id/attachment").then().statusCode(404);
+    }
+
+    @Override
+    protected Object controller() {
+        var attachments = new AttachmentStore(directory, MAX_SIZE, mock(Monitor.class));
+        store.registerListener(attachments);
+        return new AttachmentApiController(store, attachments, MAX_SIZE, new RequestDispatcher(null));
+    }
+
+    private ValidatableResponse upload(String id, byte[] body) {
+        return baseRequest()
+                .contentType("image/png")
+                .body(body)
+                .put("/%s/attachment".formatted(id))
+                .then();
+    }
+
+    private RequestSpecification baseRequest() {
+        return given()
+                .when()
+                .baseUri("http://localhost:" + port + "/v1/data");
+    }
+
+    private static byte[] content(int size) {
+        var content = new byte[size];
+        for (var i = 0; i < size; i++) {
+            content[i] = (byte) i;
+        }
+        return content;
+    }
+}
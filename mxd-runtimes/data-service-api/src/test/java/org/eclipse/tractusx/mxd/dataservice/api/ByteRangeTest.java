@@ -0,0 +1,60 @@
+/*
+ *  Copyright (c) 2024 Bayerische Motoren Werke Aktiengesellschaft (BMW AG)
+ *
+ *  This program and the accompanying materials are made available under the
+ *  terms of the Apache License, Version 2.0 which is available at
+ *  https://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  SPDX-License-Identifier: Apache-2.0
+ *
+ *  Contributors:
+ *       Bayerische Motoren Werke Aktiengesellschaft (BMW AG) - initial API and implementation
+ *
+ */
+
+package org.eclipse.tractusx.mxd.dataservice.api;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ByteRangeTest {
+
+    @Test
+    void parse() {
+        assertThat(ByteRange.parse("bytes=0-9", 100)).isEqualTo(new ByteRange(0, 9));
+        assertThat(ByteRange.parse("bytes=5-", 100)).isEqualTo(new ByteRange(5, 99));
+        assertThat(ByteRange.parse("bytes=-3", 100)).isEqualTo(new ByteRange(97, 99));
+        assertThat(ByteRange.parse("bytes=-1000", 100)).isEqualTo(new ByteRange(0, 99));
+        assertThat(ByteRange.parse("bytes=90-1000", 100)).isEqualTo(new ByteRange(90, 99));
+        assertThat(ByteRange.parse("BYTES=1-1", 100)).isEqualTo(new ByteRange(1, 1));
+    }
+
+    @Test
+    void parse_unsatisfiable() {
+        assertThat(ByteRange.parse("bytes=100-", 100)).isSameAs(ByteRange.UNSATISFIABLE);
+        assertThat(ByteRange.parse("bytes=100-200", 100)).isSameAs(ByteRange.UNSATISFIABLE);
+        assertThat(ByteRange.parse("bytes=-0", 100)).isSameAs(ByteRange.UNSATISFIABLE);
+        assertThat(ByteRange.parse("bytes=0-", 0)).isSameAs(ByteRange.UNSATISFIABLE);
+        assertThat(ByteRange.parse("bytes=-5", 0)).isSameAs(ByteRange.UNSATISFIABLE);
+    }
+
+    @Test
+    void parse_wholeRepresentation() {
+        assertThat(ByteRange.parse(null, 100)).isNull();
+        assertThat(ByteRange.parse("bytes=9-5", 100)).isNull();
+        assertThat(ByteRange.parse("bytes=0-5,7-9", 100)).isNull();
+        assertThat(ByteRange.parse("items=0-1", 100)).isNull();
+        assertThat(ByteRange.parse("bytes=x-1", 100)).isNull();
+        assertThat(ByteRange.parse("bytes=--5", 100)).isNull();
+        assertThat(ByteRange.parse("bytes=5", 100)).isNull();
+    }
+
+    @Test
+    void contentRange() {
+        var range = new ByteRange(0, 9);
+
+        assertThat(range.length()).isEqualTo(10);
+        assertThat(range.contentRange(100)).isEqualTo("bytes 0-9/100");
+    }
+}
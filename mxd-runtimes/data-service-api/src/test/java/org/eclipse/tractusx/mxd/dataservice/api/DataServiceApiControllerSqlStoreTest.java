@@ -0,0 +1,144 @@
+/*
+ *  Copyright (c) 2024 Bayerische Motoren Werke Aktiengesellschaft (BMW AG)
+ *
+ *  This program and the accompanying materials are made available under the
+ *  terms of the Apache License, Version 2.0 which is available at
+ *  https://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  SPDX-License-Identifier: Apache-2.0
+ *
+ *  Contributors:
+ *       Bayerische Motoren Werke Aktiengesellschaft (BMW AG) - initial API and implementation
+ *
+ */
+
+package org.eclipse.tractusx.mxd.dataservice.api;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.restassured.specification.RequestSpecification;
+import org.eclipse.edc.junit.annotations.ApiTest;
+import org.eclipse.edc.transaction.datasource.spi.DataSourceRegistry;
+import org.eclipse.edc.transaction.spi.NoopTransactionContext;
+import org.eclipse.edc.web.jersey.testfixtures.RestControllerTestBase;
+import org.eclipse.tractusx.mxd.dataservice.cache.SerializedDataRecordCache;
+import org.eclipse.tractusx.mxd.dataservice.model.DataRecord;
+import org.eclipse.tractusx.mxd.dataservice.store.sql.SqlDataRecordStore;
+import org.h2.jdbcx.JdbcDataSource;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.IntStream;
+import javax.sql.DataSource;
+
+import static io.restassured.RestAssured.given;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * The data API on top of the SQL store, which holds a pooled connection for as long as a query runs.
+ */
+@ApiTest
+class DataServiceApiControllerSqlStoreTest extends RestControllerTestBase {
+
+    private static final String DATASOURCE_NAME = "dataservice";
+
+    private final AtomicInteger openConnections = new AtomicInteger();
+    private final ExecutorService executor = Executors.newCachedThreadPool();
+    private SqlDataRecordStore store;
+
+    @Test
+    void getAll_page_returnsConnections() {
+        IntStream.range(0, 5).forEach(i -> store.create(new DataRecord("id" + i, "name", "desc")));
+
+        var page = baseRequest()
+                .get("?limit=2")
+                .then()
+                .statusCode(200)
+                .header(DataServiceApiController.NEXT_CURSOR_HEADER, "id1")
+                .extract().body().as(DataRecord[].class);
+
+        assertThat(page).extracting(DataRecord::id).containsExactly("id0", "id1");
+        assertThat(openConnections).hasValue(0);
+    }
+
+    @Test
+    void queryAndLookup_returnConnections() {
+        IntStream.range(0, 5).forEach(i -> store.create(new DataRecord("id" + i, "name", "desc")));
+
+        baseRequest()
+                .body("{\"filterExpression\":[{\"operandLeft\":\"name\",\"operator\":\"=\",\"operandRight\":\"name\"}]}")
+                .post("/request")
+                .then()
+                .statusCode(200);
+        baseRequest()
+                .body(List.of("id1", "missing"))
+                .post("/lookup")
+                .then()
+                .statusCode(200);
+
+        assertThat(openConnections).hasValue(0);
+    }
+
+    @AfterEach
+    void tearDown() {
+        executor.shutdownNow();
+    }
+
+    @Override
+    protected Object controller() {
+        var h2 = new JdbcDataSource();
+        h2.setURL("jdbc:h2:mem:%s;MODE=PostgreSQL;DB_CLOSE_DELAY=-1".formatted(UUID.randomUUID()));
+        var registry = mock(DataSourceRegistry.class);
+        when(registry.resolve(DATASOURCE_NAME)).thenReturn(counting(h2));
+        store = new SqlDataRecordStore(registry, DATASOURCE_NAME, new NoopTransactionContext());
+        store.createSchema();
+
+        var objectMapper = new ObjectMapper();
+        return new DataServiceApiController(store, objectMapper, new SerializedDataRecordCache(objectMapper, 100, 1024 * 1024),
+                new RequestDispatcher(executor));
+    }
+
+    /**
+     * Wraps the data source so that it tracks how many of its connections are not closed yet.
+     */
+    private DataSource counting(DataSource dataSource) {
+        return (DataSource) Proxy.newProxyInstance(getClass().getClassLoader(), new Class<?>[]{ DataSource.class }, (proxy, method, args) -> {
+            var result = invoke(dataSource, method, args);
+            if (!(result instanceof Connection connection)) {
+                return result;
+            }
+            openConnections.incrementAndGet();
+            return Proxy.newProxyInstance(getClass().getClassLoader(), new Class<?>[]{ Connection.class }, (connectionProxy, connectionMethod, connectionArgs) -> {
+                if (connectionMethod.getName().equals("close") && !connection.isClosed()) {
+                    openConnections.decrementAndGet();
+                }
+                return invoke(connection, connectionMethod, connectionArgs);
+            });
+        });
+    }
+
+    private static Object invoke(Object target, Method method, Object[] args) throws Throwable {
+        try {
+            return method.invoke(target, args);
+        } catch (InvocationTargetException e) {
+            throw e.getCause();
+        }
+    }
+
+    private RequestSpecification baseRequest() {
+        return given()
+                .when()
+                .contentType("application/json")
+                .baseUri("http://localhost:" + port + "/v1/data");
+    }
+}
@@ -14,21 +14,34 @@
 
 package org.eclipse.tractusx.mxd.dataservice.api;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
 import io.restassured.specification.RequestSpecification;
 import org.eclipse.edc.junit.annotations.ApiTest;
 import org.eclipse.edc.web.jersey.testfixtures.RestControllerTestBase;
+import org.eclipse.tractusx.mxd.dataservice.cache.SerializedDataRecordCache;
+import org.eclipse.tractusx.mxd.dataservice.model.BatchResult;
 import org.eclipse.tractusx.mxd.dataservice.model.DataRecord;
+import org.eclipse.tractusx.mxd.dataservice.model.LookupResult;
+import org.eclipse.tractusx.mxd.dataservice.model.VersionedDataRecord;
+import org.eclipse.tractusx.mxd.dataservice.store.InMemoryDataRecordStore;
+import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.Test;
 
-import java.util.concurrent.ConcurrentHashMap;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
 
 import static io.restassured.RestAssured.given;
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.tuple;
 
 @ApiTest
 class DataServiceApiControllerTest extends RestControllerTestBase {
 
-    private final ConcurrentHashMap<String, DataRecord> database = new ConcurrentHashMap<>();
+    private final InMemoryDataRecordStore store = new InMemoryDataRecordStore();
+    private final ExecutorService executor = Executors.newCachedThreadPool();
 
     @Test
     void getAll_empty() {
@@ -43,7 +56,7 @@ class DataServiceApiControllerTest extends RestControllerTestBase {
 
     @Test
     void getAll() {
-        database.put("15", new DataRecord("15", "name", "desc"));
+        store.create(new DataRecord("15", "name", "desc"));
 
         var records = baseRequest()
                 .get()
@@ -54,16 +67,156 @@ class DataServiceApiControllerTest extends RestControllerTestBase {
         assertThat(records).allMatch(dr -> dr.id().equals("15"));
     }
 
+    @Test
+    void getAll_paginated() {
+        IntStream.range(0, 5).forEach(i -> store.create(new DataRecord("id" + i, "name", "desc")));
+
+        var firstPage = baseRequest()
+                .get("?limit=2")
+                .then()
+                .statusCode(200)
+                .header(DataServiceApiController.NEXT_CURSOR_HEADER, "id1")
+                .extract().body().as(DataRecord[].class);
+        assertThat(firstPage).extracting(DataRecord::id).containsExactly("id0", "id1");
+
+        var lastPage = baseRequest()
+                .get("?limit=3&cursor=id1")
+                .then()
+                .statusCode(200)
+                .extract();
+        assertThat(lastPage.header(DataServiceApiController.NEXT_CURSOR_HEADER)).isNull();
+        assertThat(lastPage.body().as(DataRecord[].class)).extracting(DataRecord::id).containsExactly("id2", "id3", "id4");
+    }
+
+    @Test
+    void getAll_reflectsWritesAfterCaching() {
+        store.create(new DataRecord("id0", "name", "desc"));
+        baseRequest().get().then().statusCode(200);
+
+        store.update(new DataRecord("id0", "new-name", "desc"));
+        var records = baseRequest()
+                .get()
+                .then()
+                .statusCode(200)
+                .extract().body().as(DataRecord[].class);
+
+        assertThat(records).extracting(DataRecord::name).containsExactly("new-name");
+    }
+
+    @Test
+    void getAll_notModified() {
+        store.create(new DataRecord("id0", "name", "desc"));
+        var etag = baseRequest()
+                .get()
+                .then()
+                .statusCode(200)
+                .extract().header("ETag");
+
+        baseRequest()
+                .header("If-None-Match", etag)
+                .get()
+                .then()
+                .statusCode(304);
+
+        store.create(new DataRecord("id1", "name", "desc"));
+        baseRequest()
+                .header("If-None-Match", etag)
+                .get()
+                .then()
+                .statusCode(200);
+    }
+
+    @Test
+    void getAll_invalidLimit() {
+        baseRequest()
+                .get("?limit=0")
+                .then()
+                .statusCode(400);
+    }
+
+    @Test
+    void getAll_streamed() {
+        IntStream.range(0, 5).forEach(i -> store.create(new DataRecord("id" + i, "name", "desc")));
+
+        var records = baseRequest()
+                .get("?stream=true&cursor=id2")
+                .then()
+                .statusCode(200)
+                .extract().body().as(DataRecord[].class);
+
+        assertThat(records).extracting(DataRecord::id).containsExactly("id3", "id4");
+    }
+
+    @Test
+    void getAll_fields() {
+        IntStream.range(0, 3).forEach(i -> store.create(new DataRecord("id" + i, "name" + i, "desc")));
+
+        var body = baseRequest()
+                .get("?fields=name,id&limit=2")
+                .then()
+                .statusCode(200)
+                .extract().body().asString();
+        var streamed = baseRequest()
+                .get("?fields=id&stream=true")
+                .then()
+                .statusCode(200)
+                .extract().body().asString();
+
+        assertThat(body).isEqualTo("[{\"id\":\"id0\",\"name\":\"name0\"},{\"id\":\"id1\",\"name\":\"name1\"}]");
+        assertThat(streamed).isEqualTo("[{\"id\":\"id0\"},{\"id\":\"id1\"},{\"id\":\"id2\"}]");
+    }
+
+    @Test
+    void getAll_unknownField() {
+        baseRequest()
+                .get("?fields=id,color")
+                .then()
+                .statusCode(400);
+    }
+
+    @Test
+    void query() {
+        IntStream.range(0, 5).forEach(i -> store.create(new DataRecord("id" + i, "name" + (i % 2), "desc")));
+        var query = """
+                {
+                  "filterExpression": [{"operandLeft": "name", "operator": "=", "operandRight": "name0"}],
+                  "sortField": "id",
+                  "sortOrder": "DESC",
+                  "limit": 2
+                }
+                """;
+
+        var records = baseRequest()
+                .body(query)
+                .post("/request")
+                .then()
+                .statusCode(200)
+                .extract().body().as(DataRecord[].class);
+
+        assertThat(records).extracting(DataRecord::id).containsExactly("id4", "id2");
+    }
+
+    @Test
+    void query_unknownField() {
+        baseRequest()
+                .body("""
+                        {"filterExpression": [{"operandLeft": "foo", "operator": "=", "operandRight": "bar"}]}
+                        """)
+                .post("/request")
+                .then()
+                .statusCode(400);
+    }
+
     @Test
     void delete() {
-        database.put("15", new DataRecord("15", "name", "desc"));
+        store.create(new DataRecord("15", "name", "desc"));
 
         baseRequest()
                 .delete("/15")
                 .then()
                 .statusCode(204);
 
-        assertThat(database).isEmpty();
+        assertThat(store.count()).isZero();
     }
 
     @Test
@@ -82,25 +235,63 @@ class DataServiceApiControllerTest extends RestControllerTestBase {
                 .post()
                 .then()
                 .statusCode(204);
-        assertThat(database).containsOnlyKeys(dr.id());
+        assertThat(store.stream().map(VersionedDataRecord::dataRecord)).extracting(DataRecord::id).containsExactly(dr.id());
     }
 
     @Test
     void create_alreadyExists() {
         var dr = new DataRecord("id", "name", "desc");
-        database.put("id", dr);
+        store.create(dr);
         baseRequest()
                 .body(dr)
                 .post()
                 .then()
                 .statusCode(409);
-        assertThat(database).containsOnlyKeys(dr.id());
+        assertThat(store.stream().map(VersionedDataRecord::dataRecord)).extracting(DataRecord::id).containsExactly(dr.id());
+    }
+
+    @Test
+    void create_ttlWithoutExpiry() {
+        baseRequest()
+                .body(new DataRecord("id", "name", "desc"))
+                .post("?ttl=60")
+                .then()
+                .statusCode(400);
+        assertThat(store.stream()).isEmpty();
+    }
+
+    @Test
+    void createBatch() {
+        store.create(new DataRecord("id2", "name", "desc"));
+        var body = """
+                {"id": "id1", "name": "name", "description": "desc"}
+                {"id": "id2", "name": "name", "description": "desc"}
+
+                not json
+                {"id": "id3", "name": "name", "description": "desc"}
+                """;
+
+        var result = baseRequest()
+                .contentType(DataServiceApiController.APPLICATION_NDJSON)
+                // REST Assured has no encoder for NDJSON, the bytes are sent as they are
+                .body(body.getBytes(StandardCharsets.UTF_8))
+                .post("/batch")
+                .then()
+                .statusCode(200)
+                .extract().body().as(BatchResult.class);
+
+        assertThat(result.created()).isEqualTo(2);
+        assertThat(result.conflicts()).isEqualTo(1);
+        assertThat(result.invalid()).isEqualTo(1);
+        assertThat(result.failures()).extracting(BatchResult.LineFailure::line, BatchResult.LineFailure::status)
+                .containsExactlyInAnyOrder(tuple(2L, 409), tuple(4L, 400));
+        assertThat(store.count()).isEqualTo(3);
     }
 
     @Test
     void update() {
         var dr = new DataRecord("id", "name", "desc");
-        database.put("id", dr);
+        store.create(dr);
 
         var newDr = new DataRecord("id", "new-name", "new-desc");
 
@@ -109,10 +300,46 @@ class DataServiceApiControllerTest extends RestControllerTestBase {
                 .put()
                 .then()
                 .statusCode(204);
-        assertThat(database).allSatisfy((s, dataRecord) -> {
-            assertThat(s).isEqualTo("id");
-            assertThat(dataRecord).usingRecursiveComparison().isEqualTo(newDr);
-        });
+        assertThat(store.stream().map(VersionedDataRecord::dataRecord)).singleElement().usingRecursiveComparison().isEqualTo(newDr);
+    }
+
+    @Test
+    void update_ifMatch() {
+        var version = store.create(new DataRecord("id", "name", "desc")).getContent();
+
+        var etag = baseRequest()
+                .header("If-Match", "\"" + version + "\"")
+                .body(new DataRecord("id", "new-name", "desc"))
+                .put()
+                .then()
+                .statusCode(204)
+                .extract().header("ETag");
+
+        assertThat(etag).isEqualTo("\"" + store.findById("id").version() + "\"");
+    }
+
+    @Test
+    void update_ifMatch_modified() {
+        var version = store.create(new DataRecord("id", "name", "desc")).getContent();
+        store.update(new DataRecord("id", "concurrent-name", "desc"));
+
+        baseRequest()
+                .header("If-Match", "\"" + version + "\"")
+                .body(new DataRecord("id", "new-name", "desc"))
+                .put()
+                .then()
+                .statusCode(412);
+        assertThat(store.findById("id").dataRecord().name()).isEqualTo("concurrent-name");
+    }
+
+    @Test
+    void update_ifMatch_notExists() {
+        baseRequest()
+                .header("If-Match", "*")
+                .body(new DataRecord("id", "new-name", "desc"))
+                .put()
+                .then()
+                .statusCode(412);
     }
 
     @Test
@@ -125,13 +352,13 @@ class DataServiceApiControllerTest extends RestControllerTestBase {
                 .put()
                 .then()
                 .statusCode(404);
-        assertThat(database).isEmpty();
+        assertThat(store.count()).isZero();
     }
 
     @Test
     void findById() {
         var dr = new DataRecord("id", "name", "desc");
-        database.put("id", dr);
+        store.create(dr);
 
         var found = baseRequest()
                 .get("/id")
@@ -141,6 +368,76 @@ class DataServiceApiControllerTest extends RestControllerTestBase {
         assertThat(found).usingRecursiveComparison().isEqualTo(dr);
     }
 
+    @Test
+    void findById_fields() {
+        store.create(new DataRecord("id", "name", "desc"));
+
+        var body = baseRequest()
+                .get("/id?fields=description")
+                .then()
+                .statusCode(200)
+                .extract().body().asString();
+
+        assertThat(body).isEqualTo("{\"description\":\"desc\"}");
+    }
+
+    @Test
+    void lookup() {
+        IntStream.range(0, 5).forEach(i -> store.create(new DataRecord("id" + i, "name" + i, "desc")));
+
+        var result = baseRequest()
+                .body("[\"id3\", \"unknown\", \"id1\", \"id3\"]")
+                .post("/lookup")
+                .then()
+                .statusCode(200)
+                .extract().body().as(LookupResult.class);
+
+        assertThat(result.found()).extracting(DataRecord::id, DataRecord::name).containsExactly(tuple("id1", "name1"), tuple("id3", "name3"));
+        assertThat(result.missing()).containsExactly("unknown");
+    }
+
+    @Test
+    void lookup_fields() {
+        store.create(new DataRecord("id1", "name", "desc"));
+
+        var body = baseRequest()
+                .body("[\"id1\", \"id2\"]")
+                .post("/lookup?fields=id")
+                .then()
+                .statusCode(200)
+                .extract().body().asString();
+
+        assertThat(body).isEqualTo("{\"found\":[{\"id\":\"id1\"}],\"missing\":[\"id2\"]}");
+    }
+
+    @Test
+    void lookup_tooManyIds() {
+        var ids = IntStream.range(0, 10_001).mapToObj(i -> "\"id" + i + "\"").collect(Collectors.joining(",", "[", "]"));
+
+        baseRequest()
+                .body(ids)
+                .post("/lookup")
+                .then()
+                .statusCode(400);
+    }
+
+    @Test
+    void findById_notModified() {
+        var version = store.create(new DataRecord("id", "name", "desc")).getContent();
+
+        baseRequest()
+                .get("/id")
+                .then()
+                .statusCode(200)
+                .header("ETag", "\"" + version + "\"");
+
+        baseRequest()
+                .header("If-None-Match", "\"" + version + "\"")
+                .get("/id")
+                .then()
+                .statusCode(304);
+    }
+
     @Test
     void findById_notExists() {
         baseRequest()
@@ -149,9 +446,17 @@ class DataServiceApiControllerTest extends RestControllerTestBase {
                 .statusCode(404);
     }
 
+    @AfterEach
+    void tearDown() {
+        executor.shutdownNow();
+    }
+
     @Override
     protected Object controller() {
-        return new DataServiceApiController(database);
+        var objectMapper = new ObjectMapper();
+        // handlers run off the container thread, as with virtual threads
+        return new DataServiceApiController(store, objectMapper, new SerializedDataRecordCache(objectMapper, 100, 1024 * 1024),
+                new RequestDispatcher(executor));
     }
 
     private RequestSpecification baseRequest() {
@@ -0,0 +1,87 @@
+/*
+ *  Copyright (c) 2024 Bayerische Motoren Werke Aktiengesellschaft (BMW AG)
+ *
+ *  This program and the accompanying materials are made available under the
+ *  terms of the Apache License, Version 2.0 which is available at
+ *  https://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  SPDX-License-Identifier: Apache-2.0
+ *
+ *  Contributors:
+ *       Bayerische Motoren Werke Aktiengesellschaft (BMW AG) - initial API and implementation
+ *
+ */
+
+package org.eclipse.tractusx.mxd.dataservice.api;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.eclipse.edc.web.spi.exception.InvalidRequestException;
+import org.eclipse.tractusx.mxd.dataservice.model.DataRecord;
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.util.LinkedHashMap;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatExceptionOfType;
+
+class FieldProjectionTest {
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    @Test
+    void record_writesSelectedFieldsInOrder() {
+        var projection = FieldProjection.parse(" name, id ", objectMapper);
+
+        assertThat(json(projection.record(new DataRecord("id1", "a \"quoted\" name", "desc")))).isEqualTo("{\"id\":\"id1\",\"name\":\"a \\\"quoted\\\" name\"}");
+    }
+
+    @Test
+    void record_keepsNullHandlingOfMapper() {
+        var dataRecord = new DataRecord("id1", "name", null);
+
+        assertThat(json(FieldProjection.parse("id,description", objectMapper).record(dataRecord))).isEqualTo("{\"id\":\"id1\",\"description\":null}");
+        assertThat(json(FieldProjection.parse("id,description", new ObjectMapper().setSerializationInclusion(JsonInclude.Include.NON_NULL)).record(dataRecord)))
+                .isEqualTo("{\"id\":\"id1\"}");
+    }
+
+
+    @Test
+    void record_writesAttributesLikeMapper() throws Exception {
+        var attributes = new LinkedHashMap<String, Object>();
+        attributes.put("plant", "A");
+        attributes.put("count", 3L);
+        attributes.put("ratio", 0.5);
+        attributes.put("active", true);
+        var dataRecord = new DataRecord("id1", "name", "desc", attributes);
+
+        assertThat(json(FieldProjection.parse("id,name,description,attributes", objectMapper).record(dataRecord)))
+                .isEqualTo(objectMapper.writeValueAsString(dataRecord));
+        assertThat(json(FieldProjection.parse("id,attributes", objectMapper).record(new DataRecord("id1", "name", "desc")))).isEqualTo("{\"id\":\"id1\"}");
+    }
+
+    @Test
+    void array() {
+        var projection = FieldProjection.parse("id", objectMapper);
+
+        assertThat(json(projection.array(Stream.of(new DataRecord("a", "b", "c"), new DataRecord("d", "e", "f"))))).isEqualTo("[{\"id\":\"a\"},{\"id\":\"d\"}]");
+        assertThat(json(projection.array(Stream.empty()))).isEqualTo("[]");
+    }
+
+    @Test
+    void parse_absent() {
+        assertThat(FieldProjection.parse(null, objectMapper)).isNull();
+        assertThat(FieldProjection.parse(" ", objectMapper)).isNull();
+    }
+
+    @Test
+    void parse_unknownField() {
+        assertThatExceptionOfType(InvalidRequestException.class).isThrownBy(() -> FieldProjection.parse("id,color", objectMapper));
+    }
+
+    private static String json(byte[] bytes) {
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+}
@@ -0,0 +1,82 @@
+/*
+ *  Copyright (c) 2024 Bayerische Motoren Werke Aktiengesellschaft (BMW AG)
+ *
+ *  This program and the accompanying materials are made available under the
+ *  terms of the Apache License, Version 2.0 which is available at
+ *  https://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  SPDX-License-Identifier: Apache-2.0
+ *
+ *  Contributors:
+ *       Bayerische Motoren Werke Aktiengesellschaft (BMW AG) - initial API and implementation
+ *
+ */
+
+package org.eclipse.tractusx.mxd.dataservice.api;
+
+import io.restassured.specification.RequestSpecification;
+import org.eclipse.edc.junit.annotations.ApiTest;
+import org.eclipse.edc.web.jersey.testfixtures.RestControllerTestBase;
+import org.eclipse.tractusx.mxd.dataservice.payload.BufferPool;
+import org.junit.jupiter.api.Test;
+
+import static io.restassured.RestAssured.given;
+import static org.assertj.core.api.Assertions.assertThat;
+
+@ApiTest
+class PayloadApiControllerTest extends RestControllerTestBase {
+
+    @Test
+    void payload_binary() {
+        var response = baseRequest()
+                .get("?size=1000000&seed=1")
+                .then()
+                .statusCode(200)
+                .contentType("application/octet-stream")
+                .header(PayloadApiController.PAYLOAD_SIZE_HEADER, "1000000")
+                .extract();
+
+        var again = baseRequest().get("?size=1000000&seed=1").then().statusCode(200).extract().asByteArray();
+        assertThat(response.asByteArray()).hasSize(1_000_000).isEqualTo(again);
+    }
+
+    @Test
+    void payload_jsonl() {
+        var body = baseRequest()
+                .get("?size=1000&format=jsonl&recordSize=100")
+                .then()
+                .statusCode(200)
+                .contentType(DataServiceApiController.APPLICATION_NDJSON)
+                .extract().asString();
+
+        assertThat(body.split("\\n")).hasSize(10);
+    }
+
+    @Test
+    void payload_checksumTrailerAnnounced() {
+        baseRequest()
+                .get("?size=1000000&checksum=true")
+                .then()
+                .statusCode(200)
+                .header("Trailer", PayloadApiController.CHECKSUM_TRAILER);
+    }
+
+    @Test
+    void payload_invalid() {
+        baseRequest().get().then().statusCode(400);
+        baseRequest().get("?size=-1").then().statusCode(400);
+        baseRequest().get("?size=1000&format=xml").then().statusCode(400);
+        baseRequest().get("?size=1000&format=jsonl&recordSize=10").then().statusCode(400);
+    }
+
+    @Override
+    protected Object controller() {
+        return new PayloadApiController(new BufferPool(4096, 4), new RequestDispatcher(null));
+    }
+
+    private RequestSpecification baseRequest() {
+        return given()
+                .when()
+                .baseUri("http://localhost:" + port + "/v1/payload");
+    }
+}
@@ -0,0 +1,156 @@
+/*
+ *  Copyright (c) 2024 Bayerische Motoren Werke Aktiengesellschaft (BMW AG)
+ *
+ *  This program and the accompanying materials are made available under the
+ *  terms of the Apache License, Version 2.0 which is available at
+ *  https://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  SPDX-License-Identifier: Apache-2.0
+ *
+ *  Contributors:
+ *       Bayerische Motoren Werke Aktiengesellschaft (BMW AG) - initial API and implementation
+ *
+ */
+
+package org.eclipse.tractusx.mxd.dataservice.api;
+
+import jakarta.ws.rs.ServiceUnavailableException;
+import jakarta.ws.rs.container.AsyncResponse;
+import jakarta.ws.rs.container.TimeoutHandler;
+import jakarta.ws.rs.core.Response;
+import org.eclipse.edc.web.spi.exception.InvalidRequestException;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.ArgumentMatchers.isA;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+class RequestDispatcherTest {
+
+    private final AsyncResponse response = mock();
+
+    @Test
+    void dispatch_onContainerThread() {
+        new RequestDispatcher(null).dispatch(response, () -> "result");
+
+        verify(response).resume("result");
+    }
+
+    @Test
+    void dispatch_onExecutor() {
+        var dispatcher = new RequestDispatcher(Runnable::run);
+
+        dispatcher.dispatch(response, () -> "result");
+
+        verify(response).resume("result");
+    }
+
+    @Test
+    void dispatch_nullResult_isNoContent() {
+        new RequestDispatcher(null).dispatch(response, () -> null);
+
+        verify(response).resume(argThat((Response r) -> r.getStatus() == 204));
+    }
+
+    @Test
+    void dispatch_resumesWithException() {
+        var exception = new InvalidRequestException("invalid");
+
+        new RequestDispatcher(Runnable::run).dispatch(response, () -> {
+            throw exception;
+        });
+
+        verify(response).resume(exception);
+    }
+
+    @Test
+    void dispatch_rejected() {
+        var dispatcher = new RequestDispatcher(runnable -> {
+            throw new RejectedExecutionException();
+        });
+
+        dispatcher.dispatch(response, () -> "result");
+
+        verify(response).resume(isA(ServiceUnavailableException.class));
+    }
+
+    @Test
+    void dispatch_timeoutResumesWith503AndDropsHandler() {
+        var queued = new ArrayList<Runnable>();
+        var called = new AtomicBoolean();
+        var dispatcher = new RequestDispatcher(queued::add, Duration.ofMillis(250));
+
+        dispatcher.dispatch(response, () -> called.getAndSet(true));
+
+        var timeoutHandler = ArgumentCaptor.forClass(TimeoutHandler.class);
+        verify(response).setTimeoutHandler(timeoutHandler.capture());
+        verify(response).setTimeout(250, TimeUnit.MILLISECONDS);
+
+        timeoutHandler.getValue().handleTimeout(response);
+        queued.forEach(Runnable::run);
+
+        verify(response).resume(isA(ServiceUnavailableException.class));
+        assertThat(called).isFalse();
+    }
+
+    @Test
+    void dispatchWrite_timeoutBeforeStart_isNotApplied() {
+        var queued = new ArrayList<Runnable>();
+        var applied = new AtomicBoolean();
+        var dispatcher = new RequestDispatcher(queued::add, Duration.ofMillis(250));
+
+        dispatcher.dispatchWrite(response, () -> applied.getAndSet(true));
+
+        var timeoutHandler = ArgumentCaptor.forClass(TimeoutHandler.class);
+        verify(response).setTimeoutHandler(timeoutHandler.capture());
+        timeoutHandler.getValue().handleTimeout(response);
+        queued.forEach(Runnable::run);
+
+        verify(response).resume(isA(ServiceUnavailableException.class));
+        assertThat(applied).isFalse();
+    }
+
+    @Test
+    void dispatchWrite_timeoutWhileRunning_isAnsweredWithOutcome() {
+        var queued = new ArrayList<Runnable>();
+        var interrupted = new AtomicBoolean();
+        var dispatcher = new RequestDispatcher(queued::add, Duration.ofMillis(250));
+        var timeoutHandler = ArgumentCaptor.forClass(TimeoutHandler.class);
+
+        dispatcher.dispatchWrite(response, () -> {
+            // the timeout passes while the write is in progress
+            timeoutHandler.getValue().handleTimeout(response);
+            interrupted.set(Thread.currentThread().isInterrupted());
+            return "applied";
+        });
+        verify(response).setTimeoutHandler(timeoutHandler.capture());
+        queued.forEach(Runnable::run);
+
+        verify(response).resume("applied");
+        verify(response, never()).resume(isA(ServiceUnavailableException.class));
+        // the timeout is extended instead of answering before the outcome is known
+        verify(response, times(2)).setTimeout(250, TimeUnit.MILLISECONDS);
+        assertThat(interrupted).isFalse();
+    }
+
+    @Test
+    void dispatch_withoutTimeout() {
+        new RequestDispatcher(Runnable::run).dispatch(response, () -> "result");
+
+        verify(response, never()).setTimeout(anyLong(), any());
+        verify(response).resume("result");
+    }
+}
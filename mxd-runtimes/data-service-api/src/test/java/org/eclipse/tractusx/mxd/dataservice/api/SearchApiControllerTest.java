@@ -0,0 +1,106 @@
+/*
+ *  Copyright (c) 2024 Bayerische Motoren Werke Aktiengesellschaft (BMW AG)
+ *
+ *  This program and the accompanying materials are made available under the
+ *  terms of the Apache License, Version 2.0 which is available at
+ *  https://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  SPDX-License-Identifier: Apache-2.0
+ *
+ *  Contributors:
+ *       Bayerische Motoren Werke Aktiengesellschaft (BMW AG) - initial API and implementation
+ *
+ */
+
+package org.eclipse.tractusx.mxd.dataservice.api;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.restassured.specification.RequestSpecification;
+import org.eclipse.edc.junit.annotations.ApiTest;
+import org.eclipse.edc.web.jersey.testfixtures.RestControllerTestBase;
+import org.eclipse.tractusx.mxd.dataservice.cache.SerializedDataRecordCache;
+import org.eclipse.tractusx.mxd.dataservice.model.DataRecord;
+import org.eclipse.tractusx.mxd.dataservice.search.SearchIndex;
+import org.eclipse.tractusx.mxd.dataservice.store.InMemoryDataRecordStore;
+import org.eclipse.tractusx.mxd.dataservice.store.ObservableDataRecordStore;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import static io.restassured.RestAssured.given;
+import static org.assertj.core.api.Assertions.assertThat;
+
+@ApiTest
+class SearchApiControllerTest extends RestControllerTestBase {
+
+    private final SearchIndex index = new SearchIndex();
+    private final ObservableDataRecordStore store = new ObservableDataRecordStore(new InMemoryDataRecordStore());
+
+    @BeforeEach
+    void setUp() {
+        store.registerListener(index);
+    }
+
+    @Test
+    void search() {
+        store.create(new DataRecord("id1", "Brake disc", "For the front axle"));
+        store.create(new DataRecord("id2", "Brake pad", "For the rear axle"));
+        store.create(new DataRecord("id3", "Wheel", "Fits a brake disc"));
+
+        var records = baseRequest()
+                .get("?q=brake+disc")
+                .then()
+                .statusCode(200)
+                .extract().body().as(DataRecord[].class);
+
+        assertThat(records).extracting(DataRecord::id).containsExactly("id1", "id3");
+    }
+
+    @Test
+    void search_limitAndFields() {
+        store.create(new DataRecord("id1", "Brake disc", "desc"));
+        store.create(new DataRecord("id2", "Brake pad", "desc"));
+
+        var body = baseRequest()
+                .get("?q=brake&limit=1&fields=id")
+                .then()
+                .statusCode(200)
+                .extract().body().asString();
+
+        assertThat(body).matches("\\[\\{\"id\":\"id[12]\"}]");
+    }
+
+    @Test
+    void search_reflectsDeletes() {
+        store.create(new DataRecord("id1", "Brake disc", "desc"));
+        store.deleteById("id1");
+
+        var records = baseRequest()
+                .get("?q=brake")
+                .then()
+                .statusCode(200)
+                .extract().body().as(DataRecord[].class);
+
+        assertThat(records).isEmpty();
+    }
+
+    @Test
+    void search_invalid() {
+        baseRequest().get().then().statusCode(400);
+        // a literal "+" in the URL would be sent encoded, as a plus sign rather than a space
+        baseRequest().queryParam("q", " ").get().then().statusCode(400);
+        baseRequest().get("?q=brake&limit=101").then().statusCode(400);
+    }
+
+    @Override
+    protected Object controller() {
+        var objectMapper = new ObjectMapper();
+        return new SearchApiController(index, store, objectMapper, new SerializedDataRecordCache(objectMapper, 100, 1024 * 1024),
+                new RequestDispatcher(null));
+    }
+
+    private RequestSpecification baseRequest() {
+        return given()
+                .when()
+                .baseUri("http://localhost:" + port + "/v1/data/search");
+    }
+}
@@ -0,0 +1,100 @@
+/*
+ *  Copyright (c) 2024 Bayerische Motoren Werke Aktiengesellschaft (BMW AG)
+ *
+ *  This program and the accompanying materials are made available under the
+ *  terms of the Apache License, Version 2.0 which is available at
+ *  https://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  SPDX-License-Identifier: Apache-2.0
+ *
+ *  Contributors:
+ *       Bayerische Motoren Werke Aktiengesellschaft (BMW AG) - initial API and implementation
+ *
+ */
+
+package org.eclipse.tractusx.mxd.dataservice.api;
+
+import io.restassured.specification.RequestSpecification;
+import org.eclipse.edc.junit.annotations.ApiTest;
+import org.eclipse.edc.web.jersey.testfixtures.RestControllerTestBase;
+import org.eclipse.tractusx.mxd.dataservice.model.TransferStats;
+import org.eclipse.tractusx.mxd.dataservice.payload.BufferPool;
+import org.eclipse.tractusx.mxd.dataservice.sink.TransferSink;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Path;
+
+import static io.restassured.RestAssured.given;
+import static org.assertj.core.api.Assertions.assertThat;
+
+@ApiTest
+class SinkApiControllerTest extends RestControllerTestBase {
+
+    @TempDir
+    private Path directory;
+
+    @Test
+    void receive() {
+        var stats = baseRequest()
+                .contentType("application/octet-stream")
+                .body(new byte[10_000])
+                .put("/transfer")
+                .then()
+                .statusCode(200)
+                .extract().as(TransferStats.class);
+
+        assertThat(stats.transferId()).isEqualTo("transfer");
+        assertThat(stats.bytes()).isEqualTo(10_000);
+    }
+
+    @Test
+    void receive_subPath_countsTowardsTransfer() {
+        baseRequest().contentType("application/json").body("{}").post("/transfer").then().statusCode(200);
+        baseRequest().contentType("text/plain").body("part").post("/transfer/some/path").then().statusCode(200);
+
+        var stats = baseRequest()
+                .get("/transfer")
+                .then()
+                .statusCode(200)
+                .extract().as(TransferStats.class);
+
+        assertThat(stats.requests()).isEqualTo(2);
+        assertThat(stats.bytes()).isEqualTo(6);
+    }
+
+    @Test
+    void getAllStats() {
+        baseRequest().body(new byte[10]).put("/first").then().statusCode(200);
+        baseRequest().body(new byte[10]).put("/second").then().statusCode(200);
+
+        var stats = baseRequest()
+                .get()
+                .then()
+                .statusCode(200)
+                .extract().as(TransferStats[].class);
+
+        assertThat(stats).extracting(TransferStats::transferId).containsExactly("first", "second");
+    }
+
+    @Test
+    void deleteStats() {
+        baseRequest().body(new byte[10]).put("/transfer").then().statusCode(200);
+
+        baseRequest().delete("/transfer").then().statusCode(204);
+
+        baseRequest().get("/transfer").then().statusCode(404);
+        baseRequest().delete("/transfer").then().statusCode(404);
+    }
+
+    @Override
+    protected Object controller() {
+        return new SinkApiController(new TransferSink(directory, new BufferPool(4096, 2), 100), false, new RequestDispatcher(null));
+    }
+
+    private RequestSpecification baseRequest() {
+        return given()
+                .when()
+                .baseUri("http://localhost:" + port + "/v1/sink");
+    }
+}
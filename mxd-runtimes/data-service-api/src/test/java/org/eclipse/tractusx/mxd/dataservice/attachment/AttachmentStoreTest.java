@@ -0,0 +1,146 @@
+/*
+ *  Copyright (c) 2024 Bayerische Motoren Werke Aktiengesellschaft (BMW AG)
+ *
+ *  This program and the accompanying materials are made available under the
+ *  terms of the Apache License, Version 2.0 which is available at
+ *  https://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  SPDX-License-Identifier: Apache-2.0
+ *
+ *  Contributors:
+ *       Bayerische Motoren Werke Aktiengesellschaft (BMW AG) - initial API and implementation
+ *
+ */
+
+package org.eclipse.tractusx.mxd.dataservice.attachment;
+
+import org.eclipse.edc.spi.monitor.Monitor;
+import org.eclipse.tractusx.mxd.dataservice.model.DataRecord;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.channels.Channels;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.mock;
+
+class AttachmentStoreTest {
+
+    private static final int MAX_SIZE = 1000;
+
+    private final Monitor monitor = mock();
+
+    @TempDir
+    private Path directory;
+
+    @Test
+    void write_open() throws IOException {
+        var store = open();
+        var content = content(MAX_SIZE);
+
+        var tag = store.write("../id", "image/png", new ByteArrayInputStream(content));
+
+        try (var attachment = store.open("../id")) {
+            assertThat(attachment).isNotNull();
+            assertThat(attachment.tag()).isEqualTo(tag);
+            assertThat(attachment.contentType()).isEqualTo("image/png");
+            assertThat(attachment.size()).isEqualTo(MAX_SIZE);
+            assertThat(read(attachment, 0, MAX_SIZE)).isEqualTo(content);
+            assertThat(read(attachment, 10, 5)).containsExactly(10, 11, 12, 13, 14);
+        }
+    }
+
+    @Test
+    void write_replaces() throws IOException {
+        var store = open();
+        var first = store.write("id", null, new ByteArrayInputStream(content(10)));
+
+        var second = store.write("id", null, new ByteArrayInputStream(content(20)));
+
+        assertThat(second).isNotEqualTo(first);
+        try (var attachment = store.open("id")) {
+            assertThat(attachment.tag()).isEqualTo(second);
+            assertThat(attachment.size()).isEqualTo(20);
+            assertThat(attachment.contentType()).isEqualTo("application/octet-stream");
+        }
+    }
+
+    @Test
+    void write_tooLarge_keepsPrevious() throws IOException {
+        var store = open();
+        var tag = store.write("id", null, new ByteArrayInputStream(content(10)));
+
+        assertThatThrownBy(() -> store.write("id", null, new ByteArrayInputStream(content(MAX_SIZE + 1))))
+                .isInstanceOf(AttachmentTooLargeException.class);
+
+        try (var attachment = store.open("id")) {
+            assertThat(attachment.tag()).isEqualTo(tag);
+        }
+        try (var files = Files.list(directory)) {
+            assertThat(files).hasSize(1);
+        }
+    }
+
+    @Test
+    void open_readsUntilClosed_whenReplaced() throws IOException {
+        var store = open();
+        var content = content(100);
+        store.write("id", null, new ByteArrayInputStream(content));
+
+        try (var attachment = store.open("id")) {
+            store.write("id", null, new ByteArrayInputStream(content(10)));
+            store.delete("id");
+
+            assertThat(read(attachment, 0, 100)).isEqualTo(content);
+        }
+    }
+
+    @Test
+    void open_notExists() throws IOException {
+        assertThat(open().open("id")).isNull();
+    }
+
+    @Test
+    void deleted_deletesAttachment() throws IOException {
+        var store = open();
+        store.write("id", null, new ByteArrayInputStream(content(10)));
+
+        store.deleted(new DataRecord("id", "name", "desc"));
+
+        assertThat(store.open("id")).isNull();
+        assertThat(store.delete("id")).isFalse();
+    }
+
+    @Test
+    void removesInterruptedUploads() throws IOException {
+        Files.writeString(directory.resolve("interrupted.upload"), "partial");
+
+        open();
+
+        assertThat(directory.resolve("interrupted.upload")).doesNotExist();
+    }
+
+    private AttachmentStore open() {
+        return new AttachmentStore(directory, MAX_SIZE, monitor);
+    }
+
+    private static byte[] content(int size) {
+        var content = new byte[size];
+        for (var i = 0; i < size; i++) {
+            content[i] = (byte) i;
+        }
+        return content;
+    }
+
+    private static byte[] read(Attachment attachment, long position, long count) throws IOException {
+        var output = new ByteArrayOutputStream();
+        attachment.transferTo(position, count, Channels.newChannel(output));
+        return output.toByteArray();
+    }
+}
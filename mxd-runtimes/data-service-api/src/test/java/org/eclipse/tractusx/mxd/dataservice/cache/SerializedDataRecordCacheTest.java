@@ -0,0 +1,81 @@
+/*
+ *  Copyright (c) 2024 Bayerische Motoren Werke Aktiengesellschaft (BMW AG)
+ *
+ *  This program and the accompanying materials are made available under the
+ *  terms of the Apache License, Version 2.0 which is available at
+ *  https://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  SPDX-License-Identifier: Apache-2.0
+ *
+ *  Contributors:
+ *       Bayerische Motoren Werke Aktiengesellschaft (BMW AG) - initial API and implementation
+ *
+ */
+
+package org.eclipse.tractusx.mxd.dataservice.cache;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.eclipse.tractusx.mxd.dataservice.model.DataRecord;
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class SerializedDataRecordCacheTest {
+
+    private final SerializedDataRecordCache cache = new SerializedDataRecordCache(new ObjectMapper(), 2, 1024);
+
+    @Test
+    void record_reusesBytesOfEqualRecord() {
+        var first = cache.record(new DataRecord("id", "name", "desc"));
+
+        assertThat(cache.record(new DataRecord("id", "name", "desc"))).isSameAs(first);
+        assertThat(new String(first, StandardCharsets.UTF_8)).isEqualTo("{\"id\":\"id\",\"name\":\"name\",\"description\":\"desc\"}");
+    }
+
+    @Test
+    void record_changedRecord() {
+        var first = cache.record(new DataRecord("id", "name", "desc"));
+
+        var second = cache.record(new DataRecord("id", "new-name", "desc"));
+
+        assertThat(second).isNotSameAs(first);
+        assertThat(new String(second, StandardCharsets.UTF_8)).contains("new-name");
+    }
+
+    @Test
+    void array() {
+        var json = cache.array(Stream.of(new DataRecord("id1", "name", null), new DataRecord("id2", "name", null)));
+
+        assertThat(new String(json, StandardCharsets.UTF_8)).isEqualTo(
+                "[{\"id\":\"id1\",\"name\":\"name\",\"description\":null},{\"id\":\"id2\",\"name\":\"name\",\"description\":null}]");
+        assertThat(cache.array(Stream.empty())).asString(StandardCharsets.UTF_8).isEqualTo("[]");
+    }
+
+    @Test
+    void collection_onlyForSameRevision() {
+        var json = cache.array(Stream.of(new DataRecord("id", "name", "desc")));
+        cache.putCollection("1", json);
+
+        assertThat(cache.collection("1")).isSameAs(json);
+        assertThat(cache.collection("2")).isNull();
+    }
+
+    @Test
+    void collection_invalidatedByWrites() {
+        cache.putCollection("1", cache.array(Stream.of(new DataRecord("id", "name", "desc"))));
+
+        cache.deleted(new DataRecord("id", "name", "desc"));
+
+        assertThat(cache.collection("1")).isNull();
+    }
+
+    @Test
+    void collection_tooLarge() {
+        cache.putCollection("1", new byte[2048]);
+
+        assertThat(cache.collection("1")).isNull();
+    }
+}
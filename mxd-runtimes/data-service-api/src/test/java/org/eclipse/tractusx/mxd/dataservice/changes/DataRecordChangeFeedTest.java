@@ -0,0 +1,200 @@
+/*
+ *  Copyright (c) 2024 Bayerische Motoren Werke Aktiengesellschaft (BMW AG)
+ *
+ *  This program and the accompanying materials are made available under the
+ *  terms of the Apache License, Version 2.0 which is available at
+ *  https://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  SPDX-License-Identifier: Apache-2.0
+ *
+ *  Contributors:
+ *       Bayerische Motoren Werke Aktiengesellschaft (BMW AG) - initial API and implementation
+ *
+ */
+
+package org.eclipse.tractusx.mxd.dataservice.changes;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.eclipse.tractusx.mxd.dataservice.model.DataRecord;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.stream.IntStream;
+import java.util.stream.LongStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class DataRecordChangeFeedTest {
+
+    private final ArrayDeque<Runnable> tasks = new ArrayDeque<>();
+    private final DataRecordChangeFeed feed = new DataRecordChangeFeed(new ObjectMapper(), 5, 3, tasks::add);
+    private final List<DataRecordChangeFeed.ChangeEvent> received = new ArrayList<>();
+    private final AtomicBoolean closed = new AtomicBoolean();
+
+    @Test
+    void subscribe_receivesChanges() {
+        subscribe(null);
+
+        feed.created(new DataRecord("id", "name", "desc"), 1);
+        feed.updated(new DataRecord("id", "new-name", "desc"), 2);
+        feed.deleted(new DataRecord("id", "new-name", "desc"));
+        runTasks();
+
+        assertThat(received).extracting(DataRecordChangeFeed.ChangeEvent::sequence).containsExactly(1L, 2L, 3L);
+        assertThat(received).extracting(DataRecordChangeFeed.ChangeEvent::name).containsExactly("created", "updated", "deleted");
+        assertThat(received.get(1).data()).contains("\"version\":2", "\"name\":\"new-name\"");
+    }
+
+    @Test
+    void subscribe_resumesAfterLastSequence() {
+        IntStream.range(0, 4).forEach(i -> feed.created(new DataRecord("id" + i, "name", "desc"), i));
+
+        subscribe(2L);
+        feed.created(new DataRecord("id4", "name", "desc"), 4);
+        runTasks();
+
+        assertThat(received).extracting(DataRecordChangeFeed.ChangeEvent::sequence).containsExactly(3L, 4L, 5L);
+    }
+
+    @Test
+    void subscribe_resetsWhenChangesAreNoLongerKept() {
+        IntStream.range(0, 8).forEach(i -> feed.created(new DataRecord("id" + i, "name", "desc"), i));
+
+        subscribe(1L);
+        runTasks();
+
+        assertThat(received).extracting(DataRecordChangeFeed.ChangeEvent::name).containsExactly(DataRecordChangeFeed.RESET);
+        assertThat(received.get(0).sequence()).isEqualTo(8);
+    }
+
+    @Test
+    void slowSubscriber_isDisconnectedAfterItsBuffer() {
+        subscribe(null);
+
+        IntStream.range(0, 5).forEach(i -> feed.created(new DataRecord("id" + i, "name", "desc"), i));
+        runTasks();
+
+        assertThat(received).hasSize(3);
+        assertThat(closed).isTrue();
+        assertThat(feed.subscriptionCount()).isZero();
+    }
+
+    @Test
+    void failedSend_closesSubscription() {
+        feed.subscribe(null, event -> CompletableFuture.failedFuture(new IllegalStateException("gone")), () -> closed.set(true));
+
+        feed.created(new DataRecord("id", "name", "desc"), 1);
+        runTasks();
+
+        assertThat(closed).isTrue();
+        assertThat(feed.subscriptionCount()).isZero();
+    }
+
+    @Test
+    void pendingSend_holdsNoThread() {
+        var pending = new ArrayList<CompletableFuture<Void>>();
+        feed.subscribe(null, event -> {
+            received.add(event);
+            var future = new CompletableFuture<Void>();
+            pending.add(future);
+            return future;
+        }, () -> closed.set(true));
+
+        feed.created(new DataRecord("id1", "name", "desc"), 1);
+        feed.created(new DataRecord("id2", "name", "desc"), 2);
+        runTasks();
+
+        assertThat(received).extracting(DataRecordChangeFeed.ChangeEvent::sequence).containsExactly(1L);
+        assertThat(tasks).isEmpty();
+
+        pending.get(0).complete(null);
+        runTasks();
+
+        assertThat(received).extracting(DataRecordChangeFeed.ChangeEvent::sequence).containsExactly(1L, 2L);
+    }
+
+    @Test
+    void heartbeat_isSentToIdleSubscribers() {
+        subscribe(null);
+        feed.created(new DataRecord("id", "name", "desc"), 1);
+        runTasks();
+
+        feed.heartbeat();
+        runTasks();
+
+        assertThat(received).containsExactly(received.get(0), DataRecordChangeFeed.HEARTBEAT);
+        assertThat(closed).isFalse();
+    }
+
+    @Test
+    void heartbeat_failedSendClosesSubscription() {
+        feed.subscribe(null, event -> CompletableFuture.failedFuture(new IllegalStateException("gone")), () -> closed.set(true));
+
+        feed.heartbeat();
+        runTasks();
+
+        assertThat(closed).isTrue();
+        assertThat(feed.subscriptionCount()).isZero();
+    }
+
+    @Test
+    void heartbeat_disconnectsSubscriberWhoseSendDoesNotComplete() {
+        feed.subscribe(null, event -> new CompletableFuture<>(), () -> closed.set(true));
+        feed.created(new DataRecord("id", "name", "desc"), 1);
+        runTasks();
+
+        feed.heartbeat();
+        assertThat(closed).isFalse();
+
+        feed.heartbeat();
+        assertThat(closed).isTrue();
+        assertThat(feed.subscriptionCount()).isZero();
+    }
+
+    @Test
+    void concurrentPublishers_areReceivedInSequenceOrder() throws InterruptedException {
+        var executor = Executors.newCachedThreadPool();
+        try {
+            var concurrentFeed = new DataRecordChangeFeed(new ObjectMapper(), 10_000, 10_000, executor);
+            var sequences = new ConcurrentLinkedQueue<Long>();
+            var done = new CountDownLatch(4000);
+            concurrentFeed.subscribe(null, event -> {
+                sequences.add(event.sequence());
+                done.countDown();
+                return CompletableFuture.completedFuture(null);
+            }, () -> closed.set(true));
+
+            var publishers = IntStream.range(0, 4).mapToObj(p -> new Thread(() -> IntStream.range(0, 1000)
+                    .forEach(i -> concurrentFeed.created(new DataRecord(p + "-" + i, "name", "desc"), i)))).toList();
+            publishers.forEach(Thread::start);
+
+            assertThat(done.await(10, TimeUnit.SECONDS)).isTrue();
+            assertThat(sequences).containsExactlyElementsOf(LongStream.rangeClosed(1, 4000).boxed().toList());
+            assertThat(closed).isFalse();
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    private void subscribe(Long lastSequence) {
+        feed.subscribe(lastSequence, event -> {
+            received.add(event);
+            return CompletableFuture.completedFuture(null);
+        }, () -> closed.set(true));
+    }
+
+    private void runTasks() {
+        Runnable task;
+        while ((task = tasks.poll()) != null) {
+            task.run();
+        }
+    }
+}
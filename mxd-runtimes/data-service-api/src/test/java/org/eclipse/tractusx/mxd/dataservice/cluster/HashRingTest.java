@@ -0,0 +1,72 @@
+/*
+ *  Copyright (c) 2024 Bayerische Motoren Werke Aktiengesellschaft (BMW AG)
+ *
+ *  This program and the accompanying materials are made available under the
+ *  terms of the Apache License, Version 2.0 which is available at
+ *  https://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  SPDX-License-Identifier: Apache-2.0
+ *
+ *  Contributors:
+ *       Bayerische Motoren Werke Aktiengesellschaft (BMW AG) - initial API and implementation
+ *
+ */
+
+package org.eclipse.tractusx.mxd.dataservice.cluster;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatIllegalArgumentException;
+
+class HashRingTest {
+
+    private static final List<String> NODES = List.of("http://a:8080/api", "http://b:8080/api", "http://c:8080/api");
+
+    @Test
+    void owner_spreadsIdsEvenly() {
+        var ring = new HashRing(NODES, 128);
+        var counts = new HashMap<String, Integer>();
+
+        IntStream.range(0, 30_000).forEach(i -> counts.merge(ring.owner("id" + i), 1, Integer::sum));
+
+        assertThat(counts).containsOnlyKeys(NODES);
+        assertThat(counts.values()).allSatisfy(count -> assertThat(count).isBetween(8_000, 12_000));
+    }
+
+    @Test
+    void owner_sameForSameNodes() {
+        var ring = new HashRing(NODES, 128);
+        var other = new HashRing(List.copyOf(NODES), 128);
+
+        IntStream.range(0, 1000).forEach(i -> assertThat(other.owner("id" + i)).isEqualTo(ring.owner("id" + i)));
+    }
+
+    @Test
+    void owner_addingNodeOnlyMovesIdsToIt() {
+        var ring = new HashRing(NODES, 128);
+        var grown = new HashRing(List.of("http://a:8080/api", "http://b:8080/api", "http://c:8080/api", "http://d:8080/api"), 128);
+
+        var moved = 0;
+        for (var i = 0; i < 10_000; i++) {
+            var before = ring.owner("id" + i);
+            var after = grown.owner("id" + i);
+            if (!before.equals(after)) {
+                assertThat(after).isEqualTo("http://d:8080/api");
+                moved++;
+            }
+        }
+        assertThat(moved).isBetween(1_500, 3_500);
+    }
+
+    @Test
+    void invalidNodes() {
+        assertThatIllegalArgumentException().isThrownBy(() -> new HashRing(List.of(), 128));
+        assertThatIllegalArgumentException().isThrownBy(() -> new HashRing(List.of("a", "a"), 128));
+        assertThatIllegalArgumentException().isThrownBy(() -> new HashRing(List.of("a"), 0));
+    }
+}
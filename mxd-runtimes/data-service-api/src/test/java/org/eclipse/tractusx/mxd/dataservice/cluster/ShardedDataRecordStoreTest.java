@@ -0,0 +1,117 @@
+/*
+ *  Copyright (c) 2024 Bayerische Motoren Werke Aktiengesellschaft (BMW AG)
+ *
+ *  This program and the accompanying materials are made available under the
+ *  terms of the Apache License, Version 2.0 which is available at
+ *  https://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  SPDX-License-Identifier: Apache-2.0
+ *
+ *  Contributors:
+ *       Bayerische Motoren Werke Aktiengesellschaft (BMW AG) - initial API and implementation
+ *
+ */
+
+package org.eclipse.tractusx.mxd.dataservice.cluster;
+
+import org.eclipse.edc.spi.query.Criterion;
+import org.eclipse.edc.spi.query.QuerySpec;
+import org.eclipse.edc.spi.query.SortOrder;
+import org.eclipse.edc.spi.result.StoreFailure;
+import org.eclipse.edc.spi.result.StoreResult;
+import org.eclipse.tractusx.mxd.dataservice.model.DataRecord;
+import org.eclipse.tractusx.mxd.dataservice.store.InMemoryDataRecordStore;
+import org.junit.jupiter.api.Test;
+
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ShardedDataRecordStoreTest {
+
+    private final HashRing ring = new HashRing(List.of("a", "b", "c"), 64);
+    private final Map<String, InMemoryDataRecordStore> shards = Map.of("a", new InMemoryDataRecordStore(), "b", new InMemoryDataRecordStore(), "c", new InMemoryDataRecordStore());
+    private final ShardedDataRecordStore store = new ShardedDataRecordStore(ring, Map.copyOf(shards), Executors.newCachedThreadPool());
+
+    @Test
+    void create_storesInOwningShard() {
+        store.create(new DataRecord("id1", "name", "description"));
+
+        assertThat(shards.get(ring.owner("id1")).findById("id1")).isNotNull();
+        assertThat(shards.values()).filteredOn(shard -> shard.count() == 1).hasSize(1);
+        assertThat(store.findById("id1")).isNotNull();
+    }
+
+    @Test
+    void createAll_resultsInRequestOrder() {
+        store.create(new DataRecord("id5", "existing", null));
+        var records = IntStream.range(0, 10).mapToObj(i -> new DataRecord("id" + i, "name" + i, null)).toList();
+
+        var results = store.createAll(records);
+
+        assertThat(results).hasSize(10);
+        assertThat(results.get(5).reason()).isEqualTo(StoreFailure.Reason.ALREADY_EXISTS);
+        assertThat(results).filteredOn(StoreResult::succeeded).hasSize(9);
+        assertThat(store.count()).isEqualTo(10);
+        assertThat(shards.values()).allSatisfy(shard -> assertThat(shard.count()).isLessThan(10));
+    }
+
+    @Test
+    void findAll_mergesShardsInOrder() {
+        store.createAll(IntStream.range(0, 100).mapToObj(i -> new DataRecord("id%03d".formatted(i), "name" + (i % 10), null)).toList());
+
+        var page = store.findAll(QuerySpec.Builder.newInstance().offset(20).limit(5).build()).map(DataRecord::id).toList();
+        var byName = store.findAll(QuerySpec.Builder.newInstance().sortField("name").sortOrder(SortOrder.DESC).limit(12).build()).toList();
+        var filtered = store.findAll(QuerySpec.Builder.newInstance().filter(new Criterion("name", "=", "name3")).build()).map(DataRecord::id).toList();
+
+        assertThat(page).containsExactly("id020", "id021", "id022", "id023", "id024");
+        assertThat(byName).extracting(DataRecord::name).containsExactly("name9", "name9", "name9", "name9", "name9", "name9", "name9", "name9", "name9", "name9", "name8", "name8");
+        assertThat(byName.subList(0, 10)).extracting(DataRecord::id)
+                .containsExactlyInAnyOrder("id009", "id019", "id029", "id039", "id049", "id059", "id069", "id079", "id089", "id099");
+        assertThat(filtered).containsExactly("id003", "id013", "id023", "id033", "id043", "id053", "id063", "id073", "id083", "id093");
+    }
+
+    @Test
+    void findAll_pagesShardsInBatches() {
+        var batched = new ShardedDataRecordStore(ring, Map.copyOf(shards), Executors.newCachedThreadPool(), 7);
+        var records = IntStream.range(0, 200).mapToObj(i -> new DataRecord("id%03d".formatted(i), i % 9 == 0 ? null : "name" + (i % 4), null)).toList();
+        batched.createAll(records);
+        var byName = Comparator.comparing(DataRecord::name, Comparator.nullsLast(Comparator.<String>naturalOrder())).thenComparing(DataRecord::id);
+
+        var all = batched.findAll(QuerySpec.none()).map(DataRecord::id).toList();
+        var page = batched.findAll(QuerySpec.Builder.newInstance().offset(150).limit(30).build()).map(DataRecord::id).toList();
+        var reversed = batched.findAll(QuerySpec.Builder.newInstance().sortOrder(SortOrder.DESC).limit(Integer.MAX_VALUE).build()).toList();
+        var ascending = batched.findAll(QuerySpec.Builder.newInstance().sortField("name").limit(Integer.MAX_VALUE).build()).toList();
+        var descending = batched.findAll(QuerySpec.Builder.newInstance().sortField("name").sortOrder(SortOrder.DESC).offset(10).limit(Integer.MAX_VALUE).build()).toList();
+
+        assertThat(all).isEqualTo(records.stream().map(DataRecord::id).limit(50).toList());
+        assertThat(page).isEqualTo(records.stream().map(DataRecord::id).skip(150).limit(30).toList());
+        assertThat(reversed).isEqualTo(records.stream().sorted(Comparator.comparing(DataRecord::id).reversed()).toList());
+        assertThat(ascending).isEqualTo(records.stream().sorted(byName).toList());
+        assertThat(descending).isEqualTo(records.stream().sorted(byName.reversed()).skip(10).toList());
+    }
+
+    @Test
+    void updateAndDelete_routedToOwningShard() {
+        var version = store.create(new DataRecord("id1", "name", null)).getContent();
+
+        assertThat(store.update(new DataRecord("id1", "renamed", null), version).succeeded()).isTrue();
+        assertThat(store.update(new DataRecord("id1", "again", null), version).succeeded()).isFalse();
+        assertThat(store.deleteById("id1").getContent().name()).isEqualTo("renamed");
+
+        assertThat(store.count()).isZero();
+    }
+
+    @Test
+    void revision_changesWithAnyShard() {
+        var before = store.revision();
+
+        store.create(new DataRecord("id1", "name", null));
+
+        assertThat(store.revision()).isNotEqualTo(before).contains(".");
+    }
+}
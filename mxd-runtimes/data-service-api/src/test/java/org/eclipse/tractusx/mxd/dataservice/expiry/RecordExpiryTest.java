@@ -0,0 +1,192 @@
+/*
+ *  Copyright (c) 2024 Bayerische Motoren Werke Aktiengesellschaft (BMW AG)
+ *
+ *  This program and the accompanying materials are made available under the
+ *  terms of the Apache License, Version 2.0 which is available at
+ *  https://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  SPDX-License-Identifier: Apache-2.0
+ *
+ *  Contributors:
+ *       Bayerische Motoren Werke Aktiengesellschaft (BMW AG) - initial API and implementation
+ *
+ */
+
+package org.eclipse.tractusx.mxd.dataservice.expiry;
+
+import org.eclipse.edc.spi.query.QuerySpec;
+import org.eclipse.edc.spi.result.StoreResult;
+import org.eclipse.tractusx.mxd.dataservice.model.DataRecord;
+import org.eclipse.tractusx.mxd.dataservice.store.InMemoryDataRecordStore;
+import org.eclipse.tractusx.mxd.dataservice.store.ObservableDataRecordStore;
+import org.jetbrains.annotations.Nullable;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatIllegalArgumentException;
+
+class RecordExpiryTest {
+
+    private final AtomicLong nanoTime = new AtomicLong(1_000);
+    private final InMemoryDataRecordStore memoryStore = new InMemoryDataRecordStore();
+    private final ObservableDataRecordStore store = new ObservableDataRecordStore(memoryStore);
+
+    @Test
+    void expire_deletesRecordsAfterTtl() {
+        var expiry = expiry(Duration.ofSeconds(10), 0);
+        store.create(record("id1"));
+        advance(Duration.ofSeconds(5));
+        store.create(record("id2"));
+
+        advance(Duration.ofSeconds(5));
+        assertThat(expiry.expire()).isEqualTo(1);
+        assertThat(ids()).containsExactly("id2");
+
+        advance(Duration.ofSeconds(5));
+        assertThat(expiry.expire()).isEqualTo(1);
+        assertThat(ids()).isEmpty();
+        assertThat(expiry.expired()).isEqualTo(2);
+        assertThat(expiry.size()).isZero();
+    }
+
+    @Test
+    void expire_updateRestartsTtl() {
+        var expiry = expiry(Duration.ofSeconds(10), 0);
+        store.create(record("id1"));
+        advance(Duration.ofSeconds(8));
+
+        store.update(record("id1"));
+        advance(Duration.ofSeconds(8));
+
+        assertThat(expiry.expire()).isZero();
+        advance(Duration.ofSeconds(2));
+        assertThat(expiry.expire()).isEqualTo(1);
+    }
+
+    @Test
+    void expire_sparesRecordWrittenBeforeItsDelete() {
+        var write = new AtomicReference<Runnable>();
+        var racingStore = new ObservableDataRecordStore(new InMemoryDataRecordStore() {
+            @Override
+            public StoreResult<DataRecord> deleteById(String id, @Nullable Long expectedVersion) {
+                // the record is written after its entry was taken off the wheel, but before it is deleted
+                var racingWrite = write.getAndSet(null);
+                if (racingWrite != null) {
+                    racingWrite.run();
+                }
+                return super.deleteById(id, expectedVersion);
+            }
+        });
+        var expiry = new RecordExpiry(racingStore, Duration.ofSeconds(10), 0, Duration.ofMillis(100), nanoTime::get, Runnable::run);
+        racingStore.registerListener(expiry);
+        racingStore.create(record("id1"));
+        advance(Duration.ofSeconds(10));
+
+        write.set(() -> racingStore.update(record("id1")));
+
+        assertThat(expiry.expire()).isZero();
+        assertThat(racingStore.findById("id1")).isNotNull();
+        assertThat(expiry.scheduled()).isEqualTo(1);
+        advance(Duration.ofSeconds(10));
+        assertThat(expiry.expire()).isEqualTo(1);
+        assertThat(racingStore.findById("id1")).isNull();
+    }
+
+    @Test
+    void expireAfter_overridesDefault() {
+        var expiry = expiry(null, 0);
+        store.create(record("id1"));
+        store.create(record("id2"));
+
+        assertThat(expiry.expireAfter("id1", Duration.ofSeconds(3))).isTrue();
+        assertThat(expiry.expireAfter("unknown", Duration.ofSeconds(3))).isFalse();
+        // an update keeps the time-to-live of the record
+        store.update(record("id1"));
+        advance(Duration.ofSeconds(3));
+
+        assertThat(expiry.expire()).isEqualTo(1);
+        assertThat(ids()).containsExactly("id2");
+        assertThat(expiry.scheduled()).isZero();
+    }
+
+    @Test
+    void deleted_cancelsExpiry() {
+        var expiry = expiry(Duration.ofSeconds(10), 0);
+        store.create(record("id1"));
+        advance(Duration.ofSeconds(5));
+
+        store.deleteById("id1");
+        store.create(record("id1"));
+        advance(Duration.ofSeconds(5));
+
+        assertThat(expiry.expire()).isZero();
+        advance(Duration.ofSeconds(5));
+        assertThat(expiry.expire()).isEqualTo(1);
+        assertThat(expiry.size()).isZero();
+        assertThat(expiry.scheduled()).isZero();
+    }
+
+    @Test
+    void evict_keepsMaximumAndSparesUsedRecords() {
+        var expiry = expiry(null, 3);
+        IntStream.range(0, 3).forEach(i -> store.create(record("id" + i)));
+        expiry.touch("id0");
+
+        store.create(record("id3"));
+
+        assertThat(ids()).containsExactly("id0", "id2", "id3");
+        assertThat(expiry.evicted()).isEqualTo(1);
+
+        store.create(record("id4"));
+        store.create(record("id5"));
+
+        // the hand goes on from where it stopped, new records are placed behind it
+        assertThat(ids()).containsExactly("id0", "id4", "id5");
+        assertThat(expiry.evicted()).isEqualTo(3);
+        assertThat(expiry.size()).isEqualTo(3);
+    }
+
+    @Test
+    void track_addsExistingRecords() {
+        IntStream.range(0, 5).forEach(i -> memoryStore.create(record("id" + i)));
+        var expiry = expiry(Duration.ofSeconds(1), 3);
+
+        assertThat(expiry.track(memoryStore)).isEqualTo(5);
+
+        assertThat(ids()).hasSize(3);
+        advance(Duration.ofSeconds(1));
+        assertThat(expiry.expire()).isEqualTo(3);
+        assertThat(ids()).isEmpty();
+    }
+
+    @Test
+    void invalidSettings() {
+        assertThatIllegalArgumentException().isThrownBy(() -> new RecordExpiry(store, Duration.ZERO, 0, Duration.ofSeconds(1), nanoTime::get, Runnable::run));
+        assertThatIllegalArgumentException().isThrownBy(() -> new RecordExpiry(store, null, -1, Duration.ofSeconds(1), nanoTime::get, Runnable::run));
+        assertThatIllegalArgumentException().isThrownBy(() -> new RecordExpiry(store, null, 0, Duration.ZERO, nanoTime::get, Runnable::run));
+    }
+
+    private RecordExpiry expiry(Duration ttl, long maxRecords) {
+        var expiry = new RecordExpiry(store, ttl, maxRecords, Duration.ofMillis(100), nanoTime::get, Runnable::run);
+        store.registerListener(expiry);
+        return expiry;
+    }
+
+    private void advance(Duration duration) {
+        nanoTime.addAndGet(duration.toNanos());
+    }
+
+    private List<String> ids() {
+        return store.findAll(QuerySpec.max()).map(DataRecord::id).toList();
+    }
+
+    private static DataRecord record(String id) {
+        return new DataRecord(id, "name", "description");
+    }
+}
@@ -0,0 +1,119 @@
+/*
+ *  Copyright (c) 2024 Bayerische Motoren Werke Aktiengesellschaft (BMW AG)
+ *
+ *  This program and the accompanying materials are made available under the
+ *  terms of the Apache License, Version 2.0 which is available at
+ *  https://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  SPDX-License-Identifier: Apache-2.0
+ *
+ *  Contributors:
+ *       Bayerische Motoren Werke Aktiengesellschaft (BMW AG) - initial API and implementation
+ *
+ */
+
+package org.eclipse.tractusx.mxd.dataservice.expiry;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class TimingWheelTest {
+
+    @Test
+    void advance_firesAtDeadline() {
+        var wheel = new TimingWheel(0);
+        var soon = new Timer(1);
+        var later = new Timer(2);
+        wheel.schedule(soon, 5);
+        wheel.schedule(later, 100_000);
+
+        assertThat(advance(wheel, 4)).isEmpty();
+        assertThat(advance(wheel, 5)).containsExactly(soon);
+        assertThat(advance(wheel, 99_999)).isEmpty();
+        assertThat(advance(wheel, 200_000)).containsExactly(later);
+        assertThat(wheel.size()).isZero();
+    }
+
+    @Test
+    void advance_firesEachTimerAtItsDeadline() {
+        var random = new Random(0);
+        var start = 1_000_003L;
+        var wheel = new TimingWheel(start);
+        var timers = new ArrayList<Timer>();
+        for (var i = 0; i < 10_000; i++) {
+            // up to beyond the reach of the last ring
+            var timer = new Timer(start + 1 + (long) (random.nextDouble() * random.nextDouble() * 20_000_000));
+            wheel.schedule(timer, timer.expected);
+            timers.add(timer);
+        }
+
+        var now = start;
+        while (wheel.size() > 0) {
+            now += 1 + random.nextInt(50_000);
+            var to = now;
+            wheel.advance(to, timer -> {
+                assertThat(wheel.tick()).isEqualTo(((Timer) timer).expected);
+                ((Timer) timer).fired++;
+            });
+        }
+
+        assertThat(timers).allSatisfy(timer -> assertThat(timer.fired).isEqualTo(1));
+    }
+
+    @Test
+    void schedule_movesTimer() {
+        var wheel = new TimingWheel(0);
+        var timer = new Timer(0);
+        wheel.schedule(timer, 10);
+
+        wheel.schedule(timer, 5_000);
+
+        assertThat(wheel.size()).isEqualTo(1);
+        assertThat(advance(wheel, 4_999)).isEmpty();
+        assertThat(advance(wheel, 5_000)).containsExactly(timer);
+    }
+
+    @Test
+    void schedule_pastDeadlineFiresOnNextTick() {
+        var wheel = new TimingWheel(100);
+        var timer = new Timer(0);
+
+        wheel.schedule(timer, 50);
+
+        assertThat(advance(wheel, 101)).containsExactly(timer);
+    }
+
+    @Test
+    void cancel() {
+        var wheel = new TimingWheel(0);
+        var timer = new Timer(0);
+        wheel.schedule(timer, 10);
+
+        wheel.cancel(timer);
+        wheel.cancel(timer);
+
+        assertThat(timer.scheduled()).isFalse();
+        assertThat(wheel.size()).isZero();
+        assertThat(advance(wheel, 100)).isEmpty();
+    }
+
+    private static List<TimingWheel.Timer> advance(TimingWheel wheel, long to) {
+        var expired = new ArrayList<TimingWheel.Timer>();
+        wheel.advance(to, expired::add);
+        return expired;
+    }
+
+    private static class Timer extends TimingWheel.Timer {
+        private final long expected;
+        private int fired;
+
+        Timer(long expected) {
+            this.expected = expected;
+        }
+    }
+}
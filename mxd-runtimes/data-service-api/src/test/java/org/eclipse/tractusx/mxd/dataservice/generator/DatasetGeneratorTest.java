@@ -0,0 +1,109 @@
+/*
+ *  Copyright (c) 2024 Bayerische Motoren Werke Aktiengesellschaft (BMW AG)
+ *
+ *  This program and the accompanying materials are made available under the
+ *  terms of the Apache License, Version 2.0 which is available at
+ *  https://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  SPDX-License-Identifier: Apache-2.0
+ *
+ *  Contributors:
+ *       Bayerische Motoren Werke Aktiengesellschaft (BMW AG) - initial API and implementation
+ *
+ */
+
+package org.eclipse.tractusx.mxd.dataservice.generator;
+
+import org.eclipse.tractusx.mxd.dataservice.model.DataRecord;
+import org.eclipse.tractusx.mxd.dataservice.model.VersionedDataRecord;
+import org.eclipse.tractusx.mxd.dataservice.store.InMemoryDataRecordStore;
+import org.junit.jupiter.api.Test;
+
+import java.util.UUID;
+import java.util.stream.LongStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatIllegalArgumentException;
+
+class DatasetGeneratorTest {
+
+    @Test
+    void record_defaultDescription() {
+        var generator = new DatasetGenerator(10, 0, IdScheme.SEQUENTIAL, PayloadSize.fixed(0), 1);
+
+        assertThat(generator.record(3)).isEqualTo(new DataRecord("id3", "Record Nr. 3",
+                "This is a record (nr. 3) coming from the provider's private HTTP data service"));
+    }
+
+    @Test
+    void record_deterministic() {
+        var generator = new DatasetGenerator(100, 42, IdScheme.UUID, PayloadSize.uniform(10, 500), 4);
+
+        assertThat(generator.record(7)).isEqualTo(new DatasetGenerator(100, 42, IdScheme.UUID, PayloadSize.uniform(10, 500), 1).record(7));
+        assertThat(generator.record(7)).isNotEqualTo(new DatasetGenerator(100, 43, IdScheme.UUID, PayloadSize.uniform(10, 500), 4).record(7));
+    }
+
+    @Test
+    void record_payloadSize() {
+        var fixed = new DatasetGenerator(100, 0, IdScheme.SEQUENTIAL, PayloadSize.fixed(2048), 1);
+        var normal = new DatasetGenerator(100, 0, IdScheme.SEQUENTIAL, PayloadSize.normal(200, 50, 100, 300), 1);
+
+        assertThat(fixed.record(5).description()).hasSize(2048).startsWith("This is a record (nr. 5)");
+        assertThat(LongStream.range(0, 100).mapToObj(normal::record))
+                .allSatisfy(record -> assertThat(record.description().length()).isBetween(100, 300));
+    }
+
+    @Test
+    void record_truncatesDescription() {
+        var generator = new DatasetGenerator(10, 0, IdScheme.SEQUENTIAL, PayloadSize.fixed(7), 1);
+
+        assertThat(generator.record(1).description()).isEqualTo("This is");
+    }
+
+    @Test
+    void record_idSchemes() {
+        assertThat(new DatasetGenerator(1000, 0, IdScheme.PADDED, PayloadSize.fixed(0), 1).record(42).id()).isEqualTo("id042");
+        assertThat(UUID.fromString(new DatasetGenerator(1000, 0, IdScheme.UUID, PayloadSize.fixed(0), 1).record(42).id()).version()).isEqualTo(4);
+    }
+
+    @Test
+    void populate() {
+        var store = new InMemoryDataRecordStore();
+        var generator = new DatasetGenerator(2500, 1, IdScheme.PADDED, PayloadSize.uniform(0, 100), 4);
+
+        assertThat(generator.populate(store)).isEqualTo(2500);
+
+        assertThat(store.count()).isEqualTo(2500);
+        assertThat(store.findById("id1234")).extracting(VersionedDataRecord::dataRecord).isEqualTo(generator.record(1234));
+    }
+
+    @Test
+    void populate_skipsExistingRecords() {
+        var store = new InMemoryDataRecordStore();
+        var generator = new DatasetGenerator(10, 0, IdScheme.SEQUENTIAL, PayloadSize.fixed(0), 2);
+        store.create(new DataRecord("id5", "existing", null));
+
+        assertThat(generator.populate(store)).isEqualTo(9);
+
+        assertThat(store.findById("id5")).extracting(VersionedDataRecord::dataRecord).extracting(DataRecord::name).isEqualTo("existing");
+    }
+
+    @Test
+    void populate_onlyAcceptedIds() {
+        var store = new InMemoryDataRecordStore();
+        var generator = new DatasetGenerator(2500, 1, IdScheme.PADDED, PayloadSize.fixed(0), 4);
+
+        assertThat(generator.populate(store, id -> id.endsWith("7"))).isEqualTo(250);
+
+        assertThat(store.count()).isEqualTo(250);
+        assertThat(store.findById("id1237")).extracting(VersionedDataRecord::dataRecord).isEqualTo(generator.record(1237));
+        assertThat(store.findById("id1234")).isNull();
+    }
+
+    @Test
+    void invalidSettings() {
+        assertThatIllegalArgumentException().isThrownBy(() -> PayloadSize.uniform(10, 5));
+        assertThatIllegalArgumentException().isThrownBy(() -> PayloadSize.fixed(-1));
+        assertThatIllegalArgumentException().isThrownBy(() -> new DatasetGenerator(10, 0, IdScheme.SEQUENTIAL, PayloadSize.fixed(0), 0));
+    }
+}
@@ -0,0 +1,67 @@
+/*
+ *  Copyright (c) 2024 Bayerische Motoren Werke Aktiengesellschaft (BMW AG)
+ *
+ *  This program and the accompanying materials are made available under the
+ *  terms of the Apache License, Version 2.0 which is available at
+ *  https://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  SPDX-License-Identifier: Apache-2.0
+ *
+ *  Contributors:
+ *       Bayerische Motoren Werke Aktiengesellschaft (BMW AG) - initial API and implementation
+ *
+ */
+
+package org.eclipse.tractusx.mxd.dataservice.metrics;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class DataServiceMetricsTest {
+
+    private final DataServiceMetrics metrics = new DataServiceMetrics(List.of("findById", "create"));
+
+    @Test
+    void endpoint_unknown() {
+        assertThat(metrics.endpoint("findById")).isNotNull();
+        assertThat(metrics.endpoint("unknown")).isNull();
+    }
+
+    @Test
+    void scrape() {
+        var findById = metrics.endpoint("findById");
+        findById.record(200, 300_000);
+        findById.record(200, 2_000_000);
+        findById.record(404, 700_000);
+        metrics.gauge("records", "Number of records.", () -> 42);
+        metrics.counter("shed_total", "Rejected requests.", "budget", Map.of("read", () -> 5, "write", () -> 0));
+
+        var scrape = metrics.scrape();
+
+        assertThat(scrape.lines()).contains(
+                "# TYPE mxd_dataservice_requests_total counter",
+                "mxd_dataservice_requests_total{endpoint=\"findById\"} 3",
+                "mxd_dataservice_requests_total{endpoint=\"create\"} 0",
+                "mxd_dataservice_request_errors_total{endpoint=\"findById\",status=\"404\"} 1",
+                "# TYPE mxd_dataservice_request_duration_seconds histogram",
+                "mxd_dataservice_request_duration_seconds_bucket{endpoint=\"findById\",le=\"0.00025\"} 0",
+                "mxd_dataservice_request_duration_seconds_bucket{endpoint=\"findById\",le=\"0.0005\"} 1",
+                "mxd_dataservice_request_duration_seconds_bucket{endpoint=\"findById\",le=\"0.001\"} 2",
+                "mxd_dataservice_request_duration_seconds_bucket{endpoint=\"findById\",le=\"10\"} 3",
+                "mxd_dataservice_request_duration_seconds_bucket{endpoint=\"findById\",le=\"+Inf\"} 3",
+                "mxd_dataservice_request_duration_seconds_sum{endpoint=\"findById\"} 0.003",
+                "mxd_dataservice_request_duration_seconds_count{endpoint=\"findById\"} 3",
+                "# TYPE mxd_dataservice_records gauge",
+                "mxd_dataservice_records 42",
+                "# TYPE mxd_dataservice_shed_total counter",
+                "mxd_dataservice_shed_total{budget=\"read\"} 5",
+                "mxd_dataservice_shed_total{budget=\"write\"} 0");
+        assertThat(scrape).doesNotContain("status=\"200\"");
+        assertThat(scrape.lines().filter(line -> !line.startsWith("#")))
+                .allMatch(line -> line.matches("mxd_dataservice_\\w+(\\{.*})? \\S+"));
+    }
+}
@@ -0,0 +1,79 @@
+/*
+ *  Copyright (c) 2024 Bayerische Motoren Werke Aktiengesellschaft (BMW AG)
+ *
+ *  This program and the accompanying materials are made available under the
+ *  terms of the Apache License, Version 2.0 which is available at
+ *  https://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  SPDX-License-Identifier: Apache-2.0
+ *
+ *  Contributors:
+ *       Bayerische Motoren Werke Aktiengesellschaft (BMW AG) - initial API and implementation
+ *
+ */
+
+package org.eclipse.tractusx.mxd.dataservice.metrics;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.SplittableRandom;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.within;
+
+class LatencyHistogramTest {
+
+    private final LatencyHistogram histogram = new LatencyHistogram();
+
+    @Test
+    void bucketsAreContiguous() {
+        assertThat(LatencyHistogram.lowerBound(0)).isEqualTo(0);
+        IntStream.range(1, LatencyHistogram.BUCKETS).forEach(i ->
+                assertThat(LatencyHistogram.lowerBound(i)).isEqualTo(LatencyHistogram.upperBound(i - 1) + 1));
+    }
+
+    @Test
+    void index_valueWithinBucketBounds() {
+        var random = new SplittableRandom(0);
+        for (var i = 0; i < 100_000; i++) {
+            var value = random.nextLong(1L << random.nextInt(1, 40));
+            var index = LatencyHistogram.index(value);
+
+            assertThat(value).isBetween(LatencyHistogram.lowerBound(index), LatencyHistogram.upperBound(index));
+        }
+    }
+
+    @Test
+    void valueAtQuantile_withinPrecision() {
+        IntStream.rangeClosed(1, 100_000).forEach(i -> histogram.record(i * 1000L));
+
+        var snapshot = histogram.snapshot();
+
+        assertThat(snapshot.count()).isEqualTo(100_000);
+        assertThat(snapshot.sumMicros()).isEqualTo(100_000L * 100_001 / 2);
+        assertThat((double) snapshot.valueAtQuantile(0.5)).isCloseTo(50_000, within(50_000 * 0.035));
+        assertThat((double) snapshot.valueAtQuantile(0.99)).isCloseTo(99_000, within(99_000 * 0.035));
+        assertThat((double) snapshot.valueAtQuantile(1)).isCloseTo(100_000, within(100_000 * 0.035));
+    }
+
+    @Test
+    void valueAtQuantile_empty() {
+        assertThat(histogram.snapshot().valueAtQuantile(0.99)).isZero();
+    }
+
+    @Test
+    void countAtOrBelow() {
+        histogram.record(10_000);
+        histogram.record(20_000);
+        histogram.record(5_000_000);
+        histogram.record(-1);
+
+        var snapshot = histogram.snapshot();
+
+        assertThat(snapshot.countAtOrBelow(0)).isEqualTo(1);
+        assertThat(snapshot.countAtOrBelow(20)).isEqualTo(3);
+        assertThat(snapshot.countAtOrBelow(1000)).isEqualTo(3);
+        assertThat(snapshot.countAtOrBelow(10_000)).isEqualTo(4);
+    }
+}
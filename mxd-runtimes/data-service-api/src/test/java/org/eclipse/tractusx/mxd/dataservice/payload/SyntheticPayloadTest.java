@@ -0,0 +1,99 @@
+/*
+ *  Copyright (c) 2024 Bayerische Motoren Werke Aktiengesellschaft (BMW AG)
+ *
+ *  This program and the accompanying materials are made available under the
+ *  terms of the Apache License, Version 2.0 which is available at
+ *  https://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  SPDX-License-Identifier: Apache-2.0
+ *
+ *  Contributors:
+ *       Bayerische Motoren Werke Aktiengesellschaft (BMW AG) - initial API and implementation
+ *
+ */
+
+package org.eclipse.tractusx.mxd.dataservice.payload;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.eclipse.tractusx.mxd.dataservice.model.DataRecord;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.SplittableRandom;
+import java.util.zip.CRC32C;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class SyntheticPayloadTest {
+
+    @Test
+    void writeTo_deterministic() throws IOException {
+        var first = write(new SyntheticPayload(PayloadFormat.BINARY, 100_003, 7, 0), 4093);
+        var second = write(new SyntheticPayload(PayloadFormat.BINARY, 100_003, 7, 0), 64 * 1024);
+        var otherSeed = write(new SyntheticPayload(PayloadFormat.BINARY, 100_003, 8, 0), 4093);
+
+        assertThat(first).hasSize(100_003).isEqualTo(second);
+        assertThat(otherSeed).hasSize(100_003).isNotEqualTo(first);
+    }
+
+    @Test
+    void writeTo_checksum() throws IOException {
+        var payload = new SyntheticPayload(PayloadFormat.JSONL, 100_000, 0, 100);
+        var checksum = new CRC32C();
+        var output = new ByteArrayOutputStream();
+
+        payload.writeTo(output, ByteBuffer.allocate(4096), checksum);
+
+        var expected = new CRC32C();
+        expected.update(output.toByteArray());
+        assertThat(checksum.getValue()).isEqualTo(expected.getValue());
+    }
+
+    @Test
+    void fill_anyPosition() throws IOException {
+        for (var format : PayloadFormat.values()) {
+            var whole = write(new SyntheticPayload(format, 10_000, 3, 100), 1024);
+            var random = new SplittableRandom(0);
+            for (var i = 0; i < 1000; i++) {
+                var position = random.nextInt(whole.length);
+                var part = ByteBuffer.allocate(Math.min(random.nextInt(1, 300), whole.length - position));
+
+                new SyntheticPayload(format, 10_000, 3, 100).fill(part, position);
+
+                assertThat(part.array()).isEqualTo(Arrays.copyOfRange(whole, position, position + part.capacity()));
+            }
+        }
+    }
+
+    @Test
+    void jsonl_dataRecords() throws IOException {
+        var payload = new SyntheticPayload(PayloadFormat.JSONL, 10_050, 0, 100);
+
+        var lines = new String(write(payload, 1000), StandardCharsets.UTF_8).split("\\n");
+
+        assertThat(payload.size()).isEqualTo(10_000);
+        assertThat(lines).hasSize(100).allMatch(line -> line.length() == 99);
+        var reader = new ObjectMapper().readerFor(DataRecord.class);
+        for (var i = 0; i < lines.length; i++) {
+            DataRecord dataRecord = reader.readValue(lines[i]);
+            assertThat(Long.parseLong(dataRecord.id(), 16)).isEqualTo(i);
+        }
+    }
+
+    @Test
+    void jsonl_recordTooSmall() {
+        assertThatThrownBy(() -> new SyntheticPayload(PayloadFormat.JSONL, 1000, 0, SyntheticPayload.MIN_RECORD_SIZE - 1))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    private static byte[] write(SyntheticPayload payload, int bufferSize) throws IOException {
+        var output = new ByteArrayOutputStream();
+        payload.writeTo(output, ByteBuffer.allocate(bufferSize), null);
+        return output.toByteArray();
+    }
+}
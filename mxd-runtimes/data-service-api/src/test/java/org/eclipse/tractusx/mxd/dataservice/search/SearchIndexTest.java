@@ -0,0 +1,118 @@
+/*
+ *  Copyright (c) 2024 Bayerische Motoren Werke Aktiengesellschaft (BMW AG)
+ *
+ *  This program and the accompanying materials are made available under the
+ *  terms of the Apache License, Version 2.0 which is available at
+ *  https://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  SPDX-License-Identifier: Apache-2.0
+ *
+ *  Contributors:
+ *       Bayerische Motoren Werke Aktiengesellschaft (BMW AG) - initial API and implementation
+ *
+ */
+
+package org.eclipse.tractusx.mxd.dataservice.search;
+
+import org.eclipse.tractusx.mxd.dataservice.model.DataRecord;
+import org.junit.jupiter.api.Test;
+
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class SearchIndexTest {
+
+    private final SearchIndex index = new SearchIndex();
+
+    @Test
+    void search_matchesAllTerms() {
+        index.index(Stream.of(
+                new DataRecord("1", "Brake disc", "A brake disc for the front axle"),
+                new DataRecord("2", "Brake pad", "A brake pad for the rear axle"),
+                new DataRecord("3", "Wheel", "A wheel for the front axle")));
+
+        assertThat(index.search("front axle", 10)).extracting(SearchHit::id).containsExactlyInAnyOrder("1", "3");
+        assertThat(index.search("BRAKE, rear!", 10)).extracting(SearchHit::id).containsExactly("2");
+        assertThat(index.search("brake wheel", 10)).isEmpty();
+        assertThat(index.search("unknown", 10)).isEmpty();
+        assertThat(index.search(" , ", 10)).isEmpty();
+    }
+
+    @Test
+    void search_ranksNameAndRareTermsHigher() {
+        index.index(Stream.of(
+                new DataRecord("description", "Part", "This part is a gearbox"),
+                new DataRecord("name", "Gearbox", "This part is a component"),
+                new DataRecord("common", "Part", "This part is a part")));
+
+        assertThat(index.search("gearbox", 10)).extracting(SearchHit::id).containsExactly("name", "description");
+        assertThat(index.search("part", 10)).extracting(SearchHit::id).startsWith("common");
+    }
+
+    @Test
+    void search_returnsTopResults() {
+        // the more often a record repeats the term, the higher it scores
+        index.index(IntStream.range(1, 1001).mapToObj(i -> new DataRecord("id" + i, "Record " + i, "term ".repeat(1 + i % 50) + "filler ".repeat(50 - i % 50))));
+
+        var hits = index.search("term", 20);
+
+        assertThat(hits).hasSize(20);
+        assertThat(hits).extracting(SearchHit::id).allSatisfy(id -> assertThat(Integer.parseInt(id.substring(2)) % 50).isEqualTo(49));
+        assertThat(hits).extracting(SearchHit::score).isSortedAccordingTo((a, b) -> Double.compare(b, a));
+    }
+
+    @Test
+    void updated_replacesTerms() {
+        index.created(new DataRecord("1", "Brake disc", "Front"), 1);
+
+        index.updated(new DataRecord("1", "Wheel", "Rear"), 2);
+
+        assertThat(index.search("brake", 10)).isEmpty();
+        assertThat(index.search("wheel rear", 10)).extracting(SearchHit::id).containsExactly("1");
+        assertThat(index.size()).isEqualTo(1);
+    }
+
+    @Test
+    void deleted_removesRecord() {
+        index.created(new DataRecord("1", "Brake disc", "Front"), 1);
+        index.created(new DataRecord("2", "Brake pad", "Rear"), 2);
+
+        index.deleted(new DataRecord("1", "Brake disc", "Front"));
+
+        assertThat(index.search("brake", 10)).extracting(SearchHit::id).containsExactly("2");
+        assertThat(index.size()).isEqualTo(1);
+
+        index.created(new DataRecord("1", "Brake disc", "Front"), 3);
+
+        assertThat(index.search("brake disc", 10)).extracting(SearchHit::id).containsExactly("1");
+        assertThat(index.size()).isEqualTo(2);
+    }
+
+    @Test
+    void deleted_manyRecords() {
+        index.index(IntStream.range(0, 1000).mapToObj(i -> new DataRecord("id" + i, "Record " + i, "Some description")));
+
+        IntStream.range(0, 1000).filter(i -> i % 10 != 0).forEach(i -> index.deleted(new DataRecord("id" + i, "Record " + i, "Some description")));
+
+        assertThat(index.search("record description", 1000)).hasSize(100)
+                .extracting(SearchHit::id).allSatisfy(id -> assertThat(id).endsWith("0"));
+        assertThat(index.size()).isEqualTo(100);
+    }
+
+    @Test
+    void updated_manyTimes_compactsDeletedDocumentsAndTerms() {
+        index.index(IntStream.range(0, 10).mapToObj(i -> new DataRecord("id" + i, "Record", "version0")));
+
+        IntStream.range(1, 5001).forEach(version -> index.updated(new DataRecord("id" + version % 10, "Record", "version" + version), version));
+
+        assertThat(index.size()).isEqualTo(10);
+        // without compaction every version ever written would still be a term
+        assertThat(index.terms()).isLessThan(2000L);
+        assertThat(index.search("version1", 10)).isEmpty();
+        assertThat(index.search("version4999", 10)).extracting(SearchHit::id).containsExactly("id9");
+        assertThat(index.search("record", 20)).extracting(SearchHit::id)
+                .containsExactlyInAnyOrder(IntStream.range(0, 10).mapToObj(i -> "id" + i).toArray(String[]::new));
+    }
+}
@@ -0,0 +1,52 @@
+/*
+ *  Copyright (c) 2024 Bayerische Motoren Werke Aktiengesellschaft (BMW AG)
+ *
+ *  This program and the accompanying materials are made available under the
+ *  terms of the Apache License, Version 2.0 which is available at
+ *  https://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  SPDX-License-Identifier: Apache-2.0
+ *
+ *  Contributors:
+ *       Bayerische Motoren Werke Aktiengesellschaft (BMW AG) - initial API and implementation
+ *
+ */
+
+package org.eclipse.tractusx.mxd.dataservice.search;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class TokenizerTest {
+
+    @Test
+    void tokenize() {
+        assertThat(terms("This is a record (nr. 42) coming from the provider's private HTTP data service"))
+                .containsExactly("this", "is", "record", "nr", "42", "coming", "from", "the", "provider", "private", "http", "data", "service");
+    }
+
+    @Test
+    void tokenize_dropsShortTermsAndCutsLongOnes() {
+        assertThat(terms("a bb " + "x".repeat(100))).containsExactly("bb", "x".repeat(64));
+    }
+
+    @Test
+    void tokenize_nonAscii() {
+        assertThat(terms("Gr\u00f6\u00dfe: \u00dcbergr\u00f6\u00dfe")).containsExactly("gr\u00f6\u00dfe", "\u00fcbergr\u00f6\u00dfe");
+    }
+
+    @Test
+    void tokenize_null() {
+        assertThat(terms(null)).isEmpty();
+    }
+
+    private static List<String> terms(String text) {
+        var terms = new ArrayList<String>();
+        Tokenizer.tokenize(text, terms::add);
+        return terms;
+    }
+}
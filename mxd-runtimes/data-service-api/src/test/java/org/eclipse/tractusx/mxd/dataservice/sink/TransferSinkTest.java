@@ -0,0 +1,141 @@
+/*
+ *  Copyright (c) 2024 Bayerische Motoren Werke Aktiengesellschaft (BMW AG)
+ *
+ *  This program and the accompanying materials are made available under the
+ *  terms of the Apache License, Version 2.0 which is available at
+ *  https://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  SPDX-License-Identifier: Apache-2.0
+ *
+ *  Contributors:
+ *       Bayerische Motoren Werke Aktiengesellschaft (BMW AG) - initial API and implementation
+ *
+ */
+
+package org.eclipse.tractusx.mxd.dataservice.sink;
+
+import org.eclipse.tractusx.mxd.dataservice.model.TransferStats;
+import org.eclipse.tractusx.mxd.dataservice.payload.BufferPool;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.zip.CRC32C;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class TransferSinkTest {
+
+    @TempDir
+    private Path directory;
+
+    private final byte[] body = body(100_003);
+
+    @Test
+    void receive_discard() throws IOException {
+        var sink = sink(10);
+
+        var stats = sink.receive("transfer", new ByteArrayInputStream(body), false, true);
+
+        var expected = new CRC32C();
+        expected.update(body);
+        assertThat(stats.transferId()).isEqualTo("transfer");
+        assertThat(stats.requests()).isEqualTo(1);
+        assertThat(stats.activeRequests()).isZero();
+        assertThat(stats.bytes()).isEqualTo(body.length);
+        assertThat(stats.crc32c()).isEqualTo("%08x".formatted(expected.getValue()));
+        try (var files = Files.list(directory)) {
+            assertThat(files).isEmpty();
+        }
+    }
+
+    @Test
+    void receive_persist() throws IOException {
+        var sink = sink(10);
+
+        sink.receive("transfer", new ByteArrayInputStream(body), true, false);
+
+        try (var files = Files.list(directory)) {
+            assertThat(files).singleElement().satisfies(file -> assertThat(Files.readAllBytes(file)).isEqualTo(body));
+        }
+    }
+
+    @Test
+    void receive_accumulatesRequests() throws IOException {
+        var sink = sink(10);
+
+        sink.receive("transfer", new ByteArrayInputStream(body), false, false);
+        sink.receive("transfer", new ByteArrayInputStream(body), false, false);
+
+        assertThat(sink.stats("transfer")).satisfies(stats -> {
+            assertThat(stats.requests()).isEqualTo(2);
+            assertThat(stats.bytes()).isEqualTo(2L * body.length);
+            assertThat(stats.crc32c()).isNull();
+        });
+    }
+
+    @Test
+    void stats_forgetsOldestTransfers() throws IOException {
+        var sink = sink(2);
+
+        for (var transferId : new String[]{ "first", "second", "third" }) {
+            sink.receive(transferId, InputStream.nullInputStream(), false, false);
+        }
+
+        assertThat(sink.stats()).extracting(TransferStats::transferId).containsExactly("second", "third");
+        assertThat(sink.stats("first")).isNull();
+    }
+
+    @Test
+    void receive_afterTransferForgotten_keepsItsFiles() throws IOException {
+        var sink = sink(1);
+        var other = body(10);
+        sink.receive("transfer", new ByteArrayInputStream(body), true, false);
+        sink.receive("other", InputStream.nullInputStream(), false, false);
+
+        sink.receive("transfer", new ByteArrayInputStream(other), true, false);
+
+        try (var files = Files.list(directory)) {
+            assertThat(files.map(TransferSinkTest::read)).containsExactlyInAnyOrder(body, other);
+        }
+    }
+
+    @Test
+    void remove() throws IOException {
+        var sink = sink(10);
+        sink.receive("transfer", new ByteArrayInputStream(body), true, false);
+
+        assertThat(sink.remove("transfer")).isTrue();
+
+        assertThat(sink.stats("transfer")).isNull();
+        assertThat(sink.remove("transfer")).isFalse();
+        try (var files = Files.list(directory)) {
+            assertThat(files).isEmpty();
+        }
+    }
+
+    private TransferSink sink(int maxTransfers) {
+        return new TransferSink(directory, new BufferPool(4096, 2), maxTransfers);
+    }
+
+    private static byte[] read(Path file) {
+        try {
+            return Files.readAllBytes(file);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private static byte[] body(int size) {
+        var body = new byte[size];
+        for (var i = 0; i < size; i++) {
+            body[i] = (byte) i;
+        }
+        return body;
+    }
+}
@@ -0,0 +1,150 @@
+/*
+ *  Copyright (c) 2024 Bayerische Motoren Werke Aktiengesellschaft (BMW AG)
+ *
+ *  This program and the accompanying materials are made available under the
+ *  terms of the Apache License, Version 2.0 which is available at
+ *  https://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  SPDX-License-Identifier: Apache-2.0
+ *
+ *  Contributors:
+ *       Bayerische Motoren Werke Aktiengesellschaft (BMW AG) - initial API and implementation
+ *
+ */
+
+package org.eclipse.tractusx.mxd.dataservice.store;
+
+import org.eclipse.edc.spi.query.Criterion;
+import org.eclipse.edc.spi.query.QuerySpec;
+import org.eclipse.edc.spi.query.SortOrder;
+import org.eclipse.edc.web.spi.exception.InvalidRequestException;
+import org.eclipse.tractusx.mxd.dataservice.model.DataRecord;
+import org.eclipse.tractusx.mxd.dataservice.model.VersionedDataRecord;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class DataRecordIndexTest {
+
+    private final ConcurrentSkipListMap<String, VersionedDataRecord> database = new ConcurrentSkipListMap<>();
+    private DataRecordIndex index;
+
+    @BeforeEach
+    void setUp() {
+        IntStream.range(10, 20).forEach(i -> database.put("id" + i, new VersionedDataRecord(new DataRecord("id" + i, "name" + (i % 3), "desc" + i), i)));
+        index = new DataRecordIndex(database);
+    }
+
+    @Test
+    void query_byName_sortedDescending() {
+        var query = QuerySpec.Builder.newInstance()
+                .filter(new Criterion("name", "=", "name1"))
+                .sortField("id")
+                .sortOrder(SortOrder.DESC)
+                .build();
+
+        assertThat(index.query(query)).extracting(DataRecord::id).containsExactly("id19", "id16", "id13", "id10");
+    }
+
+    @Test
+    void query_idRange() {
+        var query = QuerySpec.Builder.newInstance()
+                .filter(new Criterion("id", ">", "id12"))
+                .filter(new Criterion("id", "<=", "id15"))
+                .build();
+
+        assertThat(index.query(query)).extracting(DataRecord::id).containsExactly("id13", "id14", "id15");
+    }
+
+    @Test
+    void query_sortedByName_paged() {
+        var query = QuerySpec.Builder.newInstance()
+                .sortField("name")
+                .offset(2)
+                .limit(3)
+                .build();
+
+        assertThat(index.query(query)).extracting(DataRecord::id).containsExactly("id18", "id10", "id13");
+    }
+
+    @Test
+    void query_like() {
+        var query = QuerySpec.Builder.newInstance()
+                .filter(new Criterion("description", "like", "desc1_"))
+                .filter(new Criterion("name", "in", List.of("name0", "name2")))
+                .build();
+
+        assertThat(index.query(query)).extracting(DataRecord::id).containsExactly("id11", "id12", "id14", "id15", "id17", "id18");
+    }
+
+    @Test
+    void query_emptyIn() {
+        var byId = QuerySpec.Builder.newInstance().filter(new Criterion("id", "in", List.of())).build();
+        var byDescription = QuerySpec.Builder.newInstance().filter(new Criterion("description", "in", List.of())).build();
+
+        assertThat(index.query(byId)).isEmpty();
+        assertThat(index.query(byDescription)).isEmpty();
+        assertThat(DataRecordIndex.query(byId, (lower, lowerInclusive, upper, upperInclusive, descending) -> database.values().stream().map(VersionedDataRecord::dataRecord))).isEmpty();
+    }
+
+    @Test
+    void query_comparisonWithoutValue() {
+        var query = QuerySpec.Builder.newInstance().filter(new Criterion("id", ">", List.of())).build();
+
+        assertThatThrownBy(() -> index.query(query)).isInstanceOf(InvalidRequestException.class);
+    }
+
+    @Test
+    void query_reflectsUpdates() {
+        var previous = database.get("id10").dataRecord();
+        var updated = new DataRecord("id10", "other", "desc");
+        database.put("id10", new VersionedDataRecord(updated, 20));
+        index.replace(previous, updated);
+
+        var query = QuerySpec.Builder.newInstance().filter(new Criterion("name", "=", "name1")).build();
+        assertThat(index.query(query)).extracting(DataRecord::id).containsExactly("id13", "id16", "id19");
+    }
+
+    @Test
+    void replace_updatesReachingTheIndexOutOfOrder() {
+        var a = database.get("id10").dataRecord();
+        var b = new DataRecord("id10", "other", "desc");
+        // one writer replaces a by b, a second one b by a, and the second one updates the index first
+        database.put("id10", new VersionedDataRecord(b, 20));
+        database.put("id10", new VersionedDataRecord(a, 21));
+        index.replace(b, a);
+        index.replace(a, b);
+
+        assertThat(index.query(QuerySpec.Builder.newInstance().filter(new Criterion("name", "=", a.name())).build()))
+                .extracting(DataRecord::id).contains("id10");
+        assertThat(index.query(QuerySpec.Builder.newInstance().filter(new Criterion("name", "=", "other")).build())).isEmpty();
+    }
+
+    @Test
+    void query_sortedByName_recordsWithoutNameLast() {
+        var nameless = new DataRecord("id20", null, "desc");
+        database.put("id20", new VersionedDataRecord(nameless, 20));
+        index.add(nameless);
+
+        var ascending = QuerySpec.Builder.newInstance().sortField("name").build();
+        var descending = QuerySpec.Builder.newInstance().sortField("name").sortOrder(SortOrder.DESC).limit(4).build();
+        var byName = QuerySpec.Builder.newInstance().sortField("name").filter(new Criterion("name", ">=", "name2")).build();
+
+        assertThat(index.query(ascending)).extracting(DataRecord::id).hasSize(11).endsWith("id20");
+        assertThat(index.query(descending)).extracting(DataRecord::id).containsExactly("id20", "id17", "id14", "id11");
+        assertThat(index.query(byName)).extracting(DataRecord::id).containsExactly("id11", "id14", "id17");
+    }
+
+    @Test
+    void query_unknownField() {
+        var query = QuerySpec.Builder.newInstance().filter(new Criterion("foo", "=", "bar")).build();
+
+        assertThatThrownBy(() -> index.query(query)).isInstanceOf(InvalidRequestException.class);
+    }
+}
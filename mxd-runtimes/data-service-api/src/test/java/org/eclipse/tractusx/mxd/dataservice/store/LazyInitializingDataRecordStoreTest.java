@@ -0,0 +1,53 @@
+/*
+ *  Copyright (c) 2024 Bayerische Motoren Werke Aktiengesellschaft (BMW AG)
+ *
+ *  This program and the accompanying materials are made available under the
+ *  terms of the Apache License, Version 2.0 which is available at
+ *  https://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  SPDX-License-Identifier: Apache-2.0
+ *
+ *  Contributors:
+ *       Bayerische Motoren Werke Aktiengesellschaft (BMW AG) - initial API and implementation
+ *
+ */
+
+package org.eclipse.tractusx.mxd.dataservice.store;
+
+import org.eclipse.tractusx.mxd.dataservice.model.DataRecord;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class LazyInitializingDataRecordStoreTest {
+
+    private final AtomicInteger initializations = new AtomicInteger();
+    private final LazyInitializingDataRecordStore store = new LazyInitializingDataRecordStore(new InMemoryDataRecordStore(), delegate -> {
+        initializations.incrementAndGet();
+        delegate.create(new DataRecord("id", "name", "desc"));
+    });
+
+    @Test
+    void initializesOnFirstAccess() {
+        assertThat(initializations).hasValue(0);
+
+        assertThat(store.findById("id")).isNotNull();
+        assertThat(store.count()).isEqualTo(1);
+        assertThat(initializations).hasValue(1);
+    }
+
+    @Test
+    void initializesOnce_concurrentAccess() throws InterruptedException {
+        var executor = Executors.newFixedThreadPool(8);
+        IntStream.range(0, 8).forEach(i -> executor.execute(() -> assertThat(store.count()).isEqualTo(1)));
+        executor.shutdown();
+
+        assertThat(executor.awaitTermination(10, TimeUnit.SECONDS)).isTrue();
+        assertThat(initializations).hasValue(1);
+    }
+}
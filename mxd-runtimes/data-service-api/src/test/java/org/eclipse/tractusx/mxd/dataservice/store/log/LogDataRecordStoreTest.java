@@ -0,0 +1,172 @@
+/*
+ *  Copyright (c) 2024 Bayerische Motoren Werke Aktiengesellschaft (BMW AG)
+ *
+ *  This program and the accompanying materials are made available under the
+ *  terms of the Apache License, Version 2.0 which is available at
+ *  https://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  SPDX-License-Identifier: Apache-2.0
+ *
+ *  Contributors:
+ *       Bayerische Motoren Werke Aktiengesellschaft (BMW AG) - initial API and implementation
+ *
+ */
+
+package org.eclipse.tractusx.mxd.dataservice.store.log;
+
+import org.eclipse.edc.spi.monitor.Monitor;
+import org.eclipse.edc.spi.query.QuerySpec;
+import org.eclipse.edc.spi.result.StoreFailure;
+import org.eclipse.tractusx.mxd.dataservice.model.DataRecord;
+import org.eclipse.tractusx.mxd.dataservice.model.VersionedDataRecord;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Map;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.mock;
+
+class LogDataRecordStoreTest {
+
+    private static final int SEGMENT_SIZE = 4096;
+
+    private final Monitor monitor = mock();
+
+    @TempDir
+    private Path directory;
+
+    @Test
+    void recover() {
+        var store = open();
+        store.create(new DataRecord("id1", "name", "desc"));
+        store.create(new DataRecord("id2", "name", "desc"));
+        store.update(new DataRecord("id1", "new-name", null));
+        store.deleteById("id2");
+        store.close();
+
+        var recovered = open();
+
+        assertThat(recovered.count()).isEqualTo(1);
+        assertThat(recovered.findById("id1")).extracting(VersionedDataRecord::dataRecord)
+                .usingRecursiveComparison().isEqualTo(new DataRecord("id1", "new-name", null));
+    }
+
+
+    @Test
+    void recover_keepsAttributes() {
+        var store = open();
+        store.create(new DataRecord("id1", "name", "desc", Map.of("plant", "A", "count", 3L, "ratio", 0.5, "active", true)));
+        store.create(new DataRecord("id2", "name", "desc"));
+        store.close();
+
+        var recovered = open();
+
+        assertThat(recovered.findById("id1")).extracting(VersionedDataRecord::dataRecord).extracting(DataRecord::attributes)
+                .isEqualTo(Map.of("plant", "A", "count", 3L, "ratio", 0.5, "active", true));
+        assertThat(recovered.findById("id2")).extracting(VersionedDataRecord::dataRecord).extracting(DataRecord::attributes).isNull();
+    }
+
+    @Test
+    void recover_keepsVersions() {
+        var store = open();
+        store.create(new DataRecord("id1", "name", "desc"));
+        var version = store.update(new DataRecord("id1", "new-name", "desc")).getContent();
+        store.close();
+
+        var recovered = open();
+
+        assertThat(recovered.findById("id1")).extracting(VersionedDataRecord::version).isEqualTo(version);
+        assertThat(recovered.update(new DataRecord("id1", "name", "desc"), version - 1).reason())
+                .isEqualTo(StoreFailure.Reason.ALREADY_EXISTS);
+        assertThat(recovered.update(new DataRecord("id1", "name", "desc"), version).getContent()).isGreaterThan(version);
+    }
+
+    @Test
+    void recover_doesNotReuseVersionsOfCompactedDeletes() throws IOException {
+        var store = open();
+        IntStream.range(0, 500).forEach(i -> store.create(new DataRecord("id" + i, "name", "desc")));
+        var deletedVersion = store.findById("id499").version();
+        IntStream.range(0, 500).forEach(i -> store.deleteById("id" + i));
+        store.compact();
+        store.close();
+
+        var recovered = open();
+
+        assertThat(recovered.create(new DataRecord("id499", "name", "desc")).getContent()).isGreaterThan(deletedVersion);
+    }
+
+    @Test
+    void recover_acrossSegments() {
+        var store = open();
+        IntStream.range(0, 500).forEach(i -> store.create(new DataRecord("id" + i, "name" + i, "a description of record " + i)));
+        store.close();
+
+        var recovered = open();
+
+        assertThat(recovered.count()).isEqualTo(500);
+        assertThat(recovered.findAll(QuerySpec.max())).extracting(DataRecord::name).contains("name0", "name499");
+    }
+
+    @Test
+    void roll_failureKeepsActiveSegment() throws IOException {
+        var store = open();
+        store.create(new DataRecord("id0", "name", "desc"));
+        // the next segment cannot be created while a file of its name exists
+        var blocking = Files.createFile(Segment.path(directory, 1));
+
+        assertThatThrownBy(() -> store.create(new DataRecord("large", "name", "x".repeat(SEGMENT_SIZE)))).isInstanceOf(UncheckedIOException.class);
+        assertThat(store.create(new DataRecord("id1", "name", "desc")).succeeded()).isTrue();
+
+        Files.delete(blocking);
+        IntStream.range(2, 200).forEach(i -> store.create(new DataRecord("id" + i, "name", "a description of record " + i)));
+        store.close();
+
+        var recovered = open();
+        assertThat(recovered.count()).isEqualTo(200);
+        assertThat(recovered.findById("large")).isNull();
+    }
+
+    @Test
+    void recover_ignoresTornWrite() throws IOException {
+        var store = open();
+        store.create(new DataRecord("id1", "name", "desc"));
+        store.close();
+        var segment = Segment.path(directory, 0);
+        var content = Files.readAllBytes(segment);
+        // corrupt the last byte of the only entry
+        var entryEnd = 16 + LogEntry.put(new VersionedDataRecord(new DataRecord("id1", "name", "desc"), 1)).encodedSize();
+        content[entryEnd - 1] ^= 0x7F;
+        Files.write(segment, content);
+
+        assertThat(open().count()).isZero();
+    }
+
+    @Test
+    void compact() throws IOException {
+        var store = open();
+        IntStream.range(0, 500).forEach(i -> store.create(new DataRecord("id" + i, "name", "desc")));
+        IntStream.range(0, 400).forEach(i -> store.deleteById("id" + i));
+        store.compact();
+        store.create(new DataRecord("after-compaction", "name", "desc"));
+        store.close();
+
+        try (var files = Files.list(directory)) {
+            assertThat(files).hasSize(2);
+        }
+        var recovered = open();
+        assertThat(recovered.count()).isEqualTo(101);
+        assertThat(recovered.findById("id0")).isNull();
+        assertThat(recovered.findById("after-compaction")).isNotNull();
+    }
+
+    private LogDataRecordStore open() {
+        return new LogDataRecordStore(directory, SEGMENT_SIZE, false, monitor);
+    }
+}
@@ -0,0 +1,157 @@
+/*
+ *  Copyright (c) 2024 Bayerische Motoren Werke Aktiengesellschaft (BMW AG)
+ *
+ *  This program and the accompanying materials are made available under the
+ *  terms of the Apache License, Version 2.0 which is available at
+ *  https://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  SPDX-License-Identifier: Apache-2.0
+ *
+ *  Contributors:
+ *       Bayerische Motoren Werke Aktiengesellschaft (BMW AG) - initial API and implementation
+ *
+ */
+
+package org.eclipse.tractusx.mxd.dataservice.store.offheap;
+
+import org.eclipse.edc.spi.query.Criterion;
+import org.eclipse.edc.spi.query.QuerySpec;
+import org.eclipse.edc.spi.query.SortOrder;
+import org.eclipse.edc.spi.result.StoreFailure;
+import org.eclipse.tractusx.mxd.dataservice.model.DataRecord;
+import org.eclipse.tractusx.mxd.dataservice.model.VersionedDataRecord;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Map;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class OffHeapDataRecordStoreTest {
+
+    private static final int SLAB_SIZE = 4096;
+
+    private final OffHeapDataRecordStore store = new OffHeapDataRecordStore(SLAB_SIZE);
+
+    @Test
+    void create_findById() {
+        var version = store.create(new DataRecord("id1", "name", null)).getContent();
+
+        assertThat(store.findById("id1")).isEqualTo(new VersionedDataRecord(new DataRecord("id1", "name", null), version));
+        assertThat(store.findById("id2")).isNull();
+        assertThat(store.create(new DataRecord("id1", "other", null)).reason()).isEqualTo(StoreFailure.Reason.ALREADY_EXISTS);
+    }
+
+    @Test
+    void update_expectedVersion() {
+        var version = store.create(new DataRecord("id1", "name", "desc")).getContent();
+        var updated = store.update(new DataRecord("id1", "new-name", "desc"), version).getContent();
+
+        assertThat(updated).isGreaterThan(version);
+        assertThat(store.update(new DataRecord("id1", "name", "desc"), version).reason()).isEqualTo(StoreFailure.Reason.ALREADY_EXISTS);
+        assertThat(store.update(new DataRecord("id2", "name", "desc")).reason()).isEqualTo(StoreFailure.Reason.NOT_FOUND);
+        assertThat(store.findById("id1")).extracting(VersionedDataRecord::dataRecord).extracting(DataRecord::name).isEqualTo("new-name");
+    }
+
+    @Test
+    void deleteById_expectedVersion() {
+        var version = store.create(new DataRecord("id1", "name", "desc")).getContent();
+        var updated = store.update(new DataRecord("id1", "new-name", "desc")).getContent();
+
+        assertThat(store.deleteById("id1", version).reason()).isEqualTo(StoreFailure.Reason.ALREADY_EXISTS);
+        assertThat(store.count()).isEqualTo(1);
+        assertThat(store.deleteById("id1", updated).getContent()).extracting(DataRecord::name).isEqualTo("new-name");
+        assertThat(store.deleteById("id1", updated).reason()).isEqualTo(StoreFailure.Reason.NOT_FOUND);
+    }
+
+
+    @Test
+    void update_keepsAttributes() {
+        var version = store.create(new DataRecord("id1", "name", null, Map.of("plant", "A", "count", 3L))).getContent();
+        store.update(new DataRecord("id1", "name", null, Map.of("plant", "B", "ratio", 0.5, "active", true)), version);
+
+        assertThat(store.findById("id1")).extracting(VersionedDataRecord::dataRecord).extracting(DataRecord::attributes)
+                .isEqualTo(Map.of("plant", "B", "ratio", 0.5, "active", true));
+    }
+
+    @Test
+    void deleteById() {
+        store.create(new DataRecord("id1", "name", "desc"));
+
+        assertThat(store.deleteById("id1").getContent()).isEqualTo(new DataRecord("id1", "name", "desc"));
+        assertThat(store.findById("id1")).isNull();
+        assertThat(store.count()).isZero();
+        assertThat(store.deleteById("id1").reason()).isEqualTo(StoreFailure.Reason.NOT_FOUND);
+    }
+
+    @Test
+    void findAll_inIdOrder_acrossBatches() {
+        IntStream.range(0, 3000).map(i -> 2999 - i).forEach(i -> store.create(new DataRecord("id%04d".formatted(i), "name", null)));
+
+        var query = QuerySpec.Builder.newInstance().limit(Integer.MAX_VALUE).build();
+
+        assertThat(store.findAll(query)).extracting(DataRecord::id)
+                .containsExactlyElementsOf(IntStream.range(0, 3000).mapToObj("id%04d"::formatted).toList());
+    }
+
+    @Test
+    void findAll_idRange_descending() {
+        IntStream.range(10, 20).forEach(i -> store.create(new DataRecord("id" + i, "name" + (i % 3), null)));
+
+        var query = QuerySpec.Builder.newInstance()
+                .filter(new Criterion("id", ">", "id12"))
+                .filter(new Criterion("id", "<=", "id15"))
+                .sortOrder(SortOrder.DESC)
+                .build();
+
+        assertThat(store.findAll(query)).extracting(DataRecord::id).containsExactly("id15", "id14", "id13");
+    }
+
+    @Test
+    void findAll_filteredAndSortedByName() {
+        IntStream.range(10, 20).forEach(i -> store.create(new DataRecord("id" + i, "name" + (i % 3), null)));
+
+        var query = QuerySpec.Builder.newInstance()
+                .filter(new Criterion("name", "in", List.of("name0", "name2")))
+                .sortField("name")
+                .limit(3)
+                .build();
+
+        assertThat(store.findAll(query)).extracting(DataRecord::id).containsExactly("id12", "id15", "id18");
+    }
+
+    @Test
+    void findAll_ordersLikeStrings() {
+        var ids = List.of("a", "ﬁ", "😀", "é", "ab", "");
+        ids.forEach(id -> store.create(new DataRecord(id, null, null)));
+
+        assertThat(store.findAll(QuerySpec.none())).extracting(DataRecord::id)
+                .containsExactlyElementsOf(ids.stream().sorted().toList());
+    }
+
+    @Test
+    void compaction_keepsRecords() {
+        IntStream.range(0, 100).forEach(i -> store.create(new DataRecord("id" + i, "name", "desc")));
+        var capacity = store.offHeapCapacity();
+
+        IntStream.range(0, 50).forEach(round -> IntStream.range(0, 100)
+                .forEach(i -> store.update(new DataRecord("id" + i, "name", "desc" + round))));
+
+        assertThat(store.offHeapCapacity()).isLessThan(capacity * 50);
+        assertThat(store.count()).isEqualTo(100);
+        assertThat(store.findById("id42")).extracting(VersionedDataRecord::dataRecord).extracting(DataRecord::description).isEqualTo("desc49");
+        assertThat(store.findAll(QuerySpec.max())).hasSize(100);
+    }
+
+    @Test
+    void revision_changesOnEveryWrite() {
+        var initial = store.revision();
+        store.create(new DataRecord("id1", "name", "desc"));
+        var created = store.revision();
+        store.deleteById("id1");
+
+        assertThat(created).isNotEqualTo(initial);
+        assertThat(store.revision()).isNotEqualTo(created);
+    }
+}
@@ -0,0 +1,153 @@
+/*
+ *  Copyright (c) 2024 Bayerische Motoren Werke Aktiengesellschaft (BMW AG)
+ *
+ *  This program and the accompanying materials are made available under the
+ *  terms of the Apache License, Version 2.0 which is available at
+ *  https://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  SPDX-License-Identifier: Apache-2.0
+ *
+ *  Contributors:
+ *       Bayerische Motoren Werke Aktiengesellschaft (BMW AG) - initial API and implementation
+ *
+ */
+
+package org.eclipse.tractusx.mxd.dataservice.store.snapshot;
+
+import org.eclipse.edc.spi.query.Criterion;
+import org.eclipse.edc.spi.query.QuerySpec;
+import org.eclipse.edc.spi.result.StoreFailure;
+import org.eclipse.tractusx.mxd.dataservice.model.DataRecord;
+import org.eclipse.tractusx.mxd.dataservice.model.VersionedDataRecord;
+import org.eclipse.tractusx.mxd.dataservice.store.InMemoryDataRecordStore;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.Map;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class DataRecordSnapshotTest {
+
+    @TempDir
+    private Path directory;
+
+    @Test
+    void read_restoresRecords() throws IOException {
+        var store = store();
+        var snapshot = new DataRecordSnapshot(directory.resolve("snapshot.bin"), false);
+
+        var info = snapshot.write(store);
+        var restored = snapshot.read();
+
+        assertThat(info.records()).isEqualTo(1999);
+        assertThat(info.bytes()).isEqualTo(Files.size(snapshot.file()));
+        assertThat(restored.stream()).containsExactlyElementsOf(store.stream().toList());
+        assertThat(restored.findAll(QuerySpec.Builder.newInstance().filter(new Criterion("name", "=", "name7")).build())).hasSize(20);
+    }
+
+    @Test
+    void read_restoresCompressedRecords() throws IOException {
+        var store = store();
+        var snapshot = new DataRecordSnapshot(directory.resolve("snapshot.bin"), true);
+
+        var info = snapshot.write(store);
+
+        assertThat(info.compressed()).isTrue();
+        assertThat(info.bytes()).isLessThan(new DataRecordSnapshot(directory.resolve("plain.bin"), false).write(store).bytes());
+        assertThat(snapshot.read().stream()).containsExactlyElementsOf(store.stream().toList());
+    }
+
+
+    @Test
+    void read_restoresAttributes() throws IOException {
+        var store = new InMemoryDataRecordStore();
+        store.create(new DataRecord("id1", "name", null, Map.of("plant", "A", "count", 3L, "ratio", 0.5, "active", true)));
+        store.create(new DataRecord("id2", "name", "desc", Map.of()));
+        store.create(new DataRecord("id3", "name", "desc"));
+        var snapshot = new DataRecordSnapshot(directory.resolve("snapshot.bin"), false);
+
+        snapshot.write(store);
+
+        assertThat(snapshot.read().stream()).containsExactlyElementsOf(store.stream().toList());
+    }
+
+    @Test
+    void read_recordLargerThanChunk() throws IOException {
+        var store = new InMemoryDataRecordStore();
+        store.create(new DataRecord("small", "name", "desc"));
+        store.create(new DataRecord("large", "name", "x".repeat(5 * 1024 * 1024)));
+        var snapshot = new DataRecordSnapshot(directory.resolve("snapshot.bin"), true);
+
+        snapshot.write(store);
+
+        assertThat(snapshot.read().stream()).containsExactlyElementsOf(store.stream().toList());
+    }
+
+    @Test
+    void read_continuesVersions() throws IOException {
+        var store = store();
+        store.create(new DataRecord("deleted", "name", "desc"));
+        store.deleteById("deleted");
+        var lastVersion = store.lastVersion();
+        var snapshot = new DataRecordSnapshot(directory.resolve("snapshot.bin"), false);
+        snapshot.write(store);
+
+        var restored = snapshot.read();
+
+        var version = store.findById("id7").version();
+        assertThat(restored.lastVersion()).isEqualTo(lastVersion);
+        assertThat(restored.findById("id7")).extracting(VersionedDataRecord::version).isEqualTo(version);
+        assertThat(restored.update(new DataRecord("id7", "name", "desc"), version - 1).reason()).isEqualTo(StoreFailure.Reason.ALREADY_EXISTS);
+        assertThat(restored.create(new DataRecord("deleted", "name", "desc")).getContent()).isGreaterThan(lastVersion);
+    }
+
+    @Test
+    void read_corrupted() throws IOException {
+        var snapshot = new DataRecordSnapshot(directory.resolve("snapshot.bin"), false);
+        snapshot.write(store());
+        var bytes = Files.readAllBytes(snapshot.file());
+        bytes[bytes.length / 2] ^= 1;
+        Files.write(snapshot.file(), bytes);
+
+        assertThatThrownBy(snapshot::read).isInstanceOf(IOException.class);
+    }
+
+    @Test
+    void read_truncated() throws IOException {
+        var snapshot = new DataRecordSnapshot(directory.resolve("snapshot.bin"), true);
+        snapshot.write(store());
+        var bytes = Files.readAllBytes(snapshot.file());
+        Files.write(snapshot.file(), Arrays.copyOf(bytes, bytes.length - 10));
+
+        assertThatThrownBy(snapshot::read).isInstanceOf(IOException.class);
+    }
+
+    @Test
+    void write_replacesPreviousSnapshot() throws IOException {
+        var store = store();
+        var snapshot = new DataRecordSnapshot(directory.resolve("snapshot.bin"), false);
+        snapshot.write(store);
+        store.deleteById("id7");
+
+        snapshot.write(store);
+
+        assertThat(snapshot.read().findById("id7")).isNull();
+        try (var files = Files.list(directory)) {
+            assertThat(files).containsExactly(snapshot.file());
+        }
+    }
+
+    private static InMemoryDataRecordStore store() {
+        var store = new InMemoryDataRecordStore();
+        IntStream.range(0, 2000).forEach(i -> store.create(new DataRecord("id" + i, "name" + i % 100, i % 10 == 0 ? null : "a description of record " + i)));
+        store.deleteById("id3");
+        return store;
+    }
+}
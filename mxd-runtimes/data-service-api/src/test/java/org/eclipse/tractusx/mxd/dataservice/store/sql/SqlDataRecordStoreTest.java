@@ -0,0 +1,226 @@
+/*
+ *  Copyright (c) 2024 Bayerische Motoren Werke Aktiengesellschaft (BMW AG)
+ *
+ *  This program and the accompanying materials are made available under the
+ *  terms of the Apache License, Version 2.0 which is available at
+ *  https://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  SPDX-License-Identifier: Apache-2.0
+ *
+ *  Contributors:
+ *       Bayerische Motoren Werke Aktiengesellschaft (BMW AG) - initial API and implementation
+ *
+ */
+
+package org.eclipse.tractusx.mxd.dataservice.store.sql;
+
+import org.eclipse.edc.spi.query.Criterion;
+import org.eclipse.edc.spi.query.QuerySpec;
+import org.eclipse.edc.spi.query.SortOrder;
+import org.eclipse.edc.spi.result.StoreFailure;
+import org.eclipse.edc.transaction.datasource.spi.DataSourceRegistry;
+import org.eclipse.edc.transaction.spi.NoopTransactionContext;
+import org.eclipse.tractusx.mxd.dataservice.model.DataRecord;
+import org.eclipse.tractusx.mxd.dataservice.model.VersionedDataRecord;
+import org.h2.jdbcx.JdbcDataSource;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.UUID;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class SqlDataRecordStoreTest {
+
+    private static final String DATASOURCE_NAME = "dataservice";
+
+    private SqlDataRecordStore store;
+
+    @BeforeEach
+    void setUp() {
+        var dataSource = new JdbcDataSource();
+        dataSource.setURL("jdbc:h2:mem:%s;MODE=PostgreSQL;DB_CLOSE_DELAY=-1".formatted(UUID.randomUUID()));
+        var registry = mock(DataSourceRegistry.class);
+        when(registry.resolve(DATASOURCE_NAME)).thenReturn(dataSource);
+
+        store = new SqlDataRecordStore(registry, DATASOURCE_NAME, new NoopTransactionContext());
+        store.createSchema();
+    }
+
+    @Test
+    void create_findById() {
+        var dataRecord = new DataRecord("id", "name", "desc");
+
+        var version = store.create(dataRecord).getContent();
+
+        assertThat(version).isNotNull();
+        assertThat(store.findById("id")).usingRecursiveComparison().isEqualTo(new VersionedDataRecord(dataRecord, version));
+    }
+
+    @Test
+    void create_alreadyExists() {
+        store.create(new DataRecord("id", "name", "desc"));
+
+        var result = store.create(new DataRecord("id", "other", "desc"));
+
+        assertThat(result.failed()).isTrue();
+        assertThat(result.reason()).isEqualTo(StoreFailure.Reason.ALREADY_EXISTS);
+        assertThat(store.findById("id")).extracting(v -> v.dataRecord().name()).isEqualTo("name");
+    }
+
+    @Test
+    void createAll_reportsConflictsPerRecord() {
+        store.create(new DataRecord("id2", "name", "desc"));
+
+        var results = store.createAll(List.of(
+                new DataRecord("id1", "name", "desc"),
+                new DataRecord("id2", "name", "desc"),
+                new DataRecord("id3", "name", "desc")));
+
+        assertThat(results).extracting(r -> r.succeeded()).containsExactly(true, false, true);
+        assertThat(results.get(0).getContent()).isNotEqualTo(results.get(2).getContent());
+        assertThat(store.count()).isEqualTo(3);
+    }
+
+    @Test
+    void update() {
+        store.create(new DataRecord("id", "name", "desc"));
+
+        assertThat(store.update(new DataRecord("id", "new-name", "new-desc")).succeeded()).isTrue();
+        assertThat(store.findById("id")).extracting(v -> v.dataRecord().name()).isEqualTo("new-name");
+    }
+
+    @Test
+    void update_expectedVersion() {
+        var version = store.create(new DataRecord("id", "name", "desc")).getContent();
+
+        var updated = store.update(new DataRecord("id", "new-name", "desc"), version);
+        var stale = store.update(new DataRecord("id", "other-name", "desc"), version);
+
+        assertThat(updated.getContent()).isGreaterThan(version);
+        assertThat(stale.reason()).isEqualTo(StoreFailure.Reason.ALREADY_EXISTS);
+        assertThat(store.findById("id")).extracting(VersionedDataRecord::version).isEqualTo(updated.getContent());
+        assertThat(store.update(new DataRecord("missing", "name", "desc"), version).reason()).isEqualTo(StoreFailure.Reason.NOT_FOUND);
+    }
+
+    @Test
+    void deleteById_expectedVersion() {
+        var version = store.create(new DataRecord("id", "name", "desc")).getContent();
+        var updated = store.update(new DataRecord("id", "new-name", "desc")).getContent();
+
+        assertThat(store.deleteById("id", version).reason()).isEqualTo(StoreFailure.Reason.ALREADY_EXISTS);
+        assertThat(store.findById("id")).isNotNull();
+        assertThat(store.deleteById("id", updated).succeeded()).isTrue();
+        assertThat(store.deleteById("id", updated).reason()).isEqualTo(StoreFailure.Reason.NOT_FOUND);
+    }
+
+    @Test
+    void revision_changesOnEveryWrite() {
+        var revisions = new HashSet<String>();
+        revisions.add(store.revision());
+        store.create(new DataRecord("id", "name", "desc"));
+        revisions.add(store.revision());
+        store.update(new DataRecord("id", "new-name", "desc"));
+        revisions.add(store.revision());
+        store.deleteById("id");
+        revisions.add(store.revision());
+
+        assertThat(revisions).hasSize(4);
+    }
+
+    @Test
+    void revision_unchangedByFailedWrites() {
+        store.create(new DataRecord("id", "name", "desc"));
+        var before = store.revision();
+
+        store.create(new DataRecord("id", "other", "desc"));
+        store.update(new DataRecord("missing", "name", "desc"));
+        store.deleteById("missing");
+
+        assertThat(store.revision()).isEqualTo(before);
+    }
+
+    @Test
+    void revision_keptWhenSchemaIsCreatedAgain() {
+        store.createAll(IntStream.range(0, 100).mapToObj(i -> new DataRecord("id" + i, "name", "desc")).toList());
+        IntStream.range(0, 100).forEach(i -> store.deleteById("id" + i));
+        var before = store.revision();
+
+        store.createSchema();
+
+        assertThat(store.revision()).isEqualTo(before);
+        store.create(new DataRecord("id", "name", "desc"));
+        assertThat(store.revision()).isNotEqualTo(before);
+    }
+
+    @Test
+    void update_notFound() {
+        assertThat(store.update(new DataRecord("id", "name", "desc")).reason()).isEqualTo(StoreFailure.Reason.NOT_FOUND);
+    }
+
+    @Test
+    void deleteById() {
+        store.create(new DataRecord("id", "name", "desc"));
+
+        assertThat(store.deleteById("id").getContent()).extracting(DataRecord::id).isEqualTo("id");
+        assertThat(store.count()).isZero();
+        assertThat(store.deleteById("id").reason()).isEqualTo(StoreFailure.Reason.NOT_FOUND);
+    }
+
+    @Test
+    void findAll_keysetPage() {
+        store.createAll(IntStream.range(0, 10).mapToObj(i -> new DataRecord("id" + i, "name" + (i % 2), "desc")).toList());
+
+        var query = QuerySpec.Builder.newInstance()
+                .filter(new Criterion("id", ">", "id3"))
+                .sortField("id")
+                .limit(3)
+                .build();
+
+        try (var page = store.findAll(query)) {
+            assertThat(page).extracting(DataRecord::id).containsExactly("id4", "id5", "id6");
+        }
+    }
+
+    @Test
+    void findAll_filteredAndSorted() {
+        store.createAll(IntStream.range(0, 10).mapToObj(i -> new DataRecord("id" + i, "name" + (i % 2), "desc")).toList());
+
+        var query = QuerySpec.Builder.newInstance()
+                .filter(new Criterion("name", "in", List.of("name1")))
+                .sortField("id")
+                .sortOrder(SortOrder.DESC)
+                .offset(1)
+                .limit(2)
+                .build();
+
+        try (var page = store.findAll(query)) {
+            assertThat(page).extracting(DataRecord::id).containsExactly("id7", "id5");
+        }
+    }
+
+    @Test
+    void findAll_continuesAcrossBatches() {
+        var records = IntStream.range(0, 2500)
+                .mapToObj(i -> new DataRecord("id%04d".formatted(i), i % 10 == 0 ? null : "name" + (i % 7), "desc"))
+                .toList();
+        store.createAll(records);
+        var byName = Comparator.comparing(DataRecord::name, Comparator.nullsLast(Comparator.<String>naturalOrder()))
+                .thenComparing(DataRecord::id);
+
+        var ascending = QuerySpec.Builder.newInstance().sortField("name").offset(5).limit(Integer.MAX_VALUE).build();
+        var descending = QuerySpec.Builder.newInstance().sortField("name").sortOrder(SortOrder.DESC).limit(2200).build();
+
+        assertThat(store.findAll(ascending)).extracting(DataRecord::id)
+                .containsExactlyElementsOf(records.stream().sorted(byName).skip(5).map(DataRecord::id).toList());
+        assertThat(store.findAll(descending)).extracting(DataRecord::id)
+                .containsExactlyElementsOf(records.stream().sorted(byName.reversed()).limit(2200).map(DataRecord::id).toList());
+        assertThat(store.findAll(QuerySpec.Builder.newInstance().limit(Integer.MAX_VALUE).build())).hasSize(2500);
+    }
+}
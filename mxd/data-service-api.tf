@@ -12,6 +12,13 @@
 #
 #
 
+locals {
+  data-service-api-port      = 8080
+  data-service-api-path      = "/"
+  data-service-api-mgmt-port = 8181
+  data-service-api-mgmt-path = "/api"
+}
+
 resource "kubernetes_deployment" "data-service-api" {
 
   metadata {
@@ -34,6 +41,11 @@ resource "kubernetes_deployment" "data-service-api" {
         labels = {
           App = "data-service-api"
         }
+        annotations = {
+          "prometheus.io/scrape" = "true"
+          "prometheus.io/port"   = local.data-service-api-port
+          "prometheus.io/path"   = "${trimsuffix(local.data-service-api-path, "/")}/metrics"
+        }
       }
       spec {
         container {
@@ -42,25 +54,25 @@ resource "kubernetes_deployment" "data-service-api" {
           image_pull_policy = "Never"
 
           port {
-            container_port = 8080
+            container_port = local.data-service-api-port
             name           = "api-port"
           }
 
           env {
             name  = "web.http.data.port"
-            value = 8080
+            value = local.data-service-api-port
           }
           env {
             name  = "web.http.data.path"
-            value = "/"
+            value = local.data-service-api-path
           }
           env {
             name  = "web.http.port"
-            value = 8181
+            value = local.data-service-api-mgmt-port
           }
           env {
             name  = "web.http.path"
-            value = "/api"
+            value = local.data-service-api-mgmt-path
           }
           env {
             name  = "JAVA_TOOL_OPTIONS"
@@ -68,8 +80,8 @@ resource "kubernetes_deployment" "data-service-api" {
           }
           readiness_probe {
             http_get {
-              path = "/api/check/readiness"
-              port = 8181
+              path = "${local.data-service-api-mgmt-path}/check/readiness"
+              port = local.data-service-api-mgmt-port
             }
             initial_delay_seconds = 5
             period_seconds        = 10
@@ -79,8 +91,8 @@ resource "kubernetes_deployment" "data-service-api" {
           }
           liveness_probe {
             http_get {
-              path = "/api/check/liveness"
-              port = 8181
+              path = "${local.data-service-api-mgmt-path}/check/liveness"
+              port = local.data-service-api-mgmt-port
             }
             initial_delay_seconds = 5
             period_seconds        = 10
@@ -91,8 +103,8 @@ resource "kubernetes_deployment" "data-service-api" {
 
           startup_probe {
             http_get {
-              path = "/api/check/startup"
-              port = 8181
+              path = "${local.data-service-api-mgmt-path}/check/startup"
+              port = local.data-service-api-mgmt-port
             }
             initial_delay_seconds = 5
             period_seconds        = 10
@@ -118,7 +130,7 @@ resource "kubernetes_service" "data-service-api" {
       App = kubernetes_deployment.data-service-api.spec.0.template.0.metadata[0].labels.App
     }
     port {
-      port = 8080
+      port = local.data-service-api-port
       name = "api-port"
     }
   }
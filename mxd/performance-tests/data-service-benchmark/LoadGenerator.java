@@ -0,0 +1,139 @@
+/*
+ *  Copyright (c) 2024 Contributors to the Eclipse Foundation
+ *
+ *  See the NOTICE file(s) distributed with this work for additional
+ *  information regarding copyright ownership.
+ *
+ *  This program and the accompanying materials are made available under the
+ *  terms of the Apache License, Version 2.0 which is available at
+ *  https://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ *  WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ *  License for the specific language governing permissions and limitations
+ *  under the License.
+ *
+ *  SPDX-License-Identifier: Apache-2.0
+ */
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.LongStream;
+
+/**
+ * Closed-loop load generator for the data service: keeps a fixed number of requests in flight, each on its own
+ * connection, and reports throughput and latency percentiles of the requests completed after the warm-up.
+ * <p>
+ * Runs without compilation, {@code java LoadGenerator.java <url> <connections> <seconds> [warmup-seconds] [label]}, and
+ * prints a single CSV line {@code label,connections,requests,errors,throughput,p50_ms,p99_ms,max_ms}.
+ */
+public class LoadGenerator {
+
+    public static void main(String[] args) throws Exception {
+        if (args.length < 3) {
+            System.err.println("Usage: java LoadGenerator.java <url> <connections> <seconds> [warmup-seconds] [label]");
+            System.exit(1);
+        }
+        var uri = URI.create(args[0]);
+        var connections = Integer.parseInt(args[1]);
+        var duration = Duration.ofSeconds(Long.parseLong(args[2]));
+        var warmup = Duration.ofSeconds(args.length > 3 ? Long.parseLong(args[3]) : 10);
+        var label = args.length > 4 ? args[4] : uri.toString();
+
+        var client = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .connectTimeout(Duration.ofSeconds(30))
+                .build();
+        var request = HttpRequest.newBuilder(uri).timeout(Duration.ofSeconds(60)).GET().build();
+
+        var start = System.nanoTime();
+        var measureFrom = start + warmup.toNanos();
+        var end = measureFrom + duration.toNanos();
+        var errors = new AtomicLong();
+        var workers = new Worker[connections];
+        var done = new CountDownLatch(connections);
+        for (var i = 0; i < connections; i++) {
+            workers[i] = new Worker(client, request, measureFrom, end, errors, done);
+            workers[i].next();
+        }
+        done.await();
+
+        var latencies = Arrays.stream(workers).flatMapToLong(Worker::latencies).sorted().toArray();
+        var seconds = duration.toNanos() / 1e9;
+        System.out.printf("%s,%d,%d,%d,%.1f,%.2f,%.2f,%.2f%n", label, connections, latencies.length, errors.get(),
+                latencies.length / seconds, millis(percentile(latencies, 0.50)), millis(percentile(latencies, 0.99)),
+                millis(percentile(latencies, 1.0)));
+    }
+
+    private static long percentile(long[] sorted, double percentile) {
+        if (sorted.length == 0) {
+            return 0;
+        }
+        return sorted[(int) Math.ceil(percentile * sorted.length) - 1];
+    }
+
+    private static double millis(long nanos) {
+        return nanos / 1e6;
+    }
+
+    /**
+     * One connection of the closed loop, which sends its next request as soon as the previous one completed.
+     */
+    private static final class Worker {
+
+        private final HttpClient client;
+        private final HttpRequest request;
+        private final long measureFrom;
+        private final long end;
+        private final AtomicLong errors;
+        private final CountDownLatch done;
+        private long[] latencies = new long[1024];
+        private int count;
+
+        Worker(HttpClient client, HttpRequest request, long measureFrom, long end, AtomicLong errors, CountDownLatch done) {
+            this.client = client;
+            this.request = request;
+            this.measureFrom = measureFrom;
+            this.end = end;
+            this.errors = errors;
+            this.done = done;
+        }
+
+        void next() {
+            var sent = System.nanoTime();
+            if (sent >= end) {
+                done.countDown();
+                return;
+            }
+            client.sendAsync(request, HttpResponse.BodyHandlers.discarding()).whenComplete((response, throwable) -> {
+                var received = System.nanoTime();
+                if (sent >= measureFrom && received < end) {
+                    if (throwable != null || response.statusCode() >= 400) {
+                        errors.incrementAndGet();
+                    } else {
+                        record(received - sent);
+                    }
+                }
+                next();
+            });
+        }
+
+        private void record(long latency) {
+            if (count == latencies.length) {
+                latencies = Arrays.copyOf(latencies, count * 2);
+            }
+            latencies[count++] = latency;
+        }
+
+        LongStream latencies() {
+            return Arrays.stream(latencies, 0, count);
+        }
+    }
+}
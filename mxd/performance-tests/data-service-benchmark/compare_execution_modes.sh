@@ -0,0 +1,92 @@
+#!/bin/bash
+#
+#  Copyright (c) 2024 Contributors to the Eclipse Foundation
+#
+#  See the NOTICE file(s) distributed with this work for additional
+#  information regarding copyright ownership.
+#
+#  This program and the accompanying materials are made available under the
+#  terms of the Apache License, Version 2.0 which is available at
+#  https://www.apache.org/licenses/LICENSE-2.0
+#
+#  Unless required by applicable law or agreed to in writing, software
+#  distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+#  WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+#  License for the specific language governing permissions and limitations
+#  under the License.
+#
+#  SPDX-License-Identifier: Apache-2.0
+#
+
+# Compare the "pool", "virtual" and "dedicated" execution modes of the data service API (web.http.data.execution)
+# by running LoadGenerator.java against a local data service at 1k and 10k concurrent connections.
+#
+# Usage: ./compare_execution_modes.sh [duration-seconds] [warmup-seconds]
+# Results are appended to results.csv: mode,connections,requests,errors,throughput,p50_ms,p99_ms,max_ms
+
+set -e
+
+DURATION=${1:-60}
+WARMUP=${2:-15}
+CONNECTIONS=${CONNECTIONS:-"1000 10000"}
+RECORDS=${RECORDS:-100}
+MODES=${MODES:-"pool virtual dedicated"}
+SERVICE_OPTS=${SERVICE_OPTS:-}
+DATA_PORT=${DATA_PORT:-18080}
+JAVA=${JAVA:-java}
+SCRIPT_DIR=$(cd "$(dirname "$0")" && pwd)
+RUNTIMES_DIR="$SCRIPT_DIR/../../../mxd-runtimes"
+JAR="$RUNTIMES_DIR/data-service-api/build/libs/data-service-api.jar"
+RESULTS="$SCRIPT_DIR/results.csv"
+URL="http://localhost:$DATA_PORT/v1/data?limit=$RECORDS"
+
+# both sides hold one socket per connection, take the hard limit where 65536 is not allowed
+ulimit -n 65536 2>/dev/null || ulimit -n "$(ulimit -Hn)"
+
+if [ ! -f "$JAR" ]; then
+  (cd "$RUNTIMES_DIR" && ./gradlew :data-service-api:shadowJar)
+fi
+
+wait_for_service() {
+  for _ in $(seq 1 60); do
+    if curl -sf -o /dev/null "http://localhost:$DATA_PORT/v1/data?limit=1"; then
+      return 0
+    fi
+    sleep 1
+  done
+  echo "Data service did not start" >&2
+  return 1
+}
+
+populate() {
+  for i in $(seq 1 "$RECORDS"); do
+    curl -sf -o /dev/null -X POST -H "Content-Type: application/json" \
+      -d "{\"id\":\"record-$i\",\"name\":\"Record $i\",\"description\":\"Benchmark record $i\"}" \
+      "http://localhost:$DATA_PORT/v1/data"
+  done
+}
+
+[ -f "$RESULTS" ] || echo "mode,connections,requests,errors,throughput,p50_ms,p99_ms,max_ms" > "$RESULTS"
+
+for MODE in $MODES; do
+  # shellcheck disable=SC2086
+  "$JAVA" -Dweb.http.port=18181 -Dweb.http.path=/api \
+    -Dweb.http.data.port="$DATA_PORT" -Dweb.http.data.path=/ \
+    -Dweb.http.data.execution="$MODE" $SERVICE_OPTS \
+    -jar "$JAR" > "data-service-$MODE.log" 2>&1 &
+  SERVICE_PID=$!
+  trap 'kill $SERVICE_PID 2>/dev/null' EXIT
+
+  wait_for_service
+  populate
+
+  for N in $CONNECTIONS; do
+    echo "Running $MODE with $N connections for ${DURATION}s"
+    "$JAVA" "$SCRIPT_DIR/LoadGenerator.java" "$URL" "$N" "$DURATION" "$WARMUP" "$MODE" | tee -a "$RESULTS"
+  done
+
+  kill $SERVICE_PID
+  wait $SERVICE_PID 2>/dev/null || true
+done
+
+echo "Results written to $RESULTS"